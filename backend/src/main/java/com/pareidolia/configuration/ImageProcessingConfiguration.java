@@ -0,0 +1,30 @@
+package com.pareidolia.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ImageProcessingConfiguration {
+	/**
+	 * Pool limitato per la generazione delle versioni ridimensionate delle immagini caricate.
+	 * Quando la coda è piena il compito viene rifiutato e l'immagine resta servita nella sola versione originale,
+	 * senza mai elaborarla sul thread della richiesta.
+	 */
+	@Bean
+	public ThreadPoolTaskExecutor imageProcessingExecutor(@Value("${app.upload.processing.workers:2}") int workers,
+	                                                      @Value("${app.upload.processing.queue-capacity:100}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(workers);
+		executor.setMaxPoolSize(workers);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("image-processing-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(30);
+		return executor;
+	}
+}
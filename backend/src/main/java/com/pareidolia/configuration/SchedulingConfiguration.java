@@ -0,0 +1,14 @@
+package com.pareidolia.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Abilita i job pianificati (outbox delle notifiche, riconciliazioni, snapshot del feed, conteggi).
+ * Il pool dello scheduler è dimensionato con {@code spring.task.scheduling.pool.size}:
+ * con un solo thread un invio lungo di notifiche bloccherebbe tutti gli altri job.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
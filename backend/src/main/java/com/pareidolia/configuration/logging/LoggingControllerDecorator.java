@@ -1,58 +1,171 @@
 package com.pareidolia.configuration.logging;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
 
-import java.util.Arrays;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Misura la durata di ogni metodo dei controller con un timer Micrometer per endpoint ed esito.
+ * Argomenti e risultati vengono registrati solo a livello DEBUG o per una frazione campionata delle chiamate,
+ * sempre in forma riassunta: pagine e collezioni riportano solo le dimensioni, i file solo nome e peso.
+ */
 @Slf4j
 @Aspect
 @Component
 public class LoggingControllerDecorator {
+	private static final String METRIC_NAME = "pareidolia.controller.requests";
+	private static final int MAX_VALUE_LENGTH = 200;
+
+	private final MeterRegistry meterRegistry;
+	private final double sampleRate;
+	private final Map<Method, Timers> timers = new ConcurrentHashMap<>();
+
+	@Autowired
+	public LoggingControllerDecorator(MeterRegistry meterRegistry,
+	                                  @Value("${app.logging.controller.sample-rate:0}") double sampleRate) {
+		this.meterRegistry = meterRegistry;
+		this.sampleRate = sampleRate;
+	}
+
 	@Around("execution(* com.pareidolia.controller..*.*(..))")
 	public Object logControllerMethods(ProceedingJoinPoint joinPoint) throws Throwable {
 		MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-		String className = signature.getDeclaringType().getSimpleName();
-		String methodName = signature.getName();
-
-		// Log prima dell'esecuzione del metodo
-		log.info("→ Executing {}.{}() with arguments: {}",
-			className,
-			methodName,
-			Arrays.toString(joinPoint.getArgs())
-		);
+		boolean logPayload = log.isDebugEnabled() || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
 
-		long startTime = System.currentTimeMillis();
+		if (logPayload) {
+			// Log prima dell'esecuzione del metodo
+			log.info("→ Executing {}.{}() with arguments: {}",
+				signature.getDeclaringType().getSimpleName(),
+				signature.getName(),
+				describeArguments(joinPoint.getArgs())
+			);
+		}
+
+		long startTime = System.nanoTime();
 
 		try {
 			// Esegue il metodo
 			Object result = joinPoint.proceed();
 
-			// Log dopo l'esecuzione con successo
-			long duration = System.currentTimeMillis() - startTime;
-			log.info("← {}.{}() completed in {}ms with result: {}",
-				className,
-				methodName,
-				duration,
-				result != null ? result.toString() : "void"
-			);
+			long duration = System.nanoTime() - startTime;
+			timersFor(signature).success().record(duration, TimeUnit.NANOSECONDS);
+
+			if (logPayload) {
+				// Log dopo l'esecuzione con successo
+				log.info("← {}.{}() completed in {}ms with result: {}",
+					signature.getDeclaringType().getSimpleName(),
+					signature.getName(),
+					TimeUnit.NANOSECONDS.toMillis(duration),
+					describe(result)
+				);
+			}
 
 			return result;
 
 		} catch (Exception e) {
+			long duration = System.nanoTime() - startTime;
+			timersFor(signature).error().record(duration, TimeUnit.NANOSECONDS);
+
 			// Log in caso di errore
-			long duration = System.currentTimeMillis() - startTime;
 			log.error("× {}.{}() failed after {}ms with exception: {}",
-				className,
-				methodName,
-				duration,
+				signature.getDeclaringType().getSimpleName(),
+				signature.getName(),
+				TimeUnit.NANOSECONDS.toMillis(duration),
 				e.getMessage()
 			);
 			throw e;
 		}
 	}
-}
\ No newline at end of file
+
+	private Timers timersFor(MethodSignature signature) {
+		Method method = signature.getMethod();
+		if (method == null) {
+			// Senza metodo riflesso non c'è una chiave per la cache: il registry restituisce comunque i timer esistenti
+			return createTimers(signature);
+		}
+		return timers.computeIfAbsent(method, key -> createTimers(signature));
+	}
+
+	private Timers createTimers(MethodSignature signature) {
+		String controller = signature.getDeclaringType().getSimpleName();
+		String method = signature.getName();
+		return new Timers(
+			createTimer(controller, method, "success"),
+			createTimer(controller, method, "error")
+		);
+	}
+
+	private Timer createTimer(String controller, String method, String outcome) {
+		return Timer.builder(METRIC_NAME)
+			.tag("controller", controller)
+			.tag("method", method)
+			.tag("outcome", outcome)
+			.publishPercentileHistogram()
+			.register(meterRegistry);
+	}
+
+	private static String describeArguments(Object[] args) {
+		StringJoiner joiner = new StringJoiner(", ", "[", "]");
+		for (Object arg : args) {
+			joiner.add(describe(arg));
+		}
+		return joiner.toString();
+	}
+
+	/**
+	 * Riassume un valore per i log senza serializzarne l'intero contenuto.
+	 */
+	static String describe(Object value) {
+		if (value == null) {
+			return "void";
+		}
+		if (value instanceof MultipartFile file) {
+			return "MultipartFile[" + file.getOriginalFilename() + ", " + file.getSize() + " bytes]";
+		}
+		if (value instanceof Page<?> page) {
+			return "Page[number=" + page.getNumber() + ", elements=" + page.getNumberOfElements() + ", total=" + page.getTotalElements() + "]";
+		}
+		if (value instanceof Slice<?> slice) {
+			return "Slice[number=" + slice.getNumber() + ", elements=" + slice.getNumberOfElements() + "]";
+		}
+		if (value instanceof Collection<?> collection) {
+			return value.getClass().getSimpleName() + "[size=" + collection.size() + "]";
+		}
+		if (value instanceof byte[] bytes) {
+			return "byte[" + bytes.length + "]";
+		}
+		if (value instanceof Resource resource) {
+			return resource.getClass().getSimpleName();
+		}
+		if (value instanceof ResponseEntity<?> response) {
+			return "ResponseEntity[" + response.getStatusCode() + ", " + (response.hasBody() ? describe(response.getBody()) : "no body") + "]";
+		}
+		String description = String.valueOf(value);
+		return description.length() > MAX_VALUE_LENGTH
+			? description.substring(0, MAX_VALUE_LENGTH) + "…(" + description.length() + " chars)"
+			: description;
+	}
+
+	private record Timers(Timer success, Timer error) {
+	}
+}
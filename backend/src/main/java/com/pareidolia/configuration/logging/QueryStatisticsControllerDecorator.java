@@ -0,0 +1,146 @@
+package com.pareidolia.configuration.logging;
+
+import com.pareidolia.configuration.persistence.QueryStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misura le istruzioni SQL eseguite da ogni richiesta ai controller: numero, tempo JDBC ed entità lette,
+ * registrati come metriche Micrometer per controller e metodo. Le richieste che superano una delle soglie
+ * vengono registrate a livello WARN con le istruzioni più ripetute, per individuare i problemi N+1.
+ * La misura copre il solo metodo del controller: con {@code spring.jpa.open-in-view} disattivato la serializzazione
+ * della risposta non può eseguire caricamenti lazy, mentre le istruzioni dei filtri che precedono il controller
+ * (ad esempio l'autenticazione) e quelle delle risposte in streaming, eseguite su un altro thread, non vengono contate.
+ * Attiva per impostazione predefinita, anche in produzione: le misure arrivano dagli agganci di Hibernate e non da proxy
+ * sulle connessioni, quindi costano qualche somma per istruzione. Le istruzioni eseguite fuori da Hibernate non vengono contate.
+ * Si disattiva con {@code app.jdbc.statistics.enabled}.
+ */
+@Slf4j
+@Aspect
+@Component
+@ConditionalOnProperty(name = "app.jdbc.statistics.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryStatisticsControllerDecorator {
+	private static final String METRIC_NAME = "pareidolia.jdbc";
+	private static final int LOGGED_STATEMENTS = 3;
+
+	private final MeterRegistry meterRegistry;
+	private final long warnStatements;
+	private final long warnTimeNanos;
+	private final long warnEntities;
+	private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+
+	@Autowired
+	public QueryStatisticsControllerDecorator(MeterRegistry meterRegistry,
+	                                          @Value("${app.jdbc.statistics.warn-statements:20}") long warnStatements,
+	                                          @Value("${app.jdbc.statistics.warn-time:500}") long warnTimeMillis,
+	                                          @Value("${app.jdbc.statistics.warn-entities:10000}") long warnEntities) {
+		this.meterRegistry = meterRegistry;
+		this.warnStatements = warnStatements;
+		this.warnTimeNanos = TimeUnit.MILLISECONDS.toNanos(warnTimeMillis);
+		this.warnEntities = warnEntities;
+	}
+
+	@Around("execution(* com.pareidolia.controller..*.*(..))")
+	public Object measureControllerQueries(ProceedingJoinPoint joinPoint) throws Throwable {
+		MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+		try (QueryStatistics statistics = QueryStatistics.open()) {
+			try {
+				return joinPoint.proceed();
+			} finally {
+				record(signature, statistics);
+			}
+		}
+	}
+
+	private void record(MethodSignature signature, QueryStatistics statistics) {
+		Meters methodMeters = metersFor(signature);
+		methodMeters.statements().record(statistics.getStatements());
+		methodMeters.time().record(statistics.getJdbcNanos(), TimeUnit.NANOSECONDS);
+		methodMeters.entities().record(statistics.getEntities());
+
+		if (exceeds(statistics.getStatements(), warnStatements) || exceeds(statistics.getJdbcNanos(), warnTimeNanos) || exceeds(statistics.getEntities(), warnEntities)) {
+			log.warn("{} {}.{}() ran {} statements in {}ms loading {} entities, most repeated: {}",
+				describeRequest(),
+				signature.getDeclaringType().getSimpleName(),
+				signature.getName(),
+				statistics.getStatements(),
+				TimeUnit.NANOSECONDS.toMillis(statistics.getJdbcNanos()),
+				statistics.getEntities(),
+				describeStatements(statistics)
+			);
+		}
+	}
+
+	/**
+	 * Una soglia a 0 è disattivata.
+	 */
+	private static boolean exceeds(long value, long threshold) {
+		return threshold > 0 && value > threshold;
+	}
+
+	private static String describeRequest() {
+		if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+			HttpServletRequest request = attributes.getRequest();
+			return request.getMethod() + " " + request.getRequestURI() + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+		}
+		return "-";
+	}
+
+	private static String describeStatements(QueryStatistics statistics) {
+		StringJoiner joiner = new StringJoiner(", ", "[", "]");
+		for (Map.Entry<String, Integer> statement : statistics.getMostRepeatedStatements(LOGGED_STATEMENTS)) {
+			joiner.add(statement.getValue() + "x " + LoggingControllerDecorator.describe(statement.getKey()));
+		}
+		return joiner.toString();
+	}
+
+	private Meters metersFor(MethodSignature signature) {
+		Method method = signature.getMethod();
+		if (method == null) {
+			// Senza metodo riflesso non c'è una chiave per la cache: il registry restituisce comunque le metriche esistenti
+			return createMeters(signature);
+		}
+		return meters.computeIfAbsent(method, key -> createMeters(signature));
+	}
+
+	private Meters createMeters(MethodSignature signature) {
+		String controller = signature.getDeclaringType().getSimpleName();
+		String method = signature.getName();
+		return new Meters(
+			DistributionSummary.builder(METRIC_NAME + ".statements")
+				.tag("controller", controller)
+				.tag("method", method)
+				.register(meterRegistry),
+			Timer.builder(METRIC_NAME + ".time")
+				.tag("controller", controller)
+				.tag("method", method)
+				.register(meterRegistry),
+			DistributionSummary.builder(METRIC_NAME + ".entities")
+				.tag("controller", controller)
+				.tag("method", method)
+				.register(meterRegistry)
+		);
+	}
+
+	private record Meters(DistributionSummary statements, Timer time, DistributionSummary entities) {
+	}
+}
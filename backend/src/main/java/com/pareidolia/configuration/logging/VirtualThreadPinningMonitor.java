@@ -0,0 +1,86 @@
+package com.pareidolia.configuration.logging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.StringJoiner;
+
+/**
+ * Segnala i virtual thread rimasti bloccati sul proprio carrier thread, tipicamente per un'attesa di I/O
+ * dentro un blocco {@code synchronized}: mentre sono bloccati occupano un thread della piattaforma
+ * e annullano il vantaggio dei virtual thread. Ascolta l'evento JFR {@code jdk.VirtualThreadPinned},
+ * lo conta nella metrica {@code pareidolia.virtual-threads.pinned} e lo registra a livello WARN
+ * con le prime righe dello stack, che indicano il blocco da convertire in un {@link java.util.concurrent.locks.ReentrantLock}.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "app.virtual-threads.pinning.enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+	private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+	private static final int LOGGED_FRAMES = 8;
+
+	private final Duration threshold;
+	private final Counter pinned;
+	private RecordingStream recording;
+
+	@Autowired
+	public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+	                                   @Value("${app.virtual-threads.pinning.threshold:20}") long thresholdMillis) {
+		this.threshold = Duration.ofMillis(thresholdMillis);
+		this.pinned = Counter.builder("pareidolia.virtual-threads.pinned").register(meterRegistry);
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		recording = new RecordingStream();
+		recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+		recording.onEvent(PINNED_EVENT, this::onPinned);
+		recording.startAsync();
+	}
+
+	@Override
+	public void destroy() {
+		if (recording != null) {
+			recording.close();
+		}
+	}
+
+	void onPinned(RecordedEvent event) {
+		pinned.increment();
+		log.warn("Virtual thread pinned for {}ms at {}", event.getDuration().toMillis(), describe(event.getStackTrace()));
+	}
+
+	private static String describe(RecordedStackTrace stackTrace) {
+		if (stackTrace == null) {
+			return "unknown location";
+		}
+		StringJoiner joiner = new StringJoiner(" <- ");
+		// Le prime righe sono del JDK (sleep, park, I/O): interessa il codice che le ha chiamate
+		stackTrace.getFrames().stream()
+			.dropWhile(frame -> frame.getMethod().getType().getName().startsWith("java.")
+				|| frame.getMethod().getType().getName().startsWith("jdk."))
+			.limit(LOGGED_FRAMES)
+			.map(VirtualThreadPinningMonitor::describe)
+			.forEach(joiner::add);
+		return joiner.toString();
+	}
+
+	private static String describe(RecordedFrame frame) {
+		return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+	}
+}
@@ -1,5 +1,6 @@
 package com.pareidolia.configuration.mail;
 
+import jakarta.mail.Session;
 import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +13,11 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Collection;
+import java.util.Collections;
+
 @Component
 @SuppressWarnings({"FieldCanBeLocal"})
 @RequiredArgsConstructor(onConstructor_ = {@Autowired, @Lazy})
@@ -26,13 +32,7 @@ public class CustomMailSender {
 
 	public void sendMail(String to, String subject, String document, Boolean html, String typeMail) {
 		try {
-			MimeMessage mimeMessage = emailSender.createMimeMessage();
-			MimeMessageHelper message = new MimeMessageHelper(mimeMessage, "UTF-8");
-			message.setTo(to);
-			message.setFrom(new InternetAddress(fromEmail, fromName));
-			message.setSubject(subject);
-			message.setText(document, html);
-			emailSender.send(mimeMessage);
+			emailSender.send(createMessage(to, subject, document, html));
 			log.info("EMAIL ({}) SENDED TO: {}", typeMail, to);
 		} catch (Exception ignored) {
 			log.error("ERROR WHILE SENDING EMAIL ({}) TO: {}", typeMail, to);
@@ -40,6 +40,62 @@ public class CustomMailSender {
 		}
 	}
 
+	/**
+	 * Compone e codifica una sola volta un'email da inviare a più destinatari.
+	 * Message-ID e data vengono rimossi, così ogni invio ne genera di propri.
+	 * @return PreparedMail L'email pronta, da passare a {@link #sendPreparedMails}.
+	 */
+	public PreparedMail prepareMail(String subject, String document, Boolean html) {
+		try {
+			MimeMessage mimeMessage = createMessage(null, subject, document, html);
+			mimeMessage.saveChanges();
+			mimeMessage.removeHeader("Message-ID");
+			mimeMessage.removeHeader("Date");
+			ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+			mimeMessage.writeTo(serialized);
+
+			MimeMessage parsed = new MimeMessage(mimeMessage.getSession(), new ByteArrayInputStream(serialized.toByteArray()));
+			return new PreparedMail(subject, Collections.list(parsed.getAllHeaders()), parsed.getRawInputStream().readAllBytes());
+		} catch (Exception ignored) {
+			log.error("ERROR WHILE PREPARING EMAIL: {}", subject);
+			throw new RuntimeException("Something went wrong with email");
+		}
+	}
+
+	/**
+	 * Invia un'email già preparata a più destinatari con un'unica chiamata al server SMTP,
+	 * così la connessione di trasporto viene aperta una sola volta per tutto il blocco.
+	 * Per ogni destinatario viene impostato solo l'indirizzo: il contenuto è condiviso con l'email preparata.
+	 * @param to I destinatari, ognuno dei quali riceve un messaggio separato.
+	 */
+	public void sendPreparedMails(Collection<String> to, PreparedMail mail, String typeMail) {
+		try {
+			Session session = emailSender.createMimeMessage().getSession();
+			MimeMessage[] messages = new MimeMessage[to.size()];
+			int i = 0;
+			for (String recipient : to) {
+				messages[i++] = new PreparedMimeMessage(session, mail, recipient);
+			}
+			emailSender.send(messages);
+			log.info("EMAIL ({}) SENDED TO {} RECIPIENTS", typeMail, messages.length);
+		} catch (Exception ignored) {
+			log.error("ERROR WHILE SENDING EMAIL ({}) TO {} RECIPIENTS", typeMail, to.size());
+			throw new RuntimeException("Something went wrong with email");
+		}
+	}
+
+	private MimeMessage createMessage(String to, String subject, String document, Boolean html) throws Exception {
+		MimeMessage mimeMessage = emailSender.createMimeMessage();
+		MimeMessageHelper message = new MimeMessageHelper(mimeMessage, "UTF-8");
+		if (to != null) {
+			message.setTo(to);
+		}
+		message.setFrom(new InternetAddress(fromEmail, fromName));
+		message.setSubject(subject);
+		message.setText(document, html);
+		return mimeMessage;
+	}
+
 	public boolean sendResetConsumer(String to, String password) {
 		String document = "New password: " + password;
 		sendMail(to, "Reset Password", document, false, "sendResetPasswordConsumer");
@@ -0,0 +1,48 @@
+package com.pareidolia.configuration.mail;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class MailConfiguration {
+	/**
+	 * Pool limitato usato per inviare in parallelo i blocchi di notifiche degli eventi.
+	 * Quando coda e thread sono occupati il blocco viene inviato dal thread chiamante, rallentando il dispatcher.
+	 */
+	@Bean
+	@ConditionalOnThreading(Threading.PLATFORM)
+	public AsyncTaskExecutor eventEmailExecutor(@Value("${app.mail.outbox.workers:4}") int workers) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(workers);
+		executor.setMaxPoolSize(workers);
+		executor.setQueueCapacity(workers);
+		executor.setThreadNamePrefix("event-email-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(30);
+		return executor;
+	}
+
+	/**
+	 * Con i virtual thread attivi ogni blocco di notifiche ha il suo virtual thread, che resta bloccato sull'SMTP
+	 * senza occupare un thread della piattaforma. Il limite di concorrenza mantiene lo stesso numero di connessioni
+	 * SMTP parallele del pool: oltre il limite il dispatcher attende.
+	 */
+	@Bean(name = "eventEmailExecutor")
+	@ConditionalOnThreading(Threading.VIRTUAL)
+	public AsyncTaskExecutor virtualEventEmailExecutor(@Value("${app.mail.outbox.workers:4}") int workers) {
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("event-email-");
+		executor.setVirtualThreads(true);
+		executor.setConcurrencyLimit(workers);
+		executor.setTaskTerminationTimeout(30_000);
+		return executor;
+	}
+}
@@ -0,0 +1,15 @@
+package com.pareidolia.configuration.mail;
+
+import jakarta.mail.Header;
+
+import java.util.List;
+
+/**
+ * Email già composta e codificata, priva di destinatario.
+ * Il contenuto viene condiviso (non copiato) da tutti i messaggi creati a partire da essa.
+ * @param subject L'oggetto, mantenuto per i log.
+ * @param headers Le intestazioni MIME, senza destinatario, Message-ID e data.
+ * @param content Il corpo già codificato secondo il Content-Transfer-Encoding delle intestazioni.
+ */
+public record PreparedMail(String subject, List<Header> headers, byte[] content) {
+}
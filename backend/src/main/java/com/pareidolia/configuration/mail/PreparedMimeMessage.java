@@ -0,0 +1,34 @@
+package com.pareidolia.configuration.mail;
+
+import jakarta.mail.Header;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Messaggio creato da una {@link PreparedMail} senza ricodificarne né copiarne il contenuto:
+ * vengono copiate solo le intestazioni e impostato il destinatario.
+ */
+class PreparedMimeMessage extends MimeMessage {
+	PreparedMimeMessage(Session session, PreparedMail mail, String recipient) throws MessagingException {
+		super(session);
+		for (Header header : mail.headers()) {
+			headers.addHeader(header.getName(), header.getValue());
+		}
+		setRecipient(RecipientType.TO, new InternetAddress(recipient));
+		// Il contenuto è già codificato: viene scritto così com'è, senza passare dal DataHandler
+		content = mail.content();
+		modified = false;
+	}
+
+	/**
+	 * Aggiorna le intestazioni (Message-ID, MIME-Version) lasciando il contenuto marcato come non modificato,
+	 * così in fase di invio viene scritto direttamente invece di essere decodificato e ricodificato.
+	 */
+	@Override
+	protected synchronized void updateHeaders() throws MessagingException {
+		super.updateHeaders();
+		modified = false;
+	}
+}
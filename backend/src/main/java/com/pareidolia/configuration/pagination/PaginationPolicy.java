@@ -0,0 +1,107 @@
+package com.pareidolia.configuration.pagination;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Regole comuni per le liste paginate: la dimensione richiesta dal client viene riportata tra il minimo e il massimo
+ * configurati per il tipo di lista, e le pagine oltre l'offset massimo vengono rifiutate.
+ * Così un singolo client non può richiedere pagine arbitrariamente grandi o profonde e occupare le connessioni del pool.
+ */
+@Component
+public class PaginationPolicy {
+	private static final String METRIC_NAME = "pareidolia.pagination.requests";
+
+	public enum Type {
+		DEFAULT,
+		BOOKING
+	}
+
+	private final long maxOffset;
+	private final Map<Type, Limits> limits = new EnumMap<>(Type.class);
+
+	@Autowired
+	public PaginationPolicy(MeterRegistry meterRegistry,
+	                        @Value("${app.pagination.default.min-size:10}") int defaultMinSize,
+	                        @Value("${app.pagination.default.max-size:100}") int defaultMaxSize,
+	                        @Value("${app.pagination.booking.min-size:20}") int bookingMinSize,
+	                        @Value("${app.pagination.booking.max-size:200}") int bookingMaxSize,
+	                        @Value("${app.pagination.max-offset:100000}") long maxOffset) {
+		this.maxOffset = maxOffset;
+		limits.put(Type.DEFAULT, new Limits(meterRegistry, Type.DEFAULT, defaultMinSize, defaultMaxSize));
+		limits.put(Type.BOOKING, new Limits(meterRegistry, Type.BOOKING, bookingMinSize, bookingMaxSize));
+	}
+
+	/**
+	 * Costruisce la richiesta di pagina applicando i limiti del tipo di lista.
+	 * @param type Il tipo di lista.
+	 * @param page Il numero di pagina richiesto, o null per la prima.
+	 * @param size La dimensione richiesta, o null per il minimo.
+	 * @return PageRequest La richiesta con la dimensione limitata.
+	 * @throws IllegalArgumentException Se la pagina richiesta supera l'offset massimo.
+	 */
+	public PageRequest pageRequest(Type type, Integer page, Integer size) {
+		return pageRequest(type, page, size, Sort.unsorted());
+	}
+
+	public PageRequest pageRequest(Type type, Integer page, Integer size, Sort sort) {
+		Limits typeLimits = limits.get(type);
+		int pageNumber = page == null ? 0 : Math.max(0, page);
+		int pageSize = size == null ? typeLimits.minSize() : Math.min(typeLimits.maxSize(), Math.max(typeLimits.minSize(), size));
+
+		if (maxOffset > 0 && (long) pageNumber * pageSize > maxOffset) {
+			typeLimits.rejected().increment();
+			throw new IllegalArgumentException("Page out of range");
+		}
+
+		if (size != null && size != pageSize) {
+			typeLimits.clamped().increment();
+		} else {
+			typeLimits.accepted().increment();
+		}
+		return PageRequest.of(pageNumber, pageSize, sort);
+	}
+
+	/**
+	 * Limita il numero di elementi di una lista per cursore al massimo configurato per il tipo di lista.
+	 * A differenza delle pagine, un limite inferiore al minimo viene rispettato: il minimo è solo il valore predefinito.
+	 * @param type Il tipo di lista.
+	 * @param limit Il numero di elementi richiesto, o null per il minimo.
+	 * @return int Il numero di elementi da leggere, almeno 1.
+	 */
+	public int limit(Type type, Integer limit) {
+		Limits typeLimits = limits.get(type);
+		int pageLimit = limit == null ? typeLimits.minSize() : Math.min(typeLimits.maxSize(), Math.max(1, limit));
+
+		if (limit != null && limit != pageLimit) {
+			typeLimits.clamped().increment();
+		} else {
+			typeLimits.accepted().increment();
+		}
+		return pageLimit;
+	}
+
+	private record Limits(int minSize, int maxSize, Counter accepted, Counter clamped, Counter rejected) {
+		private Limits(MeterRegistry meterRegistry, Type type, int minSize, int maxSize) {
+			this(minSize, maxSize,
+				counter(meterRegistry, type, "accepted"),
+				counter(meterRegistry, type, "clamped"),
+				counter(meterRegistry, type, "rejected"));
+		}
+
+		private static Counter counter(MeterRegistry meterRegistry, Type type, String result) {
+			return Counter.builder(METRIC_NAME)
+				.tag("type", type.name().toLowerCase())
+				.tag("result", result)
+				.register(meterRegistry);
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package com.pareidolia.configuration.persistence;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConcurrencyLimitConfiguration {
+	/**
+	 * Con i virtual thread attivi avvolge il DataSource del pool in un {@link ConcurrencyLimitingDataSource},
+	 * con tanti permessi quante sono le connessioni del pool se non indicato diversamente.
+	 * Statico perché i BeanPostProcessor vanno registrati prima degli altri bean della configurazione.
+	 */
+	@Bean
+	public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+	                                                                           @Value("${app.jdbc.concurrency-limit.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+	                                                                           @Value("${app.jdbc.concurrency-limit.timeout:30}") long timeoutSeconds) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitingDataSource)) {
+					return new ConcurrencyLimitingDataSource(dataSource, meterRegistry.getObject(), permits, timeoutSeconds * 1000);
+				}
+				return bean;
+			}
+		};
+	}
+}
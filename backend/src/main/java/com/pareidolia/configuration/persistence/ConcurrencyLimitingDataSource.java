@@ -0,0 +1,111 @@
+package com.pareidolia.configuration.persistence;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource che limita con un semaforo equo le connessioni ottenute contemporaneamente dal pool.
+ * Con i virtual thread le richieste in attesa del database non occupano più un thread della piattaforma
+ * e possono essere migliaia: il semaforo le mette in coda in ordine di arrivo, prima del pool,
+ * e fallisce dopo il tempo massimo di attesa invece di lasciarle accumulare.
+ * Il permesso viene restituito alla chiusura della connessione.
+ */
+public class ConcurrencyLimitingDataSource extends DelegatingDataSource implements AutoCloseable {
+	private static final String METRIC_NAME = "pareidolia.jdbc.concurrency-limit";
+
+	private final Semaphore permits;
+	private final long timeoutNanos;
+	private final Timer waits;
+
+	public ConcurrencyLimitingDataSource(DataSource targetDataSource, MeterRegistry meterRegistry, int permits, long timeoutMillis) {
+		super(targetDataSource);
+		this.permits = new Semaphore(permits, true);
+		this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		this.waits = Timer.builder(METRIC_NAME + ".wait").register(meterRegistry);
+		Gauge.builder(METRIC_NAME + ".queued", this.permits, Semaphore::getQueueLength).register(meterRegistry);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		acquire();
+		try {
+			return releasingOnClose(obtainTargetDataSource().getConnection());
+		} catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		acquire();
+		try {
+			return releasingOnClose(obtainTargetDataSource().getConnection(username, password));
+		} catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Chiude il pool avvolto: Spring deduce il metodo di distruzione dal bean esposto, cioè da questo wrapper.
+	 */
+	@Override
+	public void close() throws Exception {
+		if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+			closeable.close();
+		}
+	}
+
+	public int getAvailablePermits() {
+		return permits.availablePermits();
+	}
+
+	private void acquire() throws SQLException {
+		long start = System.nanoTime();
+		try {
+			if (!permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+				throw new SQLTransientConnectionException("Database concurrency limit reached, request timed out after "
+					+ TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + "ms");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+		} finally {
+			waits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private Connection releasingOnClose(Connection target) {
+		// Una connessione può essere chiusa più volte: il permesso va restituito una volta sola
+		AtomicBoolean released = new AtomicBoolean();
+		return (Connection) Proxy.newProxyInstance(ConcurrencyLimitingDataSource.class.getClassLoader(), new Class<?>[]{Connection.class},
+			(proxy, method, args) -> switch (method.getName()) {
+				case "equals" -> proxy == args[0];
+				case "hashCode" -> System.identityHashCode(proxy);
+				default -> {
+					try {
+						yield method.invoke(target, args);
+					} catch (InvocationTargetException e) {
+						throw e.getTargetException();
+					} finally {
+						if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+							permits.release();
+						}
+					}
+				}
+			});
+	}
+}
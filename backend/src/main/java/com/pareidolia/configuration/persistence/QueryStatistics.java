@@ -0,0 +1,131 @@
+package com.pareidolia.configuration.persistence;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statistiche JDBC raccolte sul thread corrente tra {@link #open()} e {@link #close()}:
+ * istruzioni eseguite, tempo trascorso nel driver ed entità lette.
+ * Le misure si possono annidare e quelle interne vengono sommate anche alla misura che le contiene.
+ * Fuori da una misura aperta le istruzioni non vengono registrate.
+ * I dati arrivano da Hibernate ({@link QueryStatisticsInterceptor} e {@link QueryStatisticsSessionListener}),
+ * registrati da {@link QueryStatisticsConfiguration}.
+ */
+public class QueryStatistics implements AutoCloseable {
+	private static final ThreadLocal<QueryStatistics> CURRENT = new ThreadLocal<>();
+	// Limite alle istruzioni distinte conservate per il log, per non accumulare SQL generato dinamicamente
+	private static final int MAX_DISTINCT_STATEMENTS = 50;
+	private static volatile boolean installed;
+
+	private final QueryStatistics parent;
+	private final Map<String, Integer> statementCounts = new HashMap<>();
+	private long statements;
+	private long jdbcNanos;
+	private long entities;
+
+	private QueryStatistics(QueryStatistics parent) {
+		this.parent = parent;
+	}
+
+	/**
+	 * Apre una misura sul thread corrente; va chiusa sullo stesso thread, tipicamente con un try-with-resources.
+	 * @return QueryStatistics La misura aperta.
+	 */
+	public static QueryStatistics open() {
+		QueryStatistics statistics = new QueryStatistics(CURRENT.get());
+		CURRENT.set(statistics);
+		return statistics;
+	}
+
+	/**
+	 * @return boolean Se sul thread corrente è aperta una misura.
+	 */
+	static boolean isActive() {
+		return CURRENT.get() != null;
+	}
+
+	/**
+	 * Segnala che Hibernate è configurato per alimentare le misure: senza, una misura aperta resta sempre a zero.
+	 */
+	static void install() {
+		installed = true;
+	}
+
+	/**
+	 * @return boolean Se le istruzioni eseguite vengono registrate nelle misure aperte.
+	 */
+	public static boolean isInstalled() {
+		return installed;
+	}
+
+	/**
+	 * Registra un'istruzione preparata per l'esecuzione nelle misure aperte sul thread corrente.
+	 * @param sql Il testo dell'istruzione.
+	 */
+	static void recordStatement(String sql) {
+		for (QueryStatistics statistics = CURRENT.get(); statistics != null; statistics = statistics.parent) {
+			statistics.statements++;
+			if (statistics.statementCounts.size() < MAX_DISTINCT_STATEMENTS || statistics.statementCounts.containsKey(sql)) {
+				statistics.statementCounts.merge(sql, 1, Integer::sum);
+			}
+		}
+	}
+
+	/**
+	 * Aggiunge il tempo di un'esecuzione nel driver alle misure aperte sul thread corrente.
+	 * @param nanos La durata dell'esecuzione.
+	 */
+	static void recordJdbcTime(long nanos) {
+		for (QueryStatistics statistics = CURRENT.get(); statistics != null; statistics = statistics.parent) {
+			statistics.jdbcNanos += nanos;
+		}
+	}
+
+	/**
+	 * Registra un'entità letta da un risultato nelle misure aperte sul thread corrente.
+	 */
+	static void recordEntity() {
+		for (QueryStatistics statistics = CURRENT.get(); statistics != null; statistics = statistics.parent) {
+			statistics.entities++;
+		}
+	}
+
+	public long getStatements() {
+		return statements;
+	}
+
+	public long getJdbcNanos() {
+		return jdbcNanos;
+	}
+
+	public long getEntities() {
+		return entities;
+	}
+
+	/**
+	 * @param limit Il numero massimo di istruzioni restituite.
+	 * @return List<Map.Entry<String, Integer>> Le istruzioni eseguite più volte, con il numero di esecuzioni:
+	 * una stessa istruzione ripetuta molte volte indica di solito un problema N+1.
+	 */
+	public List<Map.Entry<String, Integer>> getMostRepeatedStatements(int limit) {
+		return statementCounts.entrySet().stream()
+			.sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+			.limit(limit)
+			.map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+			.toList();
+	}
+
+	/**
+	 * Chiude la misura e ripristina quella che la contiene, se presente.
+	 */
+	@Override
+	public void close() {
+		if (parent == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(parent);
+		}
+	}
+}
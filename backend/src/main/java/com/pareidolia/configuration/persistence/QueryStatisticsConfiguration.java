@@ -0,0 +1,27 @@
+package com.pareidolia.configuration.persistence;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.jdbc.statistics.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryStatisticsConfiguration {
+	/**
+	 * Registra nella SessionFactory gli agganci di Hibernate che alimentano {@link QueryStatistics}:
+	 * ogni istruzione eseguita viene registrata nella misura aperta sul thread, ad esempio quella della richiesta HTTP in corso.
+	 * Le connessioni del pool non vengono avvolte.
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer queryStatisticsHibernatePropertiesCustomizer() {
+		return properties -> {
+			QueryStatisticsInterceptor interceptor = new QueryStatisticsInterceptor();
+			properties.put(AvailableSettings.STATEMENT_INSPECTOR, interceptor);
+			properties.put(AvailableSettings.INTERCEPTOR, interceptor);
+			properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, QueryStatisticsSessionListener.class.getName());
+			QueryStatistics.install();
+		};
+	}
+}
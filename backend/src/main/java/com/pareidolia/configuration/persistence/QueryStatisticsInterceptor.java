@@ -0,0 +1,26 @@
+package com.pareidolia.configuration.persistence;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * Registra in {@link QueryStatistics} le istruzioni che Hibernate prepara, con il loro testo SQL,
+ * e le entità che legge dai risultati. Hibernate prepara un'istruzione per ogni esecuzione, tranne nei batch
+ * di scrittura che contano come una sola istruzione. Un'unica istanza serve tutte le sessioni e non ha stato:
+ * fuori da una misura aperta le chiamate non registrano nulla.
+ */
+public class QueryStatisticsInterceptor implements Interceptor, StatementInspector {
+
+	@Override
+	public String inspect(String sql) {
+		QueryStatistics.recordStatement(sql);
+		return sql;
+	}
+
+	@Override
+	public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+		QueryStatistics.recordEntity();
+		return false;
+	}
+}
@@ -0,0 +1,43 @@
+package com.pareidolia.configuration.persistence;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Misura il tempo che le istruzioni di Hibernate trascorrono nel driver JDBC e lo aggiunge a {@link QueryStatistics}.
+ * Hibernate ne crea un'istanza per sessione e una sessione è usata da un solo thread alla volta,
+ * quindi l'inizio dell'esecuzione in corso può restare in un campo. Senza una misura aperta non legge l'orologio.
+ */
+public class QueryStatisticsSessionListener implements SessionEventListener {
+	private long executionStart = -1;
+
+	@Override
+	public void jdbcExecuteStatementStart() {
+		startExecution();
+	}
+
+	@Override
+	public void jdbcExecuteStatementEnd() {
+		endExecution();
+	}
+
+	@Override
+	public void jdbcExecuteBatchStart() {
+		startExecution();
+	}
+
+	@Override
+	public void jdbcExecuteBatchEnd() {
+		endExecution();
+	}
+
+	private void startExecution() {
+		executionStart = QueryStatistics.isActive() ? System.nanoTime() : -1;
+	}
+
+	private void endExecution() {
+		if (executionStart >= 0) {
+			QueryStatistics.recordJdbcTime(System.nanoTime() - executionStart);
+			executionStart = -1;
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package com.pareidolia.configuration.security;
+
+import com.pareidolia.entity.Account;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+
+/**
+ * Principal autenticato tramite token, che espone l'account già caricato in fase di autenticazione
+ * per evitare di rileggerlo dal database nella stessa richiesta.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class AuthenticatedUser extends User {
+	private final transient Account account;
+
+	public AuthenticatedUser(Account account) {
+		super(account.getEmail(), account.getPassword(), List.of(new SimpleGrantedAuthority(account.getReferenceType().name())));
+		this.account = account;
+	}
+}
@@ -0,0 +1,194 @@
+package com.pareidolia.configuration.security;
+
+import com.pareidolia.entity.Account;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache in memoria, limitata per dimensione e durata, degli account già autenticati tramite token.
+ * Le chiavi sono il digest SHA-256 del token, così il token in chiaro non resta in memoria.
+ * I valori restituiti sono sempre copie, quindi modificarli non altera il contenuto della cache.
+ * Le voci sono divise in segmenti con un lock e un ordine LRU ciascuno, così le autenticazioni concorrenti
+ * non si contendono un unico lock; un indice per account permette di invalidarne i token senza scorrere la cache.
+ */
+@Component
+public class PrincipalCache {
+	private static final String METRIC_NAME = "pareidolia.security.principal.cache";
+	private static final int MAX_SEGMENTS = 16;
+	// Sotto questa dimensione per segmento la cache non viene divisa, e l'ordine LRU resta esatto
+	private static final int MIN_SEGMENT_SIZE = 256;
+
+	private final long ttlMillis;
+	private final Segment[] segments;
+	private final Map<Long, Set<String>> keysByAccount = new ConcurrentHashMap<>();
+
+	private final Counter hits;
+	private final Counter misses;
+	private final Counter evictions;
+
+	public PrincipalCache(MeterRegistry meterRegistry,
+	                      @Value("${app.security.principal-cache.max-size:10000}") int maxSize,
+	                      @Value("${app.security.principal-cache.ttl:300}") long ttlSeconds) {
+		this.ttlMillis = ttlSeconds * 1000;
+		int segmentCount = Math.max(1, Math.min(MAX_SEGMENTS, maxSize / MIN_SEGMENT_SIZE));
+		this.segments = new Segment[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			segments[i] = new Segment((maxSize + segmentCount - 1) / segmentCount);
+		}
+
+		this.hits = Counter.builder(METRIC_NAME + ".requests").tag("result", "hit").register(meterRegistry);
+		this.misses = Counter.builder(METRIC_NAME + ".requests").tag("result", "miss").register(meterRegistry);
+		this.evictions = Counter.builder(METRIC_NAME + ".evictions").register(meterRegistry);
+		Gauge.builder(METRIC_NAME + ".size", this, PrincipalCache::size).register(meterRegistry);
+	}
+
+	/**
+	 * Restituisce l'account associato al token, se presente e non scaduto.
+	 * @param token Il token di autenticazione.
+	 * @return Optional<Account> Una copia dell'account in cache.
+	 */
+	public Optional<Account> get(String token) {
+		String key = DigestUtils.sha256Hex(token);
+		Segment segment = segmentOf(key);
+		Entry entry;
+		synchronized (segment) {
+			entry = segment.get(key);
+			if (entry != null && entry.expiresAt() <= System.currentTimeMillis()) {
+				segment.remove(key);
+				unindex(key, entry);
+				entry = null;
+			}
+		}
+		if (entry == null) {
+			misses.increment();
+			return Optional.empty();
+		}
+		hits.increment();
+		return Optional.of(copyOf(entry.account()));
+	}
+
+	/**
+	 * Memorizza l'account autenticato tramite il token indicato, senza superare la scadenza del token stesso.
+	 * @param token Il token di autenticazione.
+	 * @param account L'account verificato.
+	 * @param tokenExpiresAt La scadenza del token.
+	 */
+	public void put(String token, Account account, Instant tokenExpiresAt) {
+		long expiresAt = Math.min(System.currentTimeMillis() + ttlMillis, tokenExpiresAt.toEpochMilli());
+		String key = DigestUtils.sha256Hex(token);
+		Entry entry = new Entry(copyOf(account), expiresAt);
+		Segment segment = segmentOf(key);
+		synchronized (segment) {
+			segment.put(key, entry);
+			keysByAccount.computeIfAbsent(account.getId(), id -> ConcurrentHashMap.newKeySet()).add(key);
+		}
+	}
+
+	/**
+	 * Rimuove tutti i token in cache associati all'account indicato.
+	 * @param accountId L'ID dell'account.
+	 */
+	public void invalidate(Long accountId) {
+		Set<String> keys = keysByAccount.remove(accountId);
+		if (keys == null) {
+			return;
+		}
+		for (String key : keys) {
+			Segment segment = segmentOf(key);
+			synchronized (segment) {
+				segment.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Rimuove subito l'account dalla cache e, se è attiva una transazione, di nuovo dopo il commit,
+	 * così un'autenticazione concorrente non può ripopolarla con i dati precedenti alla modifica.
+	 * @param accountId L'ID dell'account modificato o eliminato.
+	 */
+	public void invalidateAfterCommit(Long accountId) {
+		invalidate(accountId);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					invalidate(accountId);
+				}
+			});
+		}
+	}
+
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	private Segment segmentOf(String key) {
+		return segments[Math.floorMod(key.hashCode(), segments.length)];
+	}
+
+	private void unindex(String key, Entry entry) {
+		keysByAccount.computeIfPresent(entry.account().getId(), (id, keys) -> {
+			keys.remove(key);
+			return keys.isEmpty() ? null : keys;
+		});
+	}
+
+	private static Account copyOf(Account account) {
+		return new Account(
+			account.getId(),
+			account.getEmail(),
+			account.getPassword(),
+			account.getName(),
+			account.getSurname(),
+			account.getPhone(),
+			account.getReferenceType(),
+			account.getTokenVersion(),
+			account.getCreationTime(),
+			account.getLastUpdate()
+		);
+	}
+
+	/**
+	 * Un segmento della cache in ordine di accesso; va usato solo tenendo il suo lock.
+	 */
+	private final class Segment extends LinkedHashMap<String, Entry> {
+		private final int maxSize;
+
+		private Segment(int maxSize) {
+			super(16, 0.75f, true);
+			this.maxSize = maxSize;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			if (size() > maxSize) {
+				evictions.increment();
+				unindex(eldest.getKey(), eldest.getValue());
+				return true;
+			}
+			return false;
+		}
+	}
+
+	private record Entry(Account account, long expiresAt) {
+	}
+}
@@ -1,6 +1,7 @@
 package com.pareidolia.configuration.security.jwt;
 
 import com.pareidolia.configuration.mail.CustomMailSender;
+import com.pareidolia.configuration.security.PrincipalCache;
 import com.pareidolia.entity.Account;
 import com.pareidolia.repository.AccountRepository;
 import lombok.RequiredArgsConstructor;
@@ -12,12 +13,15 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class JWTAuthenticationService {
 	private final JWTService jwtService;
+	private final PrincipalCache principalCache;
+	private final TokenVersionRegistry tokenVersionRegistry;
 	private final CustomMailSender customMailSender;
 	private final AccountRepository accountRepository;
 
@@ -31,7 +35,9 @@ public class JWTAuthenticationService {
 					}
 					String newPassword = RandomStringUtils.secureStrong().nextAlphanumeric(8);
 					account.setPassword(DigestUtils.sha3_256Hex(newPassword));
+					tokenVersionRegistry.revoke(account);
 					accountRepository.save(account);
+					principalCache.invalidateAfterCommit(account.getId());
 					if (!customMailSender.sendResetConsumer(email, newPassword)) {
 						throw new RuntimeException("Something went wrong with email");
 					}
@@ -42,16 +48,25 @@ public class JWTAuthenticationService {
 	}
 
 	public Account authenticateByToken(String token) {
+		// Il token in cache è già stato verificato: resta solo da controllare in memoria che non sia stato revocato
+		Optional<Account> cached = principalCache.get(token);
+		if (cached.isPresent()) {
+			Account account = cached.get();
+			if (tokenVersionRegistry.isCurrent(account.getId(), account.getTokenVersion())) {
+				return account;
+			}
+			principalCache.invalidate(account.getId());
+		}
 		try {
-			Map<String, Object> data = jwtService.verify(token);
-			Account.Type referenceType = Account.Type.valueOf(String.valueOf(data.get("referenceType")));
-			String username = String.valueOf(data.get("username"));
-			String password = String.valueOf(data.get("password"));
-			Account account = accountRepository.findByEmailAndPassword(username, password)
+			VerifiedToken verifiedToken = jwtService.verify(token);
+			Account account = accountRepository.findById(verifiedToken.accountId())
 				.orElseThrow(() -> new UsernameNotFoundException("Authentication fail"));
-			if (referenceType != account.getReferenceType()) {
+			if (verifiedToken.referenceType() != account.getReferenceType()
+				|| !Objects.equals(verifiedToken.tokenVersion(), account.getTokenVersion())) {
 				throw new BadCredentialsException("Invalid token");
 			}
+			tokenVersionRegistry.record(account.getId(), account.getTokenVersion());
+			principalCache.put(token, account, verifiedToken.expiresAt());
 			return account;
 		} catch (Exception e) {
 			throw new BadCredentialsException("Invalid token");
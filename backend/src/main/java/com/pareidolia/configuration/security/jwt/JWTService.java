@@ -2,6 +2,7 @@ package com.pareidolia.configuration.security.jwt;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.RegisteredClaims;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.pareidolia.entity.Account;
@@ -9,37 +10,79 @@ import lombok.NoArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
-import java.util.Date;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
 
 @Service
 public class JWTService {
+	private static final String ACCOUNT_ID = "accountId";
+	private static final String TYPE = "type";
+	private static final String TOKEN_VERSION = "tokenVersion";
+	// HMAC256 richiede una chiave di almeno 256 bit
+	private static final int MIN_SECRET_BYTES = 32;
+	private static final Set<String> PLACEHOLDER_SECRETS = Set.of("EDIT_THIS", "TEST_SECRET");
+
 	private final Algorithm algorithm;
+	// JWTVerifier è immutabile e thread-safe: viene costruito una sola volta e condiviso tra le richieste
+	private final JWTVerifier verifier;
+	private final Duration expiration;
 
-	public JWTService(@Value("jwt.secret") String secret) {
+	public JWTService(@Value("${jwt.secret}") String secret,
+	                  @Value("${app.security.token.expiration:604800}") long expirationSeconds) {
+		validateSecret(secret);
 		this.algorithm = Algorithm.HMAC256(secret);
+		this.verifier = JWT.require(algorithm)
+			.withClaimPresence(RegisteredClaims.EXPIRES_AT)
+			.withClaimPresence(ACCOUNT_ID)
+			.withClaimPresence(TYPE)
+			.withClaimPresence(TOKEN_VERSION)
+			.build();
+		this.expiration = Duration.ofSeconds(expirationSeconds);
+	}
+
+	/**
+	 * Impedisce l'avvio con un segreto mancante, lasciato al valore di esempio o troppo corto:
+	 * chi conosce il segreto può firmare token per qualsiasi account.
+	 */
+	private static void validateSecret(String secret) {
+		if (secret == null || secret.isBlank()) {
+			throw new IllegalArgumentException("jwt.secret must be set");
+		}
+		if (PLACEHOLDER_SECRETS.contains(secret.trim())) {
+			throw new IllegalArgumentException("jwt.secret is still set to the placeholder value");
+		}
+		if (secret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_BYTES) {
+			throw new IllegalArgumentException("jwt.secret must be at least " + MIN_SECRET_BYTES + " bytes long");
+		}
 	}
 
-	public String create(Account.Type referenceType, String username, String password) {
-		LocalDateTime issuedAt = LocalDateTime.now();
+	/**
+	 * Emette un token per l'account, legato alla sua versione corrente dei token.
+	 * @param account L'account autenticato.
+	 * @return String Il token firmato.
+	 */
+	public String create(Account account) {
+		Instant issuedAt = Instant.now();
 		return JWT.create()
-			.withIssuedAt(Date.from(issuedAt.atZone(ZoneOffset.systemDefault()).toInstant()))
-			.withClaim("referenceType", referenceType.name())
-			.withClaim("username", username)
-			.withClaim("password", password)
+			.withIssuedAt(issuedAt)
+			.withExpiresAt(issuedAt.plus(expiration))
+			.withClaim(ACCOUNT_ID, account.getId())
+			.withClaim(TYPE, account.getReferenceType().name())
+			.withClaim(TOKEN_VERSION, account.getTokenVersion())
 			.sign(algorithm);
 	}
 
-	public Map<String, Object> verify(String token) throws TokenVerificationException {
-		JWTVerifier verifier = JWT.require(algorithm).build();
+	public VerifiedToken verify(String token) throws TokenVerificationException {
 		try {
 			DecodedJWT jwt = verifier.verify(token);
-			return jwt.getClaims().entrySet()
-				.stream()
-				.collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().as(Object.class)));
+			return new VerifiedToken(
+				jwt.getClaim(ACCOUNT_ID).asLong(),
+				Account.Type.valueOf(jwt.getClaim(TYPE).asString()),
+				jwt.getClaim(TOKEN_VERSION).asLong(),
+				jwt.getExpiresAtAsInstant()
+			);
 		} catch (Exception e) {
 			throw new TokenVerificationException(e);
 		}
@@ -0,0 +1,104 @@
+package com.pareidolia.configuration.security.jwt;
+
+import com.pareidolia.entity.Account;
+import com.pareidolia.repository.AccountRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantiene in memoria la versione corrente dei token di ogni account.
+ * Le versioni vengono rilette dal database solo quando mancano o sono più vecchie dell'intervallo di aggiornamento,
+ * così le revoche effettuate da altre istanze vengono recepite entro quell'intervallo.
+ * Le versioni più vecchie dell'intervallo vengono comunque rilette, quindi vengono rimosse periodicamente:
+ * la memoria occupata dipende dagli account attivi di recente e non da tutti quelli che hanno mai effettuato l'accesso.
+ */
+@Component
+public class TokenVersionRegistry {
+	private final AccountRepository accountRepository;
+	private final long refreshMillis;
+	private final Map<Long, Entry> versions = new ConcurrentHashMap<>();
+
+	@Autowired
+	public TokenVersionRegistry(AccountRepository accountRepository,
+	                            @Value("${app.security.token.version-refresh:30}") long refreshSeconds) {
+		this.accountRepository = accountRepository;
+		this.refreshMillis = refreshSeconds * 1000;
+	}
+
+	/**
+	 * Verifica che la versione del token sia ancora quella corrente per l'account.
+	 * @param accountId L'ID dell'account.
+	 * @param tokenVersion La versione riportata dal token.
+	 * @return boolean true se il token non è stato revocato.
+	 */
+	public boolean isCurrent(Long accountId, Long tokenVersion) {
+		Entry entry = versions.get(accountId);
+		if (entry == null || entry.loadedAt() + refreshMillis <= System.currentTimeMillis()) {
+			entry = accountRepository.findTokenVersionById(accountId)
+				.map(version -> new Entry(version, System.currentTimeMillis()))
+				.orElse(null);
+			if (entry == null) {
+				versions.remove(accountId);
+				return false;
+			}
+			versions.put(accountId, entry);
+		}
+		return Objects.equals(entry.version(), tokenVersion);
+	}
+
+	/**
+	 * Registra la versione corrente dei token di un account appena letto dal database.
+	 * @param accountId L'ID dell'account.
+	 * @param tokenVersion La versione corrente.
+	 */
+	public void record(Long accountId, Long tokenVersion) {
+		versions.put(accountId, new Entry(tokenVersion, System.currentTimeMillis()));
+	}
+
+	/**
+	 * Revoca tutti i token emessi per l'account incrementandone la versione.
+	 * La nuova versione viene registrata in memoria dopo il commit, o subito se non c'è una transazione attiva.
+	 * @param account L'account, che deve essere salvato dal chiamante.
+	 */
+	public void revoke(Account account) {
+		account.setTokenVersion(account.getTokenVersion() + 1);
+
+		Long accountId = account.getId();
+		Long tokenVersion = account.getTokenVersion();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					record(accountId, tokenVersion);
+				}
+			});
+		} else {
+			record(accountId, tokenVersion);
+		}
+	}
+
+	/**
+	 * Rimuove le versioni più vecchie dell'intervallo di aggiornamento, che andrebbero comunque rilette.
+	 */
+	@Scheduled(fixedDelayString = "${app.security.token.version-purge:60}", timeUnit = TimeUnit.SECONDS)
+	public void purgeExpired() {
+		long now = System.currentTimeMillis();
+		versions.values().removeIf(entry -> entry.loadedAt() + refreshMillis <= now);
+	}
+
+	public int size() {
+		return versions.size();
+	}
+
+	private record Entry(Long version, long loadedAt) {
+	}
+}
@@ -0,0 +1,15 @@
+package com.pareidolia.configuration.security.jwt;
+
+import com.pareidolia.entity.Account;
+
+import java.time.Instant;
+
+/**
+ * Contenuto di un token JWT di cui sono già state verificate firma e scadenza.
+ * @param accountId L'ID dell'account per cui è stato emesso il token.
+ * @param referenceType Il tipo di account al momento dell'emissione.
+ * @param tokenVersion La versione dei token dell'account al momento dell'emissione.
+ * @param expiresAt La scadenza del token.
+ */
+public record VerifiedToken(Long accountId, Account.Type referenceType, Long tokenVersion, Instant expiresAt) {
+}
@@ -1,6 +1,7 @@
 package com.pareidolia.controller.consumer;
 
 import com.pareidolia.dto.BookingDTO;
+import com.pareidolia.dto.CursorSliceDTO;
 import com.pareidolia.service.consumer.ConsumerBookingService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -35,6 +36,13 @@ public class ConsumerBookingController {
 		return consumerBookingService.getBookings(page, size);
 	}
 
+	//ritorna le proprie prenotazioni successive al cursore
+	@GetMapping(value = "/cursor", produces = MediaType.APPLICATION_JSON_VALUE)
+	public CursorSliceDTO<BookingDTO> getBookingsAfter(@RequestParam(value = "after", required = false) String after,
+		@RequestParam(value = "limit", required = false) Integer limit) {
+		return consumerBookingService.getBookingsAfter(after, limit);
+	}
+
 	// crea una nuova prenotazione, passo id evento, l'id utente lo ricavo con getData in ConsumerService
 	@PostMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
 	public BookingDTO create(@PathVariable("id") Long id) {
@@ -7,6 +7,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -33,4 +34,11 @@ public class ConsumerEventController {
 		return consumerEventService.getEvents(page, size);
 	}
 
+	// Come /list, ma senza la query di conteggio (solo hasNext)
+	@GetMapping(value = "/slice", produces = MediaType.APPLICATION_JSON_VALUE)
+	public Slice<EventDTO> getEventsSlice(@RequestParam(value = "page", required = false) Integer page,
+		@RequestParam(value = "size", required = false) Integer size) {
+		return consumerEventService.getEventsSlice(page, size);
+	}
+
 }
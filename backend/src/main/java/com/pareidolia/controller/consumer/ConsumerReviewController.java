@@ -1,5 +1,6 @@
 package com.pareidolia.controller.consumer;
 
+import com.pareidolia.dto.CursorSliceDTO;
 import com.pareidolia.dto.ReviewDTO;
 import com.pareidolia.service.consumer.ConsumerReviewService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -30,6 +31,14 @@ public class ConsumerReviewController {
 		return consumerReviewService.getEventReviews(idEvent, page, size);
 	}
 
+	//ritorna i commenti successivi al cursore
+	@GetMapping(value = "/{idEvent}/cursor", produces = MediaType.APPLICATION_JSON_VALUE)
+	public CursorSliceDTO<ReviewDTO> getEventReviewsAfter(@PathVariable("idEvent") Long idEvent,
+		@RequestParam(value = "after", required = false) String after,
+		@RequestParam(value = "limit", required = false) Integer limit) {
+		return consumerReviewService.getEventReviewsAfter(idEvent, after, limit);
+	}
+
 	// crea una nuova review
 	@PostMapping(value = "/create", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
 	public ReviewDTO create(@RequestBody ReviewDTO createReviewDTO) {
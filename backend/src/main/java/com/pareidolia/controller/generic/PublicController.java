@@ -1,17 +1,22 @@
 package com.pareidolia.controller.generic;
 
+import com.pareidolia.dto.CursorSliceDTO;
 import com.pareidolia.dto.EventDTO;
-import com.pareidolia.dto.PromoterDTO;
+import com.pareidolia.dto.ReviewStatsDTO;
+import com.pareidolia.service.SerializedBody;
 import com.pareidolia.service.generic.PublicService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
+
 @CrossOrigin
 @RestController
 @RequestMapping(path = "/generic/service")
@@ -22,27 +27,58 @@ public class PublicController {
 	private final PublicService publicService;
 
 	// - GET Event (by id or entire page)
+	// Il JSON arriva già serializzato dalla cache; con If-None-Match corrispondente la risposta è 304
 	@GetMapping(value = "/event/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-	public EventDTO getEvent(@PathVariable("id") Long id) {
-		return publicService.getEvent(id);
+	public ResponseEntity<byte[]> getEvent(@PathVariable("id") Long id) {
+		return json(publicService.getEventJson(id));
+	}
+
+	@GetMapping(value = "/event/{id}/review-stats", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ReviewStatsDTO getEventReviewStats(@PathVariable("id") Long id) {
+		return publicService.getEventReviewStats(id);
 	}
 
+	// Le prime pagine con la dimensione predefinita sono servite già serializzate, senza accedere al database
 	@GetMapping(value = "/event/list", produces = MediaType.APPLICATION_JSON_VALUE)
-	public Page<EventDTO> getEvents(@RequestParam(value = "page", required = false) Integer page,
+	public ResponseEntity<?> getEvents(@RequestParam(value = "page", required = false) Integer page,
 		@RequestParam(value = "size", required = false) Integer size) {
-		return publicService.getEvents(page, size);
+		Optional<SerializedBody> snapshot = publicService.getEventsSnapshot(page, size);
+		if (snapshot.isPresent()) {
+			return json(snapshot.get());
+		}
+		return ResponseEntity.ok(publicService.getEvents(page, size));
+	}
+
+	// Come /event/list, ma senza la query di conteggio (solo hasNext)
+	@GetMapping(value = "/event/slice", produces = MediaType.APPLICATION_JSON_VALUE)
+	public Slice<EventDTO> getEventsSlice(@RequestParam(value = "page", required = false) Integer page,
+		@RequestParam(value = "size", required = false) Integer size) {
+		return publicService.getEventsSlice(page, size);
+	}
+
+	// Totale approssimato degli eventi, aggiornato in background
+	@GetMapping(value = "/event/count", produces = MediaType.APPLICATION_JSON_VALUE)
+	public long countEvents() {
+		return publicService.countEvents();
+	}
+
+	// Paginazione per cursore: nessun OFFSET e nessuna query di conteggio
+	@GetMapping(value = "/event/cursor", produces = MediaType.APPLICATION_JSON_VALUE)
+	public CursorSliceDTO<EventDTO> getEventsAfter(@RequestParam(value = "after", required = false) String after,
+		@RequestParam(value = "limit", required = false) Integer limit) {
+		return publicService.getEventsAfter(after, limit);
 	}
 
 	// - GET Promoter (by id or entire page)
 	@GetMapping(value = "/promoter/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-	public PromoterDTO getPromoter(@PathVariable("id") Long id) {
-		return publicService.getPromoter(id);
+	public ResponseEntity<byte[]> getPromoter(@PathVariable("id") Long id) {
+		return json(publicService.getPromoterJson(id));
 	}
 
 	@GetMapping(value = "/promoter/list", produces = MediaType.APPLICATION_JSON_VALUE)
-	public Page<PromoterDTO> getPromoters(@RequestParam(value = "page", required = false) Integer page,
+	public ResponseEntity<byte[]> getPromoters(@RequestParam(value = "page", required = false) Integer page,
 		@RequestParam(value = "size", required = false) Integer size) {
-		return publicService.getPromoters(page, size);
+		return json(publicService.getPromotersJson(page, size));
 	}
 
 	// - GET Promoter events (page)
@@ -54,6 +90,11 @@ public class PublicController {
 		return publicService.getPromoterEvents(idPromoter, page, size);
 	}
 
+	@GetMapping(value = "/promoter/{idPromoter}/events/count", produces = MediaType.APPLICATION_JSON_VALUE)
+	public long countPromoterEvents(@PathVariable("idPromoter") Long idPromoter) {
+		return publicService.countPromoterEvents(idPromoter);
+	}
+
 	// Temporary, will be replaced by a dedicated service
 	@ResponseBody
 	@RequestMapping(path = "/image/{imageName}", method = RequestMethod.GET)
@@ -61,6 +102,13 @@ public class PublicController {
 		return publicService.getImage(imageName);
 	}
 
+	private static ResponseEntity<byte[]> json(SerializedBody body) {
+		return ResponseEntity.ok()
+			.contentType(MediaType.APPLICATION_JSON)
+			.eTag(body.eTag())
+			.body(body.bytes());
+	}
+
 	//      Event DTO data:
 	//          - Event minimum data-> (descrizione nell'entity)
 	//          - Promoters list with names and ids (Event ha una lista di promoters di tipo PromotersDTO)
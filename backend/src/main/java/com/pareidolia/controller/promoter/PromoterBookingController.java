@@ -4,12 +4,20 @@ import com.pareidolia.dto.BookingDTO;
 import com.pareidolia.service.promoter.PromoterBookingService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
 
 @CrossOrigin
 @RestController
@@ -22,6 +30,9 @@ public class PromoterBookingController {
 
 	private final PromoterBookingService promoterBookingService;
 
+	@Value("${app.booking.export.timeout:300}")
+	private long exportTimeout;
+
 	//ritorna una prenotazione
 	@GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
 	public BookingDTO getBooking(@PathVariable("id") Long id) {
@@ -37,6 +48,19 @@ public class PromoterBookingController {
 		return promoterBookingService.getBookings(idEvent, page, size);
 	}
 
+	//esporta in CSV le prenotazioni di un evento, scritte nella risposta man mano che vengono lette
+	@GetMapping(value = "/event/{id}/export.csv", produces = "text/csv")
+	public WebAsyncTask<Void> exportBookings(@PathVariable("id") Long idEvent, HttpServletResponse response) {
+		String fileName = promoterBookingService.getBookingsExportFileName(idEvent);
+		response.setContentType(new MediaType("text", "csv", StandardCharsets.UTF_8).toString());
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString());
+		// Il limite di tempo vale solo per questa risposta: le altre richieste asincrone restano sul default del server
+		return new WebAsyncTask<>(TimeUnit.SECONDS.toMillis(exportTimeout), () -> {
+			promoterBookingService.exportBookings(idEvent, response.getOutputStream());
+			return null;
+		});
+	}
+
 	//elimina una prenotazione
 	@DeleteMapping(value = "/{id}")
 	public void delete(@PathVariable("id") Long id) {
@@ -1,5 +1,6 @@
 package com.pareidolia.controller.promoter;
 
+import com.pareidolia.dto.CursorSliceDTO;
 import com.pareidolia.dto.MessageDTO;
 import com.pareidolia.service.promoter.PromoterMessageService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -32,6 +33,15 @@ public class PromoterMessageController {
 		return promoterMessageService.getEventDraftMessages(idEventDraft, page, size);
 	}
 
+	//ritorna i messaggi dell'eventDraft successivi al cursore
+	@GetMapping(value = "/{idEventDraft}/cursor", produces = MediaType.APPLICATION_JSON_VALUE)
+	public CursorSliceDTO<MessageDTO> getEventDraftMessagesAfter(
+		@PathVariable("idEventDraft") Long idEventDraft,
+		@RequestParam(value = "after", required = false) String after,
+		@RequestParam(value = "limit", required = false) Integer limit) {
+		return promoterMessageService.getEventDraftMessagesAfter(idEventDraft, after, limit);
+	}
+
 	//add
 	// crea un nuovo messaggio (idEventDraft è contenuto nella requestBody del DTO)
 	@PostMapping(value = "/{idEventDraft}/create", consumes = MediaType.TEXT_PLAIN_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
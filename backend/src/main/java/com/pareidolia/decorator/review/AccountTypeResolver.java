@@ -0,0 +1,55 @@
+package com.pareidolia.decorator.review;
+
+import com.pareidolia.entity.Account;
+import com.pareidolia.entity.Review;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Risolve il tipo di account degli autori di un gruppo di recensioni, usato da {@link HighlightDecorator}.
+ * I tipi vengono letti una sola volta dagli account già associati alle recensioni (caricati insieme alla pagina),
+ * così la decorazione di una pagina non esegue una query per ogni recensione.
+ */
+public class AccountTypeResolver {
+	private final Map<Long, Account.Type> types;
+
+	private AccountTypeResolver(Map<Long, Account.Type> types) {
+		this.types = types;
+	}
+
+	/**
+	 * Crea un resolver con i tipi degli account associati alle recensioni indicate.
+	 * @param reviews Le recensioni da decorare, con l'account già associato.
+	 * @return AccountTypeResolver Il resolver per le recensioni.
+	 */
+	public static AccountTypeResolver forReviews(Collection<Review> reviews) {
+		Map<Long, Account.Type> types = new HashMap<>();
+		for (Review review : reviews) {
+			if (review.getAccount() != null) {
+				types.put(review.getIdConsumer(), review.getAccount().getReferenceType());
+			}
+		}
+		return new AccountTypeResolver(types);
+	}
+
+	/**
+	 * Crea un resolver per un singolo account.
+	 * @param account L'account autore della recensione.
+	 * @return AccountTypeResolver Il resolver per l'account.
+	 */
+	public static AccountTypeResolver forAccount(Account account) {
+		Map<Long, Account.Type> types = new HashMap<>();
+		types.put(account.getId(), account.getReferenceType());
+		return new AccountTypeResolver(types);
+	}
+
+	/**
+	 * @param idAccount L'ID dell'account.
+	 * @return Account.Type Il tipo dell'account, o null se l'account non è tra quelli noti.
+	 */
+	public Account.Type resolve(Long idAccount) {
+		return types.get(idAccount);
+	}
+}
@@ -0,0 +1,19 @@
+package com.pareidolia.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@EqualsAndHashCode
+@AllArgsConstructor
+public class CursorSliceDTO<T> implements Serializable {
+	private List<T> content;
+	// Cursore opaco da passare come parametro "after" per ottenere gli elementi successivi, null se non ce ne sono
+	private String nextCursor;
+	private boolean hasNext;
+}
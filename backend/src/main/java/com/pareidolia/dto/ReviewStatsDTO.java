@@ -0,0 +1,22 @@
+package com.pareidolia.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.Map;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@EqualsAndHashCode
+@AllArgsConstructor
+public class ReviewStatsDTO implements Serializable {
+	private Long idEvent;
+	private Long reviewCount;
+	private Double averageScore;
+	// Numero di recensioni per punteggio, da 1 a 5
+	private Map<Long, Long> scores;
+	// Numero di recensioni per tag, dal più usato
+	private Map<String, Long> tags;
+}
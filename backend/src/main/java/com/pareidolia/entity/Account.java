@@ -42,6 +42,11 @@ public class Account {
 	@Enumerated(EnumType.STRING)
 	@Column(name = "reference_type", nullable = false)
 	private Type referenceType;
+	// Incrementato ad ogni cambio o reset della password per revocare i token emessi in precedenza
+	@Builder.Default
+	@ColumnDefault("0")
+	@Column(name = "token_version", nullable = false)
+	private Long tokenVersion = 0L;
 
 	@ColumnDefault("CURRENT_TIMESTAMP(6)")
 	@CreationTimestamp(source = SourceType.DB)
@@ -59,6 +64,7 @@ public class Account {
 		this.password = password;
 		this.phone = phone;
 		this.referenceType = referenceType;
+		this.tokenVersion = 0L;
 	}
 
 	public enum Type {
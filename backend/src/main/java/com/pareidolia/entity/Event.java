@@ -56,9 +56,26 @@ public class Event {
 	@Basic
 	@Column(name = "max_number_of_participants", nullable = false)
 	private Long maxNumberOfParticipants;
+	// averageScore, reviewCount, scoreSum e scoreHistogram sono mantenuti insieme dagli UPDATE atomici di EventRepository
 	@Basic
-	@Column(name = "average_score")
+	@Column(name = "average_score", updatable = false)
 	private Double averageScore;
+	@Builder.Default
+	@ColumnDefault("0")
+	@Column(name = "review_count", nullable = false, updatable = false)
+	private Long reviewCount = 0L;
+	@Builder.Default
+	@ColumnDefault("0")
+	@Column(name = "score_sum", nullable = false, updatable = false)
+	private Long scoreSum = 0L;
+	@Embedded
+	@Builder.Default
+	private ReviewScoreHistogram scoreHistogram = new ReviewScoreHistogram();
+	// Mantenuto esclusivamente dagli UPDATE atomici di EventRepository, mai dal dirty checking
+	@Builder.Default
+	@ColumnDefault("0")
+	@Column(name = "current_participants", nullable = false, updatable = false)
+	private Long currentParticipants = 0L;
 
 	@Builder.Default
 	@Column(name = "state", nullable = false)
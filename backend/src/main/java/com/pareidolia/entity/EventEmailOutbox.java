@@ -0,0 +1,77 @@
+package com.pareidolia.entity;
+
+import com.pareidolia.strategy.email.event.EmailEventType;
+import jakarta.persistence.*;
+import jakarta.persistence.ForeignKey;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.*;
+import org.hibernate.annotations.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(exclude = {"event"})
+@Table(name = "EventEmailOutbox", indexes = {
+	@Index(name = "IDX_event_email_outbox_status", columnList = "status, next_attempt_at")
+})
+public class EventEmailOutbox {
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Id
+	@Column(name = "id")
+	private Long id;
+	@Basic
+	@Column(name = "id_event", nullable = false)
+	private Long idEvent;
+	@Enumerated(EnumType.STRING)
+	@Column(name = "email_event_type", nullable = false)
+	private EmailEventType emailEventType;
+	@Enumerated(EnumType.STRING)
+	@Column(name = "recipient_type", nullable = false)
+	private Account.Type recipientType;
+	@Builder.Default
+	@Enumerated(EnumType.STRING)
+	@Column(name = "status", nullable = false)
+	private Status status = Status.PENDING;
+	// ID dell'ultimo destinatario notificato: l'invio riprende da qui dopo un errore o un riavvio
+	@Builder.Default
+	@ColumnDefault("0")
+	@Column(name = "last_account_id", nullable = false)
+	private Long lastAccountId = 0L;
+	// Tentativi falliti consecutivi, azzerati ad ogni blocco inviato con successo
+	@Builder.Default
+	@ColumnDefault("0")
+	@Column(name = "attempts", nullable = false)
+	private Integer attempts = 0;
+	@Basic
+	@Column(name = "next_attempt_at", nullable = false, length = 6)
+	private LocalDateTime nextAttemptAt;
+	@Basic
+	@Column(name = "last_error", length = 1024)
+	private String lastError;
+
+	@ColumnDefault("CURRENT_TIMESTAMP(6)")
+	@CreationTimestamp(source = SourceType.DB)
+	@Column(name = "creation_time", nullable = false, updatable = false, length = 6)
+	private LocalDateTime creationTime;
+	@ColumnDefault("CURRENT_TIMESTAMP(6)")
+	@UpdateTimestamp(source = SourceType.DB)
+	@Column(name = "last_update", nullable = false, length = 6)
+	private LocalDateTime lastUpdate;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@OnDelete(action = OnDeleteAction.CASCADE)
+	@JoinColumn(name = "id_event", insertable = false, updatable = false, foreignKey = @ForeignKey(name = "event_email_outbox_to_event"))
+	private Event event;
+
+	public enum Status {
+		PENDING,
+		SENT,
+		FAILED
+	}
+}
@@ -0,0 +1,42 @@
+package com.pareidolia.entity;
+
+import jakarta.persistence.*;
+import jakarta.persistence.ForeignKey;
+import jakarta.persistence.Table;
+import lombok.*;
+import org.hibernate.annotations.*;
+
+/**
+ * Numero di recensioni di un evento con un certo tag, mantenuto ad ogni recensione creata o eliminata.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(exclude = {"event"})
+@Table(name = "Event_Review_Tag", uniqueConstraints = {
+	@UniqueConstraint(name = "UK_event_review_tag", columnNames = {"id_event", "tag"})
+})
+public class EventReviewTag {
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Id
+	@Column(name = "id")
+	private Long id;
+	@Basic
+	@Column(name = "id_event", nullable = false)
+	private Long idEvent;
+	@Basic
+	@Column(name = "tag", nullable = false)
+	private String tag;
+	@Builder.Default
+	@ColumnDefault("0")
+	@Column(name = "review_count", nullable = false)
+	private Long reviewCount = 0L;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@OnDelete(action = OnDeleteAction.CASCADE)
+	@JoinColumn(name = "id_event", insertable = false, updatable = false, foreignKey = @ForeignKey(name = "event_review_tag_to_event"))
+	private Event event;
+}
@@ -0,0 +1,56 @@
+package com.pareidolia.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Numero di recensioni di un evento per ciascun punteggio (da 1 a 5).
+ * Come gli altri contatori delle recensioni, è mantenuto solo dagli UPDATE atomici di EventRepository.
+ */
+@Getter
+@Setter
+@Builder
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ReviewScoreHistogram {
+	@Builder.Default
+	@ColumnDefault("0")
+	@Column(name = "review_score_1", nullable = false, updatable = false)
+	private Long score1 = 0L;
+	@Builder.Default
+	@ColumnDefault("0")
+	@Column(name = "review_score_2", nullable = false, updatable = false)
+	private Long score2 = 0L;
+	@Builder.Default
+	@ColumnDefault("0")
+	@Column(name = "review_score_3", nullable = false, updatable = false)
+	private Long score3 = 0L;
+	@Builder.Default
+	@ColumnDefault("0")
+	@Column(name = "review_score_4", nullable = false, updatable = false)
+	private Long score4 = 0L;
+	@Builder.Default
+	@ColumnDefault("0")
+	@Column(name = "review_score_5", nullable = false, updatable = false)
+	private Long score5 = 0L;
+
+	/**
+	 * @return Map<Long, Long> Il numero di recensioni per punteggio, in ordine di punteggio.
+	 */
+	public Map<Long, Long> toMap() {
+		Map<Long, Long> scores = new LinkedHashMap<>();
+		scores.put(1L, score1);
+		scores.put(2L, score2);
+		scores.put(3L, score3);
+		scores.put(4L, score4);
+		scores.put(5L, score5);
+		return scores;
+	}
+}
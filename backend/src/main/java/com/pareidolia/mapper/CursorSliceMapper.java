@@ -0,0 +1,68 @@
+package com.pareidolia.mapper;
+
+import com.pareidolia.dto.CursorSliceDTO;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Paginazione per cursore (keyset) sugli ID in ordine decrescente: ogni richiesta legge gli elementi con ID minore
+ * dell'ultimo restituito, senza OFFSET e senza la query di conteggio di una Page.
+ * Il cursore restituito al client è opaco, così il formato può cambiare senza rompere i client.
+ */
+public class CursorSliceMapper {
+	private static final String CURSOR_PREFIX = "id:";
+
+	/**
+	 * Decodifica il cursore ricevuto dal client.
+	 * @param cursor Il cursore, o null per partire dal primo elemento.
+	 * @return Long L'ID da cui riprendere (esclusivo).
+	 * @throws IllegalArgumentException Se il cursore non è valido.
+	 */
+	public static Long decode(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return Long.MAX_VALUE;
+		}
+		try {
+			String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			if (!value.startsWith(CURSOR_PREFIX)) {
+				throw new IllegalArgumentException("Invalid cursor");
+			}
+			return Long.parseLong(value.substring(CURSOR_PREFIX.length()));
+		} catch (IllegalArgumentException e) {
+			// Comprende anche NumberFormatException e gli errori di Base64
+			throw new IllegalArgumentException("Invalid cursor");
+		}
+	}
+
+	public static String encode(Long id) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString((CURSOR_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Richiede un elemento in più del limite, per sapere se esiste una pagina successiva senza contarli.
+	 * @param limit Il numero di elementi richiesto, già limitato con {@link com.pareidolia.configuration.pagination.PaginationPolicy#limit}.
+	 */
+	public static Pageable pageable(int limit) {
+		return PageRequest.of(0, limit + 1, Sort.by(Sort.Order.desc("id")));
+	}
+
+	/**
+	 * Converte le righe lette con {@link #pageable} nella risposta per il client.
+	 * @param rows Le righe lette, al massimo limit + 1.
+	 * @param limit Il numero di elementi richiesto.
+	 * @param idOf Funzione che restituisce l'ID di una riga.
+	 * @param mapper Funzione che converte una riga nel DTO.
+	 */
+	public static <E, T> CursorSliceDTO<T> toDTO(List<E> rows, int limit, Function<E, Long> idOf, Function<E, T> mapper) {
+		boolean hasNext = rows.size() > limit;
+		List<E> content = hasNext ? rows.subList(0, limit) : rows;
+		String nextCursor = hasNext ? encode(idOf.apply(content.get(content.size() - 1))) : null;
+		return new CursorSliceDTO<>(content.stream().map(mapper).toList(), nextCursor, hasNext);
+	}
+}
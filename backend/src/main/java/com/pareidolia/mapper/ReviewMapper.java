@@ -3,10 +3,16 @@ package com.pareidolia.mapper;
 import com.pareidolia.decorator.review.*;
 import com.pareidolia.dto.ReviewDTO;
 import com.pareidolia.entity.Review;
-import com.pareidolia.repository.AccountRepository;
+
+import java.util.List;
 
 public class ReviewMapper {
-	public static ReviewDTO entityToDTO(Review entity, AccountRepository accountRepository) {
+	public static ReviewDTO entityToDTO(Review entity) {
+		if (entity == null) return null;
+		return entityToDTO(entity, AccountTypeResolver.forReviews(List.of(entity)));
+	}
+
+	public static ReviewDTO entityToDTO(Review entity, AccountTypeResolver accountTypeResolver) {
 		if (entity == null) return null;
 		ReviewDTO dto = new ReviewDTO();
 		dto.setId(entity.getId());
@@ -24,7 +30,7 @@ public class ReviewMapper {
 		// Creazione dell'istanza di ReviewComponent tramite la classe concreta BasicReview
 		ReviewComponent review = new BasicReview(dto);
 		// Apply HighlightDecorator in base al Account.Type
-		review = new HighlightDecorator(review, accountRepository);
+		review = new HighlightDecorator(review, accountTypeResolver);
 		// Apply AnonymousDecorator in base alla flag isAnonymous
 		review = new AnonymousDecorator(review);
 		// Apply TaggedReview in base al tag fornito
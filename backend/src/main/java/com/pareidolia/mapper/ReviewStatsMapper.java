@@ -0,0 +1,26 @@
+package com.pareidolia.mapper;
+
+import com.pareidolia.dto.ReviewStatsDTO;
+import com.pareidolia.entity.Event;
+import com.pareidolia.entity.EventReviewTag;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ReviewStatsMapper {
+	public static ReviewStatsDTO entityToDTO(Event event, List<EventReviewTag> tags) {
+		if (event == null) return null;
+		ReviewStatsDTO dto = new ReviewStatsDTO();
+		dto.setIdEvent(event.getId());
+		dto.setReviewCount(event.getReviewCount());
+		dto.setAverageScore(event.getAverageScore());
+		dto.setScores(event.getScoreHistogram().toMap());
+		Map<String, Long> tagCounts = new LinkedHashMap<>();
+		for (EventReviewTag tag : tags) {
+			tagCounts.put(tag.getTag(), tag.getReviewCount());
+		}
+		dto.setTags(tagCounts);
+		return dto;
+	}
+}
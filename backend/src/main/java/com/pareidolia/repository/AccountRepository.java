@@ -4,8 +4,11 @@ import com.pareidolia.entity.Account;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,5 +18,24 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
 
 	Optional<Account> findByEmail(String email);
 
+	@Query("SELECT a.tokenVersion FROM Account a WHERE a.id = :id")
+	Optional<Long> findTokenVersionById(Long id);
+
 	Page<Account> findAllByReferenceType(Account.Type referenceType, Pageable pageable);
+
+	/**
+	 * Recupera ID ed email degli account del tipo indicato successivi a un dato ID, in ordine di ID.
+	 * La paginazione per chiave evita di rileggere le righe già scorse, anche con molti account.
+	 * @param referenceType Il tipo di account.
+	 * @param afterId L'ID dell'ultimo account già letto.
+	 * @param pageable La dimensione del blocco da leggere (la pagina deve essere la prima).
+	 * @return List<Pair<Long, String>> Coppie (ID, email) ordinate per ID.
+	 */
+	@Query("""
+			SELECT new org.springframework.data.util.Pair(a.id, a.email)
+			FROM Account a
+			WHERE a.referenceType = :referenceType AND a.id > :afterId
+			ORDER BY a.id
+		""")
+	List<Pair<Long, String>> findEmailsByReferenceTypeAfter(Account.Type referenceType, Long afterId, Pageable pageable);
 }
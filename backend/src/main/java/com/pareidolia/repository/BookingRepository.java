@@ -1,11 +1,17 @@
 package com.pareidolia.repository;
 
 import com.pareidolia.entity.Booking;
+import com.pareidolia.repository.model.BookingExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,4 +21,30 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 	Optional<Booking> findByIdEventAndIdAccount(Long idEvent, Long idAccount);
 
 	Long countByIdEvent(Long idEvent);
+
+	@Query("SELECT b.idEvent FROM Booking b WHERE b.idAccount = :idAccount")
+	List<Long> findEventIdsByIdAccount(Long idAccount);
+
+	/**
+	 * Legge le prenotazioni di un account con ID minore del cursore, per la paginazione per cursore.
+	 */
+	List<Booking> findAllByIdAccountAndIdLessThan(Long idAccount, Long id, Pageable pageable);
+
+	/**
+	 * Legge un blocco di prenotazioni di un evento con i dati dei partecipanti, in ordine di prenotazione,
+	 * a partire dall'ID successivo all'ultimo letto. La proiezione non crea entità nel contesto di persistenza
+	 * e ogni blocco è una query a sé: tra un blocco e l'altro nessuna connessione resta occupata.
+	 * @param idEvent L'ID dell'evento.
+	 * @param afterId L'ID dell'ultima prenotazione del blocco precedente (0 per iniziare).
+	 * @param pageable La dimensione del blocco.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+	@Query("""
+			SELECT new com.pareidolia.repository.model.BookingExportRow(b.id, a.id, a.name, a.surname, a.email, a.phone, b.creationTime)
+			FROM Booking b
+			INNER JOIN b.account a
+			WHERE b.idEvent = :idEvent AND b.id > :afterId
+			ORDER BY b.id
+		""")
+	List<BookingExportRow> findExportRowsByIdEventAfter(Long idEvent, Long afterId, Pageable pageable);
 }
@@ -0,0 +1,40 @@
+package com.pareidolia.repository;
+
+import com.pareidolia.entity.EventEmailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EventEmailOutboxRepository extends JpaRepository<EventEmailOutbox, Long> {
+
+	@Query("""
+			SELECT o
+			FROM EventEmailOutbox o
+			WHERE o.status = com.pareidolia.entity.EventEmailOutbox.Status.PENDING AND o.nextAttemptAt <= :now
+			ORDER BY o.id
+		""")
+	List<EventEmailOutbox> findDue(LocalDateTime now, Pageable pageable);
+
+	/**
+	 * Prende in carico una riga spostandone il prossimo tentativo alla fine del lease.
+	 * Solo una istanza può riuscirci, perché la condizione smette di valere dopo il primo aggiornamento.
+	 * @return int 1 se la riga è stata presa in carico, 0 altrimenti.
+	 */
+	@Modifying
+	@Query("""
+			UPDATE EventEmailOutbox o
+			SET o.nextAttemptAt = :leaseUntil
+			WHERE o.id = :id
+				AND o.status = com.pareidolia.entity.EventEmailOutbox.Status.PENDING
+				AND o.nextAttemptAt <= :now
+		""")
+	int claim(Long id, LocalDateTime now, LocalDateTime leaseUntil);
+
+	long countByStatus(EventEmailOutbox.Status status);
+}
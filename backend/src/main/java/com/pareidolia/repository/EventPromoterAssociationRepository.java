@@ -3,13 +3,17 @@ package com.pareidolia.repository;
 import com.pareidolia.entity.Account;
 import com.pareidolia.entity.EventPromoterAssociation;
 import com.pareidolia.entity.PromoterInfo;
+import com.pareidolia.repository.model.EventPromoterWithInfo;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Repository
 public interface EventPromoterAssociationRepository extends JpaRepository<EventPromoterAssociation, Long> {
@@ -23,7 +27,40 @@ public interface EventPromoterAssociationRepository extends JpaRepository<EventP
 		""")
 	List<Pair<Account, PromoterInfo>> findPromotersByIdEvent(Long idEvent);
 
+	@Query("""
+			SELECT new com.pareidolia.repository.model.EventPromoterWithInfo(epa.idEvent, a, pi)
+			FROM EventPromoterAssociation epa
+			INNER JOIN PromoterInfo pi ON pi.idPromoter = epa.idPromoter
+			INNER JOIN Account a ON a.id = epa.idPromoter
+			WHERE epa.idEvent IN :idEvents
+		""")
+	List<EventPromoterWithInfo> findPromotersByIdEventIn(Collection<Long> idEvents);
+
+	/**
+	 * Recupera con un'unica query i promotori di tutti gli eventi indicati, raggruppati per ID evento.
+	 * Gli eventi senza promotori non compaiono nella mappa.
+	 * @param idEvents Gli ID degli eventi (tipicamente quelli di una pagina).
+	 * @return Map<Long, List<Pair<Account, PromoterInfo>>> Promotori indicizzati per ID evento.
+	 */
+	default Map<Long, List<Pair<Account, PromoterInfo>>> findPromotersGroupedByIdEvent(Collection<Long> idEvents) {
+		if (idEvents == null || idEvents.isEmpty()) {
+			return Map.of();
+		}
+		return findPromotersByIdEventIn(idEvents).stream()
+			.collect(Collectors.groupingBy(
+				EventPromoterWithInfo::getIdEvent,
+				Collectors.mapping(it -> Pair.of(it.getAccount(), it.getPromoterInfo()), Collectors.toList())
+			));
+	}
+
+	@Query("""
+			SELECT epa.idEvent
+			FROM EventPromoterAssociation epa
+			WHERE epa.idPromoter = :idPromoter
+		""")
+	List<Long> findEventIdsByIdPromoter(Long idPromoter);
+
 	Optional<EventPromoterAssociation> findByIdEventAndIdPromoter(Long idEvent, Long idPromoter);
 
 	void deleteByIdEventAndIdPromoter(Long eventId, Long promoterId);
-}
\ No newline at end of file
+}
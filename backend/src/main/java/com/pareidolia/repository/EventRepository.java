@@ -8,19 +8,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long>, CustomEventRepository {
 	@Query(value = """
 			SELECT new com.pareidolia.repository.model.EventWithInfoForAccount(
 				e,
 				(SELECT COUNT(b) > 0 FROM Booking b INNER JOIN Account a ON a.id = b.idAccount WHERE b.idEvent = e.id AND a.id = :accountId),
-				(SELECT COUNT(b) FROM Booking b WHERE b.idEvent = e.id)
+				e.currentParticipants
 			)
 			FROM Event e
 			INNER JOIN EventPromoterAssociation epa ON epa.idEvent = e.id
@@ -34,7 +38,7 @@ public interface EventRepository extends JpaRepository<Event, Long>, CustomEvent
 	Page<EventWithInfoForAccount> findAllByAccountIdAndStateAndPromoterId(@Param("accountId") Long accountId, State state, Long idPromoter, Pageable pageable);
 
 	@Query("""
-			SELECT new com.pareidolia.repository.model.EventWithInfo(e, (SELECT COUNT(*) FROM Booking b WHERE b.idEvent = e.id))
+			SELECT new com.pareidolia.repository.model.EventWithInfo(e, e.currentParticipants)
 			FROM Event e
 			INNER JOIN EventPromoterAssociation epa ON epa.idEvent = e.id
 			WHERE epa.idPromoter = :idPromoter AND e.state = :state
@@ -45,7 +49,7 @@ public interface EventRepository extends JpaRepository<Event, Long>, CustomEvent
 			SELECT new com.pareidolia.repository.model.EventWithInfoForAccount(
 				e,
 				(SELECT COUNT(b) > 0 FROM Booking b INNER JOIN Account a ON a.id = b.idAccount WHERE b.idEvent = e.id AND a.id = :accountId),
-				(SELECT COUNT(b) FROM Booking b WHERE b.idEvent = e.id)
+				e.currentParticipants
 			)
 			FROM Event e
 			INNER JOIN EventPromoterAssociation epa ON epa.idEvent = e.id
@@ -62,7 +66,7 @@ public interface EventRepository extends JpaRepository<Event, Long>, CustomEvent
 			SELECT new com.pareidolia.repository.model.EventWithInfoForAccount(
 				e,
 				(SELECT COUNT(b) > 0 FROM Booking b INNER JOIN Account a ON a.id = b.idAccount WHERE b.idEvent = e.id AND a.id = :accountId),
-				(SELECT COUNT(b) FROM Booking b WHERE b.idEvent = e.id)
+				e.currentParticipants
 			)
 			FROM Event e
 			WHERE e.state = :state
@@ -74,7 +78,7 @@ public interface EventRepository extends JpaRepository<Event, Long>, CustomEvent
 	Page<EventWithInfoForAccount> findAllByAccountIdAndState(@Param("accountId") Long accountId, State state, Pageable pageable);
 
 	@Query("""
-			SELECT new com.pareidolia.repository.model.EventWithInfo(e, (SELECT COUNT(*) FROM Booking b WHERE b.idEvent = e.id))
+			SELECT new com.pareidolia.repository.model.EventWithInfo(e, e.currentParticipants)
 			FROM Event e
 			WHERE e.state = :state
 		""")
@@ -84,7 +88,7 @@ public interface EventRepository extends JpaRepository<Event, Long>, CustomEvent
 			SELECT new com.pareidolia.repository.model.EventWithInfoForAccount(
 				e,
 				(SELECT COUNT(b) > 0 FROM Booking b INNER JOIN Account a ON a.id = b.idAccount WHERE b.idEvent = e.id AND a.id = :accountId),
-				(SELECT COUNT(b) FROM Booking b WHERE b.idEvent = e.id)
+				e.currentParticipants
 			)
 			FROM Event e
 		""", countQuery = """
@@ -93,13 +97,194 @@ public interface EventRepository extends JpaRepository<Event, Long>, CustomEvent
 		""")
 	Page<EventWithInfoForAccount> findAllByAccountIdWithCount(@Param("accountId") Long accountId, Pageable pageable);
 
+	/**
+	 * Come {@link #findAllByState(State, Pageable)}, ma senza la query di conteggio:
+	 * viene letta una riga in più per sapere se esiste una pagina successiva.
+	 */
+	@Query("""
+			SELECT new com.pareidolia.repository.model.EventWithInfo(e, e.currentParticipants)
+			FROM Event e
+			WHERE e.state = :state
+		""")
+	Slice<EventWithInfo> findSliceByState(State state, Pageable pageable);
+
+	/**
+	 * Come {@link #findAllByAccountIdAndState(Long, State, Pageable)}, ma senza la query di conteggio.
+	 */
+	@Query("""
+			SELECT new com.pareidolia.repository.model.EventWithInfoForAccount(
+				e,
+				(SELECT COUNT(b) > 0 FROM Booking b INNER JOIN Account a ON a.id = b.idAccount WHERE b.idEvent = e.id AND a.id = :accountId),
+				e.currentParticipants
+			)
+			FROM Event e
+			WHERE e.state = :state
+		""")
+	Slice<EventWithInfoForAccount> findSliceByAccountIdAndState(@Param("accountId") Long accountId, State state, Pageable pageable);
+
+	long countByState(State state);
+
+	@Query("""
+			SELECT COUNT(e)
+			FROM Event e
+			INNER JOIN EventPromoterAssociation epa ON epa.idEvent = e.id
+			WHERE epa.idPromoter = :idPromoter AND e.state = :state
+		""")
+	long countByStateAndPromoterId(State state, Long idPromoter);
+
+	/**
+	 * Aggiunge atomicamente il punteggio di una nuova recensione ai contatori e all'istogramma dell'evento e ne ricava la media,
+	 * senza ricalcolarla su tutte le recensioni.
+	 * La media è assegnata per prima perché MySQL valuta le assegnazioni da sinistra a destra.
+	 * @param id L'ID dell'evento.
+	 * @param score Il punteggio della recensione.
+	 * @return int Il numero di righe aggiornate.
+	 */
 	@Modifying
 	@Query("""
 			UPDATE Event e
-			SET e.averageScore = (SELECT AVG(r.score) FROM Review r WHERE r.idEvent = e.id)
+			SET e.averageScore = CAST(e.scoreSum + :score AS Double) / (e.reviewCount + 1),
+				e.reviewCount = e.reviewCount + 1,
+				e.scoreSum = e.scoreSum + :score,
+				e.scoreHistogram.score1 = e.scoreHistogram.score1 + CASE WHEN :score = 1 THEN 1 ELSE 0 END,
+				e.scoreHistogram.score2 = e.scoreHistogram.score2 + CASE WHEN :score = 2 THEN 1 ELSE 0 END,
+				e.scoreHistogram.score3 = e.scoreHistogram.score3 + CASE WHEN :score = 3 THEN 1 ELSE 0 END,
+				e.scoreHistogram.score4 = e.scoreHistogram.score4 + CASE WHEN :score = 4 THEN 1 ELSE 0 END,
+				e.scoreHistogram.score5 = e.scoreHistogram.score5 + CASE WHEN :score = 5 THEN 1 ELSE 0 END
 			WHERE e.id = :id
 		""")
-	void updateAverageScore(Long id);
+	int addReviewScore(Long id, Long score);
+
+	/**
+	 * Toglie atomicamente il punteggio di una recensione eliminata dai contatori e dall'istogramma dell'evento e ne ricava la media.
+	 * @param id L'ID dell'evento.
+	 * @param score Il punteggio della recensione.
+	 * @return int Il numero di righe aggiornate: 0 se l'evento è inesistente o non ha recensioni.
+	 */
+	@Modifying
+	@Query("""
+			UPDATE Event e
+			SET e.averageScore = CASE WHEN e.reviewCount > 1 THEN CAST(e.scoreSum - :score AS Double) / (e.reviewCount - 1) ELSE NULL END,
+				e.reviewCount = e.reviewCount - 1,
+				e.scoreSum = e.scoreSum - :score,
+				e.scoreHistogram.score1 = e.scoreHistogram.score1 - CASE WHEN :score = 1 THEN 1 ELSE 0 END,
+				e.scoreHistogram.score2 = e.scoreHistogram.score2 - CASE WHEN :score = 2 THEN 1 ELSE 0 END,
+				e.scoreHistogram.score3 = e.scoreHistogram.score3 - CASE WHEN :score = 3 THEN 1 ELSE 0 END,
+				e.scoreHistogram.score4 = e.scoreHistogram.score4 - CASE WHEN :score = 4 THEN 1 ELSE 0 END,
+				e.scoreHistogram.score5 = e.scoreHistogram.score5 - CASE WHEN :score = 5 THEN 1 ELSE 0 END
+			WHERE e.id = :id AND e.reviewCount > 0
+		""")
+	int removeReviewScore(Long id, Long score);
+
+	/**
+	 * Legge gli eventi in un certo stato con ID minore del cursore, per la paginazione per cursore.
+	 */
+	List<Event> findAllByStateAndIdLessThan(State state, Long id, Pageable pageable);
+
+	@Query("SELECT e.id FROM Event e WHERE e.id > :afterId ORDER BY e.id")
+	List<Long> findIdsAfter(Long afterId, Pageable pageable);
+
+	/**
+	 * Tra gli eventi indicati, restituisce quelli i cui contatori delle recensioni non corrispondono alla tabella Review.
+	 * @param ids Gli ID degli eventi da controllare.
+	 * @return List<Long> Gli ID degli eventi disallineati.
+	 */
+	@Query("""
+			SELECT e.id
+			FROM Event e
+			WHERE e.id IN :ids AND (
+				e.reviewCount <> (SELECT COUNT(r) FROM Review r WHERE r.idEvent = e.id)
+				OR e.scoreSum <> (SELECT COALESCE(SUM(r.score), 0) FROM Review r WHERE r.idEvent = e.id)
+			)
+		""")
+	List<Long> findIdsWithReviewStatsDrift(Collection<Long> ids);
+
+	/**
+	 * Ricalcola da zero contatori, istogramma e media delle recensioni degli eventi indicati.
+	 * @param ids Gli ID degli eventi da ricalcolare.
+	 * @return int Il numero di righe aggiornate.
+	 */
+	@Modifying
+	@Query("""
+			UPDATE Event e
+			SET e.averageScore = (SELECT AVG(r.score) FROM Review r WHERE r.idEvent = e.id),
+				e.reviewCount = (SELECT COUNT(r) FROM Review r WHERE r.idEvent = e.id),
+				e.scoreSum = (SELECT COALESCE(SUM(r.score), 0) FROM Review r WHERE r.idEvent = e.id),
+				e.scoreHistogram.score1 = (SELECT COUNT(r) FROM Review r WHERE r.idEvent = e.id AND r.score = 1),
+				e.scoreHistogram.score2 = (SELECT COUNT(r) FROM Review r WHERE r.idEvent = e.id AND r.score = 2),
+				e.scoreHistogram.score3 = (SELECT COUNT(r) FROM Review r WHERE r.idEvent = e.id AND r.score = 3),
+				e.scoreHistogram.score4 = (SELECT COUNT(r) FROM Review r WHERE r.idEvent = e.id AND r.score = 4),
+				e.scoreHistogram.score5 = (SELECT COUNT(r) FROM Review r WHERE r.idEvent = e.id AND r.score = 5)
+			WHERE e.id IN :ids
+		""")
+	int recomputeReviewStats(Collection<Long> ids);
+
+	/**
+	 * Riserva atomicamente un posto per l'evento, solo se non è già al completo.
+	 * @param id L'ID dell'evento.
+	 * @return int Il numero di righe aggiornate: 0 se l'evento è al completo o inesistente.
+	 */
+	@Modifying
+	@Query("""
+			UPDATE Event e
+			SET e.currentParticipants = e.currentParticipants + 1
+			WHERE e.id = :id AND e.currentParticipants < e.maxNumberOfParticipants
+		""")
+	int incrementCurrentParticipants(Long id);
+
+	/**
+	 * Libera atomicamente un posto per l'evento.
+	 * @param id L'ID dell'evento.
+	 * @return int Il numero di righe aggiornate.
+	 */
+	@Modifying
+	@Query("""
+			UPDATE Event e
+			SET e.currentParticipants = e.currentParticipants - 1
+			WHERE e.id = :id AND e.currentParticipants > 0
+		""")
+	int decrementCurrentParticipants(Long id);
+
+	/**
+	 * Libera atomicamente un posto per ciascuno degli eventi indicati.
+	 * @param ids Gli ID degli eventi.
+	 * @return int Il numero di righe aggiornate.
+	 */
+	@Modifying
+	@Query("""
+			UPDATE Event e
+			SET e.currentParticipants = e.currentParticipants - 1
+			WHERE e.id IN :ids AND e.currentParticipants > 0
+		""")
+	int decrementCurrentParticipants(Collection<Long> ids);
+
+	/**
+	 * Tra gli eventi indicati, restituisce quelli il cui numero di partecipanti non corrisponde alla tabella Booking.
+	 * @param ids Gli ID degli eventi da controllare.
+	 * @return List<Long> Gli ID degli eventi disallineati.
+	 */
+	@Query("""
+			SELECT e.id
+			FROM Event e
+			WHERE e.id IN :ids AND e.currentParticipants <> (SELECT COUNT(b) FROM Booking b WHERE b.idEvent = e.id)
+		""")
+	List<Long> findIdsWithParticipantsDrift(Collection<Long> ids);
+
+	/**
+	 * Ricalcola da zero il numero di partecipanti degli eventi indicati.
+	 * @param ids Gli ID degli eventi da ricalcolare.
+	 * @return int Il numero di righe aggiornate.
+	 */
+	@Modifying
+	@Query("""
+			UPDATE Event e
+			SET e.currentParticipants = (SELECT COUNT(b) FROM Booking b WHERE b.idEvent = e.id)
+			WHERE e.id IN :ids
+		""")
+	int recomputeCurrentParticipants(Collection<Long> ids);
+
+	@Query("SELECT e.currentParticipants FROM Event e WHERE e.id = :id")
+	Long findCurrentParticipantsById(Long id);
 }
 
 interface CustomEventRepository {
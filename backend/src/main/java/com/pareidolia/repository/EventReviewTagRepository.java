@@ -0,0 +1,59 @@
+package com.pareidolia.repository;
+
+import com.pareidolia.entity.EventReviewTag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EventReviewTagRepository extends JpaRepository<EventReviewTag, Long> {
+
+	@Query("""
+			SELECT t
+			FROM EventReviewTag t
+			WHERE t.idEvent = :idEvent AND t.reviewCount > 0
+			ORDER BY t.reviewCount DESC, t.tag
+		""")
+	List<EventReviewTag> findAllByIdEvent(Long idEvent);
+
+	/**
+	 * Incrementa atomicamente il contatore del tag, creandolo alla prima recensione che lo usa.
+	 * L'upsert evita che due prime recensioni concorrenti con lo stesso tag violino il vincolo di unicità.
+	 */
+	@Modifying
+	@Query(nativeQuery = true, value = """
+			INSERT INTO `Event_Review_Tag` (`id_event`, `tag`, `review_count`)
+			VALUES (:idEvent, :tag, 1)
+			ON DUPLICATE KEY UPDATE `review_count` = `review_count` + 1
+		""")
+	int increment(Long idEvent, String tag);
+
+	@Modifying
+	@Query("""
+			UPDATE EventReviewTag t
+			SET t.reviewCount = t.reviewCount - 1
+			WHERE t.idEvent = :idEvent AND t.tag = :tag AND t.reviewCount > 0
+		""")
+	int decrement(Long idEvent, String tag);
+
+	@Modifying
+	@Query("DELETE FROM EventReviewTag t WHERE t.idEvent IN :idEvents")
+	int deleteAllByIdEventIn(Collection<Long> idEvents);
+
+	/**
+	 * Ricrea dalla tabella Review i contatori dei tag degli eventi indicati, dopo {@link #deleteAllByIdEventIn}.
+	 */
+	@Modifying
+	@Query("""
+			INSERT INTO EventReviewTag (idEvent, tag, reviewCount)
+			SELECT r.idEvent, TRIM(r.tag), COUNT(r)
+			FROM Review r
+			WHERE r.idEvent IN :idEvents AND r.tag IS NOT NULL AND TRIM(r.tag) <> ''
+			GROUP BY r.idEvent, TRIM(r.tag)
+		""")
+	int insertFromReviews(Collection<Long> idEvents);
+}
@@ -3,6 +3,7 @@ package com.pareidolia.repository;
 import com.pareidolia.entity.Message;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -13,4 +14,10 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
 	List<Message> findByIdEventOrderByCreationTimeDesc(Long idEvent);
 
 	Page<Message> findByIdEvent(Long idEvent, Pageable pageable);
+
+	/**
+	 * Legge i messaggi di un evento con ID minore del cursore, caricando nella stessa query gli account degli autori.
+	 */
+	@EntityGraph(attributePaths = "account")
+	List<Message> findAllByIdEventAndIdLessThan(Long idEvent, Long id, Pageable pageable);
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.pareidolia.repository;
 
+import com.pareidolia.dto.PromoterDTO;
 import com.pareidolia.entity.PromoterInfo;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -27,4 +30,18 @@ public interface PromoterInfoRepository extends JpaRepository<PromoterInfo, Long
 	List<PromoterInfo> findAllByEmailIn(List<String> emails);
 
 	Optional<PromoterInfo> findByIdPromoter(Long idPromoter);
+
+	boolean existsByIdPromoter(Long idPromoter);
+
+	@Query(value = """
+			SELECT new com.pareidolia.dto.PromoterDTO(
+				a.id, a.name, a.surname, a.phone, a.email, p.photo, p.presentation, CAST(a.referenceType AS String), a.creationTime
+			)
+			FROM PromoterInfo p
+			INNER JOIN p.account a
+		""", countQuery = """
+			SELECT COUNT(p)
+			FROM PromoterInfo p
+		""")
+	Page<PromoterDTO> findAllPromoterDTOs(Pageable pageable);
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.pareidolia.repository;
 import com.pareidolia.entity.Review;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,9 +13,20 @@ import java.util.Optional;
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
+	/**
+	 * Restituisce una pagina di recensioni di un evento caricando nella stessa query gli account degli autori,
+	 * usati dal mapper per nome e tipo senza una query per ogni recensione.
+	 */
+	@EntityGraph(attributePaths = "account")
 	Page<Review> findAllByIdEvent(Long idEvent, Pageable pageable);
 
 	List<Review> findAllByIdEvent(Long idEvent);
 
+	/**
+	 * Legge le recensioni di un evento con ID minore del cursore, caricando nella stessa query gli account degli autori.
+	 */
+	@EntityGraph(attributePaths = "account")
+	List<Review> findAllByIdEventAndIdLessThan(Long idEvent, Long id, Pageable pageable);
+
 	Optional<Review> findByIdConsumerAndIdEvent(Long idConsumer, Long idEvent);
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.pareidolia.repository.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Una riga dell'esportazione CSV delle prenotazioni di un evento: la prenotazione con i dati del partecipante.
+ */
+public record BookingExportRow(Long idBooking, Long idAccount, String name, String surname, String email,
+                               String phone, LocalDateTime bookingTime) {
+}
@@ -0,0 +1,21 @@
+package com.pareidolia.repository.model;
+
+import com.pareidolia.entity.Account;
+import com.pareidolia.entity.PromoterInfo;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@ToString
+@Immutable
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventPromoterWithInfo implements Serializable {
+	private Long idEvent;
+	private Account account;
+	private PromoterInfo promoterInfo;
+}
@@ -0,0 +1,80 @@
+package com.pareidolia.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Passaggio di riconciliazione comune ai contatori denormalizzati degli eventi: scorre tutti gli eventi
+ * a blocchi per ID crescente e fa controllare e correggere ogni blocco, tipicamente in una propria transazione.
+ * Registra il numero di eventi disallineati ({@code <metrica>.drift}) e la durata del passaggio ({@code <metrica>.reconciliation}).
+ */
+public class BatchedReconciliation {
+	private final Logger log;
+	private final int batchSize;
+	private final BiFunction<Long, Integer, List<Long>> findIdsAfter;
+	private final Function<List<Long>, List<Long>> reconcile;
+	private final String driftMessage;
+
+	private final Counter drift;
+	private final Timer duration;
+
+	/**
+	 * @param log Il logger del chiamante, usato per segnalare gli eventi disallineati.
+	 * @param meterRegistry Il registro delle metriche.
+	 * @param metricName Il prefisso delle metriche.
+	 * @param batchSize Il numero di eventi per blocco.
+	 * @param findIdsAfter Restituisce al più batchSize ID di eventi successivi a quello indicato, in ordine crescente.
+	 * @param reconcile Corregge un blocco di eventi e restituisce gli ID di quelli che erano disallineati.
+	 * @param driftMessage Il messaggio di log, con un segnaposto per gli ID disallineati.
+	 */
+	public BatchedReconciliation(Logger log,
+	                             MeterRegistry meterRegistry,
+	                             String metricName,
+	                             int batchSize,
+	                             BiFunction<Long, Integer, List<Long>> findIdsAfter,
+	                             Function<List<Long>, List<Long>> reconcile,
+	                             String driftMessage) {
+		this.log = log;
+		this.batchSize = batchSize;
+		this.findIdsAfter = findIdsAfter;
+		this.reconcile = reconcile;
+		this.driftMessage = driftMessage;
+
+		this.drift = Counter.builder(metricName + ".drift").register(meterRegistry);
+		this.duration = Timer.builder(metricName + ".reconciliation").register(meterRegistry);
+	}
+
+	/**
+	 * Esegue un passaggio completo su tutti gli eventi.
+	 * @return int Il numero di eventi ricalcolati.
+	 */
+	public int run() {
+		long start = System.nanoTime();
+		int reconciled = 0;
+		Long afterId = 0L;
+		List<Long> ids;
+		do {
+			ids = findIdsAfter.apply(afterId, batchSize);
+			if (ids.isEmpty()) {
+				break;
+			}
+			List<Long> drifted = reconcile.apply(ids);
+			if (!drifted.isEmpty()) {
+				log.warn(driftMessage, drifted);
+				drift.increment(drifted.size());
+				reconciled += drifted.size();
+			}
+			afterId = ids.get(ids.size() - 1);
+		} while (ids.size() == batchSize);
+
+		duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		return reconciled;
+	}
+}
@@ -0,0 +1,153 @@
+package com.pareidolia.service;
+
+import com.pareidolia.repository.EventRepository;
+import com.pareidolia.repository.PromoterInfoRepository;
+import com.pareidolia.state.State;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Numero approssimato di eventi per (stato, promotore), per i client che mostrano un totale
+ * accanto alle liste senza conteggio. Il primo accesso a una chiave esegue il conteggio, poi il valore
+ * viene ricalcolato in background a intervalli regolari finché la chiave continua a essere richiesta.
+ * Oltre la dimensione massima viene scartata la chiave usata meno di recente, e ogni ricalcolo aggiorna
+ * al più un numero fisso di chiavi, partendo da quelle aggiornate da più tempo.
+ */
+@Component
+public class EventCountCache {
+	private static final String METRIC_NAME = "pareidolia.event.count.cache";
+
+	private final EventRepository eventRepository;
+	private final PromoterInfoRepository promoterInfoRepository;
+	private final int maxSize;
+	private final long idleTimeoutNanos;
+	private final int refreshBatchSize;
+
+	private final Map<Key, Entry> entries;
+	private final Counter hits;
+	private final Counter misses;
+	private final Counter evictions;
+
+	@Autowired
+	public EventCountCache(EventRepository eventRepository,
+	                       PromoterInfoRepository promoterInfoRepository,
+	                       MeterRegistry meterRegistry,
+	                       @Value("${app.event.count-cache.max-size:1000}") int maxSize,
+	                       @Value("${app.event.count-cache.idle-timeout:600}") long idleTimeoutSeconds,
+	                       @Value("${app.event.count-cache.refresh-batch-size:100}") int refreshBatchSize) {
+		this.eventRepository = eventRepository;
+		this.promoterInfoRepository = promoterInfoRepository;
+		this.maxSize = maxSize;
+		this.idleTimeoutNanos = TimeUnit.SECONDS.toNanos(idleTimeoutSeconds);
+		this.refreshBatchSize = refreshBatchSize;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				if (size() > EventCountCache.this.maxSize) {
+					evictions.increment();
+					return true;
+				}
+				return false;
+			}
+		};
+
+		this.hits = Counter.builder(METRIC_NAME + ".requests").tag("result", "hit").register(meterRegistry);
+		this.misses = Counter.builder(METRIC_NAME + ".requests").tag("result", "miss").register(meterRegistry);
+		this.evictions = Counter.builder(METRIC_NAME + ".evictions").register(meterRegistry);
+		Gauge.builder(METRIC_NAME + ".size", this, EventCountCache::size).register(meterRegistry);
+	}
+
+	/**
+	 * Restituisce il numero di eventi nello stato indicato, aggiornato all'ultimo ricalcolo.
+	 * I conteggi di promotori inesistenti non vengono memorizzati.
+	 * @param state Il nome dello stato.
+	 * @param idPromoter L'ID del promotore, o null per tutti gli eventi.
+	 * @return long Il numero approssimato di eventi.
+	 */
+	public long get(String state, Long idPromoter) {
+		Key key = new Key(state, idPromoter);
+		Entry entry;
+		synchronized (entries) {
+			entry = entries.get(key);
+		}
+		if (entry != null) {
+			hits.increment();
+			entry.lastAccess = System.nanoTime();
+			return entry.count;
+		}
+
+		misses.increment();
+		long count = count(key);
+		if (count == 0 && idPromoter != null && !promoterInfoRepository.existsByIdPromoter(idPromoter)) {
+			return count;
+		}
+
+		long now = System.nanoTime();
+		synchronized (entries) {
+			entries.putIfAbsent(key, new Entry(count, now));
+		}
+		return count;
+	}
+
+	/**
+	 * Scarta le chiavi inattive e ricalcola i conteggi aggiornati da più tempo, al più refresh-batch-size per volta.
+	 */
+	@Scheduled(fixedDelayString = "${app.event.count-cache.refresh:60}", timeUnit = TimeUnit.SECONDS)
+	public void refresh() {
+		long now = System.nanoTime();
+		List<Map.Entry<Key, Entry>> stale;
+		synchronized (entries) {
+			entries.values().removeIf(entry -> now - entry.lastAccess > idleTimeoutNanos);
+			stale = entries.entrySet().stream()
+				.sorted(Comparator.comparingLong(entry -> entry.getValue().refreshedAt))
+				.limit(refreshBatchSize)
+				.map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+				.toList();
+		}
+
+		// I conteggi vengono eseguiti fuori dal lock, così le letture non restano in attesa del database
+		for (Map.Entry<Key, Entry> entry : stale) {
+			entry.getValue().count = count(entry.getKey());
+			entry.getValue().refreshedAt = System.nanoTime();
+		}
+	}
+
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	private long count(Key key) {
+		State state = State.fromString(key.state(), null);
+		return key.idPromoter() == null
+			? eventRepository.countByState(state)
+			: eventRepository.countByStateAndPromoterId(state, key.idPromoter());
+	}
+
+	private record Key(String state, Long idPromoter) {
+	}
+
+	private static final class Entry {
+		private volatile long count;
+		private volatile long lastAccess;
+		private volatile long refreshedAt;
+
+		private Entry(long count, long now) {
+			this.count = count;
+			this.lastAccess = now;
+			this.refreshedAt = now;
+		}
+	}
+}
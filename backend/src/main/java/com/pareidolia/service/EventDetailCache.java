@@ -0,0 +1,244 @@
+package com.pareidolia.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pareidolia.dto.EventDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Cache in memoria, limitata per dimensione e durata, del dettaglio pubblico degli eventi pubblicati.
+ * I servizi che modificano un evento (dati, stato, immagine, promotori, punteggio) ne invalidano la voce;
+ * il numero di partecipanti cambia a ogni prenotazione, quindi viene solo segnato da rileggere senza ricostruire il DTO.
+ * Insieme al DTO viene mantenuto il suo JSON già serializzato, servito direttamente dal controller pubblico.
+ * I DTO restituiti sono sempre copie, quindi modificarli non altera il contenuto della cache.
+ */
+@Component
+public class EventDetailCache {
+	private static final String METRIC_NAME = "pareidolia.event.detail.cache";
+
+	private final ObjectMapper objectMapper;
+	private final int maxSize;
+	private final long ttlMillis;
+	private final Map<Long, Entry> entries;
+	// Caricamenti in corso per evento, con la versione incrementata a ogni invalidazione di quell'evento:
+	// un caricamento iniziato prima dell'invalidazione non viene memorizzato. Le invalidazioni degli altri
+	// eventi non lo scartano, e una voce viene rimossa quando non ci sono più caricamenti in corso.
+	private final Map<Long, Loading> loading = new HashMap<>();
+
+	private final Counter hits;
+	private final Counter misses;
+	private final Counter evictions;
+	private final Counter participantReloads;
+
+	@Autowired
+	public EventDetailCache(ObjectMapper objectMapper,
+	                        MeterRegistry meterRegistry,
+	                        @Value("${app.event.detail-cache.max-size:1000}") int maxSize,
+	                        @Value("${app.event.detail-cache.ttl:60}") long ttlSeconds) {
+		this.objectMapper = objectMapper;
+		this.maxSize = maxSize;
+		this.ttlMillis = ttlSeconds * 1000;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+				if (size() > EventDetailCache.this.maxSize) {
+					evictions.increment();
+					return true;
+				}
+				return false;
+			}
+		};
+
+		this.hits = Counter.builder(METRIC_NAME + ".requests").tag("result", "hit").register(meterRegistry);
+		this.misses = Counter.builder(METRIC_NAME + ".requests").tag("result", "miss").register(meterRegistry);
+		this.evictions = Counter.builder(METRIC_NAME + ".evictions").register(meterRegistry);
+		this.participantReloads = Counter.builder(METRIC_NAME + ".participant.reloads").register(meterRegistry);
+		Gauge.builder(METRIC_NAME + ".size", this, EventDetailCache::size).register(meterRegistry);
+	}
+
+	/**
+	 * Restituisce il dettaglio dell'evento dalla cache, caricandolo alla prima richiesta o dopo un'invalidazione.
+	 * @param id L'ID dell'evento.
+	 * @param loader Costruisce il DTO completo; le eccezioni vengono propagate e nulla viene memorizzato.
+	 * @param participantsLoader Legge il numero di partecipanti, quando solo questo è cambiato.
+	 * @return EventDTO Una copia del dettaglio dell'evento.
+	 */
+	public EventDTO get(Long id, Function<Long, EventDTO> loader, Function<Long, Long> participantsLoader) {
+		return copyOf(lookup(id, loader, participantsLoader).event());
+	}
+
+	/**
+	 * Come {@link #get}, ma restituisce il dettaglio già serializzato in JSON.
+	 * @return SerializedBody Il JSON dell'evento con il suo ETag.
+	 */
+	public SerializedBody getSerialized(Long id, Function<Long, EventDTO> loader, Function<Long, Long> participantsLoader) {
+		return lookup(id, loader, participantsLoader).body();
+	}
+
+	private Entry lookup(Long id, Function<Long, EventDTO> loader, Function<Long, Long> participantsLoader) {
+		Entry entry;
+		Loading load;
+		long loadVersion;
+		synchronized (this) {
+			entry = entries.get(id);
+			if (entry != null && entry.expiresAt() <= System.currentTimeMillis()) {
+				entries.remove(id);
+				entry = null;
+			}
+			if (entry != null && !entry.participantsStale()) {
+				hits.increment();
+				return entry;
+			}
+			load = loading.computeIfAbsent(id, key -> new Loading());
+			load.loads++;
+			loadVersion = load.version;
+		}
+
+		Entry loaded = null;
+		try {
+			if (entry != null) {
+				hits.increment();
+				participantReloads.increment();
+				EventDTO event = copyOf(entry.event());
+				event.setCurrentParticipants(participantsLoader.apply(id));
+				loaded = createEntry(event, entry.expiresAt());
+			} else {
+				misses.increment();
+				loaded = createEntry(copyOf(loader.apply(id)), System.currentTimeMillis() + ttlMillis);
+			}
+			return loaded;
+		} finally {
+			store(id, loaded, load, loadVersion);
+		}
+	}
+
+	/**
+	 * Rimuove il dettaglio dell'evento dalla cache.
+	 * @param id L'ID dell'evento modificato o eliminato.
+	 */
+	public synchronized void invalidate(Long id) {
+		bumpVersion(id);
+		entries.remove(id);
+	}
+
+	/**
+	 * Segna da rileggere il numero di partecipanti dell'evento, mantenendo il resto del dettaglio.
+	 * @param id L'ID dell'evento prenotato o disdetto.
+	 */
+	public synchronized void invalidateParticipants(Long id) {
+		bumpVersion(id);
+		Entry entry = entries.get(id);
+		if (entry != null) {
+			entries.put(id, new Entry(entry.event(), entry.body(), true, entry.expiresAt()));
+		}
+	}
+
+	/**
+	 * Rimuove subito l'evento dalla cache e, se è attiva una transazione, di nuovo dopo il commit,
+	 * così una lettura concorrente non può ripopolarla con i dati precedenti alla modifica.
+	 * @param id L'ID dell'evento modificato o eliminato.
+	 */
+	public void invalidateAfterCommit(Long id) {
+		invalidate(id);
+		afterCommit(() -> invalidate(id));
+	}
+
+	/**
+	 * Come {@link #invalidateAfterCommit(Long)}, per più eventi con una sola azione dopo il commit.
+	 * @param ids Gli ID degli eventi modificati.
+	 */
+	public void invalidateAfterCommit(Collection<Long> ids) {
+		ids.forEach(this::invalidate);
+		afterCommit(() -> ids.forEach(this::invalidate));
+	}
+
+	/**
+	 * Come {@link #invalidateAfterCommit(Long)}, ma per il solo numero di partecipanti.
+	 * @param id L'ID dell'evento prenotato o disdetto.
+	 */
+	public void invalidateParticipantsAfterCommit(Long id) {
+		invalidateParticipants(id);
+		afterCommit(() -> invalidateParticipants(id));
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	private void bumpVersion(Long id) {
+		Loading load = loading.get(id);
+		if (load != null) {
+			load.version++;
+		}
+	}
+
+	private Entry createEntry(EventDTO event, long expiresAt) {
+		// La serializzazione avviene fuori dal lock
+		return new Entry(event, SerializedBody.of(objectMapper, event), false, expiresAt);
+	}
+
+	/**
+	 * Chiude un caricamento, memorizzandone il risultato solo se l'evento non è stato invalidato nel frattempo.
+	 * @param entry Il risultato del caricamento, null se il caricamento è fallito.
+	 */
+	private synchronized void store(Long id, Entry entry, Loading load, long loadVersion) {
+		if (entry != null && load.version == loadVersion) {
+			entries.put(id, entry);
+		}
+		if (--load.loads == 0) {
+			loading.remove(id);
+		}
+	}
+
+	private static void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		}
+	}
+
+	private static EventDTO copyOf(EventDTO event) {
+		return new EventDTO(
+			event.getId(),
+			event.getTitle(),
+			event.getDescription(),
+			event.getImage(),
+			event.getPlace(),
+			event.getDate(),
+			event.getTime(),
+			event.getDuration(),
+			event.getPromoters() == null ? null : List.copyOf(event.getPromoters()),
+			event.getMaxNumberOfParticipants(),
+			event.getCurrentParticipants(),
+			event.getState(),
+			event.getScore(),
+			event.getBooked(),
+			event.getCreationTime()
+		);
+	}
+
+	private record Entry(EventDTO event, SerializedBody body, boolean participantsStale, long expiresAt) {
+	}
+
+	private static class Loading {
+		private int loads;
+		private long version;
+	}
+}
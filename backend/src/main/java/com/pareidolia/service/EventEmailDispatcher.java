@@ -0,0 +1,224 @@
+package com.pareidolia.service;
+
+import com.pareidolia.configuration.mail.CustomMailSender;
+import com.pareidolia.configuration.mail.PreparedMail;
+import com.pareidolia.entity.Account;
+import com.pareidolia.entity.Event;
+import com.pareidolia.entity.EventEmailOutbox;
+import com.pareidolia.repository.AccountRepository;
+import com.pareidolia.repository.EventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.util.Pair;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Elabora in background le notifiche accodate in {@link EventEmailOutboxService}.
+ * L'email viene resa una sola volta da {@link EventEmailTemplateCache}, poi i destinatari vengono letti a blocchi
+ * per ID crescente e ogni blocco viene inviato da un worker del pool con un'unica connessione SMTP. L'avanzamento viene salvato dopo ogni giro, quindi dopo un errore
+ * l'invio riprende dal primo blocco non confermato (un destinatario può ricevere la stessa email due volte, mai zero).
+ */
+@Component
+@ConditionalOnProperty(name = "app.mail.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class EventEmailDispatcher {
+	private static final String METRIC_NAME = "pareidolia.mail.outbox";
+	private static final int POLL_LIMIT = 20;
+	private static final Duration MAX_RETRY_DELAY = Duration.ofHours(1);
+
+	private final Logger log = LoggerFactory.getLogger(this.getClass());
+	private final EventEmailOutboxService eventEmailOutboxService;
+	private final EventRepository eventRepository;
+	private final AccountRepository accountRepository;
+	private final CustomMailSender mailSender;
+	private final EventEmailTemplateCache eventEmailTemplateCache;
+	private final AsyncTaskExecutor executor;
+	private final int batchSize;
+	private final int workers;
+	private final int maxAttempts;
+	private final Duration retryDelay;
+	private final Duration lease;
+
+	private final AtomicLong pending = new AtomicLong();
+	private final Counter sent;
+	private final Counter abandoned;
+	private final Timer successfulBatches;
+	private final Timer failedBatches;
+
+	@Autowired
+	public EventEmailDispatcher(EventEmailOutboxService eventEmailOutboxService,
+	                            EventRepository eventRepository,
+	                            AccountRepository accountRepository,
+	                            CustomMailSender mailSender,
+	                            EventEmailTemplateCache eventEmailTemplateCache,
+	                            @Qualifier("eventEmailExecutor") AsyncTaskExecutor executor,
+	                            MeterRegistry meterRegistry,
+	                            @Value("${app.mail.outbox.batch-size:100}") int batchSize,
+	                            @Value("${app.mail.outbox.workers:4}") int workers,
+	                            @Value("${app.mail.outbox.max-attempts:5}") int maxAttempts,
+	                            @Value("${app.mail.outbox.retry-delay:30}") long retryDelaySeconds,
+	                            @Value("${app.mail.outbox.lease:300}") long leaseSeconds) {
+		this.eventEmailOutboxService = eventEmailOutboxService;
+		this.eventRepository = eventRepository;
+		this.accountRepository = accountRepository;
+		this.mailSender = mailSender;
+		this.eventEmailTemplateCache = eventEmailTemplateCache;
+		this.executor = executor;
+		this.batchSize = batchSize;
+		this.workers = workers;
+		this.maxAttempts = maxAttempts;
+		this.retryDelay = Duration.ofSeconds(retryDelaySeconds);
+		this.lease = Duration.ofSeconds(leaseSeconds);
+
+		this.sent = Counter.builder(METRIC_NAME + ".sent").register(meterRegistry);
+		this.abandoned = Counter.builder(METRIC_NAME + ".abandoned").register(meterRegistry);
+		this.successfulBatches = Timer.builder(METRIC_NAME + ".batch").tag("result", "success").register(meterRegistry);
+		this.failedBatches = Timer.builder(METRIC_NAME + ".batch").tag("result", "failure").register(meterRegistry);
+		Gauge.builder(METRIC_NAME + ".pending", pending, AtomicLong::get).register(meterRegistry);
+	}
+
+	/**
+	 * Prende in carico ed elabora le notifiche scadute, poi aggiorna la profondità della coda.
+	 */
+	@Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval:5}", timeUnit = TimeUnit.SECONDS)
+	public void dispatch() {
+		for (EventEmailOutbox entry : eventEmailOutboxService.findDue(POLL_LIMIT)) {
+			if (eventEmailOutboxService.claim(entry.getId(), lease)) {
+				process(entry);
+			}
+		}
+		pending.set(eventEmailOutboxService.countPending());
+	}
+
+	void process(EventEmailOutbox entry) {
+		Optional<Event> event = eventRepository.findById(entry.getIdEvent());
+		if (event.isEmpty()) {
+			eventEmailOutboxService.complete(entry.getId(), entry.getLastAccountId());
+			return;
+		}
+
+		Long lastAccountId = entry.getLastAccountId();
+		PreparedMail mail;
+		try {
+			mail = eventEmailTemplateCache.get(entry.getEmailEventType(), event.get(), entry.getRecipientType());
+		} catch (RuntimeException e) {
+			retryLater(entry, lastAccountId, entry.getAttempts() + 1, String.valueOf(e.getMessage()));
+			return;
+		}
+
+		int attempts = entry.getAttempts();
+		while (true) {
+			List<List<Pair<Long, String>>> pages = nextPages(entry.getRecipientType(), lastAccountId);
+			if (pages.isEmpty()) {
+				eventEmailOutboxService.complete(entry.getId(), lastAccountId);
+				return;
+			}
+
+			List<Future<?>> futures = pages.stream()
+				.<Future<?>>map(page -> executor.submit(() -> sendBatch(mail, page)))
+				.toList();
+
+			// Conferma solo i blocchi consecutivi inviati con successo
+			String error = null;
+			for (int i = 0; i < futures.size(); i++) {
+				try {
+					futures.get(i).get();
+					if (error == null) {
+						lastAccountId = lastId(pages.get(i));
+					}
+				} catch (ExecutionException e) {
+					if (error == null) {
+						error = String.valueOf(e.getCause().getMessage());
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					error = "Interrupted";
+					break;
+				}
+			}
+
+			if (error != null) {
+				retryLater(entry, lastAccountId, attempts + 1, error);
+				return;
+			}
+			if (pages.get(pages.size() - 1).size() < batchSize) {
+				eventEmailOutboxService.complete(entry.getId(), lastAccountId);
+				return;
+			}
+			eventEmailOutboxService.advance(entry.getId(), lastAccountId, lease);
+			attempts = 0;
+		}
+	}
+
+	private List<List<Pair<Long, String>>> nextPages(Account.Type recipientType, Long afterId) {
+		List<List<Pair<Long, String>>> pages = new ArrayList<>(workers);
+		while (pages.size() < workers) {
+			List<Pair<Long, String>> page =
+				accountRepository.findEmailsByReferenceTypeAfter(recipientType, afterId, PageRequest.of(0, batchSize));
+			if (page.isEmpty()) {
+				break;
+			}
+			pages.add(page);
+			if (page.size() < batchSize) {
+				break;
+			}
+			afterId = lastId(page);
+		}
+		return pages;
+	}
+
+	private void sendBatch(PreparedMail mail, List<Pair<Long, String>> page) {
+		List<String> recipients = page.stream().map(Pair::getSecond).toList();
+		long start = System.nanoTime();
+		try {
+			new SendEmailForEvent(mail, recipients, mailSender).run();
+			successfulBatches.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			sent.increment(recipients.size());
+		} catch (RuntimeException e) {
+			failedBatches.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			throw e;
+		}
+	}
+
+	private void retryLater(EventEmailOutbox entry, Long lastAccountId, int failedAttempts, String error) {
+		if (failedAttempts >= maxAttempts) {
+			log.error("EVENT EMAIL ({}) FOR EVENT {} ABANDONED AFTER {} ATTEMPTS: {}",
+				entry.getRecipientType(), entry.getIdEvent(), failedAttempts, error);
+			abandoned.increment();
+			eventEmailOutboxService.fail(entry.getId(), lastAccountId, null, error);
+			return;
+		}
+
+		// Backoff esponenziale: retryDelay, 2 * retryDelay, 4 * retryDelay, ... fino a MAX_RETRY_DELAY
+		Duration delay = retryDelay.multipliedBy(1L << Math.min(failedAttempts - 1, 20));
+		if (delay.compareTo(MAX_RETRY_DELAY) > 0) {
+			delay = MAX_RETRY_DELAY;
+		}
+		log.warn("EVENT EMAIL ({}) FOR EVENT {} FAILED, RETRY IN {}: {}",
+			entry.getRecipientType(), entry.getIdEvent(), delay, error);
+		eventEmailOutboxService.fail(entry.getId(), lastAccountId, delay, error);
+	}
+
+	private static Long lastId(List<Pair<Long, String>> page) {
+		return page.get(page.size() - 1).getFirst();
+	}
+}
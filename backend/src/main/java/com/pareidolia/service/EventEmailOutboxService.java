@@ -0,0 +1,110 @@
+package com.pareidolia.service;
+
+import com.pareidolia.entity.Event;
+import com.pareidolia.entity.EventEmailOutbox;
+import com.pareidolia.repository.EventEmailOutboxRepository;
+import com.pareidolia.strategy.email.event.EmailEventType;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = {@Autowired})
+public class EventEmailOutboxService {
+	private static final int MAX_ERROR_LENGTH = 1024;
+
+	private final EventEmailOutboxRepository eventEmailOutboxRepository;
+
+	/**
+	 * Accoda la notifica di un evento per ogni tipo di destinatario, nella stessa transazione che modifica l'evento.
+	 * Le email vengono inviate in background solo se la transazione va a buon fine.
+	 * @param emailEventType Il tipo di notifica.
+	 * @param event L'evento da notificare, già salvato.
+	 */
+	public void enqueue(EmailEventType emailEventType, Event event) {
+		LocalDateTime now = LocalDateTime.now();
+		List<EventEmailOutbox> entries = SendEmailForEvent.RECIPIENT_TYPES.stream()
+			.map(recipientType -> EventEmailOutbox.builder()
+				.idEvent(event.getId())
+				.emailEventType(emailEventType)
+				.recipientType(recipientType)
+				.nextAttemptAt(now)
+				.build())
+			.toList();
+		eventEmailOutboxRepository.saveAll(entries);
+	}
+
+	/**
+	 * Restituisce le notifiche in attesa il cui prossimo tentativo è già scaduto.
+	 * @param limit Il numero massimo di righe.
+	 * @return List<EventEmailOutbox> Le notifiche da prendere in carico, in ordine di creazione.
+	 */
+	public List<EventEmailOutbox> findDue(int limit) {
+		return eventEmailOutboxRepository.findDue(LocalDateTime.now(), PageRequest.of(0, limit));
+	}
+
+	/**
+	 * Prende in carico una notifica per la durata del lease, impedendo ad altre istanze di elaborarla.
+	 * Se l'istanza si interrompe, la notifica torna disponibile alla scadenza del lease.
+	 * @return boolean true se la notifica è stata presa in carico.
+	 */
+	public boolean claim(Long id, Duration lease) {
+		LocalDateTime now = LocalDateTime.now();
+		return eventEmailOutboxRepository.claim(id, now, now.plus(lease)) == 1;
+	}
+
+	/**
+	 * Salva l'avanzamento dopo un blocco inviato con successo e rinnova il lease.
+	 * @param lastAccountId L'ID dell'ultimo destinatario notificato.
+	 */
+	public void advance(Long id, Long lastAccountId, Duration lease) {
+		eventEmailOutboxRepository.findById(id).ifPresent(entry -> {
+			entry.setLastAccountId(lastAccountId);
+			entry.setAttempts(0);
+			entry.setLastError(null);
+			entry.setNextAttemptAt(LocalDateTime.now().plus(lease));
+		});
+	}
+
+	/**
+	 * Segna la notifica come inviata a tutti i destinatari.
+	 */
+	public void complete(Long id, Long lastAccountId) {
+		eventEmailOutboxRepository.findById(id).ifPresent(entry -> {
+			entry.setLastAccountId(lastAccountId);
+			entry.setStatus(EventEmailOutbox.Status.SENT);
+			entry.setLastError(null);
+		});
+	}
+
+	/**
+	 * Registra un tentativo fallito: la notifica viene ripianificata dopo il ritardo indicato,
+	 * oppure abbandonata se ha esaurito i tentativi.
+	 * @param lastAccountId L'ID dell'ultimo destinatario notificato prima dell'errore.
+	 * @param retryDelay Il ritardo prima del prossimo tentativo, o null per abbandonare la notifica.
+	 * @param error La descrizione dell'errore.
+	 */
+	public void fail(Long id, Long lastAccountId, Duration retryDelay, String error) {
+		eventEmailOutboxRepository.findById(id).ifPresent(entry -> {
+			entry.setLastAccountId(lastAccountId);
+			entry.setAttempts(entry.getAttempts() + 1);
+			entry.setLastError(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+			if (retryDelay == null) {
+				entry.setStatus(EventEmailOutbox.Status.FAILED);
+			} else {
+				entry.setNextAttemptAt(LocalDateTime.now().plus(retryDelay));
+			}
+		});
+	}
+
+	public long countPending() {
+		return eventEmailOutboxRepository.countByStatus(EventEmailOutbox.Status.PENDING);
+	}
+}
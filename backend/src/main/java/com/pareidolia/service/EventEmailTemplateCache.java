@@ -0,0 +1,75 @@
+package com.pareidolia.service;
+
+import com.pareidolia.configuration.mail.CustomMailSender;
+import com.pareidolia.configuration.mail.PreparedMail;
+import com.pareidolia.entity.Account;
+import com.pareidolia.entity.Event;
+import com.pareidolia.strategy.email.event.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rende le notifiche degli eventi una sola volta per (strategia, evento, tipo di notifica).
+ * Il contenuto generato dalle {@link EmailContentStrategy} dipende solo dall'evento e dal tipo di notifica,
+ * quindi l'email codificata viene riutilizzata per tutti i destinatari e tutti i blocchi.
+ * La data di ultima modifica dell'evento fa parte della chiave, così un evento aggiornato viene reso di nuovo.
+ */
+@Component
+public class EventEmailTemplateCache {
+	private static final int MAX_SIZE = 64;
+
+	// Map per associare ogni tipo di account alla sua strategia di email
+	private static final Map<Account.Type, EmailContentStrategy> STRATEGIES = Map.of(
+		Account.Type.CONSUMER, new ConsumerInvitationStrategy(),
+		Account.Type.PROMOTER, new PromoterInvitationStrategy(),
+		Account.Type.REVIEWER, new ReviewerConfirmationStrategy()
+	);
+
+	private final CustomMailSender mailSender;
+	private final Map<Key, PreparedMail> templates = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, PreparedMail> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+
+	@Autowired
+	public EventEmailTemplateCache(CustomMailSender mailSender) {
+		this.mailSender = mailSender;
+	}
+
+	/**
+	 * Restituisce l'email da inviare ai destinatari del tipo indicato, rendendola solo se non è già in cache.
+	 * @param emailEventType Il tipo di notifica.
+	 * @param event L'evento da notificare.
+	 * @param recipientType Il tipo di account dei destinatari.
+	 * @return PreparedMail L'email pronta, senza destinatario.
+	 */
+	public synchronized PreparedMail get(EmailEventType emailEventType, Event event, Account.Type recipientType) {
+		return templates.computeIfAbsent(
+			new Key(recipientType, emailEventType, event.getId(), event.getLastUpdate()),
+			key -> render(emailEventType, event, recipientType)
+		);
+	}
+
+	public synchronized int size() {
+		return templates.size();
+	}
+
+	private PreparedMail render(EmailEventType emailEventType, Event event, Account.Type recipientType) {
+		EmailContentStrategy strategy = STRATEGIES.get(recipientType);
+		if (strategy == null) {
+			throw new IllegalArgumentException("Invalid recipient type: " + recipientType);
+		}
+		String subject = strategy.generateSubject(emailEventType, event);
+		String body = strategy.generateBody(emailEventType, event);
+		return mailSender.prepareMail(subject, body, false);
+	}
+
+	private record Key(Account.Type recipientType, EmailEventType emailEventType, Long eventId, LocalDateTime lastUpdate) {
+	}
+}
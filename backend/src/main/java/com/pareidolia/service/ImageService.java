@@ -1,30 +1,87 @@
 package com.pareidolia.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.UUID;
-
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Salva le immagini caricate e ne genera in background le versioni ridimensionate.
+ * Il caricamento restituisce subito l'URL della versione principale (la prima configurata):
+ * finché il file della versione non esiste viene servita l'originale e la versione viene rigenerata su richiesta,
+ * così anche le elaborazioni perse con un riavvio vengono recuperate. Se l'elaborazione fallisce le versioni ridimensionate vengono sostituite da copie dell'originale,
+ * così l'URL restituito resta valido; se la coda è piena viene restituito direttamente l'URL dell'originale.
+ */
 @Service
 public class ImageService {
+	private static final String METRIC_NAME = "pareidolia.image.renditions";
+
+	private final Logger log = LoggerFactory.getLogger(this.getClass());
+	private final TaskExecutor executor;
+	private final String uploadDir;
+	private final String urlPrefix;
+	private final String thumbnailPrefix;
+	private final List<Integer> renditionWidths;
+	private final Pattern renditionName;
+
+	// Nomi dei file originali con un'elaborazione in coda o in corso, per non accodarla due volte
+	private final Set<String> pending = ConcurrentHashMap.newKeySet();
+	private final Timer successfulRenditions;
+	private final Timer failedRenditions;
+	private final Counter skippedRenditions;
+
+	@Autowired
+	public ImageService(@Qualifier("imageProcessingExecutor") TaskExecutor executor,
+	                    MeterRegistry meterRegistry,
+	                    @Value("${app.upload.dir}") String uploadDir,
+	                    @Value("${app.upload.url-prefix}") String urlPrefix,
+	                    @Value("${app.upload.thumbnail-prefix}") String thumbnailPrefix,
+	                    @Value("${app.upload.renditions:200,400,800}") List<Integer> renditionWidths) {
+		this.executor = executor;
+		this.uploadDir = uploadDir;
+		this.urlPrefix = urlPrefix;
+		this.thumbnailPrefix = thumbnailPrefix;
+		this.renditionWidths = List.copyOf(renditionWidths);
+		this.renditionName = Pattern.compile("^" + Pattern.quote(String.valueOf(thumbnailPrefix)) + "(\\d{1,5})-(.+)$");
+
+		this.successfulRenditions = Timer.builder(METRIC_NAME + ".duration").tag("result", "success").register(meterRegistry);
+		this.failedRenditions = Timer.builder(METRIC_NAME + ".duration").tag("result", "failure").register(meterRegistry);
+		this.skippedRenditions = Counter.builder(METRIC_NAME + ".skipped").register(meterRegistry);
+		Gauge.builder(METRIC_NAME + ".pending", pending, Set::size).register(meterRegistry);
+	}
 
-	@Value("${app.upload.dir}")
-	private String uploadDir;
-
-	@Value("${app.upload.url-prefix}")
-	private String urlPrefix;
-
-	@Value("${app.upload.thumbnail-prefix}")
-	private String thumbnailPrefix;
-
+	/**
+	 * Salva l'immagine originale e accoda la generazione delle versioni ridimensionate.
+	 * @param file Il file caricato.
+	 * @return String L'URL della versione principale, disponibile al termine dell'elaborazione.
+	 */
 	public String saveImage(MultipartFile file) throws IOException {
 		String filename = generateUniqueFilename(file.getOriginalFilename());
 		Path uploadPath = Paths.get(uploadDir);
@@ -36,33 +93,155 @@ public class ImageService {
 		Path filePath = uploadPath.resolve(filename);
 		Files.copy(file.getInputStream(), filePath);
 
-		if (thumbnailPrefix != null) {
-			String thumbnailFileName = createThumbnail(filePath, thumbnailPrefix);
-			return urlPrefix + "/" + thumbnailFileName;
+		if (thumbnailPrefix != null && !renditionWidths.isEmpty()) {
+			if (!scheduleRenditions(filePath)) {
+				log.warn("Image processing queue is full, serving the original of image {}", filename);
+				return urlPrefix + "/" + filename;
+			}
+			return urlPrefix + "/" + renditionFileName(renditionWidths.get(0), filename);
 		}
 
 		return urlPrefix + "/" + filename;
 	}
 
-	private String createThumbnail(Path originalPath, String prefix) throws IOException {
-		BufferedImage original = ImageIO.read(originalPath.toFile());
+	/**
+	 * Se il file richiesto è una versione ridimensionata che non esiste ancora, restituisce il nome dell'originale
+	 * e ne accoda la rigenerazione. La verifica si basa solo sui file presenti su disco.
+	 * @param imageName Il nome del file richiesto.
+	 * @return Optional<String> Il nome del file originale, se la versione manca e l'originale esiste.
+	 */
+	public Optional<String> findOriginalOfMissingRendition(String imageName) {
+		Matcher matcher = renditionName.matcher(imageName);
+		if (!matcher.matches() || !renditionWidths.contains(Integer.valueOf(matcher.group(1)))) {
+			return Optional.empty();
+		}
+
+		Path uploadPath = Paths.get(uploadDir);
+		Path originalPath = uploadPath.resolve(matcher.group(2));
+		if (Files.exists(uploadPath.resolve(imageName)) || !Files.isRegularFile(originalPath)) {
+			return Optional.empty();
+		}
+
+		scheduleRenditions(originalPath);
+		return Optional.of(matcher.group(2));
+	}
+
+	/**
+	 * Accoda la generazione delle versioni ridimensionate, se non è già in coda o in corso.
+	 * @return boolean false se la coda è piena.
+	 */
+	private boolean scheduleRenditions(Path originalPath) {
+		String filename = originalPath.getFileName().toString();
+		if (!pending.add(filename)) {
+			return true;
+		}
+		try {
+			executor.execute(() -> createRenditions(originalPath));
+			return true;
+		} catch (TaskRejectedException e) {
+			pending.remove(filename);
+			skippedRenditions.increment();
+			return false;
+		} catch (RuntimeException e) {
+			pending.remove(filename);
+			throw e;
+		}
+	}
+
+	private void createRenditions(Path originalPath) {
+		String filename = originalPath.getFileName().toString();
+		long start = System.nanoTime();
+		try {
+			BufferedImage original = readImage(originalPath, Collections.max(renditionWidths));
+			for (int width : renditionWidths) {
+				writeRendition(original, width, originalPath);
+			}
+			successfulRenditions.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		} catch (Exception e) {
+			failedRenditions.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			log.error("ERROR WHILE CREATING RENDITIONS OF IMAGE: {}", filename, e);
+			copyOriginalAsRenditions(originalPath);
+		} finally {
+			pending.remove(filename);
+		}
+	}
 
-		// Calculate thumbnail dimensions (maintaining aspect ratio)
-		int thumbWidth = 200;
-		int thumbHeight = (int) ((double) original.getHeight() / original.getWidth() * thumbWidth);
+	/**
+	 * Al posto delle versioni ridimensionate mancanti scrive una copia dell'originale,
+	 * così l'URL restituito al caricamento continua a servire l'immagine anche dopo un errore.
+	 */
+	private void copyOriginalAsRenditions(Path originalPath) {
+		for (int width : renditionWidths) {
+			Path renditionPath = originalPath.resolveSibling(renditionFileName(width, originalPath.getFileName().toString()));
+			if (Files.exists(renditionPath)) {
+				continue;
+			}
+			Path temporaryPath = renditionPath.resolveSibling(renditionPath.getFileName() + ".tmp");
+			try {
+				Files.copy(originalPath, temporaryPath, StandardCopyOption.REPLACE_EXISTING);
+				Files.move(temporaryPath, renditionPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (IOException e) {
+				log.error("ERROR WHILE COPYING ORIGINAL IMAGE AS RENDITION: {}", renditionPath.getFileName(), e);
+			} finally {
+				try {
+					Files.deleteIfExists(temporaryPath);
+				} catch (IOException e) {
+					log.warn("Could not delete temporary file {}", temporaryPath, e);
+				}
+			}
+		}
+	}
 
-		// Create thumbnail
-		BufferedImage thumbnail = new BufferedImage(thumbWidth, thumbHeight, BufferedImage.TYPE_INT_RGB);
-		Graphics2D g2d = thumbnail.createGraphics();
-		g2d.drawImage(original, 0, 0, thumbWidth, thumbHeight, null);
+	/**
+	 * Decodifica l'immagine sottocampionandola quando è molto più grande della versione più larga richiesta,
+	 * così un'immagine di grandi dimensioni non viene mai decodificata a piena risoluzione.
+	 */
+	private BufferedImage readImage(Path path, int maxWidth) throws IOException {
+		try (ImageInputStream input = ImageIO.createImageInputStream(path.toFile())) {
+			Iterator<ImageReader> readers = input == null ? Collections.emptyIterator() : ImageIO.getImageReaders(input);
+			if (!readers.hasNext()) {
+				throw new IOException("Unsupported image format");
+			}
+			ImageReader reader = readers.next();
+			try {
+				reader.setInput(input, true, true);
+				int subsampling = Math.max(1, reader.getWidth(0) / (maxWidth * 2));
+				ImageReadParam param = reader.getDefaultReadParam();
+				param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+				return reader.read(0, param);
+			} finally {
+				reader.dispose();
+			}
+		}
+	}
+
+	private void writeRendition(BufferedImage original, int width, Path originalPath) throws IOException {
+		// Calculate rendition dimensions (maintaining aspect ratio, never upscaling)
+		int renditionWidth = Math.min(width, original.getWidth());
+		int renditionHeight = Math.max(1, (int) ((double) original.getHeight() / original.getWidth() * renditionWidth));
+
+		BufferedImage rendition = new BufferedImage(renditionWidth, renditionHeight, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g2d = rendition.createGraphics();
+		g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+		g2d.drawImage(original, 0, 0, renditionWidth, renditionHeight, null);
 		g2d.dispose();
 
-		// Save thumbnail
-		String thumbnailName = prefix + originalPath.getFileName();
-		Path thumbnailPath = originalPath.getParent().resolve(thumbnailName);
-		ImageIO.write(thumbnail, getFileExtension(originalPath), thumbnailPath.toFile());
+		// Scrive su un file temporaneo e lo rinomina, così il file non è mai visibile a metà
+		String renditionName = renditionFileName(width, originalPath.getFileName().toString());
+		Path renditionPath = originalPath.resolveSibling(renditionName);
+		Path temporaryPath = originalPath.resolveSibling(renditionName + ".tmp");
+		try {
+			if (!ImageIO.write(rendition, getFileExtension(originalPath), temporaryPath.toFile())) {
+				throw new IOException("No writer for image format: " + getFileExtension(originalPath));
+			}
+			Files.move(temporaryPath, renditionPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temporaryPath);
+		}
+	}
 
-		return thumbnailName;
+	private String renditionFileName(int width, String filename) {
+		return thumbnailPrefix + width + "-" + filename;
 	}
 
 	private String generateUniqueFilename(String originalFilename) {
@@ -73,4 +252,4 @@ public class ImageService {
 		String filename = path.getFileName().toString();
 		return filename.substring(filename.lastIndexOf(".") + 1);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,42 @@
+package com.pareidolia.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifica periodicamente che il numero di partecipanti di ogni evento corrisponda alla tabella Booking,
+ * ricalcolando quelli disallineati. Il primo passaggio, eseguito all'avvio, inizializza i database
+ * creati prima dell'introduzione del contatore, dove tutti gli eventi partono da 0.
+ */
+@Component
+@ConditionalOnProperty(name = "app.booking.reconciliation.enabled", havingValue = "true", matchIfMissing = true)
+public class ParticipantCountReconciler {
+	private static final String METRIC_NAME = "pareidolia.event.participants";
+
+	private final BatchedReconciliation reconciliation;
+
+	@Autowired
+	public ParticipantCountReconciler(ParticipantCountService participantCountService,
+	                                  MeterRegistry meterRegistry,
+	                                  @Value("${app.booking.reconciliation.batch-size:500}") int batchSize) {
+		this.reconciliation = new BatchedReconciliation(LoggerFactory.getLogger(this.getClass()), meterRegistry, METRIC_NAME, batchSize,
+			participantCountService::findEventIdsAfter, participantCountService::reconcile,
+			"Participant counts of events {} drifted from the Booking table and were recomputed");
+	}
+
+	/**
+	 * Scorre tutti gli eventi a blocchi per ID crescente, ognuno controllato e corretto nella propria transazione.
+	 * @return int Il numero di eventi ricalcolati.
+	 */
+	@Scheduled(fixedDelayString = "${app.booking.reconciliation.interval:3600}", timeUnit = TimeUnit.SECONDS)
+	public int reconcile() {
+		return reconciliation.run();
+	}
+}
@@ -0,0 +1,65 @@
+package com.pareidolia.service;
+
+import com.pareidolia.repository.BookingRepository;
+import com.pareidolia.repository.EventRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Mantiene allineato alla tabella Booking il numero di partecipanti di ogni evento
+ * nei casi in cui le prenotazioni non passano dai servizi di prenotazione.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = {@Autowired})
+public class ParticipantCountService {
+	private final EventRepository eventRepository;
+	private final BookingRepository bookingRepository;
+	private final EventDetailCache eventDetailCache;
+
+	/**
+	 * Libera i posti prenotati da un account che sta per essere eliminato: le sue prenotazioni
+	 * vengono cancellate a cascata dal database, senza passare dai servizi di prenotazione.
+	 * Va chiamato nella stessa transazione dell'eliminazione, prima di essa.
+	 * @param idAccount L'ID dell'account da eliminare.
+	 * @return List<Long> Gli ID degli eventi prenotati dall'account.
+	 */
+	public List<Long> releaseBookingsOf(Long idAccount) {
+		List<Long> idEvents = bookingRepository.findEventIdsByIdAccount(idAccount);
+		if (!idEvents.isEmpty()) {
+			// Un account ha al più una prenotazione per evento (booking_unique_key)
+			eventRepository.decrementCurrentParticipants(idEvents);
+			idEvents.forEach(eventDetailCache::invalidateParticipantsAfterCommit);
+		}
+		return idEvents;
+	}
+
+	/**
+	 * Restituisce un blocco di ID di eventi in ordine crescente.
+	 * @param afterId L'ultimo ID del blocco precedente (0 per iniziare).
+	 * @param limit Il numero massimo di ID.
+	 * @return List<Long> Gli ID degli eventi successivi a afterId.
+	 */
+	public List<Long> findEventIdsAfter(Long afterId, int limit) {
+		return eventRepository.findIdsAfter(afterId, PageRequest.of(0, limit));
+	}
+
+	/**
+	 * Controlla il numero di partecipanti degli eventi indicati e ricalcola quelli disallineati.
+	 * @param ids Gli ID degli eventi da controllare.
+	 * @return List<Long> Gli ID degli eventi che sono stati ricalcolati.
+	 */
+	public List<Long> reconcile(List<Long> ids) {
+		List<Long> drifted = eventRepository.findIdsWithParticipantsDrift(ids);
+		if (!drifted.isEmpty()) {
+			eventRepository.recomputeCurrentParticipants(drifted);
+			drifted.forEach(eventDetailCache::invalidateParticipantsAfterCommit);
+		}
+		return drifted;
+	}
+}
@@ -0,0 +1,152 @@
+package com.pareidolia.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pareidolia.dto.PromoterDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Cache in memoria, limitata per dimensione e durata, del profilo pubblico dei promotori già serializzato in JSON.
+ * I servizi che modificano il profilo o la foto di un promotore, o lo eliminano, ne invalidano la voce.
+ */
+@Component
+public class PromoterDetailCache {
+	private static final String METRIC_NAME = "pareidolia.promoter.detail.cache";
+
+	private final ObjectMapper objectMapper;
+	private final int maxSize;
+	private final long ttlMillis;
+	private final Map<Long, Entry> entries;
+	// Caricamenti in corso per promotore, con la versione incrementata a ogni invalidazione di quel promotore:
+	// un caricamento iniziato prima dell'invalidazione non viene memorizzato, mentre le invalidazioni
+	// degli altri promotori non lo scartano. La voce viene rimossa quando non ci sono più caricamenti in corso.
+	private final Map<Long, Loading> loading = new HashMap<>();
+
+	private final Counter hits;
+	private final Counter misses;
+	private final Counter evictions;
+
+	@Autowired
+	public PromoterDetailCache(ObjectMapper objectMapper,
+	                           MeterRegistry meterRegistry,
+	                           @Value("${app.promoter.detail-cache.max-size:1000}") int maxSize,
+	                           @Value("${app.promoter.detail-cache.ttl:60}") long ttlSeconds) {
+		this.objectMapper = objectMapper;
+		this.maxSize = maxSize;
+		this.ttlMillis = ttlSeconds * 1000;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+				if (size() > PromoterDetailCache.this.maxSize) {
+					evictions.increment();
+					return true;
+				}
+				return false;
+			}
+		};
+
+		this.hits = Counter.builder(METRIC_NAME + ".requests").tag("result", "hit").register(meterRegistry);
+		this.misses = Counter.builder(METRIC_NAME + ".requests").tag("result", "miss").register(meterRegistry);
+		this.evictions = Counter.builder(METRIC_NAME + ".evictions").register(meterRegistry);
+		Gauge.builder(METRIC_NAME + ".size", this, PromoterDetailCache::size).register(meterRegistry);
+	}
+
+	/**
+	 * Restituisce il profilo del promotore già serializzato, caricandolo alla prima richiesta o dopo un'invalidazione.
+	 * @param id L'ID del promotore.
+	 * @param loader Costruisce il DTO; le eccezioni vengono propagate e nulla viene memorizzato.
+	 * @return SerializedBody Il JSON del promotore con il suo ETag.
+	 */
+	public SerializedBody get(Long id, Function<Long, PromoterDTO> loader) {
+		Loading load;
+		long loadVersion;
+		synchronized (this) {
+			Entry entry = entries.get(id);
+			if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+				hits.increment();
+				return entry.body();
+			}
+			if (entry != null) {
+				entries.remove(id);
+			}
+			load = loading.computeIfAbsent(id, key -> new Loading());
+			load.loads++;
+			loadVersion = load.version;
+		}
+
+		misses.increment();
+		SerializedBody body = null;
+		try {
+			// La serializzazione avviene fuori dal lock
+			body = SerializedBody.of(objectMapper, loader.apply(id));
+			return body;
+		} finally {
+			store(id, body, load, loadVersion);
+		}
+	}
+
+	/**
+	 * Rimuove il profilo del promotore dalla cache.
+	 * @param id L'ID del promotore modificato o eliminato.
+	 */
+	public synchronized void invalidate(Long id) {
+		Loading load = loading.get(id);
+		if (load != null) {
+			load.version++;
+		}
+		entries.remove(id);
+	}
+
+	/**
+	 * Rimuove subito il promotore dalla cache e, se è attiva una transazione, di nuovo dopo il commit,
+	 * così una lettura concorrente non può ripopolarla con i dati precedenti alla modifica.
+	 * @param id L'ID del promotore modificato o eliminato.
+	 */
+	public void invalidateAfterCommit(Long id) {
+		invalidate(id);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					invalidate(id);
+				}
+			});
+		}
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Chiude un caricamento, memorizzandone il risultato solo se il promotore non è stato invalidato nel frattempo.
+	 * @param body Il risultato del caricamento, null se il caricamento è fallito.
+	 */
+	private synchronized void store(Long id, SerializedBody body, Loading load, long loadVersion) {
+		if (body != null && load.version == loadVersion) {
+			entries.put(id, new Entry(body, System.currentTimeMillis() + ttlMillis));
+		}
+		if (--load.loads == 0) {
+			loading.remove(id);
+		}
+	}
+
+	private record Entry(SerializedBody body, long expiresAt) {
+	}
+
+	private static class Loading {
+		private int loads;
+		private long version;
+	}
+}
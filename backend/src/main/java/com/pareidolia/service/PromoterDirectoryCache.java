@@ -0,0 +1,126 @@
+package com.pareidolia.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pareidolia.dto.PromoterDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Cache in memoria delle pagine dell'elenco pubblico dei promotori, già serializzate in JSON.
+ * Ogni modifica a un promotore (creazione, profilo, foto, eliminazione) può spostare o alterare
+ * qualsiasi pagina, quindi l'invalidazione svuota l'intero elenco.
+ */
+@Component
+public class PromoterDirectoryCache {
+	private static final String METRIC_NAME = "pareidolia.promoter.directory.cache";
+
+	private final ObjectMapper objectMapper;
+	private final int maxPages;
+	private final long ttlMillis;
+	private final Map<Pageable, Entry> entries;
+	// Incrementata a ogni invalidazione: un caricamento iniziato prima non viene memorizzato
+	private long generation;
+
+	private final Counter hits;
+	private final Counter misses;
+	private final Counter evictions;
+
+	@Autowired
+	public PromoterDirectoryCache(ObjectMapper objectMapper,
+	                              MeterRegistry meterRegistry,
+	                              @Value("${app.promoter.directory-cache.max-pages:100}") int maxPages,
+	                              @Value("${app.promoter.directory-cache.ttl:60}") long ttlSeconds) {
+		this.objectMapper = objectMapper;
+		this.maxPages = maxPages;
+		this.ttlMillis = ttlSeconds * 1000;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Pageable, Entry> eldest) {
+				if (size() > PromoterDirectoryCache.this.maxPages) {
+					evictions.increment();
+					return true;
+				}
+				return false;
+			}
+		};
+
+		this.hits = Counter.builder(METRIC_NAME + ".requests").tag("result", "hit").register(meterRegistry);
+		this.misses = Counter.builder(METRIC_NAME + ".requests").tag("result", "miss").register(meterRegistry);
+		this.evictions = Counter.builder(METRIC_NAME + ".evictions").register(meterRegistry);
+		Gauge.builder(METRIC_NAME + ".size", this, PromoterDirectoryCache::size).register(meterRegistry);
+	}
+
+	/**
+	 * Restituisce la pagina dell'elenco già serializzata, caricandola alla prima richiesta o dopo un'invalidazione.
+	 * @param pageable La pagina richiesta, già normalizzata dalla politica di paginazione.
+	 * @param loader Legge la pagina dal database; le eccezioni vengono propagate e nulla viene memorizzato.
+	 * @return SerializedBody Il JSON della pagina con il suo ETag.
+	 */
+	public SerializedBody get(Pageable pageable, Function<Pageable, Page<PromoterDTO>> loader) {
+		long loadGeneration;
+		synchronized (this) {
+			Entry entry = entries.get(pageable);
+			if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+				hits.increment();
+				return entry.body();
+			}
+			if (entry != null) {
+				entries.remove(pageable);
+			}
+			loadGeneration = generation;
+		}
+
+		misses.increment();
+		// La serializzazione avviene fuori dal lock
+		SerializedBody body = SerializedBody.of(objectMapper, loader.apply(pageable));
+		synchronized (this) {
+			if (generation == loadGeneration) {
+				entries.put(pageable, new Entry(body, System.currentTimeMillis() + ttlMillis));
+			}
+		}
+		return body;
+	}
+
+	/**
+	 * Svuota l'elenco dei promotori.
+	 */
+	public synchronized void invalidate() {
+		generation++;
+		entries.clear();
+	}
+
+	/**
+	 * Svuota subito l'elenco e, se è attiva una transazione, di nuovo dopo il commit,
+	 * così una lettura concorrente non può ripopolarlo con i dati precedenti alla modifica.
+	 */
+	public void invalidateAfterCommit() {
+		invalidate();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					invalidate();
+				}
+			});
+		}
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	private record Entry(SerializedBody body, long expiresAt) {
+	}
+}
@@ -0,0 +1,37 @@
+package com.pareidolia.service;
+
+import com.pareidolia.repository.EventPromoterAssociationRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Allinea le cache degli eventi al profilo dei promotori: il dettaglio pubblico degli eventi e il feed
+ * riportano nome e foto dei loro promotori, quindi vanno invalidati quando il profilo cambia o viene eliminato.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = {@Autowired})
+public class PromoterEventCacheService {
+	private final EventPromoterAssociationRepository eventPromoterAssociationRepository;
+	private final EventDetailCache eventDetailCache;
+	private final PublishedFeedSnapshot publishedFeedSnapshot;
+
+	/**
+	 * Invalida dopo il commit le cache di tutti gli eventi del promotore, letti con un'unica query.
+	 * In caso di eliminazione va chiamato prima di eliminare il promotore.
+	 * @param idPromoter L'ID del promotore modificato o eliminato.
+	 * @return List<Long> Gli ID degli eventi del promotore.
+	 */
+	public List<Long> invalidateEventsOf(Long idPromoter) {
+		List<Long> idEvents = eventPromoterAssociationRepository.findEventIdsByIdPromoter(idPromoter);
+		if (!idEvents.isEmpty()) {
+			eventDetailCache.invalidateAfterCommit(idEvents);
+			publishedFeedSnapshot.rebuildAfterCommit(idEvents);
+		}
+		return idEvents;
+	}
+}
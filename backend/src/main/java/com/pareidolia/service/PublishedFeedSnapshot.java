@@ -0,0 +1,240 @@
+package com.pareidolia.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pareidolia.dto.EventDTO;
+import com.pareidolia.entity.Account;
+import com.pareidolia.entity.Event;
+import com.pareidolia.entity.PromoterInfo;
+import com.pareidolia.mapper.EventMapper;
+import com.pareidolia.repository.EventPromoterAssociationRepository;
+import com.pareidolia.repository.EventRepository;
+import com.pareidolia.state.PublishedState;
+import com.pareidolia.state.State;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.util.Pair;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Copia in memoria delle prime pagine del feed pubblico degli eventi pubblicati, già serializzate in JSON,
+ * così le richieste anonime più frequenti non accedono al database.
+ * Le pagine sono identiche a quelle prodotte da {@code /generic/service/event/list} con la dimensione predefinita.
+ * Quando un evento viene pubblicato, ritirato o modificato si ricalcola solo la sua posizione; quando cambia il profilo
+ * di un promotore con eventi nel feed le pagine vengono ricostruite. Una ricostruzione completa periodica aggiorna
+ * partecipanti e punteggi, che cambiano senza passare da qui.
+ */
+@Component
+public class PublishedFeedSnapshot {
+	private static final String METRIC_NAME = "pareidolia.event.feed.snapshot";
+	private static final Sort SORT = Sort.by(Sort.Order.desc("id"));
+
+	private final ObjectMapper objectMapper;
+	private final EventRepository eventRepository;
+	private final EventPromoterAssociationRepository eventPromoterAssociationRepository;
+	private final boolean enabled;
+	private final int pageCount;
+	private final int pageSize;
+
+	private volatile Snapshot snapshot;
+	// Le ricostruzioni leggono dal database tenendo il lock: un ReentrantLock non blocca il carrier dei virtual thread
+	private final ReentrantLock rebuildLock = new ReentrantLock();
+
+	private final Counter hits;
+	private final Counter misses;
+	private final Timer fullRebuilds;
+	private final Timer incrementalRebuilds;
+
+	@Autowired
+	public PublishedFeedSnapshot(ObjectMapper objectMapper,
+	                             EventRepository eventRepository,
+	                             EventPromoterAssociationRepository eventPromoterAssociationRepository,
+	                             MeterRegistry meterRegistry,
+	                             @Value("${app.event.feed-snapshot.enabled:true}") boolean enabled,
+	                             @Value("${app.event.feed-snapshot.pages:5}") int pageCount,
+	                             @Value("${app.pagination.default.min-size:10}") int pageSize) {
+		this.objectMapper = objectMapper;
+		this.eventRepository = eventRepository;
+		this.eventPromoterAssociationRepository = eventPromoterAssociationRepository;
+		this.enabled = enabled;
+		this.pageCount = pageCount;
+		this.pageSize = pageSize;
+
+		this.hits = Counter.builder(METRIC_NAME + ".requests").tag("result", "hit").register(meterRegistry);
+		this.misses = Counter.builder(METRIC_NAME + ".requests").tag("result", "miss").register(meterRegistry);
+		this.fullRebuilds = Timer.builder(METRIC_NAME + ".rebuild").tag("type", "full").register(meterRegistry);
+		this.incrementalRebuilds = Timer.builder(METRIC_NAME + ".rebuild").tag("type", "incremental").register(meterRegistry);
+	}
+
+	/**
+	 * Restituisce una pagina del feed già serializzata, se è tra quelle mantenute in memoria.
+	 * Le dimensioni minori di quella predefinita vengono comunque portate al minimo dalla paginazione, quindi sono equivalenti.
+	 * @param page Il numero di pagina richiesto, o null per la prima.
+	 * @param size La dimensione richiesta, o null per quella predefinita.
+	 * @return Optional<SerializedBody> Il JSON della pagina con il suo ETag, o vuoto se va letta dal database.
+	 */
+	public Optional<SerializedBody> get(Integer page, Integer size) {
+		Snapshot current = snapshot;
+		int pageNumber = page == null ? 0 : Math.max(0, page);
+		if (current == null || (size != null && size > pageSize) || pageNumber >= current.pages().size()) {
+			misses.increment();
+			return Optional.empty();
+		}
+		hits.increment();
+		return Optional.of(current.pages().get(pageNumber));
+	}
+
+	/**
+	 * Ricostruisce da zero le pagine mantenute in memoria.
+	 */
+	@Scheduled(fixedDelayString = "${app.event.feed-snapshot.refresh:30}", timeUnit = TimeUnit.SECONDS)
+	public void rebuild() {
+		if (!enabled) {
+			return;
+		}
+		long start = System.nanoTime();
+		rebuildLock.lock();
+		try {
+			snapshot = build(loadPublished(Long.MAX_VALUE, capacity()));
+		} finally {
+			rebuildLock.unlock();
+		}
+		fullRebuilds.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Aggiorna la posizione di un solo evento: lo inserisce, lo sostituisce o lo rimuove a seconda del suo stato attuale,
+	 * leggendo dal database solo gli eventi necessari a riempire di nuovo le pagine.
+	 * @param id L'ID dell'evento pubblicato, ritirato, modificato o eliminato.
+	 */
+	public void refresh(Long id) {
+		rebuildLock.lock();
+		try {
+			refreshLocked(id);
+		} finally {
+			rebuildLock.unlock();
+		}
+	}
+
+	private void refreshLocked(Long id) {
+		Snapshot current = snapshot;
+		if (!enabled || current == null) {
+			// La prima ricostruzione completa includerà comunque la modifica
+			return;
+		}
+		long start = System.nanoTime();
+
+		List<EventDTO> events = new ArrayList<>(current.events());
+		events.removeIf(event -> Objects.equals(event.getId(), id));
+		Optional<Event> published = eventRepository.findById(id)
+			.filter(event -> event.getState() instanceof PublishedState)
+			.filter(event -> events.size() < capacity() || id > events.get(events.size() - 1).getId());
+		if (published.isPresent()) {
+			events.addAll(toDTOs(List.of(published.get())));
+			events.sort(Comparator.comparing(EventDTO::getId).reversed());
+		}
+
+		if (events.size() > capacity()) {
+			events.subList(capacity(), events.size()).clear();
+		} else if (events.size() < capacity()) {
+			Long lastId = events.isEmpty() ? Long.MAX_VALUE : events.get(events.size() - 1).getId();
+			events.addAll(loadPublished(lastId, capacity() - events.size()));
+		}
+
+		snapshot = build(events);
+		incrementalRebuilds.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Esegue {@link #refresh} dopo il commit della transazione corrente, o subito se non ce n'è una attiva,
+	 * così le pagine non contengono mai modifiche poi annullate.
+	 * @param id L'ID dell'evento modificato.
+	 */
+	public void refreshAfterCommit(Long id) {
+		if (!enabled) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					refresh(id);
+				}
+			});
+		} else {
+			refresh(id);
+		}
+	}
+
+	/**
+	 * Ricostruisce le pagine dopo il commit della transazione corrente, se contengono almeno uno degli eventi indicati.
+	 * Serve quando cambiano dati condivisi da più eventi, come il profilo di un promotore.
+	 * @param ids Gli ID degli eventi interessati dalla modifica.
+	 */
+	public void rebuildAfterCommit(Collection<Long> ids) {
+		if (!enabled) {
+			return;
+		}
+		Set<Long> idSet = Set.copyOf(ids);
+		Runnable rebuildIfContained = () -> {
+			Snapshot current = snapshot;
+			if (current != null && current.events().stream().anyMatch(event -> idSet.contains(event.getId()))) {
+				rebuild();
+			}
+		};
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					rebuildIfContained.run();
+				}
+			});
+		} else {
+			rebuildIfContained.run();
+		}
+	}
+
+	private int capacity() {
+		return pageCount * pageSize;
+	}
+
+	private List<EventDTO> loadPublished(Long beforeId, int limit) {
+		return toDTOs(eventRepository.findAllByStateAndIdLessThan(State.fromString(PublishedState.name, null), beforeId,
+			PageRequest.of(0, limit, SORT)));
+	}
+
+	private List<EventDTO> toDTOs(List<Event> events) {
+		Map<Long, List<Pair<Account, PromoterInfo>>> promoters = eventPromoterAssociationRepository.findPromotersGroupedByIdEvent(
+			events.stream().map(Event::getId).toList());
+		return events.stream()
+			.map(event -> EventMapper.entityToDTO(event, null, event.getCurrentParticipants(),
+				promoters.getOrDefault(event.getId(), List.of())))
+			.toList();
+	}
+
+	private Snapshot build(List<EventDTO> events) {
+		long total = eventRepository.countByState(State.fromString(PublishedState.name, null));
+		List<SerializedBody> pages = new ArrayList<>(pageCount);
+		for (int page = 0; page < pageCount; page++) {
+			int from = Math.min(events.size(), page * pageSize);
+			int to = Math.min(events.size(), from + pageSize);
+			pages.add(SerializedBody.of(objectMapper, new PageImpl<>(events.subList(from, to), PageRequest.of(page, pageSize, SORT), total)));
+		}
+		return new Snapshot(List.copyOf(events), List.copyOf(pages));
+	}
+
+	private record Snapshot(List<EventDTO> events, List<SerializedBody> pages) {
+	}
+}
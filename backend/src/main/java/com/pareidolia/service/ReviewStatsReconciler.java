@@ -0,0 +1,43 @@
+package com.pareidolia.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifica periodicamente che i contatori delle recensioni di ogni evento (numero e somma dei punteggi)
+ * corrispondano alla tabella Review, ricalcolando quelli disallineati.
+ * I contatori possono divergere quando le recensioni vengono eliminate a cascata dal database,
+ * ad esempio con l'eliminazione di un account; il primo passaggio inizializza anche i database esistenti.
+ */
+@Component
+@ConditionalOnProperty(name = "app.review.reconciliation.enabled", havingValue = "true", matchIfMissing = true)
+public class ReviewStatsReconciler {
+	private static final String METRIC_NAME = "pareidolia.review.stats";
+
+	private final BatchedReconciliation reconciliation;
+
+	@Autowired
+	public ReviewStatsReconciler(ReviewStatsService reviewStatsService,
+	                             MeterRegistry meterRegistry,
+	                             @Value("${app.review.reconciliation.batch-size:500}") int batchSize) {
+		this.reconciliation = new BatchedReconciliation(LoggerFactory.getLogger(this.getClass()), meterRegistry, METRIC_NAME, batchSize,
+			reviewStatsService::findEventIdsAfter, reviewStatsService::reconcile,
+			"Review stats of events {} drifted from the Review table and were recomputed");
+	}
+
+	/**
+	 * Scorre tutti gli eventi a blocchi per ID crescente, ognuno controllato e corretto nella propria transazione.
+	 * @return int Il numero di eventi ricalcolati.
+	 */
+	@Scheduled(fixedDelayString = "${app.review.reconciliation.interval:3600}", timeUnit = TimeUnit.SECONDS)
+	public int reconcile() {
+		return reconciliation.run();
+	}
+}
@@ -0,0 +1,84 @@
+package com.pareidolia.service;
+
+import com.pareidolia.entity.Review;
+import com.pareidolia.repository.EventRepository;
+import com.pareidolia.repository.EventReviewTagRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Mantiene i contatori delle recensioni di ogni evento (numero, somma e istogramma dei punteggi, conteggi dei tag),
+ * così statistiche e media si leggono senza scorrere le recensioni.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = {@Autowired})
+public class ReviewStatsService {
+	private final EventRepository eventRepository;
+	private final EventReviewTagRepository eventReviewTagRepository;
+	private final EventDetailCache eventDetailCache;
+
+	/**
+	 * Aggiorna i contatori dell'evento con una recensione appena salvata, nella stessa transazione.
+	 * @param review La recensione creata.
+	 */
+	public void addReview(Review review) {
+		eventRepository.addReviewScore(review.getIdEvent(), review.getScore());
+		eventDetailCache.invalidateAfterCommit(review.getIdEvent());
+		String tag = normalizeTag(review.getTag());
+		if (tag != null) {
+			eventReviewTagRepository.increment(review.getIdEvent(), tag);
+		}
+	}
+
+	/**
+	 * Toglie dai contatori dell'evento una recensione eliminata, nella stessa transazione.
+	 * @param review La recensione eliminata.
+	 */
+	public void removeReview(Review review) {
+		eventRepository.removeReviewScore(review.getIdEvent(), review.getScore());
+		eventDetailCache.invalidateAfterCommit(review.getIdEvent());
+		String tag = normalizeTag(review.getTag());
+		if (tag != null) {
+			eventReviewTagRepository.decrement(review.getIdEvent(), tag);
+		}
+	}
+
+	/**
+	 * Restituisce un blocco di ID di eventi in ordine crescente.
+	 * @param afterId L'ultimo ID del blocco precedente (0 per iniziare).
+	 * @param limit Il numero massimo di ID.
+	 * @return List<Long> Gli ID degli eventi successivi a afterId.
+	 */
+	public List<Long> findEventIdsAfter(Long afterId, int limit) {
+		return eventRepository.findIdsAfter(afterId, PageRequest.of(0, limit));
+	}
+
+	/**
+	 * Controlla i contatori delle recensioni degli eventi indicati e ricalcola quelli disallineati.
+	 * @param ids Gli ID degli eventi da controllare.
+	 * @return List<Long> Gli ID degli eventi che sono stati ricalcolati.
+	 */
+	public List<Long> reconcile(List<Long> ids) {
+		List<Long> drifted = eventRepository.findIdsWithReviewStatsDrift(ids);
+		if (!drifted.isEmpty()) {
+			eventRepository.recomputeReviewStats(drifted);
+			eventReviewTagRepository.deleteAllByIdEventIn(drifted);
+			eventReviewTagRepository.insertFromReviews(drifted);
+			drifted.forEach(eventDetailCache::invalidateAfterCommit);
+		}
+		return drifted;
+	}
+
+	private static String normalizeTag(String tag) {
+		if (tag == null || tag.isBlank()) {
+			return null;
+		}
+		return tag.trim();
+	}
+}
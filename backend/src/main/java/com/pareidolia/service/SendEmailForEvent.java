@@ -1,53 +1,34 @@
 package com.pareidolia.service;
 
 import com.pareidolia.configuration.mail.CustomMailSender;
+import com.pareidolia.configuration.mail.PreparedMail;
 import com.pareidolia.entity.Account;
-import com.pareidolia.entity.Event;
-import com.pareidolia.repository.AccountRepository;
-import com.pareidolia.strategy.email.event.*;
-import org.springframework.data.domain.Pageable;
 
 import java.util.List;
-import java.util.Map;
 
+/**
+ * Invia la notifica di un evento, già resa da {@link EventEmailTemplateCache}, a un blocco di destinatari.
+ */
 public class SendEmailForEvent implements Runnable {
-	final EmailEventType emailEventType;
-	final Event event;
+	// Lista dei tipi di account da notificare
+	public static final List<Account.Type> RECIPIENT_TYPES = List.of(
+		Account.Type.CONSUMER,
+		Account.Type.PROMOTER,
+		Account.Type.REVIEWER
+	);
+
+	final PreparedMail mail;
+	final List<String> recipients;
 	final CustomMailSender mailSender;
-	final AccountRepository accountRepository;
 
-	public SendEmailForEvent(EmailEventType emailEventType, Event event, CustomMailSender mailSender, AccountRepository accountRepository) {
-		this.emailEventType = emailEventType;
-		this.event = event;
+	public SendEmailForEvent(PreparedMail mail, List<String> recipients, CustomMailSender mailSender) {
+		this.mail = mail;
+		this.recipients = recipients;
 		this.mailSender = mailSender;
-		this.accountRepository = accountRepository;
 	}
 
 	@Override
 	public void run() {
-		// Map per associare ogni tipo di account alla sua strategia di email
-		Map<Account.Type, EmailContentStrategy> strategyMap = Map.of(
-			Account.Type.CONSUMER, new ConsumerInvitationStrategy(),
-			Account.Type.PROMOTER, new PromoterInvitationStrategy(),
-			Account.Type.REVIEWER, new ReviewerConfirmationStrategy()
-		);
-
-		// Lista dei tipi di account da notificare
-		List<Account.Type> accountTypesToNotify = List.of(
-			Account.Type.CONSUMER,
-			Account.Type.PROMOTER,
-			Account.Type.REVIEWER
-		);
-
-		// Notifica tutti gli account non-admin usando la strategia appropriata
-		accountTypesToNotify.forEach(accountType -> {
-			EmailContentStrategy strategy = strategyMap.get(accountType);
-			accountRepository.findAllByReferenceType(accountType, Pageable.unpaged())
-				.forEach(account -> {
-					String subject = strategy.generateSubject(emailEventType, event);
-					String body = strategy.generateBody(emailEventType, event);
-					mailSender.sendMail(account.getEmail(), subject, body, false, "sendEventInvitation");
-				});
-		});
+		mailSender.sendPreparedMails(recipients, mail, "sendEventInvitation");
 	}
 }
@@ -0,0 +1,24 @@
+package com.pareidolia.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Corpo JSON di una risposta già serializzato in UTF-8, con l'ETag calcolato sul suo contenuto.
+ * Le cache lo costruiscono una volta sola, così le letture successive non passano da Jackson
+ * e i client possono riusare la propria copia con una richiesta condizionale.
+ * @param bytes Il JSON serializzato; non va modificato.
+ * @param eTag L'ETag forte, tra virgolette.
+ */
+public record SerializedBody(byte[] bytes, String eTag) {
+
+	public static SerializedBody of(ObjectMapper objectMapper, Object value) {
+		try {
+			byte[] bytes = objectMapper.writeValueAsBytes(value);
+			return new SerializedBody(bytes, "\"" + DigestUtils.md5Hex(bytes) + "\"");
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Failed to serialize " + value.getClass().getSimpleName(), e);
+		}
+	}
+}
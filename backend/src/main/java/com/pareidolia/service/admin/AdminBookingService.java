@@ -1,5 +1,6 @@
 package com.pareidolia.service.admin;
 
+import com.pareidolia.configuration.pagination.PaginationPolicy;
 import com.pareidolia.dto.BookingDTO;
 import com.pareidolia.entity.Account;
 import com.pareidolia.entity.Booking;
@@ -9,17 +10,16 @@ import com.pareidolia.mapper.BookingMapper;
 import com.pareidolia.repository.AccountRepository;
 import com.pareidolia.repository.BookingRepository;
 import com.pareidolia.repository.EventRepository;
+import com.pareidolia.service.EventDetailCache;
 import com.pareidolia.service.generic.PublicService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Optional;
 
 @Service
 @Transactional
@@ -30,6 +30,8 @@ public class AdminBookingService {
 	private final EventRepository eventRepository;
 	private final AccountRepository accountRepository;
 	private final BookingRepository bookingRepository;
+	private final PaginationPolicy paginationPolicy;
+	private final EventDetailCache eventDetailCache;
 
 	/**
 	 * Recupera una specifica prenotazione basata sull'ID fornito, verificando che la prenotazione appartenga al consumatore autenticato.
@@ -41,7 +43,7 @@ public class AdminBookingService {
 			.orElseThrow(() -> new IllegalArgumentException("Account not found"));
 		Event event = eventRepository.findById(booking.getIdEvent())
 			.orElseThrow(() -> new IllegalArgumentException("Event not found"));
-		Long currentParticipants = bookingRepository.countByIdEvent(event.getId());
+		Long currentParticipants = event.getCurrentParticipants();
 
 		List<Pair<Account, PromoterInfo>> promoterPairs = publicService.findPromotersByEventId(booking.getIdEvent());
 		return BookingMapper.entityToDTO(booking, account, event, currentParticipants, promoterPairs);
@@ -52,12 +54,10 @@ public class AdminBookingService {
 	 */
 	public Page<BookingDTO> getBookings(Long idEvent, Integer page, Integer size) {
 		Event event = eventRepository.findById(idEvent).orElseThrow(() -> new IllegalArgumentException("Invalid Event ID"));
-		Long currentParticipants = bookingRepository.countByIdEvent(event.getId());
+		Long currentParticipants = event.getCurrentParticipants();
 
 		return bookingRepository.findByIdEvent(
-			idEvent, PageRequest.of(
-				Math.max(0, Optional.ofNullable(page).orElse(0)),
-				Math.max(20, Optional.ofNullable(size).orElse(20)))
+			idEvent, paginationPolicy.pageRequest(PaginationPolicy.Type.BOOKING, page, size)
 		).map(booking -> {
 			Account account = accountRepository.findById(booking.getIdAccount()).orElseThrow(() -> new IllegalArgumentException("Invalid Account"));
 			List<Pair<Account, PromoterInfo>> promoters = publicService.findPromotersByEventId(event.getId());
@@ -73,5 +73,7 @@ public class AdminBookingService {
 		Booking booking = bookingRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Invalid booking ID"));
 
 		bookingRepository.delete(booking);
+		eventRepository.decrementCurrentParticipants(booking.getIdEvent());
+		eventDetailCache.invalidateParticipantsAfterCommit(booking.getIdEvent());
 	}
 }
\ No newline at end of file
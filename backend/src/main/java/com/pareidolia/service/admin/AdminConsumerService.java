@@ -1,27 +1,30 @@
 package com.pareidolia.service.admin;
 
+import com.pareidolia.configuration.pagination.PaginationPolicy;
+import com.pareidolia.configuration.security.PrincipalCache;
 import com.pareidolia.dto.ConsumerDTO;
 import com.pareidolia.entity.Account;
 import com.pareidolia.mapper.AccountMapper;
 import com.pareidolia.repository.AccountRepository;
+import com.pareidolia.service.ParticipantCountService;
 import com.pareidolia.validator.AccountValidator;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
-
 @Service
 @Transactional
 @RequiredArgsConstructor(onConstructor_ = {@Autowired})
 public class AdminConsumerService {
 
+	private final PrincipalCache principalCache;
 	private final AccountValidator accountValidator;
 	private final AccountRepository accountRepository;
+	private final ParticipantCountService participantCountService;
+	private final PaginationPolicy paginationPolicy;
 
 	/**
 	 * Recupera i dati di un consumatore specifico tramite ID.
@@ -50,7 +53,7 @@ public class AdminConsumerService {
 	public Page<ConsumerDTO> getConsumers(Integer page, Integer size) {
 		return accountRepository.findAllByReferenceType(
 			Account.Type.CONSUMER,
-			PageRequest.of(Math.max(0, Optional.ofNullable(page).orElse(0)), Math.max(10, Optional.ofNullable(size).orElse(10)), Sort.by(Sort.Order.desc("id")))
+			paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("id")))
 		).map(AccountMapper::entityToConsumerDTO);
 	}
 
@@ -87,6 +90,8 @@ public class AdminConsumerService {
 			throw new IllegalArgumentException("Invalid Account Type");
 		}
 
+		participantCountService.releaseBookingsOf(id);
 		accountRepository.deleteById(id);
+		principalCache.invalidateAfterCommit(id);
 	}
 }
@@ -1,6 +1,6 @@
 package com.pareidolia.service.admin;
 
-import com.pareidolia.configuration.mail.CustomMailSender;
+import com.pareidolia.configuration.pagination.PaginationPolicy;
 import com.pareidolia.dto.AdminDTO;
 import com.pareidolia.dto.EventDTO;
 import com.pareidolia.dto.EventUpdateDTO;
@@ -13,8 +13,10 @@ import com.pareidolia.mapper.EventMapper;
 import com.pareidolia.mapper.EventPromoterAssociationMapper;
 import com.pareidolia.repository.*;
 import com.pareidolia.repository.model.EventWithInfoForAccount;
+import com.pareidolia.service.EventDetailCache;
 import com.pareidolia.service.ImageService;
-import com.pareidolia.service.SendEmailForEvent;
+import com.pareidolia.service.PublishedFeedSnapshot;
+import com.pareidolia.service.EventEmailOutboxService;
 import com.pareidolia.strategy.email.event.EmailEventType;
 import com.pareidolia.validator.EventDraftValidator;
 import com.pareidolia.validator.EventValidator;
@@ -23,18 +25,15 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.support.TransactionSynchronization;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -44,16 +43,17 @@ import java.util.stream.Collectors;
 public class AdminEventService {
 	private final ImageService imageService;
 	private final AdminService adminService;
-	private final CustomMailSender mailSender;
 	private final ImageValidator imageValidator;
 	private final EventValidator eventValidator;
 	private final EventRepository eventRepository;
 	private final BookingRepository bookingRepository;
-	private final AccountRepository accountRepository;
 	private final EventDraftValidator eventDraftValidator;
+	private final EventEmailOutboxService eventEmailOutboxService;
 	private final PromoterInfoRepository promoterInfoRepository;
 	private final EventPromoterAssociationRepository eventPromoterAssociationRepository;
-
+	private final PaginationPolicy paginationPolicy;
+	private final EventDetailCache eventDetailCache;
+	private final PublishedFeedSnapshot publishedFeedSnapshot;
 
 	/**
 	 * Recupera un evento specifico per un amministratore basandosi sull'ID dell'evento.
@@ -61,7 +61,7 @@ public class AdminEventService {
 	 */
 	public EventDTO getEvent(Long id) {
 		Event eventDraft = eventRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Invalid Event ID"));
-		Long currentParticipants = bookingRepository.countByIdEvent(id);
+		Long currentParticipants = eventDraft.getCurrentParticipants();
 		boolean booked = bookingRepository.findByIdEventAndIdAccount(id, adminService.getData().getId()).isPresent();
 
 		List<Pair<Account, PromoterInfo>> promoters =
@@ -81,23 +81,19 @@ public class AdminEventService {
 		if (state == null) {
 			eventPage = eventRepository.findAllByAccountIdWithCount(
 				admin.getId(),
-				PageRequest.of(Math.max(0, Optional.ofNullable(page).orElse(0)),
-					Math.max(10, Optional.ofNullable(size).orElse(10)),
-					Sort.by(Sort.Order.desc("id"))));
+				paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("id"))));
 		} else {
 			eventPage = eventRepository.findAllByAccountIdAndState(
 				admin.getId(), state,
-				PageRequest.of(Math.max(0, Optional.ofNullable(page).orElse(0)),
-					Math.max(10, Optional.ofNullable(size).orElse(10)),
-					Sort.by(Sort.Order.desc("id")))
+				paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("id")))
 			);
 		}
-		return eventPage.map(eventDraft -> {
-			// Per ogni bozza di evento, recupera i promoter associati
-			List<Pair<Account, PromoterInfo>> promoters = eventPromoterAssociationRepository.findPromotersByIdEvent(eventDraft.getEvent().getId());
-			// Converte l'EventDraft in EventDraftDTO
-			return EventMapper.entityToDTO(eventDraft.getEvent(), eventDraft.getBooked(), eventDraft.getCurrentParticipants(), promoters);
-		});
+		// Recupera con un'unica query i promoter associati a tutti gli eventi della pagina
+		Map<Long, List<Pair<Account, PromoterInfo>>> promoters = eventPromoterAssociationRepository.findPromotersGroupedByIdEvent(
+			eventPage.map(eventDraft -> eventDraft.getEvent().getId()).getContent());
+		// Converte ogni EventDraft in EventDraftDTO
+		return eventPage.map(eventDraft -> EventMapper.entityToDTO(eventDraft.getEvent(), eventDraft.getBooked(), eventDraft.getCurrentParticipants(),
+			promoters.getOrDefault(eventDraft.getEvent().getId(), List.of())));
 	}
 
 	/**
@@ -111,39 +107,19 @@ public class AdminEventService {
 		Page<EventWithInfoForAccount> eventPage;
 		if (state == null) {
 			eventPage = eventRepository.findAllByAccountIdAndPromoterId(admin.id, idPromoter,
-				PageRequest.of(Math.max(0, Optional.ofNullable(page).orElse(0)),
-					Math.max(10, Optional.ofNullable(size).orElse(10)),
-					Sort.by(Sort.Order.desc("id")))
+				paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("id")))
 			);
 		} else {
 			eventPage = eventRepository.findAllByAccountIdAndStateAndPromoterId(admin.id, state, idPromoter,
-				PageRequest.of(Math.max(0, Optional.ofNullable(page).orElse(0)),
-					Math.max(10, Optional.ofNullable(size).orElse(10)),
-					Sort.by(Sort.Order.desc("id")))
+				paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("id")))
 			);
 		}
-		return eventPage.map(eventDraft -> {
-			// Per ogni bozza di evento, recupera i promoter associati
-			List<Pair<Account, PromoterInfo>> promoters = eventPromoterAssociationRepository.findPromotersByIdEvent(eventDraft.getEvent().getId());
-			// Converte l'EventDraft in EventDraftDTO
-			return EventMapper.entityToDTO(eventDraft.getEvent(), eventDraft.getBooked(), eventDraft.getCurrentParticipants(), promoters);
-		});
-	}
-
-	/**
-	 * Esegue l'invio delle email dopo che la transazione è stata completata con successo
-	 * @param emailEventType Il tipo di evento email
-	 * @param event L'evento per cui inviare le email
-	 */
-	private void scheduleEmailAfterCommit(EmailEventType emailEventType, Event event) {
-		Runnable sendEmailForEvent = new SendEmailForEvent(emailEventType, event, mailSender, accountRepository);
-
-		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-			@Override
-			public void afterCommit() {
-				sendEmailForEvent.run();
-			}
-		});
+		// Recupera con un'unica query i promoter associati a tutti gli eventi della pagina
+		Map<Long, List<Pair<Account, PromoterInfo>>> promoters = eventPromoterAssociationRepository.findPromotersGroupedByIdEvent(
+			eventPage.map(eventDraft -> eventDraft.getEvent().getId()).getContent());
+		// Converte ogni EventDraft in EventDraftDTO
+		return eventPage.map(eventDraft -> EventMapper.entityToDTO(eventDraft.getEvent(), eventDraft.getBooked(), eventDraft.getCurrentParticipants(),
+			promoters.getOrDefault(eventDraft.getEvent().getId(), List.of())));
 	}
 
 	/**
@@ -178,8 +154,8 @@ public class AdminEventService {
 		List<Pair<Account, PromoterInfo>> promoters =
 			eventPromoterAssociationRepository.findPromotersByIdEvent(savedEventDraft.getId());
 
-		// Notifica gli utenti dopo il commit della transazione
-		scheduleEmailAfterCommit(EmailEventType.CREATED, savedEventDraft);
+		// Accoda la notifica agli utenti, inviata in background dopo il commit della transazione
+		eventEmailOutboxService.enqueue(EmailEventType.CREATED, savedEventDraft);
 
 		return EventMapper.entityToDTO(savedEventDraft, false, 0L, promoters);
 	}
@@ -213,16 +189,18 @@ public class AdminEventService {
 
 		EventMapper.updateEntitiesWithEventDTO(event, eventDTO);
 		eventRepository.save(event);
+		eventDetailCache.invalidateAfterCommit(event.getId());
+		publishedFeedSnapshot.refreshAfterCommit(event.getId());
 
 		updateEventPromoters(eventDTO.getId(), eventDTO.getPromoters());
 
 		List<Pair<Account, PromoterInfo>> promoters = eventPromoterAssociationRepository.findPromotersByIdEvent(event.getId());
 		boolean booked = bookingRepository.findByIdEventAndIdAccount(event.getId(), adminService.getData().getId()).isPresent();
 
-		// Notifica gli utenti dopo il commit della transazione
-		scheduleEmailAfterCommit(EmailEventType.UPDATED, event);
+		// Accoda la notifica agli utenti, inviata in background dopo il commit della transazione
+		eventEmailOutboxService.enqueue(EmailEventType.UPDATED, event);
 
-		return EventMapper.entityToDTO(event, booked, bookingRepository.countByIdEvent(eventDTO.getId()), promoters);
+		return EventMapper.entityToDTO(event, booked, event.getCurrentParticipants(), promoters);
 	}
 
 	/**
@@ -277,6 +255,8 @@ public class AdminEventService {
 		eventRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Event not found"));
 
 		eventRepository.deleteById(id);
+		eventDetailCache.invalidateAfterCommit(id);
+		publishedFeedSnapshot.refreshAfterCommit(id);
 	}
 
 	/**
@@ -290,10 +270,12 @@ public class AdminEventService {
 
 		event.getState().moveBackwards();
 		Event eventDraft = eventRepository.save(event);
+		eventDetailCache.invalidateAfterCommit(event.getId());
+		publishedFeedSnapshot.refreshAfterCommit(event.getId());
 
 		List<Pair<Account, PromoterInfo>> promoters = eventPromoterAssociationRepository.findPromotersByIdEvent(eventDraft.getId());
 		boolean booked = bookingRepository.findByIdEventAndIdAccount(id, adminService.getData().getId()).isPresent();
-		return EventMapper.entityToDTO(eventDraft, booked, bookingRepository.countByIdEvent(id), promoters);
+		return EventMapper.entityToDTO(eventDraft, booked, eventDraft.getCurrentParticipants(), promoters);
 	}
 
 	/**
@@ -307,10 +289,12 @@ public class AdminEventService {
 
 		event.getState().moveForward();
 		Event eventDraft = eventRepository.save(event);
+		eventDetailCache.invalidateAfterCommit(event.getId());
+		publishedFeedSnapshot.refreshAfterCommit(event.getId());
 
 		List<Pair<Account, PromoterInfo>> promoters = eventPromoterAssociationRepository.findPromotersByIdEvent(eventDraft.getId());
 		boolean booked = bookingRepository.findByIdEventAndIdAccount(id, adminService.getData().getId()).isPresent();
-		return EventMapper.entityToDTO(eventDraft, booked, bookingRepository.countByIdEvent(id), promoters);
+		return EventMapper.entityToDTO(eventDraft, booked, eventDraft.getCurrentParticipants(), promoters);
 	}
 
 	/**
@@ -329,11 +313,13 @@ public class AdminEventService {
 			String filename = imageService.saveImage(file);
 			event.setImage(filename);
 			event = eventRepository.save(event);
+			eventDetailCache.invalidateAfterCommit(event.getId());
+			publishedFeedSnapshot.refreshAfterCommit(event.getId());
 
 			List<Pair<Account, PromoterInfo>> promoters =
 				eventPromoterAssociationRepository.findPromotersByIdEvent(event.getId());
 			boolean booked = bookingRepository.findByIdEventAndIdAccount(id, adminService.getData().getId()).isPresent();
-			return EventMapper.entityToDTO(event, booked, bookingRepository.countByIdEvent(id), promoters);
+			return EventMapper.entityToDTO(event, booked, event.getCurrentParticipants(), promoters);
 		} catch (IOException e) {
 			throw new RuntimeException("Failed to save image", e);
 		}
@@ -352,13 +338,15 @@ public class AdminEventService {
 		if (event.getImage() != null) {
 			event.setImage(null);
 			event = eventRepository.save(event);
+			eventDetailCache.invalidateAfterCommit(event.getId());
+			publishedFeedSnapshot.refreshAfterCommit(event.getId());
 
 			List<Pair<Account, PromoterInfo>> promoters =
 				eventPromoterAssociationRepository.findPromotersByIdEvent(event.getId());
-			return EventMapper.entityToDTO(event, booked, bookingRepository.countByIdEvent(id), promoters);
+			return EventMapper.entityToDTO(event, booked, event.getCurrentParticipants(), promoters);
 		}
 
-		return EventMapper.entityToDTO(event, booked, bookingRepository.countByIdEvent(id),
+		return EventMapper.entityToDTO(event, booked, event.getCurrentParticipants(),
 			eventPromoterAssociationRepository.findPromotersByIdEvent(event.getId()));
 	}
 }
@@ -1,5 +1,6 @@
 package com.pareidolia.service.admin;
 
+import com.pareidolia.configuration.pagination.PaginationPolicy;
 import com.pareidolia.dto.AdminDTO;
 import com.pareidolia.dto.MessageDTO;
 import com.pareidolia.entity.Account;
@@ -12,12 +13,9 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
-
 @Service
 @Transactional
 @RequiredArgsConstructor(onConstructor_ = {@Autowired})
@@ -26,6 +24,7 @@ public class AdminMessageService {
 	private final MessageRepository messageRepository;
 	private final AccountRepository accountRepository;
 	private final EventRepository eventRepository;
+	private final PaginationPolicy paginationPolicy;
 
 	/**
 	 * Recupera i messaggi associati a una bozza di evento specifica, paginandoli.
@@ -41,7 +40,7 @@ public class AdminMessageService {
 			throw new IllegalArgumentException("EventDraft not found");
 		}
 		Page<Message> messages = messageRepository.findByIdEvent(idEventDraft,
-			PageRequest.of(Math.max(0, Optional.ofNullable(page).orElse(0)), Math.max(10, Optional.ofNullable(size).orElse(10)), Sort.by(Sort.Order.desc("creationTime")))
+			paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("creationTime")))
 		);
 		return messages.map(MessageMapper::entityToDTO);
 	}
@@ -1,5 +1,6 @@
 package com.pareidolia.service.admin;
 
+import com.pareidolia.configuration.security.PrincipalCache;
 import com.pareidolia.dto.PromoterDTO;
 import com.pareidolia.dto.RegistrationDTO;
 import com.pareidolia.entity.Account;
@@ -7,7 +8,11 @@ import com.pareidolia.entity.PromoterInfo;
 import com.pareidolia.mapper.AccountMapper;
 import com.pareidolia.repository.AccountRepository;
 import com.pareidolia.repository.PromoterInfoRepository;
+import com.pareidolia.service.ParticipantCountService;
 import com.pareidolia.service.ImageService;
+import com.pareidolia.service.PromoterDetailCache;
+import com.pareidolia.service.PromoterDirectoryCache;
+import com.pareidolia.service.PromoterEventCacheService;
 import com.pareidolia.validator.AccountValidator;
 import com.pareidolia.validator.ImageValidator;
 import jakarta.transaction.Transactional;
@@ -22,10 +27,15 @@ import org.springframework.web.multipart.MultipartFile;
 @RequiredArgsConstructor(onConstructor_ = {@Autowired})
 public class AdminPromoterService {
 	private final ImageService imageService;
+	private final PrincipalCache principalCache;
+	private final PromoterDetailCache promoterDetailCache;
+	private final PromoterEventCacheService promoterEventCacheService;
+	private final PromoterDirectoryCache promoterDirectoryCache;
 	private final ImageValidator imageValidator;
 	private final AccountValidator accountValidator;
 	private final AccountRepository accountRepository;
 	private final PromoterInfoRepository promoterInfoRepository;
+	private final ParticipantCountService participantCountService;
 
 	/**
 	 * Crea un nuovo promotore nel sistema a partire dai dati di registrazione forniti.
@@ -41,6 +51,7 @@ public class AdminPromoterService {
 		PromoterInfo promoterInfo = new PromoterInfo();
 		promoterInfo.setIdPromoter(account.getId());
 		promoterInfo = promoterInfoRepository.save(promoterInfo);
+		promoterDirectoryCache.invalidateAfterCommit();
 
 		return AccountMapper.entityToPromoterDTO(account, promoterInfo);
 	}
@@ -63,6 +74,9 @@ public class AdminPromoterService {
 
 		account = accountRepository.save(account);
 		promoterInfo = promoterInfoRepository.save(promoterInfo);
+		promoterDetailCache.invalidateAfterCommit(account.getId());
+		promoterEventCacheService.invalidateEventsOf(account.getId());
+		promoterDirectoryCache.invalidateAfterCommit();
 
 		return AccountMapper.entityToPromoterDTO(account, promoterInfo);
 	}
@@ -94,6 +108,9 @@ public class AdminPromoterService {
 			String filename = imageService.saveImage(file);
 			promoterInfo.setPhoto(filename);
 			promoterInfo = promoterInfoRepository.save(promoterInfo);
+			promoterDetailCache.invalidateAfterCommit(account.getId());
+			promoterEventCacheService.invalidateEventsOf(account.getId());
+			promoterDirectoryCache.invalidateAfterCommit();
 			return AccountMapper.entityToPromoterDTO(account, promoterInfo);
 		} catch (Exception e) {
 			throw new IllegalArgumentException("Failed to save image", e);
@@ -123,6 +140,9 @@ public class AdminPromoterService {
 		if (promoterInfo.getPhoto() != null) {
 			promoterInfo.setPhoto(null);
 			account = accountRepository.save(account);
+			promoterDetailCache.invalidateAfterCommit(account.getId());
+			promoterEventCacheService.invalidateEventsOf(account.getId());
+			promoterDirectoryCache.invalidateAfterCommit();
 		}
 
 		return AccountMapper.entityToPromoterDTO(account, promoterInfo);
@@ -147,7 +167,12 @@ public class AdminPromoterService {
 		PromoterInfo promoterInfo = promoterInfoRepository.findByIdPromoter(id)
 			.orElseThrow(() -> new IllegalArgumentException("Promoter info not found"));
 
+		promoterEventCacheService.invalidateEventsOf(id);
 		promoterInfoRepository.deleteById(promoterInfo.getId());
+		participantCountService.releaseBookingsOf(id);
 		accountRepository.deleteById(id);
+		principalCache.invalidateAfterCommit(id);
+		promoterDetailCache.invalidateAfterCommit(id);
+		promoterDirectoryCache.invalidateAfterCommit();
 	}
 }
@@ -1,5 +1,6 @@
 package com.pareidolia.service.admin;
 
+import com.pareidolia.configuration.pagination.PaginationPolicy;
 import com.pareidolia.decorator.review.*;
 import com.pareidolia.dto.AdminDTO;
 import com.pareidolia.dto.ReviewDTO;
@@ -9,17 +10,15 @@ import com.pareidolia.mapper.ReviewMapper;
 import com.pareidolia.repository.AccountRepository;
 import com.pareidolia.repository.EventRepository;
 import com.pareidolia.repository.ReviewRepository;
+import com.pareidolia.service.ReviewStatsService;
 import com.pareidolia.validator.ReviewValidator;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
-
 @Service
 @Transactional
 @RequiredArgsConstructor(onConstructor_ = {@Autowired})
@@ -28,7 +27,9 @@ public class AdminReviewService {
 	private final ReviewValidator reviewValidator;
 	private final EventRepository eventRepository;
 	private final ReviewRepository reviewRepository;
+	private final ReviewStatsService reviewStatsService;
 	private final AccountRepository accountRepository;
+	private final PaginationPolicy paginationPolicy;
 
 	/**
 	 * Recupera tutte le recensioni associate a un evento specifico, paginandole.
@@ -46,11 +47,11 @@ public class AdminReviewService {
 		reviewValidator.validateEventIsOver(idEvent);
 
 		Page<Review> reviews = reviewRepository.findAllByIdEvent(idEvent,
-			PageRequest.of(Math.max(0, Optional.ofNullable(page).orElse(0)),
-				Math.max(10, Optional.ofNullable(size).orElse(10)),
-				Sort.by(Sort.Order.desc("id")))
+			paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("id")))
 		);
-		return reviews.map(review -> ReviewMapper.entityToDTO(review, accountRepository));
+		// I tipi degli autori vengono risolti una volta per tutta la pagina
+		AccountTypeResolver accountTypeResolver = AccountTypeResolver.forReviews(reviews.getContent());
+		return reviews.map(review -> ReviewMapper.entityToDTO(review, accountTypeResolver));
 	}
 
 	/**
@@ -81,7 +82,7 @@ public class AdminReviewService {
 		review = new AnonymousDecorator(review);
 
 		// Decora per evidenziare i promoter
-		review = new HighlightDecorator(review, accountRepository);
+		review = new HighlightDecorator(review, AccountTypeResolver.forAccount(account));
 
 		// Decora per i tag se presenti
 		review = new TaggedReview(review);
@@ -94,9 +95,9 @@ public class AdminReviewService {
 		newReview.setAccount(account);
 		newReview = reviewRepository.save(newReview);
 
-		eventRepository.updateAverageScore(reviewDTO.getIdEvent());
+		reviewStatsService.addReview(newReview);
 
-		return ReviewMapper.entityToDTO(newReview, accountRepository);
+		return ReviewMapper.entityToDTO(newReview);
 	}
 
 	/**
@@ -110,9 +111,7 @@ public class AdminReviewService {
 
 		Review review = reviewRepository.findById(id)
 			.orElseThrow(() -> new IllegalArgumentException("Review not found"));
-		Long eventId = review.getIdEvent();
-
 		reviewRepository.deleteById(id);
-		eventRepository.updateAverageScore(eventId);
+		reviewStatsService.removeReview(review);
 	}
 }
@@ -1,19 +1,26 @@
 package com.pareidolia.service.admin;
 
+import com.pareidolia.configuration.pagination.PaginationPolicy;
+import com.pareidolia.configuration.security.AuthenticatedUser;
+import com.pareidolia.configuration.security.PrincipalCache;
 import com.pareidolia.configuration.security.jwt.JWTService;
+import com.pareidolia.configuration.security.jwt.TokenVersionRegistry;
 import com.pareidolia.dto.*;
 import com.pareidolia.entity.Account;
 import com.pareidolia.entity.PromoterInfo;
 import com.pareidolia.mapper.AccountMapper;
 import com.pareidolia.repository.AccountRepository;
 import com.pareidolia.repository.PromoterInfoRepository;
+import com.pareidolia.service.ParticipantCountService;
+import com.pareidolia.service.PromoterDetailCache;
+import com.pareidolia.service.PromoterDirectoryCache;
+import com.pareidolia.service.PromoterEventCacheService;
 import com.pareidolia.validator.AccountValidator;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.util.Pair;
 import org.springframework.security.core.Authentication;
@@ -23,7 +30,6 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Service;
 
 import java.util.Objects;
-import java.util.Optional;
 
 @Service
 @Transactional
@@ -31,9 +37,16 @@ import java.util.Optional;
 public class AdminService {
 
 	private final JWTService jwtService;
+	private final PrincipalCache principalCache;
+	private final PromoterDetailCache promoterDetailCache;
+	private final PromoterEventCacheService promoterEventCacheService;
+	private final PromoterDirectoryCache promoterDirectoryCache;
+	private final TokenVersionRegistry tokenVersionRegistry;
 	private final AccountValidator accountValidator;
 	private final AccountRepository accountRepository;
 	private final PromoterInfoRepository promoterInfoRepository;
+	private final ParticipantCountService participantCountService;
+	private final PaginationPolicy paginationPolicy;
 
 	/**
 	 * Ottiene e valida l'account dell'amministratore autenticato, assicurando che abbia l'autorità appropriata.
@@ -46,6 +59,10 @@ public class AdminService {
 			if (!user.getAuthorities().contains(new SimpleGrantedAuthority(Account.Type.ADMIN.name()))) {
 				throw new JWTService.TokenVerificationException();
 			}
+			// Riusa l'account caricato durante l'autenticazione, senza interrogare di nuovo il database
+			if (user instanceof AuthenticatedUser authenticatedUser) {
+				return authenticatedUser.getAccount();
+			}
 			return accountRepository.findByEmail(user.getUsername())
 				.orElseThrow(JWTService.TokenVerificationException::new);
 		}
@@ -77,7 +94,7 @@ public class AdminService {
 	public Page<AdminDTO> getAdmins(Integer page, Integer size) {
 		return accountRepository.findAllByReferenceType(
 			Account.Type.ADMIN,
-			PageRequest.of(Math.max(0, Optional.ofNullable(page).orElse(0)), Math.max(10, Optional.ofNullable(size).orElse(10)), Sort.by(Sort.Order.desc("id")))
+			paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("id")))
 		).map(AccountMapper::entityToAdminDTO);
 	}
 
@@ -97,6 +114,7 @@ public class AdminService {
 			PromoterInfo promoterInfo = new PromoterInfo();
 			promoterInfo.setIdPromoter(account.getId());
 			promoterInfoRepository.save(promoterInfo);
+			promoterDirectoryCache.invalidateAfterCommit();
 		}
 
 		return AccountMapper.entityToAccountDTO(account);
@@ -136,6 +154,13 @@ public class AdminService {
 			throw new IllegalArgumentException("Invalid account type");
 		}
 
+		// Il promotore può cambiare dati, diventare un altro tipo di account o esserlo diventato
+		if (referenceType == Account.Type.PROMOTER || account.getReferenceType() == Account.Type.PROMOTER) {
+			promoterDetailCache.invalidateAfterCommit(account.getId());
+			promoterEventCacheService.invalidateEventsOf(account.getId());
+			promoterDirectoryCache.invalidateAfterCommit();
+		}
+
 		account.setReferenceType(referenceType);
 		AccountMapper.updateEntityWithAccountDTO(account, accountDTO);
 
@@ -143,7 +168,7 @@ public class AdminService {
 
 		String authToken = null;
 		if (updateAuthToken) {
-			authToken = jwtService.create(account.getReferenceType(), account.getEmail(), account.getPassword());
+			authToken = jwtService.create(account);
 		}
 
 		return AccountMapper.entityToAccountLoginDTO(account, authToken);
@@ -167,6 +192,9 @@ public class AdminService {
 
 		account = accountRepository.save(account);
 		promoterInfo = promoterInfoRepository.save(promoterInfo);
+		promoterDetailCache.invalidateAfterCommit(account.getId());
+		promoterEventCacheService.invalidateEventsOf(account.getId());
+		promoterDirectoryCache.invalidateAfterCommit();
 
 		return AccountMapper.entityToPromoterDTO(account, promoterInfo);
 	}
@@ -177,7 +205,8 @@ public class AdminService {
 	 * @return AccountLoginDTO DTO dell'account con la nuova password e un token di autenticazione.
 	 */
 	public AccountLoginDTO updatePassword(PasswordUpdateDTO passwordUpdateDTO) {
-		Account account = getAccountAndValidate();
+		Account account = accountRepository.findById(getAccountAndValidate().getId())
+			.orElseThrow(JWTService.TokenVerificationException::new);
 
 		if (passwordUpdateDTO.getCurrentPassword() == null) {
 			throw new IllegalArgumentException("Invalid Current Password");
@@ -196,9 +225,11 @@ public class AdminService {
 		accountValidator.passwordValidation(passwordUpdateDTO.getNewPassword());
 
 		account.setPassword(DigestUtils.sha3_256Hex(passwordUpdateDTO.getNewPassword()));
+		tokenVersionRegistry.revoke(account);
 		account = accountRepository.save(account);
+		principalCache.invalidateAfterCommit(account.getId());
 
-		String authToken = jwtService.create(account.getReferenceType(), account.getEmail(), account.getPassword());
+		String authToken = jwtService.create(account);
 
 		return AccountMapper.entityToAccountLoginDTO(account, authToken);
 	}
@@ -219,6 +250,15 @@ public class AdminService {
 			throw new IllegalArgumentException("Invalid Account Type");
 		}
 
+		if (account.getReferenceType() == Account.Type.PROMOTER) {
+			promoterEventCacheService.invalidateEventsOf(id);
+		}
+		participantCountService.releaseBookingsOf(id);
 		accountRepository.deleteById(id);
+		principalCache.invalidateAfterCommit(id);
+		if (account.getReferenceType() == Account.Type.PROMOTER) {
+			promoterDetailCache.invalidateAfterCommit(id);
+			promoterDirectoryCache.invalidateAfterCommit();
+		}
 	}
 }
@@ -1,28 +1,33 @@
 package com.pareidolia.service.consumer;
 
+import com.pareidolia.configuration.pagination.PaginationPolicy;
 import com.pareidolia.dto.BookingDTO;
 import com.pareidolia.dto.ConsumerDTO;
+import com.pareidolia.dto.CursorSliceDTO;
 import com.pareidolia.entity.Account;
 import com.pareidolia.entity.Booking;
 import com.pareidolia.entity.Event;
 import com.pareidolia.entity.PromoterInfo;
 import com.pareidolia.mapper.BookingMapper;
+import com.pareidolia.mapper.CursorSliceMapper;
 import com.pareidolia.repository.AccountRepository;
 import com.pareidolia.repository.BookingRepository;
 import com.pareidolia.repository.EventRepository;
+import com.pareidolia.service.EventDetailCache;
 import com.pareidolia.service.generic.PublicService;
 import com.pareidolia.validator.BookingValidator;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -35,6 +40,8 @@ public class ConsumerBookingService {
 	private final BookingValidator bookingValidator;
 	private final BookingRepository bookingRepository;
 	private final AccountRepository accountRepository;
+	private final PaginationPolicy paginationPolicy;
+	private final EventDetailCache eventDetailCache;
 
 	/**
 	 * Recupera una specifica prenotazione basata sull'ID fornito, verificando che la prenotazione appartenga al consumatore autenticato.
@@ -49,7 +56,7 @@ public class ConsumerBookingService {
 			.orElseThrow(() -> new IllegalArgumentException("Account not found"));
 		Event event = eventRepository.findById(booking.getIdEvent())
 			.orElseThrow(() -> new IllegalArgumentException("Event not found"));
-		Long currentParticipants = bookingRepository.countByIdEvent(event.getId());
+		Long currentParticipants = event.getCurrentParticipants();
 
 		List<Pair<Account, PromoterInfo>> promoterPairs = publicService.findPromotersByEventId(booking.getIdEvent());
 		return BookingMapper.entityToDTO(booking, account, event, currentParticipants, promoterPairs);
@@ -60,16 +67,40 @@ public class ConsumerBookingService {
 	 */
 	public Page<BookingDTO> getBookings(Integer page, Integer size) {
 		return bookingRepository.findAll(
-			PageRequest.of(Math.max(0, Optional.ofNullable(page).orElse(0)), Math.max(20, Optional.ofNullable(size).orElse(20)))
+			paginationPolicy.pageRequest(PaginationPolicy.Type.BOOKING, page, size)
 		).map(booking -> {
 			Account account = accountRepository.findById(booking.getIdAccount()).orElseThrow(() -> new IllegalArgumentException("Invalid Account"));
 			Event event = eventRepository.findById(booking.getIdEvent()).orElseThrow(() -> new IllegalArgumentException("Invalid Event ID"));
-			Long currentParticipants = bookingRepository.countByIdEvent(event.getId());
+			Long currentParticipants = event.getCurrentParticipants();
 			List<Pair<Account, PromoterInfo>> promoters = publicService.findPromotersByEventId(event.getId());
 			return BookingMapper.entityToDTO(booking, account, event, currentParticipants, promoters);
 		});
 	}
 
+	/**
+	 * Recupera le prenotazioni del consumatore autenticato successive al cursore, ordinate per ID decrescente, senza contarle.
+	 * Eventi e promotori della pagina vengono letti con una query ciascuno.
+	 * @param after Il cursore restituito dalla richiesta precedente, o null per iniziare.
+	 * @param limit Il numero massimo di prenotazioni.
+	 */
+	public CursorSliceDTO<BookingDTO> getBookingsAfter(String after, Integer limit) {
+		int pageLimit = paginationPolicy.limit(PaginationPolicy.Type.BOOKING, limit);
+		Account account = accountRepository.findById(consumerService.getData().getId())
+			.orElseThrow(() -> new IllegalArgumentException("Invalid Account"));
+		List<Booking> bookings = bookingRepository.findAllByIdAccountAndIdLessThan(account.getId(),
+			CursorSliceMapper.decode(after), CursorSliceMapper.pageable(pageLimit));
+
+		List<Long> eventIds = bookings.stream().map(Booking::getIdEvent).distinct().toList();
+		Map<Long, Event> events = eventRepository.findAllById(eventIds).stream()
+			.collect(Collectors.toMap(Event::getId, Function.identity()));
+		Map<Long, List<Pair<Account, PromoterInfo>>> promoters = publicService.findPromotersByEventIds(eventIds);
+		return CursorSliceMapper.toDTO(bookings, pageLimit, Booking::getId, booking -> {
+			Event event = events.get(booking.getIdEvent());
+			return BookingMapper.entityToDTO(booking, account, event, event.getCurrentParticipants(),
+				promoters.getOrDefault(event.getId(), List.of()));
+		});
+	}
+
 	/**
 	 * Crea una nuova prenotazione per un evento, validando i dettagli dell'account e dell'evento.
 	 * @param id L'ID dell'evento per cui effettuare la prenotazione.
@@ -83,12 +114,18 @@ public class ConsumerBookingService {
 
 		bookingValidator.createBookingValidator(account, event);
 
+		// Riserva il posto in modo atomico: l'UPDATE non modifica nulla se nel frattempo l'evento è stato riempito
+		if (eventRepository.incrementCurrentParticipants(event.getId()) == 0) {
+			throw new IllegalArgumentException("Fully booked event");
+		}
+		eventDetailCache.invalidateParticipantsAfterCommit(event.getId());
+
 		Booking booking = new Booking();
 		booking.setIdAccount(account.getId());
 		booking.setIdEvent(event.getId());
 		booking = bookingRepository.save(booking);
 
-		Long currentParticipants = bookingRepository.countByIdEvent(event.getId());
+		Long currentParticipants = eventRepository.findCurrentParticipantsById(event.getId());
 
 		List<Pair<Account, PromoterInfo>> promoters = publicService.findPromotersByEventId(id);
 		return BookingMapper.entityToDTO(booking, account, event, currentParticipants, promoters);
@@ -109,6 +146,8 @@ public class ConsumerBookingService {
 		}
 
 		bookingRepository.deleteById(id);
+		eventRepository.decrementCurrentParticipants(booking.getIdEvent());
+		eventDetailCache.invalidateParticipantsAfterCommit(booking.getIdEvent());
 	}
 
 	/**
@@ -125,5 +164,7 @@ public class ConsumerBookingService {
 			.orElseThrow(() -> new IllegalArgumentException("Invalid booking"));
 
 		bookingRepository.delete(booking);
+		eventRepository.decrementCurrentParticipants(event.getId());
+		eventDetailCache.invalidateParticipantsAfterCommit(event.getId());
 	}
 }
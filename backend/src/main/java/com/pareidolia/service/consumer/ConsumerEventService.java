@@ -1,5 +1,6 @@
 package com.pareidolia.service.consumer;
 
+import com.pareidolia.configuration.pagination.PaginationPolicy;
 import com.pareidolia.dto.ConsumerDTO;
 import com.pareidolia.dto.EventDTO;
 import com.pareidolia.entity.Account;
@@ -11,18 +12,19 @@ import com.pareidolia.repository.EventPromoterAssociationRepository;
 import com.pareidolia.repository.EventRepository;
 import com.pareidolia.repository.model.EventWithInfoForAccount;
 import com.pareidolia.state.PublishedState;
+import com.pareidolia.state.State;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 
 @Service
 @Transactional
@@ -32,6 +34,7 @@ public class ConsumerEventService {
 	private final ConsumerService consumerService;
 	private final BookingRepository bookingRepository;
 	private final EventPromoterAssociationRepository eventPromoterAssociationRepository;
+	private final PaginationPolicy paginationPolicy;
 
 	/**
 	 * Recupera un evento specifico per un consumatore basandosi sull'ID dell'evento, verificando che l'evento sia pubblicato.
@@ -45,7 +48,7 @@ public class ConsumerEventService {
 			throw new IllegalArgumentException("Event not found");
 		}
 
-		Long currentParticipants = bookingRepository.countByIdEvent(id);
+		Long currentParticipants = event.getCurrentParticipants();
 		boolean booked = bookingRepository.findByIdEventAndIdAccount(id, consumerService.getData().getId()).isPresent();
 
 		List<Pair<Account, PromoterInfo>> promoters =
@@ -63,14 +66,27 @@ public class ConsumerEventService {
 		ConsumerDTO consumerDTO = consumerService.getData();
 		Page<EventWithInfoForAccount> eventPage = eventRepository.findAllByAccountIdAndState(
 			consumerDTO.getId(), PublishedState.name,
-			PageRequest.of(Math.max(0, Optional.ofNullable(page).orElse(0)),
-				Math.max(10, Optional.ofNullable(size).orElse(10)),
-				Sort.by(Sort.Order.desc("id"))));
-		return eventPage.map(event -> {
-			// Per ogni bozza di evento, recupera i promoter associati
-			List<Pair<Account, PromoterInfo>> promoters = eventPromoterAssociationRepository.findPromotersByIdEvent(event.getEvent().getId());
-			// Converte l'EventDraft in EventDraftDTO
-			return EventMapper.entityToDTO(event.getEvent(), event.getBooked(), event.getCurrentParticipants(), promoters);
-		});
+			paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("id"))));
+		// Recupera con un'unica query i promoter associati a tutti gli eventi della pagina
+		Map<Long, List<Pair<Account, PromoterInfo>>> promoters = eventPromoterAssociationRepository.findPromotersGroupedByIdEvent(
+			eventPage.map(event -> event.getEvent().getId()).getContent());
+		// Converte ogni EventDraft in EventDraftDTO
+		return eventPage.map(event -> EventMapper.entityToDTO(event.getEvent(), event.getBooked(), event.getCurrentParticipants(),
+			promoters.getOrDefault(event.getEvent().getId(), List.of())));
+	}
+
+	/**
+	 * Come {@link #getEvents}, ma senza contare gli eventi: per i client a scorrimento infinito, che usano solo hasNext.
+	 * @return Slice<EventDTO> Gli eventi della pagina e se ne esiste una successiva.
+	 */
+	public Slice<EventDTO> getEventsSlice(Integer page, Integer size) {
+		ConsumerDTO consumerDTO = consumerService.getData();
+		Slice<EventWithInfoForAccount> eventSlice = eventRepository.findSliceByAccountIdAndState(
+			consumerDTO.getId(), State.fromString(PublishedState.name, null),
+			paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("id"))));
+		Map<Long, List<Pair<Account, PromoterInfo>>> promoters = eventPromoterAssociationRepository.findPromotersGroupedByIdEvent(
+			eventSlice.map(event -> event.getEvent().getId()).getContent());
+		return eventSlice.map(event -> EventMapper.entityToDTO(event.getEvent(), event.getBooked(), event.getCurrentParticipants(),
+			promoters.getOrDefault(event.getEvent().getId(), List.of())));
 	}
 }
@@ -1,23 +1,27 @@
 package com.pareidolia.service.consumer;
 
+import com.pareidolia.configuration.pagination.PaginationPolicy;
+import com.pareidolia.decorator.review.AccountTypeResolver;
 import com.pareidolia.dto.ConsumerDTO;
+import com.pareidolia.dto.CursorSliceDTO;
 import com.pareidolia.dto.ReviewDTO;
 import com.pareidolia.entity.Account;
 import com.pareidolia.entity.Review;
+import com.pareidolia.mapper.CursorSliceMapper;
 import com.pareidolia.mapper.ReviewMapper;
 import com.pareidolia.repository.AccountRepository;
 import com.pareidolia.repository.EventRepository;
 import com.pareidolia.repository.ReviewRepository;
+import com.pareidolia.service.ReviewStatsService;
 import com.pareidolia.validator.ReviewValidator;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
+import java.util.List;
 
 @Service
 @Transactional
@@ -27,7 +31,9 @@ public class ConsumerReviewService {
 	private final EventRepository eventRepository;
 	private final ConsumerService consumerService;
 	private final ReviewRepository reviewRepository;
+	private final ReviewStatsService reviewStatsService;
 	private final AccountRepository accountRepository;
+	private final PaginationPolicy paginationPolicy;
 
 	/**
 	 * Recupera tutte le recensioni associate a un evento specifico, paginandole.
@@ -37,6 +43,34 @@ public class ConsumerReviewService {
 	 * @throws IllegalArgumentException Se l'ID dell'evento non è valido o se l'evento non è concluso.
 	 */
 	public Page<ReviewDTO> getEventReviews(Long idEvent, Integer page, Integer size) {
+		validateEventReviewsAccess(idEvent);
+
+		// ricerca messaggi relativi a un evento e paginali
+		Page<Review> reviews = reviewRepository.findAllByIdEvent(idEvent,
+			paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("id")))
+		);
+		// I tipi degli autori vengono risolti una volta per tutta la pagina
+		AccountTypeResolver accountTypeResolver = AccountTypeResolver.forReviews(reviews.getContent());
+		return reviews.map(review -> ReviewMapper.entityToDTO(review, accountTypeResolver));
+	}
+
+	/**
+	 * Recupera le recensioni di un evento successive al cursore, ordinate per ID decrescente, senza contarle.
+	 * @param idEvent L'ID dell'evento.
+	 * @param after Il cursore restituito dalla richiesta precedente, o null per iniziare.
+	 * @param limit Il numero massimo di recensioni.
+	 */
+	public CursorSliceDTO<ReviewDTO> getEventReviewsAfter(Long idEvent, String after, Integer limit) {
+		validateEventReviewsAccess(idEvent);
+
+		int pageLimit = paginationPolicy.limit(PaginationPolicy.Type.DEFAULT, limit);
+		List<Review> reviews = reviewRepository.findAllByIdEventAndIdLessThan(idEvent,
+			CursorSliceMapper.decode(after), CursorSliceMapper.pageable(pageLimit));
+		AccountTypeResolver accountTypeResolver = AccountTypeResolver.forReviews(reviews);
+		return CursorSliceMapper.toDTO(reviews, pageLimit, Review::getId, review -> ReviewMapper.entityToDTO(review, accountTypeResolver));
+	}
+
+	private void validateEventReviewsAccess(Long idEvent) {
 		if (idEvent == null) {
 			throw new IllegalArgumentException("Invalid Event ID");
 		}
@@ -45,12 +79,6 @@ public class ConsumerReviewService {
 			throw new IllegalArgumentException("Invalid Event ID");
 		}
 		reviewValidator.validateEventIsOver(idEvent);
-
-		// ricerca messaggi relativi a un evento e paginali
-		Page<Review> reviews = reviewRepository.findAllByIdEvent(idEvent,
-			PageRequest.of(Math.max(0, Optional.ofNullable(page).orElse(0)), Math.max(10, Optional.ofNullable(size).orElse(10)), Sort.by(Sort.Order.desc("id")))
-		);
-		return reviews.map(review -> ReviewMapper.entityToDTO(review, accountRepository));
 	}
 
 	/**
@@ -80,8 +108,8 @@ public class ConsumerReviewService {
 
 		newReview = reviewRepository.save(newReview);
 
-		eventRepository.updateAverageScore(reviewDTO.getIdEvent());
+		reviewStatsService.addReview(newReview);
 
-		return ReviewMapper.entityToDTO(newReview, accountRepository);
+		return ReviewMapper.entityToDTO(newReview);
 	}
 }
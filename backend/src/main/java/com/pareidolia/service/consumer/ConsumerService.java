@@ -1,6 +1,9 @@
 package com.pareidolia.service.consumer;
 
+import com.pareidolia.configuration.security.AuthenticatedUser;
+import com.pareidolia.configuration.security.PrincipalCache;
 import com.pareidolia.configuration.security.jwt.JWTService;
+import com.pareidolia.configuration.security.jwt.TokenVersionRegistry;
 import com.pareidolia.dto.AccountLoginDTO;
 import com.pareidolia.dto.ConsumerDTO;
 import com.pareidolia.dto.PasswordUpdateDTO;
@@ -26,6 +29,8 @@ import java.util.Objects;
 public class ConsumerService {
 
 	private final JWTService jwtService;
+	private final PrincipalCache principalCache;
+	private final TokenVersionRegistry tokenVersionRegistry;
 	private final AccountValidator accountValidator;
 	private final AccountRepository accountRepository;
 
@@ -43,6 +48,10 @@ public class ConsumerService {
 			if (!user.getAuthorities().contains(new SimpleGrantedAuthority(Account.Type.CONSUMER.name()))) {
 				throw new JWTService.TokenVerificationException();
 			}
+			// Riusa l'account caricato durante l'autenticazione, senza interrogare di nuovo il database
+			if (user instanceof AuthenticatedUser authenticatedUser) {
+				return authenticatedUser.getAccount();
+			}
 			return accountRepository.findByEmail(user.getUsername())
 				.orElseThrow(JWTService.TokenVerificationException::new);
 		}
@@ -78,7 +87,7 @@ public class ConsumerService {
 
 		String authToken = null;
 		if (updateAuthToken) {
-			authToken = jwtService.create(account.getReferenceType(), account.getEmail(), account.getPassword());
+			authToken = jwtService.create(account);
 		}
 
 		return AccountMapper.entityToAccountLoginDTO(account, authToken);
@@ -90,7 +99,8 @@ public class ConsumerService {
 	 * @return AccountLoginDTO Il DTO che include le credenziali dell'account con un nuovo token di autenticazione che riflette il cambiamento della password.
 	 */
 	public AccountLoginDTO updatePassword(PasswordUpdateDTO passwordUpdateDTO) {
-		Account account = getAccountAndValidate();
+		Account account = accountRepository.findById(getAccountAndValidate().getId())
+			.orElseThrow(JWTService.TokenVerificationException::new);
 
 		if (passwordUpdateDTO.getCurrentPassword() == null) {
 			throw new IllegalArgumentException("Invalid Current Password");
@@ -109,9 +119,11 @@ public class ConsumerService {
 		accountValidator.passwordValidation(passwordUpdateDTO.getNewPassword());
 
 		account.setPassword(DigestUtils.sha3_256Hex(passwordUpdateDTO.getNewPassword()));
+		tokenVersionRegistry.revoke(account);
 		account = accountRepository.save(account);
+		principalCache.invalidateAfterCommit(account.getId());
 
-		String authToken = jwtService.create(account.getReferenceType(), account.getEmail(), account.getPassword());
+		String authToken = jwtService.create(account);
 
 		return AccountMapper.entityToAccountLoginDTO(account, authToken);
 	}
@@ -38,7 +38,7 @@ public class AccessService {
 		Account account = AccountMapper.registrationDTOToEntity(registrationDTO, Account.Type.CONSUMER);
 		account = accountRepository.save(account);
 
-		String authToken = jwtService.create(account.getReferenceType(), account.getEmail(), account.getPassword());
+		String authToken = jwtService.create(account);
 
 		return AccountMapper.entityToAccountLoginDTO(account, authToken);
 	}
@@ -53,7 +53,7 @@ public class AccessService {
 		Account account = accountRepository.findByEmailAndPassword(loginDTO.getEmail(), DigestUtils.sha3_256Hex(loginDTO.getPassword()))
 			.orElseThrow(() -> new BadCredentialsException("Invalid username or password"));
 
-		String authToken = jwtService.create(account.getReferenceType(), account.getEmail(), account.getPassword());
+		String authToken = jwtService.create(account);
 
 		return AccountMapper.entityToAccountLoginDTO(account, authToken);
 	}
@@ -1,77 +1,182 @@
 package com.pareidolia.service.generic;
 
+import com.pareidolia.configuration.pagination.PaginationPolicy;
+import com.pareidolia.dto.CursorSliceDTO;
 import com.pareidolia.dto.EventDTO;
 import com.pareidolia.dto.PromoterDTO;
+import com.pareidolia.dto.ReviewStatsDTO;
 import com.pareidolia.entity.Account;
 import com.pareidolia.entity.Event;
 import com.pareidolia.entity.PromoterInfo;
 import com.pareidolia.mapper.AccountMapper;
+import com.pareidolia.mapper.CursorSliceMapper;
 import com.pareidolia.mapper.EventMapper;
+import com.pareidolia.mapper.ReviewStatsMapper;
 import com.pareidolia.repository.*;
 import com.pareidolia.repository.model.EventWithInfo;
+import com.pareidolia.service.EventCountCache;
+import com.pareidolia.service.EventDetailCache;
+import com.pareidolia.service.ImageService;
+import com.pareidolia.service.PromoterDetailCache;
+import com.pareidolia.service.PromoterDirectoryCache;
+import com.pareidolia.service.PublishedFeedSnapshot;
+import com.pareidolia.service.SerializedBody;
 import com.pareidolia.state.PublishedState;
+import com.pareidolia.state.State;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.util.Pair;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.regex.Pattern;
 
 @Service
 @Transactional
 @RequiredArgsConstructor(onConstructor_ = {@Autowired})
 public class PublicService {
+	private static final Pattern IMAGE_FILE_NAME = Pattern.compile("^[a-zA-Z0-9\\-_]+(\\.[a-zA-Z0-9]+)?$");
+	private static final int IMAGE_CONTENT_TYPE_CACHE_SIZE = 10000;
 
+	private final ImageService imageService;
+	private final EventCountCache eventCountCache;
+	private final EventDetailCache eventDetailCache;
+	private final PromoterDetailCache promoterDetailCache;
+	private final PromoterDirectoryCache promoterDirectoryCache;
+	private final PublishedFeedSnapshot publishedFeedSnapshot;
 	private final EventRepository eventRepository;
-	private final BookingRepository bookingRepository;
 	private final AccountRepository accountRepository;
 	private final PromoterInfoRepository promoterInfoRepository;
+	private final EventReviewTagRepository eventReviewTagRepository;
 	private final EventPromoterAssociationRepository eventPromoterAssociationRepository;
+	private final PaginationPolicy paginationPolicy;
 	@Value("${app.download.dir}")
 	private String downloadDir;
 	@Value("${app.download.allowed-extensions}")
 	private String allowedExtensions;
 	@Value("${app.download.max-age}")
 	private String cacheMaxAge;
+	// Tipi di contenuto già rilevati, per non ispezionare il file ad ogni richiesta
+	private final Map<String, MediaType> imageContentTypes = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, MediaType> eldest) {
+			return size() > IMAGE_CONTENT_TYPE_CACHE_SIZE;
+		}
+	});
 
 	/**
 	 * Recupera un evento pubblicato in base all'ID specificato.
 	 */
 	public EventDTO getEvent(Long id) {
+		// Il DTO viene ricostruito solo alla prima lettura o dopo una modifica dell'evento
+		return eventDetailCache.get(id, this::loadPublishedEvent, eventRepository::findCurrentParticipantsById);
+	}
+
+	/**
+	 * Come {@link #getEvent}, ma restituisce il JSON già serializzato dalla cache, con il suo ETag.
+	 */
+	public SerializedBody getEventJson(Long id) {
+		return eventDetailCache.getSerialized(id, this::loadPublishedEvent, eventRepository::findCurrentParticipantsById);
+	}
+
+	private EventDTO loadPublishedEvent(Long id) {
 		Event event = eventRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Event not found"));
 		if (!Objects.equals(event.getState().getStateName(), PublishedState.name)) {
 			throw new IllegalArgumentException("Event not found");
 		}
 		List<Pair<Account, PromoterInfo>> promoters = findPromotersByEventId(id); // Trova i promotori associati all'evento
-		return EventMapper.entityToDTO(event, null, bookingRepository.countByIdEvent(id), promoters);
+		return EventMapper.entityToDTO(event, null, event.getCurrentParticipants(), promoters);
+	}
+
+	/**
+	 * Recupera le statistiche delle recensioni di un evento pubblicato: istogramma dei punteggi e conteggi dei tag.
+	 * I contatori sono mantenuti ad ogni recensione, quindi non vengono lette le singole recensioni.
+	 */
+	public ReviewStatsDTO getEventReviewStats(Long id) {
+		Event event = eventRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Event not found"));
+		if (!Objects.equals(event.getState().getStateName(), PublishedState.name)) {
+			throw new IllegalArgumentException("Event not found");
+		}
+		return ReviewStatsMapper.entityToDTO(event, eventReviewTagRepository.findAllByIdEvent(id));
 	}
 
 	/**
 	 * Recupera una pagina di eventi pubblicati, ordinati per ID decrescente.
 	 */
 	public Page<EventDTO> getEvents(Integer page, Integer size) {
-		return eventRepository.findAllByState(
+		Page<EventWithInfo> events = eventRepository.findAllByState(
 			PublishedState.name,
-			PageRequest.of(Math.max(0, Optional.ofNullable(page).orElse(0)), Math.max(10, Optional.ofNullable(size).orElse(10)), Sort.by(Sort.Order.desc("id")))
-		).map(event -> {
-			List<Pair<Account, PromoterInfo>> promoters = findPromotersByEventId(event.getEvent().getId());
-			return EventMapper.entityToDTO(event.getEvent(), null, event.getCurrentParticipants(), promoters);
-		});
+			paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("id")))
+		);
+		Map<Long, List<Pair<Account, PromoterInfo>>> promoters = findPromotersByEventIds(events.map(event -> event.getEvent().getId()).getContent());
+		return events.map(event -> EventMapper.entityToDTO(event.getEvent(), null, event.getCurrentParticipants(),
+			promoters.getOrDefault(event.getEvent().getId(), List.of())));
+	}
+
+	/**
+	 * Restituisce una delle prime pagine del feed pubblico già serializzata, senza accedere al database.
+	 * @return Optional<SerializedBody> Il JSON della pagina, o vuoto se la pagina va letta con {@link #getEvents}.
+	 */
+	public Optional<SerializedBody> getEventsSnapshot(Integer page, Integer size) {
+		return publishedFeedSnapshot.get(page, size);
+	}
+
+	/**
+	 * Come {@link #getEvents}, ma senza contare gli eventi: per i client a scorrimento infinito,
+	 * che usano solo hasNext. Il totale approssimato è disponibile con {@link #countEvents()}.
+	 */
+	public Slice<EventDTO> getEventsSlice(Integer page, Integer size) {
+		Slice<EventWithInfo> events = eventRepository.findSliceByState(
+			State.fromString(PublishedState.name, null),
+			paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("id")))
+		);
+		Map<Long, List<Pair<Account, PromoterInfo>>> promoters = findPromotersByEventIds(events.map(event -> event.getEvent().getId()).getContent());
+		return events.map(event -> EventMapper.entityToDTO(event.getEvent(), null, event.getCurrentParticipants(),
+			promoters.getOrDefault(event.getEvent().getId(), List.of())));
+	}
+
+	/**
+	 * Restituisce il numero approssimato di eventi pubblicati, ricalcolato periodicamente in background.
+	 */
+	public long countEvents() {
+		return eventCountCache.get(PublishedState.name, null);
+	}
+
+	/**
+	 * Restituisce il numero approssimato di eventi pubblicati di un promotore, ricalcolato periodicamente in background.
+	 * @param idPromoter L'ID del promotore.
+	 */
+	public long countPromoterEvents(Long idPromoter) {
+		return eventCountCache.get(PublishedState.name, idPromoter);
+	}
+
+	/**
+	 * Recupera gli eventi pubblicati successivi al cursore, ordinati per ID decrescente, senza contarli.
+	 * @param after Il cursore restituito dalla richiesta precedente, o null per iniziare.
+	 * @param limit Il numero massimo di eventi.
+	 */
+	public CursorSliceDTO<EventDTO> getEventsAfter(String after, Integer limit) {
+		int pageLimit = paginationPolicy.limit(PaginationPolicy.Type.DEFAULT, limit);
+		List<Event> events = eventRepository.findAllByStateAndIdLessThan(
+			State.fromString(PublishedState.name, null), CursorSliceMapper.decode(after), CursorSliceMapper.pageable(pageLimit));
+		Map<Long, List<Pair<Account, PromoterInfo>>> promoters = findPromotersByEventIds(events.stream().map(Event::getId).toList());
+		return CursorSliceMapper.toDTO(events, pageLimit, Event::getId, event -> EventMapper.entityToDTO(event, null, event.getCurrentParticipants(),
+			promoters.getOrDefault(event.getId(), List.of())));
 	}
 
 	/**
@@ -83,6 +188,15 @@ public class PublicService {
 		return eventPromoterAssociationRepository.findPromotersByIdEvent(eventId);
 	}
 
+	/**
+	 * Trova con un'unica query i promotori associati a un insieme di eventi (ad esempio quelli di una pagina).
+	 * @param eventIds Gli ID degli eventi.
+	 * @return Map<Long, List<Pair < Account, PromoterInfo>>> Promotori indicizzati per ID evento.
+	 */
+	public Map<Long, List<Pair<Account, PromoterInfo>>> findPromotersByEventIds(Collection<Long> eventIds) {
+		return eventPromoterAssociationRepository.findPromotersGroupedByIdEvent(eventIds);
+	}
+
 	/**
 	 * Recupera le informazioni di un promotore specifico in base all'ID fornito.
 	 */
@@ -92,16 +206,31 @@ public class PublicService {
 		return AccountMapper.entityToPromoterDTO(account, promoterInfo);
 	}
 
+	/**
+	 * Come {@link #getPromoter}, ma restituisce il JSON già serializzato dalla cache, con il suo ETag.
+	 */
+	public SerializedBody getPromoterJson(Long id) {
+		return promoterDetailCache.get(id, this::getPromoter);
+	}
+
 	/**
 	 * Recupera una pagina di promotori, ordinati per ID decrescente.
+	 * I DTO vengono costruiti direttamente dalla query, con un'unica join tra promotori e account.
 	 */
 	public Page<PromoterDTO> getPromoters(Integer page, Integer size) {
-		return promoterInfoRepository.findAll(
-			PageRequest.of(Math.max(0, Optional.ofNullable(page).orElse(0)), Math.max(10, Optional.ofNullable(size).orElse(10)), Sort.by(Sort.Order.desc("id")))
-		).map(promoterInfo -> {
-			Account account = accountRepository.findById(promoterInfo.getIdPromoter()).orElseThrow(() -> new IllegalArgumentException("Account not found"));
-			return AccountMapper.entityToPromoterDTO(account, promoterInfo);
-		});
+		return promoterInfoRepository.findAllPromoterDTOs(
+			paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("id")))
+		);
+	}
+
+	/**
+	 * Come {@link #getPromoters}, ma restituisce la pagina già serializzata dalla cache dell'elenco, con il suo ETag.
+	 */
+	public SerializedBody getPromotersJson(Integer page, Integer size) {
+		return promoterDirectoryCache.get(
+			paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("id"))),
+			promoterInfoRepository::findAllPromoterDTOs
+		);
 	}
 
 	/**
@@ -110,15 +239,21 @@ public class PublicService {
 	 */
 	public Page<EventDTO> getPromoterEvents(Long idPromoter, Integer page, Integer size) {
 		Page<EventWithInfo> events = eventRepository.findAllByStateAndPromoterId(PublishedState.name, idPromoter,
-			PageRequest.of(Math.max(0, Optional.ofNullable(page).orElse(0)), Math.max(10, Optional.ofNullable(size).orElse(10)), Sort.by(Sort.Order.desc("id")))
+			paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("id")))
 		);
-		return events.map(event -> EventMapper.entityToDTO(event.getEvent(), null, event.getCurrentParticipants(), findPromotersByEventId(event.getEvent().getId())));
+		Map<Long, List<Pair<Account, PromoterInfo>>> promoters = findPromotersByEventIds(events.map(event -> event.getEvent().getId()).getContent());
+		return events.map(event -> EventMapper.entityToDTO(event.getEvent(), null, event.getCurrentParticipants(),
+			promoters.getOrDefault(event.getEvent().getId(), List.of())));
 	}
 
 	/**
 	 * Serve un'immagine da un percorso di archiviazione basato su un nome di file immagine specificato.
+	 * Il file viene trasmesso direttamente dal disco, senza caricarlo in memoria. ETag e Last-Modified permettono
+	 * a Spring MVC di rispondere 304 alle richieste condizionali e le richieste Range vengono servite con 206.
+	 * Non accede al database: viene eseguito fuori dalla transazione, così non occupa una connessione.
 	 * @param imageName Il nome del file immagine da recuperare.
 	 */
+	@Transactional(Transactional.TxType.NOT_SUPPORTED)
 	public ResponseEntity<Resource> getImage(String imageName) {
 		if (!isValidImageFileName(imageName)) {
 			return ResponseEntity.badRequest().build();
@@ -127,28 +262,56 @@ public class PublicService {
 		try {
 			Path imagePath = Paths.get(downloadDir, imageName);
 
-			if (!Files.exists(imagePath) || !Files.isRegularFile(imagePath)) {
-				return ResponseEntity.notFound().build();
+			String cacheControl = "public, max-age=" + cacheMaxAge;
+			BasicFileAttributes attributes = readAttributes(imagePath);
+
+			// Se la versione ridimensionata non esiste viene servita l'originale, senza farla memorizzare,
+			// mentre la versione viene rigenerata
+			if (attributes == null) {
+				Optional<String> original = imageService.findOriginalOfMissingRendition(imageName);
+				if (original.isPresent()) {
+					imagePath = Paths.get(downloadDir, original.get());
+					cacheControl = "no-cache";
+					attributes = readAttributes(imagePath);
+				}
 			}
 
-			String contentType = Files.probeContentType(imagePath);
-			if (contentType == null || !contentType.startsWith("image/")) {
-				return ResponseEntity.badRequest().build();
+			if (attributes == null || !attributes.isRegularFile()) {
+				return ResponseEntity.notFound().build();
 			}
 
-			ByteArrayResource resource = new ByteArrayResource(Files.readAllBytes(imagePath));
+			String fileName = imagePath.getFileName().toString();
+			MediaType contentType = imageContentTypes.get(fileName);
+			if (contentType == null) {
+				String probedContentType = Files.probeContentType(imagePath);
+				if (probedContentType == null || !probedContentType.startsWith("image/")) {
+					return ResponseEntity.badRequest().build();
+				}
+				contentType = MediaType.parseMediaType(probedContentType);
+				imageContentTypes.put(fileName, contentType);
+			}
 
-			// Return response with proper headers
+			// I nomi dei file sono univoci e non vengono sovrascritti: dimensione e data di modifica bastano come ETag
+			long lastModified = attributes.lastModifiedTime().toMillis();
 			return ResponseEntity.ok()
-				.contentType(MediaType.parseMediaType(contentType))
-				.contentLength(resource.contentLength())
-				.header("Cache-Control", "public, max-age=" + cacheMaxAge)
-				.body(resource);
+				.contentType(contentType)
+				.eTag(Long.toHexString(attributes.size()) + "-" + Long.toHexString(lastModified))
+				.lastModified(lastModified)
+				.header("Cache-Control", cacheControl)
+				.body(new FileSystemResource(imagePath));
 		} catch (Exception e) {
 			return ResponseEntity.internalServerError().build();
 		}
 	}
 
+	private static BasicFileAttributes readAttributes(Path path) throws IOException {
+		try {
+			return Files.readAttributes(path, BasicFileAttributes.class);
+		} catch (NoSuchFileException e) {
+			return null;
+		}
+	}
+
 	/**
 	 * Valida il nome del file immagine per garantire che sia sicuro e conforme alle estensioni consentite.
 	 * @param fileName Il nome del file da validare.
@@ -160,7 +323,7 @@ public class PublicService {
 		}
 
 		// Only allow alphanumeric characters, hyphens, underscores and one dot for extension
-		if (!fileName.matches("^[a-zA-Z0-9\\-_]+(\\.[a-zA-Z0-9]+)?$")) {
+		if (!IMAGE_FILE_NAME.matcher(fileName).matches()) {
 			return false;
 		}
 
@@ -1,5 +1,6 @@
 package com.pareidolia.service.promoter;
 
+import com.pareidolia.configuration.pagination.PaginationPolicy;
 import com.pareidolia.dto.BookingDTO;
 import com.pareidolia.dto.PromoterDTO;
 import com.pareidolia.entity.Account;
@@ -11,29 +12,45 @@ import com.pareidolia.repository.AccountRepository;
 import com.pareidolia.repository.BookingRepository;
 import com.pareidolia.repository.EventPromoterAssociationRepository;
 import com.pareidolia.repository.EventRepository;
+import com.pareidolia.repository.model.BookingExportRow;
+import com.pareidolia.service.EventDetailCache;
 import com.pareidolia.service.generic.PublicService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.text.StringEscapeUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Optional;
+import java.util.Objects;
 
 @Service
 @Transactional
 @RequiredArgsConstructor(onConstructor_ = {@Autowired})
 public class PromoterBookingService {
+	private static final String CSV_HEADER = "booking_id,account_id,name,surname,email,phone,booking_time";
+	// Caratteri con cui un foglio di calcolo interpreta una cella come formula
+	private static final String FORMULA_PREFIXES = "=+-@\t\r";
+	// Prenotazioni lette per query durante l'esportazione: abbastanza da ammortizzare il round trip, poche da tenere in memoria
+	private static final int EXPORT_BATCH_SIZE = 1000;
 
 	private final PublicService publicService;
+	private final EventDetailCache eventDetailCache;
 	private final EventRepository eventRepository;
 	private final PromoterService promoterService;
 	private final AccountRepository accountRepository;
 	private final BookingRepository bookingRepository;
 	private final EventPromoterAssociationRepository eventPromoterAssociationRepository;
+	private final PaginationPolicy paginationPolicy;
 
 	public BookingDTO getBooking(Long id) {
 		PromoterDTO promoterDTO = promoterService.getData();
@@ -46,7 +63,7 @@ public class PromoterBookingService {
 			.orElseThrow(() -> new IllegalArgumentException("Account not found"));
 		Event event = eventRepository.findById(booking.getIdEvent())
 			.orElseThrow(() -> new IllegalArgumentException("Event not found"));
-		Long currentParticipants = bookingRepository.countByIdEvent(event.getId());
+		Long currentParticipants = event.getCurrentParticipants();
 
 		List<Pair<Account, PromoterInfo>> promoterPairs = publicService.findPromotersByEventId(booking.getIdEvent());
 		return BookingMapper.entityToDTO(booking, account, event, currentParticipants, promoterPairs);
@@ -55,15 +72,13 @@ public class PromoterBookingService {
 	public Page<BookingDTO> getBookings(Long idEvent, Integer page, Integer size) {
 		PromoterDTO promoterDTO = promoterService.getData();
 		Event event = eventRepository.findById(idEvent).orElseThrow(() -> new IllegalArgumentException("Invalid Event ID"));
-		Long currentParticipants = bookingRepository.countByIdEvent(event.getId());
+		Long currentParticipants = event.getCurrentParticipants();
 		if (eventPromoterAssociationRepository.findByIdEventAndIdPromoter(idEvent, promoterDTO.getId()).isEmpty()) {
 			throw new IllegalArgumentException("Invalid Event ID");
 		}
 
 		return bookingRepository.findByIdEvent(
-			idEvent, PageRequest.of(
-				Math.max(0, Optional.ofNullable(page).orElse(0)),
-				Math.max(20, Optional.ofNullable(size).orElse(20)))
+			idEvent, paginationPolicy.pageRequest(PaginationPolicy.Type.BOOKING, page, size)
 		).map(booking -> {
 			Account account = accountRepository.findById(booking.getIdAccount()).orElseThrow(() -> new IllegalArgumentException("Invalid Account"));
 			List<Pair<Account, PromoterInfo>> promoters = publicService.findPromotersByEventId(event.getId());
@@ -79,5 +94,73 @@ public class PromoterBookingService {
 		}
 
 		bookingRepository.delete(booking);
+		eventRepository.decrementCurrentParticipants(booking.getIdEvent());
+		eventDetailCache.invalidateParticipantsAfterCommit(booking.getIdEvent());
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Verifica che l'evento appartenga al promotore autenticato prima di iniziare la risposta,
+	 * così gli errori arrivano al client con il loro stato invece che a metà file.
+	 * @param idEvent L'ID dell'evento da esportare.
+	 * @return String Il nome del file CSV.
+	 */
+	public String getBookingsExportFileName(Long idEvent) {
+		findOwnEvent(idEvent);
+		return "bookings-event-" + idEvent + ".csv";
+	}
+
+	/**
+	 * Scrive in CSV le prenotazioni dell'evento con i dati dei partecipanti, leggendole dal database a blocchi per ID:
+	 * la memoria usata non dipende dal numero di prenotazioni. Il metodo non apre una transazione propria e ogni blocco
+	 * viene letto con una query breve, così la connessione torna al pool mentre il blocco viene scritto verso un client lento.
+	 * @param idEvent L'ID dell'evento da esportare.
+	 * @param outputStream Il corpo della risposta; non viene chiuso.
+	 */
+	@Transactional(Transactional.TxType.SUPPORTS)
+	public void exportBookings(Long idEvent, OutputStream outputStream) throws IOException {
+		findOwnEvent(idEvent);
+
+		Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+		// BOM: senza, i fogli di calcolo non riconoscono l'UTF-8 di nomi e cognomi accentati
+		writer.write('\uFEFF');
+		writer.write(CSV_HEADER);
+		writer.write("\r\n");
+		Long afterId = 0L;
+		List<BookingExportRow> rows;
+		do {
+			rows = bookingRepository.findExportRowsByIdEventAfter(idEvent, afterId, PageRequest.of(0, EXPORT_BATCH_SIZE));
+			for (BookingExportRow row : rows) {
+				writeCsvRow(writer, row);
+			}
+			if (!rows.isEmpty()) {
+				afterId = rows.get(rows.size() - 1).idBooking();
+			}
+		} while (rows.size() == EXPORT_BATCH_SIZE);
+		writer.flush();
+	}
+
+	private Event findOwnEvent(Long idEvent) {
+		PromoterDTO promoterDTO = promoterService.getData();
+		Event event = eventRepository.findById(idEvent).orElseThrow(() -> new IllegalArgumentException("Invalid Event ID"));
+		if (eventPromoterAssociationRepository.findByIdEventAndIdPromoter(idEvent, promoterDTO.getId()).isEmpty()) {
+			throw new IllegalArgumentException("Invalid Event ID");
+		}
+		return event;
+	}
+
+	private static void writeCsvRow(Writer writer, BookingExportRow row) throws IOException {
+		writer.write(row.idBooking() + "," + row.idAccount() + ","
+			+ csvText(row.name()) + "," + csvText(row.surname()) + "," + csvText(row.email()) + ","
+			+ StringEscapeUtils.escapeCsv(row.phone()) + "," + Objects.toString(row.bookingTime(), "") + "\r\n");
+	}
+
+	/**
+	 * Testo inserito dagli utenti: un apice iniziale impedisce che venga eseguito come formula all'apertura del file.
+	 */
+	private static String csvText(String value) {
+		if (value != null && !value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+			value = "'" + value;
+		}
+		return StringEscapeUtils.escapeCsv(value);
+	}
+}
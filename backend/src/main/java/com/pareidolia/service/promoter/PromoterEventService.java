@@ -1,5 +1,6 @@
 package com.pareidolia.service.promoter;
 
+import com.pareidolia.configuration.pagination.PaginationPolicy;
 import com.pareidolia.dto.EventDTO;
 import com.pareidolia.dto.EventUpdateDTO;
 import com.pareidolia.dto.PromoterDTO;
@@ -22,7 +23,6 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
@@ -31,8 +31,8 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 
 @Service
 @Transactional
@@ -47,6 +47,7 @@ public class PromoterEventService {
 	private final EventDraftValidator eventDraftValidator;
 	private final PromoterInfoRepository promoterInfoRepository;
 	private final EventPromoterAssociationRepository eventPromoterAssociationRepository;
+	private final PaginationPolicy paginationPolicy;
 
 	/**
 	 * Recupera una bozza di evento per un determinato ID, verificando che il promoter autenticato abbia il permesso di accedervi.
@@ -63,7 +64,7 @@ public class PromoterEventService {
 			eventPromoterAssociationRepository.findPromotersByIdEvent(id);
 		boolean booked = bookingRepository.findByIdEventAndIdAccount(id, promoterId).isPresent();
 
-		return EventMapper.entityToDTO(eventDraft, booked, bookingRepository.countByIdEvent(id), promoters);
+		return EventMapper.entityToDTO(eventDraft, booked, eventDraft.getCurrentParticipants(), promoters);
 	}
 
 	/**
@@ -75,22 +76,18 @@ public class PromoterEventService {
 		Page<EventWithInfoForAccount> eventPage;
 		if (state == null) {
 			eventPage = eventRepository.findAllByAccountIdAndPromoterId(promoterId, promoterId,
-				PageRequest.of(Math.max(0, Optional.ofNullable(page).orElse(0)),
-					Math.max(10, Optional.ofNullable(size).orElse(10)),
-					Sort.by(Sort.Order.desc("id"))));
+				paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("id"))));
 		} else {
 			eventPage = eventRepository.findAllByAccountIdAndStateAndPromoterId(promoterId, state, promoterId,
-				PageRequest.of(Math.max(0, Optional.ofNullable(page).orElse(0)),
-					Math.max(10, Optional.ofNullable(size).orElse(10)),
-					Sort.by(Sort.Order.desc("id")))
+				paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("id")))
 			);
 		}
-		return eventPage.map(eventDraft -> {
-			// Per ogni bozza di evento, recupera i promoter associati
-			List<Pair<Account, PromoterInfo>> promoters = eventPromoterAssociationRepository.findPromotersByIdEvent(eventDraft.getEvent().getId());
-			// Converte l'EventDraft in EventDraftDTO
-			return EventMapper.entityToDTO(eventDraft.getEvent(), eventDraft.getBooked(), eventDraft.getCurrentParticipants(), promoters);
-		});
+		// Recupera con un'unica query i promoter associati a tutti gli eventi della pagina
+		Map<Long, List<Pair<Account, PromoterInfo>>> promoters = eventPromoterAssociationRepository.findPromotersGroupedByIdEvent(
+			eventPage.map(eventDraft -> eventDraft.getEvent().getId()).getContent());
+		// Converte ogni EventDraft in EventDraftDTO
+		return eventPage.map(eventDraft -> EventMapper.entityToDTO(eventDraft.getEvent(), eventDraft.getBooked(), eventDraft.getCurrentParticipants(),
+			promoters.getOrDefault(eventDraft.getEvent().getId(), List.of())));
 	}
 
 	/**
@@ -165,7 +162,7 @@ public class PromoterEventService {
 			eventPromoterAssociationRepository.findPromotersByIdEvent(eventDraft.getId());
 		boolean booked = bookingRepository.findByIdEventAndIdAccount(eventDraft.getId(), promoterId).isPresent();
 
-		return EventMapper.entityToDTO(eventDraft, booked, bookingRepository.countByIdEvent(eventDraftId), promoters);
+		return EventMapper.entityToDTO(eventDraft, booked, eventDraft.getCurrentParticipants(), promoters);
 	}
 
 	/**
@@ -221,7 +218,7 @@ public class PromoterEventService {
 			eventPromoterAssociationRepository.findPromotersByIdEvent(eventDraft.getId());
 		boolean booked = bookingRepository.findByIdEventAndIdAccount(eventDraft.getId(), promoterId).isPresent();
 
-		return EventMapper.entityToDTO(eventDraft, booked, bookingRepository.countByIdEvent(eventDraftDTO.getId()), promoters);
+		return EventMapper.entityToDTO(eventDraft, booked, eventDraft.getCurrentParticipants(), promoters);
 	}
 
 	/**
@@ -253,7 +250,7 @@ public class PromoterEventService {
 			eventPromoterAssociationRepository.findPromotersByIdEvent(eventDraft.getId());
 		boolean booked = bookingRepository.findByIdEventAndIdAccount(id, promoterId).isPresent();
 
-		return EventMapper.entityToDTO(eventDraft, booked, bookingRepository.countByIdEvent(id), promoters);
+		return EventMapper.entityToDTO(eventDraft, booked, eventDraft.getCurrentParticipants(), promoters);
 	}
 
 	/**
@@ -284,7 +281,7 @@ public class PromoterEventService {
 			List<Pair<Account, PromoterInfo>> promoters =
 				eventPromoterAssociationRepository.findPromotersByIdEvent(event.getId());
 			boolean booked = bookingRepository.findByIdEventAndIdAccount(id, promoterDTO.getId()).isPresent();
-			return EventMapper.entityToDTO(event, booked, bookingRepository.countByIdEvent(id), promoters);
+			return EventMapper.entityToDTO(event, booked, event.getCurrentParticipants(), promoters);
 		} catch (IOException e) {
 			throw new RuntimeException("Failed to save image", e);
 		}
@@ -315,10 +312,10 @@ public class PromoterEventService {
 
 			List<Pair<Account, PromoterInfo>> promoters =
 				eventPromoterAssociationRepository.findPromotersByIdEvent(event.getId());
-			return EventMapper.entityToDTO(event, booked, bookingRepository.countByIdEvent(id), promoters);
+			return EventMapper.entityToDTO(event, booked, event.getCurrentParticipants(), promoters);
 		}
 
-		return EventMapper.entityToDTO(event, booked, bookingRepository.countByIdEvent(id),
+		return EventMapper.entityToDTO(event, booked, event.getCurrentParticipants(),
 			eventPromoterAssociationRepository.findPromotersByIdEvent(event.getId()));
 	}
 }
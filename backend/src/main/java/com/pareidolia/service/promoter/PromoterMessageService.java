@@ -1,8 +1,11 @@
 package com.pareidolia.service.promoter;
 
+import com.pareidolia.configuration.pagination.PaginationPolicy;
+import com.pareidolia.dto.CursorSliceDTO;
 import com.pareidolia.dto.MessageDTO;
 import com.pareidolia.entity.Account;
 import com.pareidolia.entity.Message;
+import com.pareidolia.mapper.CursorSliceMapper;
 import com.pareidolia.mapper.MessageMapper;
 import com.pareidolia.repository.AccountRepository;
 import com.pareidolia.repository.EventPromoterAssociationRepository;
@@ -12,10 +15,10 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -27,6 +30,7 @@ public class PromoterMessageService {
 	private final AccountRepository accountRepository;
 	private final EventRepository eventRepository;
 	private final EventPromoterAssociationRepository eventPromoterAssociationRepository;
+	private final PaginationPolicy paginationPolicy;
 
 	/**
 	 * Recupera i messaggi associati a una bozza di evento, paginati e ordinati.
@@ -37,6 +41,32 @@ public class PromoterMessageService {
 	 * @throws IllegalArgumentException Se l'ID della bozza di evento non è valido o non appartiene al promoter autenticato.
 	 */
 	public Page<MessageDTO> getEventDraftMessages(Long idEventDraft, Integer page, Integer size) {
+		validateEventDraftAccess(idEventDraft);
+
+		// ricerca messaggi relativi a una draft e paginali
+		Page<Message> messages = messageRepository.findByIdEvent(idEventDraft,
+			paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("id")))
+		);
+		return messages.map(MessageMapper::entityToDTO);
+	}
+
+	/**
+	 * Recupera i messaggi di una bozza di evento successivi al cursore, ordinati per ID decrescente, senza contarli.
+	 * @param idEventDraft L'ID della bozza di evento.
+	 * @param after Il cursore restituito dalla richiesta precedente, o null per iniziare.
+	 * @param limit Il numero massimo di messaggi.
+	 * @throws IllegalArgumentException Se l'ID della bozza di evento non è valido o non appartiene al promoter autenticato.
+	 */
+	public CursorSliceDTO<MessageDTO> getEventDraftMessagesAfter(Long idEventDraft, String after, Integer limit) {
+		validateEventDraftAccess(idEventDraft);
+
+		int pageLimit = paginationPolicy.limit(PaginationPolicy.Type.DEFAULT, limit);
+		List<Message> messages = messageRepository.findAllByIdEventAndIdLessThan(idEventDraft,
+			CursorSliceMapper.decode(after), CursorSliceMapper.pageable(pageLimit));
+		return CursorSliceMapper.toDTO(messages, pageLimit, Message::getId, MessageMapper::entityToDTO);
+	}
+
+	private void validateEventDraftAccess(Long idEventDraft) {
 		if (idEventDraft == null) {
 			throw new IllegalArgumentException("Invalid EventDraft ID");
 		}
@@ -49,12 +79,6 @@ public class PromoterMessageService {
 		if (eventPromoterAssociationRepository.findByIdEventAndIdPromoter(idEventDraft, promoterId).isEmpty()) {
 			throw new IllegalArgumentException("Invalid EventDraft ID");
 		}
-
-		// ricerca messaggi relativi a una draft e paginali
-		Page<Message> messages = messageRepository.findByIdEvent(idEventDraft,
-			PageRequest.of(Math.max(0, Optional.ofNullable(page).orElse(0)), Math.max(10, Optional.ofNullable(size).orElse(10)), Sort.by(Sort.Order.desc("id")))
-		);
-		return messages.map(MessageMapper::entityToDTO);
 	}
 
 	/**
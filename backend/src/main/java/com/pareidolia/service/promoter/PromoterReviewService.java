@@ -1,5 +1,7 @@
 package com.pareidolia.service.promoter;
 
+import com.pareidolia.configuration.pagination.PaginationPolicy;
+import com.pareidolia.decorator.review.AccountTypeResolver;
 import com.pareidolia.dto.PromoterDTO;
 import com.pareidolia.dto.ReviewDTO;
 import com.pareidolia.entity.Account;
@@ -8,17 +10,15 @@ import com.pareidolia.mapper.ReviewMapper;
 import com.pareidolia.repository.AccountRepository;
 import com.pareidolia.repository.EventRepository;
 import com.pareidolia.repository.ReviewRepository;
+import com.pareidolia.service.ReviewStatsService;
 import com.pareidolia.validator.ReviewValidator;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
-
 @Service
 @Transactional
 @RequiredArgsConstructor(onConstructor_ = {@Autowired})
@@ -27,7 +27,9 @@ public class PromoterReviewService {
 	private final ReviewValidator reviewValidator;
 	private final EventRepository eventRepository;
 	private final ReviewRepository reviewRepository;
+	private final ReviewStatsService reviewStatsService;
 	private final AccountRepository accountRepository;
+	private final PaginationPolicy paginationPolicy;
 
 	/**
 	 * Recupera le recensioni associate a un evento specifico, paginate e ordinate.
@@ -47,9 +49,11 @@ public class PromoterReviewService {
 
 		// ricerca messaggi relativi a un evento e paginali
 		Page<Review> reviews = reviewRepository.findAllByIdEvent(idEvent,
-			PageRequest.of(Math.max(0, Optional.ofNullable(page).orElse(0)), Math.max(10, Optional.ofNullable(size).orElse(10)), Sort.by(Sort.Order.desc("id")))
+			paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("id")))
 		);
-		return reviews.map(review -> ReviewMapper.entityToDTO(review, accountRepository));
+		// I tipi degli autori vengono risolti una volta per tutta la pagina
+		AccountTypeResolver accountTypeResolver = AccountTypeResolver.forReviews(reviews.getContent());
+		return reviews.map(review -> ReviewMapper.entityToDTO(review, accountTypeResolver));
 	}
 
 	/**
@@ -79,8 +83,8 @@ public class PromoterReviewService {
 
 		newReview = reviewRepository.save(newReview);
 
-		eventRepository.updateAverageScore(reviewDTO.getIdEvent());
+		reviewStatsService.addReview(newReview);
 
-		return ReviewMapper.entityToDTO(newReview, accountRepository);
+		return ReviewMapper.entityToDTO(newReview);
 	}
 }
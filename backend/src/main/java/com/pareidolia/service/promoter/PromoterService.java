@@ -1,6 +1,9 @@
 package com.pareidolia.service.promoter;
 
+import com.pareidolia.configuration.security.AuthenticatedUser;
+import com.pareidolia.configuration.security.PrincipalCache;
 import com.pareidolia.configuration.security.jwt.JWTService;
+import com.pareidolia.configuration.security.jwt.TokenVersionRegistry;
 import com.pareidolia.dto.AccountLoginDTO;
 import com.pareidolia.dto.PasswordUpdateDTO;
 import com.pareidolia.dto.PromoterDTO;
@@ -10,6 +13,9 @@ import com.pareidolia.mapper.AccountMapper;
 import com.pareidolia.repository.AccountRepository;
 import com.pareidolia.repository.PromoterInfoRepository;
 import com.pareidolia.service.ImageService;
+import com.pareidolia.service.PromoterDetailCache;
+import com.pareidolia.service.PromoterDirectoryCache;
+import com.pareidolia.service.PromoterEventCacheService;
 import com.pareidolia.validator.AccountValidator;
 import com.pareidolia.validator.ImageValidator;
 import jakarta.transaction.Transactional;
@@ -33,6 +39,11 @@ import java.util.Objects;
 public class PromoterService {
 
 	private final JWTService jwtService;
+	private final PrincipalCache principalCache;
+	private final PromoterDetailCache promoterDetailCache;
+	private final PromoterEventCacheService promoterEventCacheService;
+	private final PromoterDirectoryCache promoterDirectoryCache;
+	private final TokenVersionRegistry tokenVersionRegistry;
 	private final ImageService imageService;
 	private final ImageValidator imageValidator;
 	private final AccountValidator accountValidator;
@@ -47,6 +58,10 @@ public class PromoterService {
 			if (!user.getAuthorities().contains(new SimpleGrantedAuthority(Account.Type.PROMOTER.name()))) {
 				throw new JWTService.TokenVerificationException();
 			}
+			// Riusa l'account caricato durante l'autenticazione, senza interrogare di nuovo il database
+			if (user instanceof AuthenticatedUser authenticatedUser) {
+				return authenticatedUser.getAccount();
+			}
 			return accountRepository.findByEmail(user.getUsername())
 				.orElseThrow(JWTService.TokenVerificationException::new);
 		}
@@ -86,10 +101,13 @@ public class PromoterService {
 
 		account = accountRepository.save(account);
 		promoterInfoRepository.save(promoterInfo);
+		promoterDetailCache.invalidateAfterCommit(account.getId());
+		promoterEventCacheService.invalidateEventsOf(account.getId());
+		promoterDirectoryCache.invalidateAfterCommit();
 
 		String authToken = null;
 		if (updateAuthToken) {
-			authToken = jwtService.create(account.getReferenceType(), account.getEmail(), account.getPassword());
+			authToken = jwtService.create(account);
 		}
 
 		return AccountMapper.entityToAccountLoginDTO(account, authToken);
@@ -102,7 +120,8 @@ public class PromoterService {
 	 * @throws IllegalArgumentException Se la password attuale non è corretta o se la nuova password non è valida.
 	 */
 	public AccountLoginDTO updatePassword(PasswordUpdateDTO passwordUpdateDTO) {
-		Account account = getAccountAndValidate();
+		Account account = accountRepository.findById(getAccountAndValidate().getId())
+			.orElseThrow(JWTService.TokenVerificationException::new);
 
 		if (passwordUpdateDTO.getCurrentPassword() == null) {
 			throw new IllegalArgumentException("Invalid Current Password");
@@ -121,9 +140,11 @@ public class PromoterService {
 		accountValidator.passwordValidation(passwordUpdateDTO.getNewPassword());
 
 		account.setPassword(DigestUtils.sha3_256Hex(passwordUpdateDTO.getNewPassword()));
+		tokenVersionRegistry.revoke(account);
 		account = accountRepository.save(account);
+		principalCache.invalidateAfterCommit(account.getId());
 
-		String authToken = jwtService.create(account.getReferenceType(), account.getEmail(), account.getPassword());
+		String authToken = jwtService.create(account);
 
 		return AccountMapper.entityToAccountLoginDTO(account, authToken);
 	}
@@ -145,6 +166,9 @@ public class PromoterService {
 			String filename = imageService.saveImage(file);
 			promoterInfo.setPhoto(filename);
 			promoterInfo = promoterInfoRepository.save(promoterInfo);
+			promoterDetailCache.invalidateAfterCommit(account.getId());
+			promoterEventCacheService.invalidateEventsOf(account.getId());
+			promoterDirectoryCache.invalidateAfterCommit();
 			return AccountMapper.entityToPromoterDTO(account, promoterInfo);
 		} catch (IOException e) {
 			throw new IllegalArgumentException("Failed to save image", e);
@@ -163,6 +187,9 @@ public class PromoterService {
 		if (promoterInfo.getPhoto() != null) {
 			promoterInfo.setPhoto(null);
 			account = accountRepository.save(account);
+			promoterDetailCache.invalidateAfterCommit(account.getId());
+			promoterEventCacheService.invalidateEventsOf(account.getId());
+			promoterDirectoryCache.invalidateAfterCommit();
 		}
 
 		return AccountMapper.entityToPromoterDTO(account, promoterInfo);
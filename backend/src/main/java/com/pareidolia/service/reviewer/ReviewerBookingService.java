@@ -1,5 +1,6 @@
 package com.pareidolia.service.reviewer;
 
+import com.pareidolia.configuration.pagination.PaginationPolicy;
 import com.pareidolia.dto.BookingDTO;
 import com.pareidolia.entity.Account;
 import com.pareidolia.entity.Booking;
@@ -14,12 +15,10 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Optional;
 
 @Service
 @Transactional
@@ -30,6 +29,7 @@ public class ReviewerBookingService {
 	private final EventRepository eventRepository;
 	private final AccountRepository accountRepository;
 	private final BookingRepository bookingRepository;
+	private final PaginationPolicy paginationPolicy;
 
 	/**
 	 * Recupera una specifica prenotazione basata sull'ID fornito, verificando che la prenotazione appartenga al consumatore autenticato.
@@ -41,7 +41,7 @@ public class ReviewerBookingService {
 			.orElseThrow(() -> new IllegalArgumentException("Account not found"));
 		Event event = eventRepository.findById(booking.getIdEvent())
 			.orElseThrow(() -> new IllegalArgumentException("Event not found"));
-		Long currentParticipants = bookingRepository.countByIdEvent(event.getId());
+		Long currentParticipants = event.getCurrentParticipants();
 
 		List<Pair<Account, PromoterInfo>> promoterPairs = publicService.findPromotersByEventId(booking.getIdEvent());
 		return BookingMapper.entityToDTO(booking, account, event, currentParticipants, promoterPairs);
@@ -52,12 +52,10 @@ public class ReviewerBookingService {
 	 */
 	public Page<BookingDTO> getBookings(Long idEvent, Integer page, Integer size) {
 		Event event = eventRepository.findById(idEvent).orElseThrow(() -> new IllegalArgumentException("Invalid Event ID"));
-		Long currentParticipants = bookingRepository.countByIdEvent(event.getId());
+		Long currentParticipants = event.getCurrentParticipants();
 
 		return bookingRepository.findByIdEvent(
-			idEvent, PageRequest.of(
-				Math.max(0, Optional.ofNullable(page).orElse(0)),
-				Math.max(20, Optional.ofNullable(size).orElse(20)))
+			idEvent, paginationPolicy.pageRequest(PaginationPolicy.Type.BOOKING, page, size)
 		).map(booking -> {
 			Account account = accountRepository.findById(booking.getIdAccount()).orElseThrow(() -> new IllegalArgumentException("Invalid Account"));
 			List<Pair<Account, PromoterInfo>> promoters = publicService.findPromotersByEventId(event.getId());
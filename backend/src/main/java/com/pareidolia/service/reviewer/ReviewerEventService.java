@@ -1,5 +1,6 @@
 package com.pareidolia.service.reviewer;
 
+import com.pareidolia.configuration.pagination.PaginationPolicy;
 import com.pareidolia.dto.EventDTO;
 import com.pareidolia.dto.ReviewerDTO;
 import com.pareidolia.entity.Account;
@@ -11,7 +12,9 @@ import com.pareidolia.repository.EventPromoterAssociationRepository;
 import com.pareidolia.repository.EventRepository;
 import com.pareidolia.repository.PromoterInfoRepository;
 import com.pareidolia.repository.model.EventWithInfoForAccount;
+import com.pareidolia.service.EventDetailCache;
 import com.pareidolia.service.ImageService;
+import com.pareidolia.service.PublishedFeedSnapshot;
 import com.pareidolia.validator.EventDraftValidator;
 import com.pareidolia.validator.EventValidator;
 import com.pareidolia.validator.ImageValidator;
@@ -19,7 +22,6 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
@@ -27,7 +29,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -42,6 +44,9 @@ public class ReviewerEventService {
 	private final EventDraftValidator eventDraftValidator;
 	private final PromoterInfoRepository promoterInfoRepository;
 	private final EventPromoterAssociationRepository eventPromoterAssociationRepository;
+	private final PaginationPolicy paginationPolicy;
+	private final EventDetailCache eventDetailCache;
+	private final PublishedFeedSnapshot publishedFeedSnapshot;
 
 	/**
 	 * Recupera un evento specifico per un reviewer basandosi sull'ID dell'evento.
@@ -49,7 +54,7 @@ public class ReviewerEventService {
 	 */
 	public EventDTO getEvent(Long id) {
 		Event eventDraft = eventRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Invalid Event ID"));
-		Long currentParticipants = bookingRepository.countByIdEvent(id);
+		Long currentParticipants = eventDraft.getCurrentParticipants();
 		boolean booked = bookingRepository.findByIdEventAndIdAccount(id, reviewerService.getData().getId()).isPresent();
 
 		List<Pair<Account, PromoterInfo>> promoters =
@@ -69,23 +74,19 @@ public class ReviewerEventService {
 		if (state == null) {
 			eventPage = eventRepository.findAllByAccountIdWithCount(
 				reviewer.getId(),
-				PageRequest.of(Math.max(0, Optional.ofNullable(page).orElse(0)),
-					Math.max(10, Optional.ofNullable(size).orElse(10)),
-					Sort.by(Sort.Order.desc("id"))));
+				paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("id"))));
 		} else {
 			eventPage = eventRepository.findAllByAccountIdAndState(
 				reviewer.getId(), state,
-				PageRequest.of(Math.max(0, Optional.ofNullable(page).orElse(0)),
-					Math.max(10, Optional.ofNullable(size).orElse(10)),
-					Sort.by(Sort.Order.desc("id")))
+				paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("id")))
 			);
 		}
-		return eventPage.map(eventDraft -> {
-			// Per ogni bozza di evento, recupera i promoter associati
-			List<Pair<Account, PromoterInfo>> promoters = eventPromoterAssociationRepository.findPromotersByIdEvent(eventDraft.getEvent().getId());
-			// Converte l'EventDraft in EventDraftDTO
-			return EventMapper.entityToDTO(eventDraft.getEvent(), eventDraft.getBooked(), eventDraft.getCurrentParticipants(), promoters);
-		});
+		// Recupera con un'unica query i promoter associati a tutti gli eventi della pagina
+		Map<Long, List<Pair<Account, PromoterInfo>>> promoters = eventPromoterAssociationRepository.findPromotersGroupedByIdEvent(
+			eventPage.map(eventDraft -> eventDraft.getEvent().getId()).getContent());
+		// Converte ogni EventDraft in EventDraftDTO
+		return eventPage.map(eventDraft -> EventMapper.entityToDTO(eventDraft.getEvent(), eventDraft.getBooked(), eventDraft.getCurrentParticipants(),
+			promoters.getOrDefault(eventDraft.getEvent().getId(), List.of())));
 	}
 
 	/**
@@ -99,23 +100,19 @@ public class ReviewerEventService {
 		Page<EventWithInfoForAccount> eventPage;
 		if (state == null) {
 			eventPage = eventRepository.findAllByAccountIdAndPromoterId(reviewer.id, idPromoter,
-				PageRequest.of(Math.max(0, Optional.ofNullable(page).orElse(0)),
-					Math.max(10, Optional.ofNullable(size).orElse(10)),
-					Sort.by(Sort.Order.desc("id")))
+				paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("id")))
 			);
 		} else {
 			eventPage = eventRepository.findAllByAccountIdAndStateAndPromoterId(reviewer.id, state, idPromoter,
-				PageRequest.of(Math.max(0, Optional.ofNullable(page).orElse(0)),
-					Math.max(10, Optional.ofNullable(size).orElse(10)),
-					Sort.by(Sort.Order.desc("id")))
+				paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("id")))
 			);
 		}
-		return eventPage.map(eventDraft -> {
-			// Per ogni bozza di evento, recupera i promoter associati
-			List<Pair<Account, PromoterInfo>> promoters = eventPromoterAssociationRepository.findPromotersByIdEvent(eventDraft.getEvent().getId());
-			// Converte l'EventDraft in EventDraftDTO
-			return EventMapper.entityToDTO(eventDraft.getEvent(), eventDraft.getBooked(), eventDraft.getCurrentParticipants(), promoters);
-		});
+		// Recupera con un'unica query i promoter associati a tutti gli eventi della pagina
+		Map<Long, List<Pair<Account, PromoterInfo>>> promoters = eventPromoterAssociationRepository.findPromotersGroupedByIdEvent(
+			eventPage.map(eventDraft -> eventDraft.getEvent().getId()).getContent());
+		// Converte ogni EventDraft in EventDraftDTO
+		return eventPage.map(eventDraft -> EventMapper.entityToDTO(eventDraft.getEvent(), eventDraft.getBooked(), eventDraft.getCurrentParticipants(),
+			promoters.getOrDefault(eventDraft.getEvent().getId(), List.of())));
 	}
 
 	/**
@@ -129,10 +126,12 @@ public class ReviewerEventService {
 
 		event.getState().moveBackwards();
 		Event eventDraft = eventRepository.save(event);
+		eventDetailCache.invalidateAfterCommit(event.getId());
+		publishedFeedSnapshot.refreshAfterCommit(event.getId());
 
 		List<Pair<Account, PromoterInfo>> promoters = eventPromoterAssociationRepository.findPromotersByIdEvent(eventDraft.getId());
 		boolean booked = bookingRepository.findByIdEventAndIdAccount(id, reviewerService.getData().getId()).isPresent();
-		return EventMapper.entityToDTO(eventDraft, booked, bookingRepository.countByIdEvent(id), promoters);
+		return EventMapper.entityToDTO(eventDraft, booked, eventDraft.getCurrentParticipants(), promoters);
 	}
 
 	/**
@@ -146,10 +145,12 @@ public class ReviewerEventService {
 
 		event.getState().moveForward();
 		Event eventDraft = eventRepository.save(event);
+		eventDetailCache.invalidateAfterCommit(event.getId());
+		publishedFeedSnapshot.refreshAfterCommit(event.getId());
 
 		List<Pair<Account, PromoterInfo>> promoters = eventPromoterAssociationRepository.findPromotersByIdEvent(eventDraft.getId());
 		boolean booked = bookingRepository.findByIdEventAndIdAccount(id, reviewerService.getData().getId()).isPresent();
-		return EventMapper.entityToDTO(eventDraft, booked, bookingRepository.countByIdEvent(id), promoters);
+		return EventMapper.entityToDTO(eventDraft, booked, eventDraft.getCurrentParticipants(), promoters);
 	}
 
 	/**
@@ -168,11 +169,13 @@ public class ReviewerEventService {
 			String filename = imageService.saveImage(file);
 			event.setImage(filename);
 			event = eventRepository.save(event);
+			eventDetailCache.invalidateAfterCommit(event.getId());
+			publishedFeedSnapshot.refreshAfterCommit(event.getId());
 
 			List<Pair<Account, PromoterInfo>> promoters =
 				eventPromoterAssociationRepository.findPromotersByIdEvent(event.getId());
 			boolean booked = bookingRepository.findByIdEventAndIdAccount(id, reviewerService.getData().getId()).isPresent();
-			return EventMapper.entityToDTO(event, booked, bookingRepository.countByIdEvent(id), promoters);
+			return EventMapper.entityToDTO(event, booked, event.getCurrentParticipants(), promoters);
 		} catch (IOException e) {
 			throw new RuntimeException("Failed to save image", e);
 		}
@@ -191,13 +194,15 @@ public class ReviewerEventService {
 		if (event.getImage() != null) {
 			event.setImage(null);
 			event = eventRepository.save(event);
+			eventDetailCache.invalidateAfterCommit(event.getId());
+			publishedFeedSnapshot.refreshAfterCommit(event.getId());
 
 			List<Pair<Account, PromoterInfo>> promoters =
 				eventPromoterAssociationRepository.findPromotersByIdEvent(event.getId());
-			return EventMapper.entityToDTO(event, booked, bookingRepository.countByIdEvent(id), promoters);
+			return EventMapper.entityToDTO(event, booked, event.getCurrentParticipants(), promoters);
 		}
 
-		return EventMapper.entityToDTO(event, booked, bookingRepository.countByIdEvent(id),
+		return EventMapper.entityToDTO(event, booked, event.getCurrentParticipants(),
 			eventPromoterAssociationRepository.findPromotersByIdEvent(event.getId()));
 	}
 }
@@ -1,9 +1,10 @@
 package com.pareidolia.service.reviewer;
 
+import com.pareidolia.configuration.pagination.PaginationPolicy;
+import com.pareidolia.decorator.review.AccountTypeResolver;
 import com.pareidolia.dto.ReviewDTO;
 import com.pareidolia.entity.Review;
 import com.pareidolia.mapper.ReviewMapper;
-import com.pareidolia.repository.AccountRepository;
 import com.pareidolia.repository.EventRepository;
 import com.pareidolia.repository.ReviewRepository;
 import com.pareidolia.validator.ReviewValidator;
@@ -11,12 +12,9 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
-
 @Service
 @Transactional
 @RequiredArgsConstructor(onConstructor_ = {@Autowired})
@@ -24,7 +22,7 @@ public class ReviewerReviewService {
 	private final ReviewValidator reviewValidator;
 	private final EventRepository eventRepository;
 	private final ReviewRepository reviewRepository;
-	private final AccountRepository accountRepository;
+	private final PaginationPolicy paginationPolicy;
 
 	/**
 	 * Recupera tutte le recensioni associate a un evento specifico, paginandole.
@@ -42,10 +40,10 @@ public class ReviewerReviewService {
 		reviewValidator.validateEventIsOver(idEvent);
 
 		Page<Review> reviews = reviewRepository.findAllByIdEvent(idEvent,
-			PageRequest.of(Math.max(0, Optional.ofNullable(page).orElse(0)),
-				Math.max(10, Optional.ofNullable(size).orElse(10)),
-				Sort.by(Sort.Order.desc("id")))
+			paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, page, size, Sort.by(Sort.Order.desc("id")))
 		);
-		return reviews.map(review -> ReviewMapper.entityToDTO(review, accountRepository));
+		// I tipi degli autori vengono risolti una volta per tutta la pagina
+		AccountTypeResolver accountTypeResolver = AccountTypeResolver.forReviews(reviews.getContent());
+		return reviews.map(review -> ReviewMapper.entityToDTO(review, accountTypeResolver));
 	}
 }
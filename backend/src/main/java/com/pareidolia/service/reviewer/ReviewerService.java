@@ -1,6 +1,9 @@
 package com.pareidolia.service.reviewer;
 
+import com.pareidolia.configuration.security.AuthenticatedUser;
+import com.pareidolia.configuration.security.PrincipalCache;
 import com.pareidolia.configuration.security.jwt.JWTService;
+import com.pareidolia.configuration.security.jwt.TokenVersionRegistry;
 import com.pareidolia.dto.AccountLoginDTO;
 import com.pareidolia.dto.PasswordUpdateDTO;
 import com.pareidolia.dto.ReviewerDTO;
@@ -27,6 +30,8 @@ import java.util.Objects;
 public class ReviewerService {
 
 	private final JWTService jwtService;
+	private final PrincipalCache principalCache;
+	private final TokenVersionRegistry tokenVersionRegistry;
 	private final AccountValidator accountValidator;
 	private final AccountRepository accountRepository;
 	private final PromoterInfoRepository promoterInfoRepository;
@@ -42,6 +47,10 @@ public class ReviewerService {
 			if (!user.getAuthorities().contains(new SimpleGrantedAuthority(Account.Type.REVIEWER.name()))) {
 				throw new JWTService.TokenVerificationException();
 			}
+			// Riusa l'account caricato durante l'autenticazione, senza interrogare di nuovo il database
+			if (user instanceof AuthenticatedUser authenticatedUser) {
+				return authenticatedUser.getAccount();
+			}
 			return accountRepository.findByEmail(user.getUsername())
 				.orElseThrow(JWTService.TokenVerificationException::new);
 		}
@@ -75,7 +84,7 @@ public class ReviewerService {
 
 		String authToken = null;
 		if (updateAuthToken) {
-			authToken = jwtService.create(account.getReferenceType(), account.getEmail(), account.getPassword());
+			authToken = jwtService.create(account);
 		}
 
 		return AccountMapper.entityToAccountLoginDTO(account, authToken);
@@ -87,7 +96,8 @@ public class ReviewerService {
 	 * @return AccountLoginDTO Il DTO che include le credenziali dell'account con un nuovo token di autenticazione che riflette il cambiamento della password.
 	 */
 	public AccountLoginDTO updatePassword(PasswordUpdateDTO passwordUpdateDTO) {
-		Account account = getAccountAndValidate();
+		Account account = accountRepository.findById(getAccountAndValidate().getId())
+			.orElseThrow(JWTService.TokenVerificationException::new);
 
 		if (passwordUpdateDTO.getCurrentPassword() == null) {
 			throw new IllegalArgumentException("Invalid Current Password");
@@ -106,9 +116,11 @@ public class ReviewerService {
 		accountValidator.passwordValidation(passwordUpdateDTO.getNewPassword());
 
 		account.setPassword(DigestUtils.sha3_256Hex(passwordUpdateDTO.getNewPassword()));
+		tokenVersionRegistry.revoke(account);
 		account = accountRepository.save(account);
+		principalCache.invalidateAfterCommit(account.getId());
 
-		String authToken = jwtService.create(account.getReferenceType(), account.getEmail(), account.getPassword());
+		String authToken = jwtService.create(account);
 
 		return AccountMapper.entityToAccountLoginDTO(account, authToken);
 	}
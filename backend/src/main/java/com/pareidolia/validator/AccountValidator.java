@@ -1,5 +1,6 @@
 package com.pareidolia.validator;
 
+import com.pareidolia.configuration.security.PrincipalCache;
 import com.pareidolia.dto.*;
 import com.pareidolia.entity.Account;
 import com.pareidolia.entity.PromoterInfo;
@@ -20,6 +21,7 @@ import java.util.regex.Pattern;
 @RequiredArgsConstructor(onConstructor_ = {@Autowired})
 public class AccountValidator {
 
+	private final PrincipalCache principalCache;
 	private final AccountRepository accountRepository;
 	private final PromoterInfoRepository promoterInfoRepository;
 
@@ -44,6 +46,7 @@ public class AccountValidator {
 	public Account getAccountAndValidateUpdate(AccountDTO dto, boolean skipTypeValidation) {
 		Account account = accountRepository.findById(dto.getId())
 			.orElseThrow(() -> new IllegalArgumentException("Account not found"));
+		principalCache.invalidateAfterCommit(account.getId());
 
 		if (!skipTypeValidation) {
 			accountTypeValidation(account.getReferenceType(), List.of(Account.Type.ADMIN, Account.Type.CONSUMER));
@@ -62,6 +65,7 @@ public class AccountValidator {
 	public Account getConsumerAndValidateUpdate(ConsumerDTO dto) {
 		Account account = accountRepository.findById(dto.getId())
 			.orElseThrow(() -> new IllegalArgumentException("Account not found"));
+		principalCache.invalidateAfterCommit(account.getId());
 
 		accountTypeValidation(account.getReferenceType(), Account.Type.CONSUMER);
 		phoneValidation(dto.getPhone());
@@ -73,6 +77,7 @@ public class AccountValidator {
 	public Account getReviewerAndValidateUpdate(ReviewerDTO dto) {
 		Account account = accountRepository.findById(dto.getId())
 			.orElseThrow(() -> new IllegalArgumentException("Account not found"));
+		principalCache.invalidateAfterCommit(account.getId());
 
 		accountTypeValidation(account.getReferenceType(), Account.Type.REVIEWER);
 		phoneValidation(dto.getPhone());
@@ -94,6 +99,7 @@ public class AccountValidator {
 	public Pair<Account, PromoterInfo> getPromoterAndValidateUpdate(PromoterDTO dto, boolean skipTypeValidation) {
 		Account account = accountRepository.findById(dto.getId())
 			.orElseThrow(() -> new IllegalArgumentException("Account not found"));
+		principalCache.invalidateAfterCommit(account.getId());
 
 		if (!skipTypeValidation) {
 			accountTypeValidation(account.getReferenceType(), Account.Type.PROMOTER);
@@ -18,6 +18,8 @@ public class BookingValidator {
 	/**
 	 * Valida la possibilità di creare una nuova prenotazione per un evento da parte di un account.
 	 * Verifica che non esista già una prenotazione per l'evento da parte dell'account e che l'evento non sia già completamente prenotato.
+	 * Il controllo sui posti è solo preventivo: la riserva effettiva avviene con l'UPDATE condizionale di
+	 * {@link com.pareidolia.repository.EventRepository#incrementCurrentParticipants(Long)}.
 	 * @param account L'account che intende effettuare la prenotazione.
 	 * @param event L'evento per cui si intende prenotare.
 	 */
@@ -26,8 +28,7 @@ public class BookingValidator {
 			throw new IllegalArgumentException("Booking for this event already exists");
 		}
 
-		Long bookingCount = bookingRepository.countByIdEvent(event.getId());
-		if (bookingCount >= event.getMaxNumberOfParticipants()) {
+		if (event.getCurrentParticipants() >= event.getMaxNumberOfParticipants()) {
 			throw new IllegalArgumentException("Fully booked event");
 		}
 	}
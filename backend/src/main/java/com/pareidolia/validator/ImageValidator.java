@@ -5,9 +5,11 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 
 @Component
@@ -46,7 +48,7 @@ public class ImageValidator {
 	 * - Il file non è vuoto.
 	 * - La dimensione del file non supera il limite massimo consentito.
 	 * - L'estensione del file rientra tra quelle permesse.
-	 * - Il contenuto del file corrisponde effettivamente a un formato immagine valido.
+	 * - L'intestazione del file corrisponde effettivamente a un formato immagine valido.
 	 *
 	 * @param file Il file immagine da validare.
 	 * @param maxSize La dimensione massima consentita per il file.
@@ -73,13 +75,35 @@ public class ImageValidator {
 		}
 
 		// Validate that it's actually an image
-		try {
-			BufferedImage bufferedImage = ImageIO.read(file.getInputStream());
-			if (bufferedImage == null) {
+		try (ImageInputStream input = ImageIO.createImageInputStream(file.getInputStream())) {
+			if (!hasReadableHeader(input)) {
 				throw new IllegalArgumentException("Invalid image file");
 			}
 		} catch (IOException e) {
 			throw new IllegalArgumentException("Error processing image file", e);
 		}
 	}
+
+	/**
+	 * Legge solo l'intestazione dell'immagine, senza decodificarla: la decodifica completa
+	 * avviene in background durante la generazione delle versioni ridimensionate.
+	 */
+	private static boolean hasReadableHeader(ImageInputStream input) {
+		if (input == null) {
+			return false;
+		}
+		Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+		if (!readers.hasNext()) {
+			return false;
+		}
+		ImageReader reader = readers.next();
+		try {
+			reader.setInput(input, true, true);
+			return reader.getWidth(0) > 0 && reader.getHeight(0) > 0;
+		} catch (IOException e) {
+			return false;
+		} finally {
+			reader.dispose();
+		}
+	}
 }
\ No newline at end of file
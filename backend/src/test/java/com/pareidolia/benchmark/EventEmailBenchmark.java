@@ -0,0 +1,111 @@
+package com.pareidolia.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.pareidolia.configuration.mail.CustomMailSender;
+import com.pareidolia.entity.Account;
+import com.pareidolia.entity.Event;
+import com.pareidolia.service.EventEmailTemplateCache;
+import com.pareidolia.strategy.email.event.ConsumerInvitationStrategy;
+import com.pareidolia.strategy.email.event.EmailContentStrategy;
+import com.pareidolia.strategy.email.event.EmailEventType;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Confronta il costo per destinatario delle notifiche degli eventi prima e dopo {@link EventEmailTemplateCache}.
+ * Il trasporto SMTP è sostituito dalla serializzazione del messaggio, che è ciò che farebbe la connessione reale.
+ * Per vedere le allocazioni per destinatario (gc.alloc.rate.norm) si esegue dal metodo {@link #main(String[])},
+ * che attiva il profiler GC.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OperationsPerInvocation(EventEmailBenchmark.RECIPIENTS)
+public class EventEmailBenchmark {
+
+	static final int RECIPIENTS = 100;
+
+	private final EmailContentStrategy strategy = new ConsumerInvitationStrategy();
+
+	private CustomMailSender mailSender;
+	private EventEmailTemplateCache eventEmailTemplateCache;
+	private Event event;
+	private List<String> recipients;
+
+	@Setup
+	public void setUp() {
+		((Logger) LoggerFactory.getLogger(CustomMailSender.class)).setLevel(Level.OFF);
+
+		JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl() {
+			@Override
+			public void send(MimeMessage... mimeMessages) {
+				try {
+					for (MimeMessage mimeMessage : mimeMessages) {
+						mimeMessage.saveChanges();
+						mimeMessage.writeTo(OutputStream.nullOutputStream());
+					}
+				} catch (MessagingException | IOException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		};
+		mailSender = new CustomMailSender(javaMailSender);
+		ReflectionTestUtils.setField(mailSender, "fromName", "Pareidolia");
+		ReflectionTestUtils.setField(mailSender, "fromEmail", "noreply@example.com");
+		eventEmailTemplateCache = new EventEmailTemplateCache(mailSender);
+
+		event = new Event();
+		event.setId(1L);
+		event.setTitle("Mostra di fotografia");
+		event.setDescription("Una descrizione dell'evento abbastanza lunga da somigliare a quelle reali. ".repeat(20));
+		event.setPlace("Milano");
+		event.setDate(LocalDate.of(2024, 3, 15));
+		event.setLastUpdate(LocalDateTime.of(2024, 3, 1, 10, 0));
+
+		recipients = IntStream.range(0, RECIPIENTS).mapToObj(i -> "user" + i + "@example.com").toList();
+	}
+
+	/**
+	 * Implementazione precedente: oggetto, corpo e messaggio MIME generati di nuovo per ogni destinatario.
+	 */
+	@Benchmark
+	public void renderPerRecipient() {
+		for (String recipient : recipients) {
+			String subject = strategy.generateSubject(EmailEventType.CREATED, event);
+			String body = strategy.generateBody(EmailEventType.CREATED, event);
+			mailSender.sendMail(recipient, subject, body, false, "sendEventInvitation");
+		}
+	}
+
+	@Benchmark
+	public void stampPreparedMail() {
+		mailSender.sendPreparedMails(recipients, eventEmailTemplateCache.get(EmailEventType.CREATED, event, Account.Type.CONSUMER), "sendEventInvitation");
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+			.include(EventEmailBenchmark.class.getSimpleName())
+			.addProfiler("gc")
+			.build()
+		).run();
+	}
+}
@@ -0,0 +1,66 @@
+package com.pareidolia.benchmark;
+
+import com.pareidolia.dto.EventDTO;
+import com.pareidolia.entity.Account;
+import com.pareidolia.entity.Event;
+import com.pareidolia.entity.PromoterInfo;
+import com.pareidolia.mapper.EventMapper;
+import com.pareidolia.state.PublishedState;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.util.Pair;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Misura la conversione di un evento pubblicato nel DTO, al variare del numero di promotori associati.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EventMapperBenchmark {
+
+	@Param({"1", "5"})
+	private int promoterCount;
+
+	private Event event;
+	private List<Pair<Account, PromoterInfo>> promoters;
+
+	@Setup
+	public void setUp() {
+		event = Event.builder()
+			.id(1L)
+			.title("Benchmark event")
+			.description("A published event used to measure the mapper")
+			.image("/image/event.jpg")
+			.place("Milano")
+			.date(LocalDate.now().plusDays(30))
+			.time(LocalTime.NOON)
+			.duration(Duration.ofHours(2))
+			.maxNumberOfParticipants(100L)
+			.averageScore(4.5)
+			.creationTime(LocalDateTime.now())
+			.build();
+		event.setState(com.pareidolia.state.State.fromString(PublishedState.name, event));
+
+		promoters = LongStream.rangeClosed(1, promoterCount).mapToObj(id -> {
+			Account account = new Account("Promoter", "Number " + id, "promoter" + id + "@example.com", "hash", "+39123456789", Account.Type.PROMOTER);
+			account.setId(id);
+			PromoterInfo promoterInfo = PromoterInfo.builder().idPromoter(id).photo("/image/promoter.jpg").presentation("Presentation").build();
+			return Pair.of(account, promoterInfo);
+		}).toList();
+	}
+
+	@Benchmark
+	public EventDTO entityToDTO() {
+		return EventMapper.entityToDTO(event, null, 42L, promoters);
+	}
+}
@@ -0,0 +1,71 @@
+package com.pareidolia.benchmark;
+
+import com.pareidolia.service.ImageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.FileSystemUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misura il salvataggio di un'immagine caricata con la generazione delle versioni ridimensionate.
+ * L'elaborazione viene eseguita nello stesso thread, così il tempo misurato la comprende per intero.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ImageServiceBenchmark {
+
+	@Param({"jpg", "png"})
+	private String format;
+
+	private Path uploadDir;
+	private ImageService imageService;
+	private MockMultipartFile file;
+
+	@Setup
+	public void setUp() throws IOException {
+		uploadDir = Files.createTempDirectory("pareidolia-image-benchmark");
+		imageService = new ImageService(new SyncTaskExecutor(), new SimpleMeterRegistry(),
+			uploadDir.toString(), "/image", "thumb-", List.of(200, 400, 800));
+
+		// Una foto a piena risoluzione da 3000x2000 pixel, con un gradiente per non comprimersi in modo banale
+		BufferedImage image = new BufferedImage(3000, 2000, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g2d = image.createGraphics();
+		g2d.setPaint(new GradientPaint(0, 0, Color.ORANGE, 3000, 2000, Color.BLUE));
+		g2d.fillRect(0, 0, 3000, 2000);
+		g2d.dispose();
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		ImageIO.write(image, format, output);
+		file = new MockMultipartFile("file", "photo." + format, "image/" + format, output.toByteArray());
+	}
+
+	@Benchmark
+	public String saveImage() throws IOException {
+		return imageService.saveImage(file);
+	}
+
+	@TearDown(Level.Iteration)
+	public void cleanUp() throws IOException {
+		FileSystemUtils.deleteRecursively(uploadDir);
+		Files.createDirectories(uploadDir);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		FileSystemUtils.deleteRecursively(uploadDir);
+	}
+}
@@ -0,0 +1,76 @@
+package com.pareidolia.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.pareidolia.configuration.security.jwt.JWTService;
+import com.pareidolia.configuration.security.jwt.VerifiedToken;
+import com.pareidolia.entity.Account;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Confronta la verifica dei token prima e dopo il riuso del {@link com.auth0.jwt.JWTVerifier}
+ * e misura la creazione dei token al login.
+ * Si esegue con il profilo Maven {@code benchmarks} o dal metodo {@link #main(String[])} con il classpath di test.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JWTServiceBenchmark {
+
+	private static final String SECRET = "benchmark-secret-key-for-jwt-token-generation";
+
+	private Algorithm algorithm;
+	private JWTService jwtService;
+	private Account account;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		algorithm = Algorithm.HMAC256(SECRET);
+		jwtService = new JWTService(SECRET, 3600);
+
+		account = new Account("Benchmark", "User", "benchmark@example.com", DigestUtils.sha3_256Hex("password"), "+39123456789", Account.Type.CONSUMER);
+		account.setId(1L);
+		token = jwtService.create(account);
+	}
+
+	/**
+	 * Implementazione precedente: un nuovo verifier per ogni chiamata e i claim convertiti in mappa tramite Jackson.
+	 */
+	@Benchmark
+	public Map<String, Object> verifyWithVerifierPerCall() {
+		DecodedJWT jwt = JWT.require(algorithm).build().verify(token);
+		return jwt.getClaims().entrySet()
+			.stream()
+			.collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().as(Object.class)));
+	}
+
+	@Benchmark
+	public VerifiedToken verifyWithSharedVerifier() {
+		return jwtService.verify(token);
+	}
+
+	@Benchmark
+	public String create() {
+		return jwtService.create(account);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+			.include(JWTServiceBenchmark.class.getSimpleName())
+			.build()
+		).run();
+	}
+}
@@ -0,0 +1,26 @@
+package com.pareidolia.benchmark;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misura l'hash SHA3-256 delle password, calcolato a ogni login, registrazione e cambio password.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PasswordHashBenchmark {
+
+	@Param({"Password1!", "a-much-longer-passphrase-chosen-by-a-careful-user-2024!"})
+	private String password;
+
+	@Benchmark
+	public String sha3_256Hex() {
+		return DigestUtils.sha3_256Hex(password);
+	}
+}
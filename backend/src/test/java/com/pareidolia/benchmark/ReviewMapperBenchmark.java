@@ -0,0 +1,64 @@
+package com.pareidolia.benchmark;
+
+import com.pareidolia.decorator.review.AccountTypeResolver;
+import com.pareidolia.dto.ReviewDTO;
+import com.pareidolia.entity.Account;
+import com.pareidolia.entity.Review;
+import com.pareidolia.mapper.ReviewMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Misura la conversione delle recensioni nel DTO, attraverso l'intera catena di decorator
+ * (evidenziazione dei promotori, anonimato, tag), per una singola recensione e per una pagina.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ReviewMapperBenchmark {
+	private static final int PAGE_SIZE = 20;
+
+	private Review review;
+	private List<Review> page;
+
+	@Setup
+	public void setUp() {
+		page = LongStream.rangeClosed(1, PAGE_SIZE).mapToObj(id -> {
+			// Alterna autori consumatori e promotori, recensioni anonime e con tag, per attraversare tutti i decorator
+			Account account = new Account("Author", "Number " + id, "author" + id + "@example.com", "hash", "+39123456789",
+				id % 2 == 0 ? Account.Type.PROMOTER : Account.Type.CONSUMER);
+			account.setId(id);
+			return Review.builder()
+				.id(id)
+				.title("Review " + id)
+				.description("A review used to measure the mapper")
+				.score(id % 5 + 1)
+				.idConsumer(id)
+				.idEvent(1L)
+				.tag(id % 3 == 0 ? null : "Organizzazione")
+				.isAnonymous(id % 4 == 0)
+				.creationTime(LocalDateTime.now())
+				.account(account)
+				.build();
+		}).toList();
+		review = page.get(1);
+	}
+
+	@Benchmark
+	public ReviewDTO entityToDTO() {
+		return ReviewMapper.entityToDTO(review);
+	}
+
+	@Benchmark
+	public List<ReviewDTO> pageToDTO() {
+		AccountTypeResolver accountTypeResolver = AccountTypeResolver.forReviews(page);
+		return page.stream().map(it -> ReviewMapper.entityToDTO(it, accountTypeResolver)).toList();
+	}
+}
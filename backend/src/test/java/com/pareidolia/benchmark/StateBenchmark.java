@@ -0,0 +1,52 @@
+package com.pareidolia.benchmark;
+
+import com.pareidolia.state.DraftState;
+import com.pareidolia.state.PublishedState;
+import com.pareidolia.state.ReviewState;
+import com.pareidolia.state.StateConverter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misura la conversione dello stato degli eventi da e verso la colonna del database,
+ * eseguita da Hibernate per ogni evento letto o salvato.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class StateBenchmark {
+	private static final String[] NAMES = {DraftState.name, ReviewState.name, PublishedState.name};
+
+	private StateConverter stateConverter;
+	private com.pareidolia.state.State published;
+
+	@Setup
+	public void setUp() {
+		stateConverter = new StateConverter();
+		published = com.pareidolia.state.State.fromString(PublishedState.name, null);
+	}
+
+	@Benchmark
+	public void fromString(Blackhole blackhole) {
+		for (String name : NAMES) {
+			blackhole.consume(com.pareidolia.state.State.fromString(name, null));
+		}
+	}
+
+	@Benchmark
+	public void convertToEntityAttribute(Blackhole blackhole) {
+		for (String name : NAMES) {
+			blackhole.consume(stateConverter.convertToEntityAttribute(name));
+		}
+	}
+
+	@Benchmark
+	public String convertToDatabaseColumn() {
+		return stateConverter.convertToDatabaseColumn(published);
+	}
+}
@@ -1,12 +1,20 @@
 package com.pareidolia.configuration.logging;
 
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.verify;
@@ -20,12 +28,14 @@ class LoggingControllerDecoratorTest {
 	@Mock
 	private MethodSignature methodSignature;
 
-	@InjectMocks
+	private SimpleMeterRegistry meterRegistry;
 	private LoggingControllerDecorator loggingDecorator;
 
 	@BeforeEach
 	void setUp() {
 		MockitoAnnotations.openMocks(this);
+		meterRegistry = new SimpleMeterRegistry();
+		loggingDecorator = new LoggingControllerDecorator(meterRegistry, 0);
 		when(joinPoint.getSignature()).thenReturn(methodSignature);
 		when(methodSignature.getDeclaringType()).thenReturn(TestController.class);
 		when(methodSignature.getName()).thenReturn("testMethod");
@@ -44,6 +54,7 @@ class LoggingControllerDecoratorTest {
 		// Verify
 		assertEquals(expectedResult, result);
 		verify(joinPoint).proceed();
+		assertEquals(1, timer("success").count());
 	}
 
 	@Test
@@ -72,6 +83,44 @@ class LoggingControllerDecoratorTest {
 		// Verify
 		assertEquals(expectedException, actualException);
 		verify(joinPoint).proceed();
+		assertEquals(1, timer("error").count());
+		assertEquals(0, timer("success").count());
+	}
+
+	@Test
+	void testLogControllerMethods_SampledPayloadIsSummarized() throws Throwable {
+		// Setup
+		loggingDecorator = new LoggingControllerDecorator(meterRegistry, 1);
+		Page<String> page = new PageImpl<>(List.of("a".repeat(10000)), PageRequest.of(0, 10), 1);
+		when(joinPoint.getArgs()).thenReturn(new Object[]{new MockMultipartFile("file", "image.png", "image/png", new byte[2048])});
+		when(joinPoint.proceed()).thenReturn(page);
+
+		// Test
+		Object result = loggingDecorator.logControllerMethods(joinPoint);
+
+		// Verify
+		assertSame(page, result);
+		assertEquals(1, timer("success").count());
+	}
+
+	@Test
+	void testDescribeDoesNotSerializeLargePayloads() {
+		Page<String> page = new PageImpl<>(List.of("a".repeat(10000)), PageRequest.of(0, 10), 1);
+
+		assertEquals("Page[number=0, elements=1, total=1]", LoggingControllerDecorator.describe(page));
+		assertEquals("MultipartFile[image.png, 2048 bytes]",
+			LoggingControllerDecorator.describe(new MockMultipartFile("file", "image.png", "image/png", new byte[2048])));
+		assertEquals("ArrayList[size=2]", LoggingControllerDecorator.describe(new ArrayList<>(List.of(1, 2))));
+		assertEquals("void", LoggingControllerDecorator.describe(null));
+		assertTrue(LoggingControllerDecorator.describe("a".repeat(10000)).length() < 300);
+	}
+
+	private Timer timer(String outcome) {
+		return meterRegistry.get("pareidolia.controller.requests")
+			.tag("controller", "TestController")
+			.tag("method", "testMethod")
+			.tag("outcome", outcome)
+			.timer();
 	}
 
 	// Test controller class for mocking
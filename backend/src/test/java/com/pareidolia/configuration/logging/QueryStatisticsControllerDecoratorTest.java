@@ -0,0 +1,113 @@
+package com.pareidolia.configuration.logging;
+
+import com.pareidolia.configuration.persistence.QueryStatistics;
+import com.pareidolia.configuration.persistence.QueryStatisticsInterceptor;
+import com.pareidolia.configuration.persistence.QueryStatisticsSessionListener;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class QueryStatisticsControllerDecoratorTest {
+
+	@Mock
+	private ProceedingJoinPoint joinPoint;
+
+	@Mock
+	private MethodSignature methodSignature;
+
+	private final QueryStatisticsInterceptor interceptor = new QueryStatisticsInterceptor();
+	private final QueryStatisticsSessionListener sessionListener = new QueryStatisticsSessionListener();
+	private SimpleMeterRegistry meterRegistry;
+	private QueryStatisticsControllerDecorator decorator;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		meterRegistry = new SimpleMeterRegistry();
+		decorator = new QueryStatisticsControllerDecorator(meterRegistry, 1, 500, 0);
+		when(joinPoint.getSignature()).thenReturn(methodSignature);
+		when(methodSignature.getDeclaringType()).thenReturn(TestController.class);
+		when(methodSignature.getName()).thenReturn("testMethod");
+	}
+
+	@Test
+	void testRecordsStatementsPerControllerMethod() throws Throwable {
+		// Setup - due istruzioni, oltre la soglia di una
+		when(joinPoint.proceed()).thenAnswer(invocation -> {
+			query();
+			query();
+			return "result";
+		});
+
+		// Test
+		Object result = decorator.measureControllerQueries(joinPoint);
+
+		// Verify
+		assertEquals("result", result);
+		assertEquals(2, summary("pareidolia.jdbc.statements").totalAmount());
+		assertEquals(2, summary("pareidolia.jdbc.entities").totalAmount());
+		assertEquals(1, meterRegistry.get("pareidolia.jdbc.time").tag("controller", "TestController").timer().count());
+	}
+
+	@Test
+	void testRecordsStatementsWhenControllerFails() throws Throwable {
+		// Setup
+		when(joinPoint.proceed()).thenAnswer(invocation -> {
+			query();
+			throw new IllegalArgumentException("Event not found");
+		});
+
+		// Test
+		assertThrows(IllegalArgumentException.class, () -> decorator.measureControllerQueries(joinPoint));
+
+		// Verify
+		assertEquals(1, summary("pareidolia.jdbc.statements").totalAmount());
+	}
+
+	@Test
+	void testClosesStatisticsAfterRequest() throws Throwable {
+		// Setup
+		when(joinPoint.proceed()).thenAnswer(invocation -> {
+			query();
+			return null;
+		});
+
+		try (QueryStatistics outer = QueryStatistics.open()) {
+			// Test
+			decorator.measureControllerQueries(joinPoint);
+			query();
+
+			// Verify - la misura esterna somma la richiesta e torna a essere quella corrente
+			assertEquals(2, outer.getStatements());
+		}
+		assertEquals(1, summary("pareidolia.jdbc.statements").count());
+	}
+
+	/**
+	 * Riproduce le chiamate di Hibernate per una query che legge un'entità.
+	 */
+	private void query() {
+		interceptor.inspect("SELECT 1");
+		sessionListener.jdbcExecuteStatementStart();
+		sessionListener.jdbcExecuteStatementEnd();
+		interceptor.onLoad(new Object(), (Object) 1L, new Object[0], new String[0], null);
+	}
+
+	private DistributionSummary summary(String name) {
+		return meterRegistry.get(name)
+			.tag("controller", "TestController")
+			.tag("method", "testMethod")
+			.summary();
+	}
+
+	private static class TestController {
+	}
+}
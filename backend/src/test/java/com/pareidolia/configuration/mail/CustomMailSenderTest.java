@@ -1,5 +1,6 @@
 package com.pareidolia.configuration.mail;
 
+import jakarta.mail.Message;
 import jakarta.mail.internet.MimeMessage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,8 +9,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -30,7 +37,7 @@ class CustomMailSenderTest {
 	void setUp() {
 		ReflectionTestUtils.setField(customMailSender, "fromName", "Test Sender");
 		ReflectionTestUtils.setField(customMailSender, "fromEmail", "test@example.com");
-		when(emailSender.createMimeMessage()).thenReturn(mimeMessage);
+		lenient().when(emailSender.createMimeMessage()).thenReturn(mimeMessage);
 	}
 
 	@Test
@@ -71,6 +78,55 @@ class CustomMailSenderTest {
 		verify(emailSender).send(any(MimeMessage.class));
 	}
 
+	@Test
+	void testPreparedMailIsSentToEachRecipientWithSharedContent() throws Exception {
+		List<MimeMessage> sent = new ArrayList<>();
+		JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl() {
+			@Override
+			public void send(MimeMessage... mimeMessages) {
+				sent.addAll(List.of(mimeMessages));
+			}
+		};
+		CustomMailSender sender = new CustomMailSender(javaMailSender);
+		ReflectionTestUtils.setField(sender, "fromName", "Test Sender");
+		ReflectionTestUtils.setField(sender, "fromEmail", "test@example.com");
+
+		PreparedMail mail = sender.prepareMail("Test Subject", "Test Content è", false);
+		sender.sendPreparedMails(List.of("first@example.com", "second@example.com"), mail, "TEST_MAIL");
+
+		assertEquals(2, sent.size());
+		assertSame(mail.content(), ReflectionTestUtils.getField(sent.get(1), "content"));
+
+		// Ogni messaggio, una volta serializzato come farebbe il trasporto SMTP, è completo e ha un proprio Message-ID
+		List<MimeMessage> received = new ArrayList<>();
+		for (MimeMessage message : sent) {
+			message.saveChanges();
+			ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+			message.writeTo(serialized);
+			received.add(new MimeMessage(null, new ByteArrayInputStream(serialized.toByteArray())));
+		}
+		assertEquals("first@example.com", received.get(0).getRecipients(Message.RecipientType.TO)[0].toString());
+		assertEquals("second@example.com", received.get(1).getRecipients(Message.RecipientType.TO)[0].toString());
+		for (MimeMessage message : received) {
+			assertEquals("Test Subject", message.getSubject());
+			assertEquals("Test Content è", message.getContent());
+			assertEquals("Test Sender <test@example.com>", message.getFrom()[0].toString());
+		}
+		assertNotEquals(received.get(0).getMessageID(), received.get(1).getMessageID());
+	}
+
+	@Test
+	void testSendPreparedMailsFailure() {
+		doThrow(new RuntimeException("Mail server error"))
+			.when(emailSender).send(any(MimeMessage[].class));
+
+		Exception exception = assertThrows(RuntimeException.class, () ->
+			customMailSender.sendPreparedMails(List.of("recipient@example.com"), new PreparedMail("Test Subject", List.of(), new byte[0]), "TEST_MAIL")
+		);
+
+		assertEquals("Something went wrong with email", exception.getMessage());
+	}
+
 	@Test
 	void testSendResetConsumer() {
 		doNothing().when(emailSender).send(any(MimeMessage.class));
@@ -0,0 +1,94 @@
+package com.pareidolia.configuration.pagination;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaginationPolicyTest {
+
+	private SimpleMeterRegistry meterRegistry;
+	private PaginationPolicy paginationPolicy;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		paginationPolicy = new PaginationPolicy(meterRegistry, 10, 100, 20, 200, 1000);
+	}
+
+	private double requests(String type, String result) {
+		return meterRegistry.get("pareidolia.pagination.requests").tag("type", type).tag("result", result).counter().count();
+	}
+
+	@Test
+	void testDefaultsWhenPageAndSizeAreMissing() {
+		PageRequest pageRequest = paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, null, null);
+
+		assertEquals(0, pageRequest.getPageNumber());
+		assertEquals(10, pageRequest.getPageSize());
+		assertEquals(1, requests("default", "accepted"));
+	}
+
+	@Test
+	void testSizeWithinLimitsIsAccepted() {
+		Sort sort = Sort.by(Sort.Order.desc("id"));
+
+		PageRequest pageRequest = paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, 2, 50, sort);
+
+		assertEquals(2, pageRequest.getPageNumber());
+		assertEquals(50, pageRequest.getPageSize());
+		assertEquals(sort, pageRequest.getSort());
+		assertEquals(1, requests("default", "accepted"));
+	}
+
+	@Test
+	void testOversizedPagesAreClamped() {
+		PageRequest pageRequest = paginationPolicy.pageRequest(PaginationPolicy.Type.BOOKING, 0, 1_000_000);
+
+		assertEquals(200, pageRequest.getPageSize());
+		assertEquals(1, requests("booking", "clamped"));
+		assertEquals(0, requests("booking", "accepted"));
+	}
+
+	@Test
+	void testUndersizedPagesAndNegativePageNumbersAreRaised() {
+		PageRequest pageRequest = paginationPolicy.pageRequest(PaginationPolicy.Type.BOOKING, -1, -1);
+
+		assertEquals(0, pageRequest.getPageNumber());
+		assertEquals(20, pageRequest.getPageSize());
+		assertEquals(1, requests("booking", "clamped"));
+	}
+
+	@Test
+	void testPagesBeyondMaxOffsetAreRejected() {
+		assertEquals(10, paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, 10, 100).getPageNumber());
+
+		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+			() -> paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, 11, 100));
+
+		assertEquals("Page out of range", exception.getMessage());
+		assertEquals(1, requests("default", "rejected"));
+	}
+
+	@Test
+	void testMaxOffsetZeroDisablesTheCheck() {
+		paginationPolicy = new PaginationPolicy(new SimpleMeterRegistry(), 10, 100, 20, 200, 0);
+
+		assertEquals(Integer.MAX_VALUE, paginationPolicy.pageRequest(PaginationPolicy.Type.DEFAULT, Integer.MAX_VALUE, 100).getPageNumber());
+	}
+
+	@Test
+	void testCursorLimitIsClampedToTheTypeMaximum() {
+		assertEquals(10, paginationPolicy.limit(PaginationPolicy.Type.DEFAULT, null));
+		assertEquals(5, paginationPolicy.limit(PaginationPolicy.Type.DEFAULT, 5));
+		assertEquals(1, paginationPolicy.limit(PaginationPolicy.Type.DEFAULT, -5));
+		assertEquals(200, paginationPolicy.limit(PaginationPolicy.Type.BOOKING, 100_000));
+
+		assertEquals(2, requests("default", "accepted"));
+		assertEquals(1, requests("default", "clamped"));
+		assertEquals(1, requests("booking", "clamped"));
+	}
+}
@@ -0,0 +1,105 @@
+package com.pareidolia.configuration.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConcurrencyLimitingDataSourceTest {
+
+	@Mock
+	private DataSource targetDataSource;
+	@Mock
+	private Connection connection;
+
+	private SimpleMeterRegistry meterRegistry;
+	private ConcurrencyLimitingDataSource dataSource;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		MockitoAnnotations.openMocks(this);
+		when(targetDataSource.getConnection()).thenReturn(connection);
+		meterRegistry = new SimpleMeterRegistry();
+		dataSource = new ConcurrencyLimitingDataSource(targetDataSource, meterRegistry, 2, 50);
+	}
+
+	@Test
+	void testPermitReturnedOnClose() throws SQLException {
+		// Act
+		Connection first = dataSource.getConnection();
+		Connection second = dataSource.getConnection();
+
+		// Assert
+		assertEquals(0, dataSource.getAvailablePermits());
+		first.close();
+		assertEquals(1, dataSource.getAvailablePermits());
+		second.close();
+		assertEquals(2, dataSource.getAvailablePermits());
+		verify(connection, times(2)).close();
+	}
+
+	@Test
+	void testPermitReturnedOnceWhenClosedTwice() throws SQLException {
+		// Act
+		Connection wrapped = dataSource.getConnection();
+		wrapped.close();
+		wrapped.close();
+
+		// Assert
+		assertEquals(2, dataSource.getAvailablePermits());
+	}
+
+	@Test
+	void testTimesOutWhenLimitReached() throws SQLException {
+		// Setup
+		dataSource.getConnection();
+		dataSource.getConnection();
+
+		// Act & Assert
+		assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+		verify(targetDataSource, times(2)).getConnection();
+		assertEquals(3, meterRegistry.get("pareidolia.jdbc.concurrency-limit.wait").timer().count());
+	}
+
+	@Test
+	void testWaitingRequestGetsReleasedPermit() throws Exception {
+		// Setup
+		dataSource = new ConcurrencyLimitingDataSource(targetDataSource, meterRegistry, 1, 5000);
+		Connection first = dataSource.getConnection();
+
+		// Act
+		CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+			try {
+				return dataSource.getConnection();
+			} catch (SQLException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		first.close();
+
+		// Assert
+		assertNotNull(waiting.get(5, TimeUnit.SECONDS));
+		assertEquals(0, dataSource.getAvailablePermits());
+	}
+
+	@Test
+	void testPermitReturnedWhenPoolFails() throws SQLException {
+		// Setup
+		when(targetDataSource.getConnection()).thenThrow(new SQLTransientConnectionException("Pool exhausted"));
+
+		// Act & Assert
+		assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+		assertEquals(2, dataSource.getAvailablePermits());
+	}
+}
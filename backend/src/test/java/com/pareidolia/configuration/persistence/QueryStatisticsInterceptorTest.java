@@ -0,0 +1,84 @@
+package com.pareidolia.configuration.persistence;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryStatisticsInterceptorTest {
+	private static final String SELECT = "SELECT * FROM `Event` WHERE `id` = ?";
+
+	private final QueryStatisticsInterceptor interceptor = new QueryStatisticsInterceptor();
+	private final QueryStatisticsSessionListener sessionListener = new QueryStatisticsSessionListener();
+
+	@Test
+	void testCountsStatementsTimeAndEntities() {
+		try (QueryStatistics statistics = QueryStatistics.open()) {
+			// Act - due letture di un'entità e una cancellazione
+			for (int i = 0; i < 2; i++) {
+				assertEquals(SELECT, interceptor.inspect(SELECT));
+				sessionListener.jdbcExecuteStatementStart();
+				sessionListener.jdbcExecuteStatementEnd();
+				assertFalse(interceptor.onLoad(new Object(), (Object) 1L, new Object[0], new String[0], null));
+			}
+			interceptor.inspect("DELETE FROM `Booking`");
+			sessionListener.jdbcExecuteBatchStart();
+			sessionListener.jdbcExecuteBatchEnd();
+
+			// Assert
+			assertEquals(3, statistics.getStatements());
+			assertEquals(2, statistics.getEntities());
+			assertTrue(statistics.getJdbcNanos() >= 0);
+			assertEquals(List.of(Map.entry(SELECT, 2), Map.entry("DELETE FROM `Booking`", 1)), statistics.getMostRepeatedStatements(5));
+		}
+	}
+
+	@Test
+	void testNestedStatisticsAddToOuter() {
+		try (QueryStatistics outer = QueryStatistics.open()) {
+			// Act
+			interceptor.inspect(SELECT);
+			try (QueryStatistics inner = QueryStatistics.open()) {
+				interceptor.inspect(SELECT);
+
+				// Assert
+				assertEquals(1, inner.getStatements());
+			}
+			interceptor.inspect(SELECT);
+			assertEquals(3, outer.getStatements());
+		}
+	}
+
+	@Test
+	void testNotRecordedWithoutOpenStatistics() {
+		// Act
+		interceptor.inspect(SELECT);
+		sessionListener.jdbcExecuteStatementStart();
+
+		// Assert - un'esecuzione iniziata fuori dalla misura non le viene attribuita
+		try (QueryStatistics statistics = QueryStatistics.open()) {
+			sessionListener.jdbcExecuteStatementEnd();
+			assertEquals(0, statistics.getStatements());
+			assertEquals(0, statistics.getJdbcNanos());
+		}
+	}
+
+	@Test
+	void testConfigurationRegistersHibernateHooks() {
+		// Setup
+		Map<String, Object> properties = new HashMap<>();
+
+		// Act
+		new QueryStatisticsConfiguration().queryStatisticsHibernatePropertiesCustomizer().customize(properties);
+
+		// Assert - le misure aperte da QueryBudget vengono alimentate
+		assertInstanceOf(QueryStatisticsInterceptor.class, properties.get(AvailableSettings.STATEMENT_INSPECTOR));
+		assertSame(properties.get(AvailableSettings.STATEMENT_INSPECTOR), properties.get(AvailableSettings.INTERCEPTOR));
+		assertEquals(QueryStatisticsSessionListener.class.getName(), properties.get(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER));
+		assertTrue(QueryStatistics.isInstalled());
+	}
+}
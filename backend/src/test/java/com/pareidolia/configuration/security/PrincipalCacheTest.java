@@ -0,0 +1,115 @@
+package com.pareidolia.configuration.security;
+
+import com.pareidolia.entity.Account;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrincipalCacheTest {
+
+	private static final Instant EXPIRES_AT = Instant.now().plusSeconds(3600);
+
+	private SimpleMeterRegistry meterRegistry;
+	private PrincipalCache principalCache;
+	private Account account;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		principalCache = new PrincipalCache(meterRegistry, 2, 300);
+
+		account = new Account("Test", "User", "test@example.com", "hash", "+39123456789", Account.Type.CONSUMER);
+		account.setId(1L);
+	}
+
+	private double requests(String result) {
+		return meterRegistry.get("pareidolia.security.principal.cache.requests").tag("result", result).counter().count();
+	}
+
+	@Test
+	void testGetReturnsCopyAndCountsHitsAndMisses() {
+		assertTrue(principalCache.get("token").isEmpty());
+
+		principalCache.put("token", account, EXPIRES_AT);
+		Optional<Account> cached = principalCache.get("token");
+
+		assertTrue(cached.isPresent());
+		assertEquals(account, cached.get());
+		assertNotSame(account, cached.get());
+		assertEquals(1, requests("hit"));
+		assertEquals(1, requests("miss"));
+	}
+
+	@Test
+	void testCachedCopyIsNotAffectedByCallerChanges() {
+		principalCache.put("token", account, EXPIRES_AT);
+
+		principalCache.get("token").orElseThrow().setEmail("changed@example.com");
+
+		assertEquals("test@example.com", principalCache.get("token").orElseThrow().getEmail());
+	}
+
+	@Test
+	void testInvalidateRemovesAllTokensOfAccount() {
+		Account other = new Account("Other", "User", "other@example.com", "hash", "+39123456789", Account.Type.PROMOTER);
+		other.setId(2L);
+
+		principalCache.put("token-1", account, EXPIRES_AT);
+		principalCache.put("token-2", other, EXPIRES_AT);
+		principalCache.invalidateAfterCommit(1L);
+
+		assertTrue(principalCache.get("token-1").isEmpty());
+		assertTrue(principalCache.get("token-2").isPresent());
+	}
+
+	@Test
+	void testInvalidateRemovesAllTokensOfAccountAcrossSegments() {
+		principalCache = new PrincipalCache(new SimpleMeterRegistry(), 10000, 300);
+		Account other = new Account("Other", "User", "other@example.com", "hash", "+39123456789", Account.Type.PROMOTER);
+		other.setId(2L);
+		for (int i = 0; i < 100; i++) {
+			principalCache.put("token-" + i, account, EXPIRES_AT);
+		}
+		principalCache.put("token-other", other, EXPIRES_AT);
+
+		principalCache.invalidate(1L);
+
+		assertEquals(1, principalCache.size());
+		assertTrue(principalCache.get("token-other").isPresent());
+	}
+
+	@Test
+	void testSizeEvictionDropsLeastRecentlyUsed() {
+		principalCache.put("token-1", account, EXPIRES_AT);
+		principalCache.put("token-2", account, EXPIRES_AT);
+		principalCache.get("token-1");
+		principalCache.put("token-3", account, EXPIRES_AT);
+
+		assertEquals(2, principalCache.size());
+		assertTrue(principalCache.get("token-1").isPresent());
+		assertTrue(principalCache.get("token-2").isEmpty());
+		assertEquals(1, meterRegistry.get("pareidolia.security.principal.cache.evictions").counter().count());
+	}
+
+	@Test
+	void testEntriesDoNotOutliveTheToken() {
+		principalCache.put("token", account, Instant.now().minusSeconds(1));
+
+		assertTrue(principalCache.get("token").isEmpty());
+	}
+
+	@Test
+	void testExpiredEntriesAreNotReturned() {
+		principalCache = new PrincipalCache(new SimpleMeterRegistry(), 2, 0);
+
+		principalCache.put("token", account, EXPIRES_AT);
+
+		assertTrue(principalCache.get("token").isEmpty());
+		assertEquals(0, principalCache.size());
+	}
+}
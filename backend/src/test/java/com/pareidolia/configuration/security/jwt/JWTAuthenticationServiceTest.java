@@ -1,21 +1,22 @@
 package com.pareidolia.configuration.security.jwt;
 
 import com.pareidolia.configuration.mail.CustomMailSender;
+import com.pareidolia.configuration.security.PrincipalCache;
 import com.pareidolia.entity.Account;
 import com.pareidolia.repository.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.BadCredentialsException;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.time.Instant;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,16 +27,20 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class JWTAuthenticationServiceTest {
 
+	private static final Long TEST_ID = 1L;
 	private static final String TEST_EMAIL = "test@example.com";
 	private static final String TEST_PASSWORD = "password123";
 	private static final String TEST_TOKEN = "test.jwt.token";
+	private static final Instant TEST_EXPIRES_AT = Instant.now().plusSeconds(3600);
 	@Mock
 	private JWTService jwtService;
 	@Mock
 	private CustomMailSender customMailSender;
 	@Mock
 	private AccountRepository accountRepository;
-	@InjectMocks
+	@Spy
+	private PrincipalCache principalCache = new PrincipalCache(new SimpleMeterRegistry(), 100, 300);
+	private TokenVersionRegistry tokenVersionRegistry;
 	private JWTAuthenticationService authenticationService;
 	@Captor
 	private ArgumentCaptor<Account> accountCaptor;
@@ -44,21 +49,21 @@ class JWTAuthenticationServiceTest {
 	@BeforeEach
 	void setUp() {
 		testAccount = new Account();
+		testAccount.setId(TEST_ID);
 		testAccount.setEmail(TEST_EMAIL);
 		testAccount.setPassword(DigestUtils.sha3_256Hex(TEST_PASSWORD));
 		testAccount.setReferenceType(Account.Type.CONSUMER);
+
+		tokenVersionRegistry = spy(new TokenVersionRegistry(accountRepository, 30));
+		authenticationService = new JWTAuthenticationService(jwtService, principalCache, tokenVersionRegistry, customMailSender, accountRepository);
 	}
 
 	@Test
 	void testAuthenticateByTokenSuccess() {
-		Map<String, Object> tokenData = new HashMap<>();
-		tokenData.put("referenceType", Account.Type.CONSUMER.name());
-		tokenData.put("username", TEST_EMAIL);
-		tokenData.put("password", testAccount.getPassword());
+		VerifiedToken tokenData = new VerifiedToken(TEST_ID, Account.Type.CONSUMER, 0L, TEST_EXPIRES_AT);
 
 		when(jwtService.verify(TEST_TOKEN)).thenReturn(tokenData);
-		when(accountRepository.findByEmailAndPassword(TEST_EMAIL, testAccount.getPassword()))
-			.thenReturn(Optional.of(testAccount));
+		when(accountRepository.findById(TEST_ID)).thenReturn(Optional.of(testAccount));
 
 		Account result = authenticationService.authenticateByToken(TEST_TOKEN);
 
@@ -69,15 +74,27 @@ class JWTAuthenticationServiceTest {
 	}
 
 	@Test
-	void testAuthenticateByTokenInvalidCredentials() {
-		Map<String, Object> tokenData = new HashMap<>();
-		tokenData.put("referenceType", Account.Type.CONSUMER.name());
-		tokenData.put("username", TEST_EMAIL);
-		tokenData.put("password", "wrongpassword");
+	void testAuthenticateByTokenUsesPrincipalCache() {
+		VerifiedToken tokenData = new VerifiedToken(TEST_ID, Account.Type.CONSUMER, 0L, TEST_EXPIRES_AT);
+
+		when(jwtService.verify(TEST_TOKEN)).thenReturn(tokenData);
+		when(accountRepository.findById(TEST_ID)).thenReturn(Optional.of(testAccount));
+
+		authenticationService.authenticateByToken(TEST_TOKEN);
+		Account result = authenticationService.authenticateByToken(TEST_TOKEN);
+
+		assertEquals(TEST_EMAIL, result.getEmail());
+		verify(jwtService, times(1)).verify(TEST_TOKEN);
+		verify(accountRepository, times(1)).findById(TEST_ID);
+		verify(accountRepository, never()).findTokenVersionById(any());
+	}
+
+	@Test
+	void testAuthenticateByTokenAccountNotFound() {
+		VerifiedToken tokenData = new VerifiedToken(TEST_ID, Account.Type.CONSUMER, 0L, TEST_EXPIRES_AT);
 
 		when(jwtService.verify(TEST_TOKEN)).thenReturn(tokenData);
-		when(accountRepository.findByEmailAndPassword(anyString(), anyString()))
-			.thenReturn(Optional.empty());
+		when(accountRepository.findById(TEST_ID)).thenReturn(Optional.empty());
 
 		assertThrows(BadCredentialsException.class, () ->
 			authenticationService.authenticateByToken(TEST_TOKEN)
@@ -86,18 +103,43 @@ class JWTAuthenticationServiceTest {
 
 	@Test
 	void testAuthenticateByTokenInvalidReferenceType() {
-		Map<String, Object> tokenData = new HashMap<>();
-		tokenData.put("referenceType", Account.Type.PROMOTER.name());  // Different from account type
-		tokenData.put("username", TEST_EMAIL);
-		tokenData.put("password", testAccount.getPassword());
+		VerifiedToken tokenData = new VerifiedToken(TEST_ID, Account.Type.PROMOTER, 0L, TEST_EXPIRES_AT);  // Different from account type
+
+		when(jwtService.verify(TEST_TOKEN)).thenReturn(tokenData);
+		when(accountRepository.findById(TEST_ID)).thenReturn(Optional.of(testAccount));
+
+		assertThrows(BadCredentialsException.class, () ->
+			authenticationService.authenticateByToken(TEST_TOKEN)
+		);
+	}
+
+	@Test
+	void testAuthenticateByTokenRevokedVersion() {
+		testAccount.setTokenVersion(1L);
+		VerifiedToken tokenData = new VerifiedToken(TEST_ID, Account.Type.CONSUMER, 0L, TEST_EXPIRES_AT);
+
+		when(jwtService.verify(TEST_TOKEN)).thenReturn(tokenData);
+		when(accountRepository.findById(TEST_ID)).thenReturn(Optional.of(testAccount));
+
+		assertThrows(BadCredentialsException.class, () ->
+			authenticationService.authenticateByToken(TEST_TOKEN)
+		);
+	}
+
+	@Test
+	void testAuthenticateByTokenCachedTokenRevoked() {
+		VerifiedToken tokenData = new VerifiedToken(TEST_ID, Account.Type.CONSUMER, 0L, TEST_EXPIRES_AT);
 
 		when(jwtService.verify(TEST_TOKEN)).thenReturn(tokenData);
-		when(accountRepository.findByEmailAndPassword(TEST_EMAIL, testAccount.getPassword()))
-			.thenReturn(Optional.of(testAccount));
+		when(accountRepository.findById(TEST_ID)).thenReturn(Optional.of(testAccount));
+
+		authenticationService.authenticateByToken(TEST_TOKEN);
+		tokenVersionRegistry.revoke(testAccount);
 
 		assertThrows(BadCredentialsException.class, () ->
 			authenticationService.authenticateByToken(TEST_TOKEN)
 		);
+		verify(accountRepository, never()).findTokenVersionById(any());
 	}
 
 	@Test
@@ -121,7 +163,9 @@ class JWTAuthenticationServiceTest {
 		verify(accountRepository).save(accountCaptor.capture());
 		Account savedAccount = accountCaptor.getValue();
 		assertNotEquals(oldPassword, savedAccount.getPassword());
+		assertEquals(1L, savedAccount.getTokenVersion());
 		verify(customMailSender).sendResetConsumer(eq(TEST_EMAIL), anyString());
+		verify(principalCache).invalidateAfterCommit(savedAccount.getId());
 	}
 
 	@Test
@@ -1,26 +1,34 @@
 package com.pareidolia.configuration.security.jwt;
 
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
 import com.pareidolia.entity.Account;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.util.Map;
+import java.time.Instant;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class JWTServiceTest {
 
 	private static final String SECRET = "test-secret-key-for-jwt-token-generation";
+	private static final long EXPIRATION = 3600;
 	private JWTService jwtService;
+	private Account account;
 
 	@BeforeEach
 	void setUp() {
-		jwtService = new JWTService(SECRET);
+		jwtService = new JWTService(SECRET, EXPIRATION);
+
+		account = new Account("Test", "User", "test@example.com", "password123", "+39123456789", Account.Type.CONSUMER);
+		account.setId(1L);
+		account.setTokenVersion(3L);
 	}
 
 	@Test
 	void testCreateToken() {
-		String token = jwtService.create(Account.Type.CONSUMER, "test@example.com", "password123");
+		String token = jwtService.create(account);
 
 		assertNotNull(token);
 		assertTrue(token.length() > 0);
@@ -28,15 +36,16 @@ class JWTServiceTest {
 
 	@Test
 	void testVerifyValidToken() {
-		String token = jwtService.create(Account.Type.CONSUMER, "test@example.com", "password123");
+		String token = jwtService.create(account);
 
-		Map<String, Object> claims = jwtService.verify(token);
+		VerifiedToken verifiedToken = jwtService.verify(token);
 
-		assertNotNull(claims);
-		assertEquals("CONSUMER", claims.get("referenceType"));
-		assertEquals("test@example.com", claims.get("username"));
-		assertEquals("password123", claims.get("password"));
-		assertNotNull(claims.get("iat")); // issued at timestamp
+		assertNotNull(verifiedToken);
+		assertEquals(1L, verifiedToken.accountId());
+		assertEquals(Account.Type.CONSUMER, verifiedToken.referenceType());
+		assertEquals(3L, verifiedToken.tokenVersion());
+		assertTrue(verifiedToken.expiresAt().isAfter(Instant.now()));
+		assertFalse(token.contains(account.getPassword()));
 	}
 
 	@Test
@@ -50,7 +59,7 @@ class JWTServiceTest {
 
 	@Test
 	void testVerifyModifiedToken() {
-		String token = jwtService.create(Account.Type.CONSUMER, "test@example.com", "password123");
+		String token = jwtService.create(account);
 		String modifiedToken = token + "modified";
 
 		assertThrows(JWTService.TokenVerificationException.class, () ->
@@ -58,11 +67,67 @@ class JWTServiceTest {
 		);
 	}
 
+	@Test
+	void testVerifyTokenSignedWithDifferentSecret() {
+		String token = new JWTService("another-secret-key-for-jwt-token-generation", EXPIRATION)
+			.create(account);
+
+		assertThrows(JWTService.TokenVerificationException.class, () ->
+			jwtService.verify(token)
+		);
+	}
+
+	@Test
+	void testVerifyForgedAdminTokenSignedWithPropertyName() {
+		String token = JWT.create()
+			.withExpiresAt(Instant.now().plusSeconds(EXPIRATION))
+			.withClaim("accountId", 1L)
+			.withClaim("type", Account.Type.ADMIN.name())
+			.withClaim("tokenVersion", 0L)
+			.sign(Algorithm.HMAC256("jwt.secret"));
+
+		assertThrows(JWTService.TokenVerificationException.class, () ->
+			jwtService.verify(token)
+		);
+	}
+
+	@Test
+	void testRejectsBlankSecret() {
+		assertThrows(IllegalArgumentException.class, () -> new JWTService(" ", EXPIRATION));
+		assertThrows(IllegalArgumentException.class, () -> new JWTService(null, EXPIRATION));
+	}
+
+	@Test
+	void testRejectsPlaceholderSecret() {
+		assertThrows(IllegalArgumentException.class, () -> new JWTService("EDIT_THIS", EXPIRATION));
+		assertThrows(IllegalArgumentException.class, () -> new JWTService("TEST_SECRET", EXPIRATION));
+	}
+
+	@Test
+	void testRejectsShortSecret() {
+		assertThrows(IllegalArgumentException.class, () -> new JWTService("a".repeat(31), EXPIRATION));
+		assertDoesNotThrow(() -> new JWTService("a".repeat(32), EXPIRATION));
+	}
+
+	@Test
+	void testVerifyTokenWithoutRequiredClaims() {
+		String token = JWT.create()
+			.withClaim("accountId", 1L)
+			.withClaim("type", Account.Type.CONSUMER.name())
+			.sign(Algorithm.HMAC256(SECRET));
+
+		assertThrows(JWTService.TokenVerificationException.class, () ->
+			jwtService.verify(token)
+		);
+	}
+
 	@Test
 	void testVerifyExpiredToken() {
-		// This would require setting up a token with a past expiration date
-		// Since the current implementation doesn't support expiration, we'll skip this test
-		// but note it as a potential future enhancement
+		String token = new JWTService(SECRET, -60).create(account);
+
+		assertThrows(JWTService.TokenVerificationException.class, () ->
+			jwtService.verify(token)
+		);
 	}
 
 	@Test
@@ -92,10 +157,11 @@ class JWTServiceTest {
 	@Test
 	void testCreateTokenWithDifferentAccountTypes() {
 		for (Account.Type type : Account.Type.values()) {
-			String token = jwtService.create(type, "test@example.com", "password123");
-			Map<String, Object> claims = jwtService.verify(token);
+			account.setReferenceType(type);
+			String token = jwtService.create(account);
+			VerifiedToken verifiedToken = jwtService.verify(token);
 
-			assertEquals(type.name(), claims.get("referenceType"));
+			assertEquals(type, verifiedToken.referenceType());
 		}
 	}
 } 
\ No newline at end of file
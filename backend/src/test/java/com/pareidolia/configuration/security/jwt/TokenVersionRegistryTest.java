@@ -0,0 +1,88 @@
+package com.pareidolia.configuration.security.jwt;
+
+import com.pareidolia.entity.Account;
+import com.pareidolia.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionRegistryTest {
+
+	private static final Long TEST_ID = 1L;
+	@Mock
+	private AccountRepository accountRepository;
+	private TokenVersionRegistry tokenVersionRegistry;
+
+	@BeforeEach
+	void setUp() {
+		tokenVersionRegistry = new TokenVersionRegistry(accountRepository, 30);
+	}
+
+	@Test
+	void testIsCurrentLoadsVersionOnlyOnce() {
+		when(accountRepository.findTokenVersionById(TEST_ID)).thenReturn(Optional.of(2L));
+
+		assertTrue(tokenVersionRegistry.isCurrent(TEST_ID, 2L));
+		assertFalse(tokenVersionRegistry.isCurrent(TEST_ID, 1L));
+
+		verify(accountRepository, times(1)).findTokenVersionById(TEST_ID);
+	}
+
+	@Test
+	void testIsCurrentRefreshesStaleVersions() {
+		tokenVersionRegistry = new TokenVersionRegistry(accountRepository, 0);
+		when(accountRepository.findTokenVersionById(TEST_ID)).thenReturn(Optional.of(0L)).thenReturn(Optional.of(1L));
+
+		assertTrue(tokenVersionRegistry.isCurrent(TEST_ID, 0L));
+		assertFalse(tokenVersionRegistry.isCurrent(TEST_ID, 0L));
+	}
+
+	@Test
+	void testIsCurrentWithUnknownAccount() {
+		when(accountRepository.findTokenVersionById(TEST_ID)).thenReturn(Optional.empty());
+
+		assertFalse(tokenVersionRegistry.isCurrent(TEST_ID, 0L));
+	}
+
+	@Test
+	void testRecordAvoidsDatabaseLookup() {
+		tokenVersionRegistry.record(TEST_ID, 4L);
+
+		assertTrue(tokenVersionRegistry.isCurrent(TEST_ID, 4L));
+		verifyNoInteractions(accountRepository);
+	}
+
+	@Test
+	void testRevokeIncrementsVersion() {
+		Account account = new Account();
+		account.setId(TEST_ID);
+		tokenVersionRegistry.record(TEST_ID, 0L);
+
+		tokenVersionRegistry.revoke(account);
+
+		assertEquals(1L, account.getTokenVersion());
+		assertFalse(tokenVersionRegistry.isCurrent(TEST_ID, 0L));
+		assertTrue(tokenVersionRegistry.isCurrent(TEST_ID, 1L));
+		verifyNoInteractions(accountRepository);
+	}
+
+	@Test
+	void testPurgeExpiredRemovesOnlyStaleVersions() {
+		tokenVersionRegistry.record(TEST_ID, 0L);
+		tokenVersionRegistry.purgeExpired();
+		assertEquals(1, tokenVersionRegistry.size());
+
+		tokenVersionRegistry = new TokenVersionRegistry(accountRepository, 0);
+		tokenVersionRegistry.record(TEST_ID, 0L);
+		tokenVersionRegistry.purgeExpired();
+		assertEquals(0, tokenVersionRegistry.size());
+	}
+}
@@ -1,6 +1,7 @@
 package com.pareidolia.controller.admin;
 
 import com.pareidolia.configuration.security.jwt.JWTService;
+import com.pareidolia.configuration.security.jwt.VerifiedToken;
 import com.pareidolia.dto.*;
 import com.pareidolia.entity.Account;
 import com.pareidolia.repository.AccountRepository;
@@ -21,8 +22,8 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
+import java.time.Instant;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -42,6 +43,7 @@ public class AdminControllerTest {
 	private final HttpHeaders headers = new HttpHeaders();
 
 	private final Account.Type accountType = Account.Type.ADMIN;
+	private final Long accountId = 1L;
 	private final String accountEmail = "account@mail.it";
 	private final String accountPassword = "TestPassword123#";
 	private final String authToken = "TEST_TOKEN";
@@ -61,19 +63,17 @@ public class AdminControllerTest {
 		headers.clear();
 		headers.setBearerAuth(authToken);
 
-		doReturn(Map.of(
-			"referenceType", accountType.name(),
-			"username", accountEmail,
-			"password", accountPassword
-		)).when(jwtService).verify(eq(authToken));
+		doReturn(new VerifiedToken(accountId, accountType, 0L, Instant.now().plusSeconds(3600)))
+			.when(jwtService).verify(eq(authToken));
 
 		doReturn(Optional.of(
 			Account.builder()
+				.id(accountId)
 				.email(accountEmail)
 				.password(accountPassword)
 				.referenceType(accountType)
 				.build()
-		)).when(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		)).when(accountRepository).findById(eq(accountId));
 	}
 
 	@Test
@@ -92,7 +92,7 @@ public class AdminControllerTest {
 		assertNotNull(response.getBody());
 
 		verify(jwtService).verify(eq(authToken));
-		verify(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		verify(accountRepository).findById(eq(accountId));
 		verifyNoMoreInteractions(jwtService, accountRepository, adminService);
 	}
 
@@ -114,7 +114,7 @@ public class AdminControllerTest {
 		assertNotNull(response.getBody());
 
 		verify(jwtService).verify(eq(authToken));
-		verify(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		verify(accountRepository).findById(eq(accountId));
 		verifyNoMoreInteractions(jwtService, accountRepository, adminService);
 	}
 
@@ -140,7 +140,7 @@ public class AdminControllerTest {
 		assertEquals(adminPage.getPageable(), response.getBody().getPageable());
 
 		verify(jwtService).verify(eq(authToken));
-		verify(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		verify(accountRepository).findById(eq(accountId));
 		verifyNoMoreInteractions(jwtService, accountRepository, adminService);
 	}
 
@@ -165,7 +165,7 @@ public class AdminControllerTest {
 		assertNotNull(response.getBody());
 
 		verify(jwtService).verify(eq(authToken));
-		verify(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		verify(accountRepository).findById(eq(accountId));
 		verifyNoMoreInteractions(jwtService, accountRepository, adminService);
 	}
 
@@ -188,7 +188,7 @@ public class AdminControllerTest {
 		assertNotNull(response.getBody());
 
 		verify(jwtService).verify(eq(authToken));
-		verify(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		verify(accountRepository).findById(eq(accountId));
 		verifyNoMoreInteractions(jwtService, accountRepository, adminService);
 	}
 
@@ -211,7 +211,7 @@ public class AdminControllerTest {
 		assertNotNull(response.getBody());
 
 		verify(jwtService).verify(eq(authToken));
-		verify(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		verify(accountRepository).findById(eq(accountId));
 		verifyNoMoreInteractions(jwtService, accountRepository, adminService);
 	}
 
@@ -233,7 +233,7 @@ public class AdminControllerTest {
 		assertNotNull(response.getBody());
 
 		verify(jwtService).verify(eq(authToken));
-		verify(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		verify(accountRepository).findById(eq(accountId));
 		verifyNoMoreInteractions(jwtService, accountRepository, adminService);
 	}
 
@@ -252,7 +252,7 @@ public class AdminControllerTest {
 		assertEquals(HttpStatus.OK, response.getStatusCode());
 
 		verify(jwtService).verify(eq(authToken));
-		verify(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		verify(accountRepository).findById(eq(accountId));
 		verifyNoMoreInteractions(jwtService, accountRepository, adminService);
 	}
 }
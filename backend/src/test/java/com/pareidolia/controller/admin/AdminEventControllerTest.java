@@ -1,6 +1,7 @@
 package com.pareidolia.controller.admin;
 
 import com.pareidolia.configuration.security.jwt.JWTService;
+import com.pareidolia.configuration.security.jwt.VerifiedToken;
 import com.pareidolia.dto.EventDTO;
 import com.pareidolia.dto.EventUpdateDTO;
 import com.pareidolia.entity.Account;
@@ -27,8 +28,8 @@ import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Instant;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -48,6 +49,7 @@ public class AdminEventControllerTest {
 	private final HttpHeaders headers = new HttpHeaders();
 
 	private final Account.Type accountType = Account.Type.ADMIN;
+	private final Long accountId = 1L;
 	private final String accountEmail = "account@mail.it";
 	private final String accountPassword = "TestPassword123#";
 	private final String authToken = "TEST_TOKEN";
@@ -67,19 +69,17 @@ public class AdminEventControllerTest {
 		headers.clear();
 		headers.setBearerAuth(authToken);
 
-		doReturn(Map.of(
-			"referenceType", accountType.name(),
-			"username", accountEmail,
-			"password", accountPassword
-		)).when(jwtService).verify(eq(authToken));
+		doReturn(new VerifiedToken(accountId, accountType, 0L, Instant.now().plusSeconds(3600)))
+			.when(jwtService).verify(eq(authToken));
 
 		doReturn(Optional.of(
 			Account.builder()
+				.id(accountId)
 				.email(accountEmail)
 				.password(accountPassword)
 				.referenceType(accountType)
 				.build()
-		)).when(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		)).when(accountRepository).findById(eq(accountId));
 	}
 
 	@Test
@@ -100,7 +100,7 @@ public class AdminEventControllerTest {
 		assertNotNull(response.getBody());
 
 		verify(jwtService).verify(eq(authToken));
-		verify(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		verify(accountRepository).findById(eq(accountId));
 		verifyNoMoreInteractions(jwtService, accountRepository, adminEventService);
 	}
 
@@ -128,7 +128,7 @@ public class AdminEventControllerTest {
 		assertEquals(eventPage.getPageable(), response.getBody().getPageable());
 
 		verify(jwtService).verify(eq(authToken));
-		verify(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		verify(accountRepository).findById(eq(accountId));
 		verifyNoMoreInteractions(jwtService, accountRepository, adminEventService);
 	}
 
@@ -154,7 +154,7 @@ public class AdminEventControllerTest {
 		assertEquals(eventPage.getPageable(), response.getBody().getPageable());
 
 		verify(jwtService).verify(eq(authToken));
-		verify(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		verify(accountRepository).findById(eq(accountId));
 		verifyNoMoreInteractions(jwtService, accountRepository, adminEventService);
 	}
 
@@ -177,7 +177,7 @@ public class AdminEventControllerTest {
 		assertNotNull(response.getBody());
 
 		verify(jwtService).verify(eq(authToken));
-		verify(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		verify(accountRepository).findById(eq(accountId));
 		verifyNoMoreInteractions(jwtService, accountRepository, adminEventService);
 	}
 
@@ -200,7 +200,7 @@ public class AdminEventControllerTest {
 		assertNotNull(response.getBody());
 
 		verify(jwtService).verify(eq(authToken));
-		verify(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		verify(accountRepository).findById(eq(accountId));
 		verifyNoMoreInteractions(jwtService, accountRepository, adminEventService);
 	}
 
@@ -219,7 +219,7 @@ public class AdminEventControllerTest {
 		assertEquals(HttpStatus.OK, response.getStatusCode());
 
 		verify(jwtService).verify(eq(authToken));
-		verify(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		verify(accountRepository).findById(eq(accountId));
 		verifyNoMoreInteractions(jwtService, accountRepository, adminEventService);
 	}
 
@@ -245,7 +245,7 @@ public class AdminEventControllerTest {
 		assertNotNull(response.getBody());
 
 		verify(jwtService).verify(eq(authToken));
-		verify(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		verify(accountRepository).findById(eq(accountId));
 		verifyNoMoreInteractions(jwtService, accountRepository, adminEventService);
 	}
 
@@ -271,7 +271,7 @@ public class AdminEventControllerTest {
 		assertNotNull(response.getBody());
 
 		verify(jwtService).verify(eq(authToken));
-		verify(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		verify(accountRepository).findById(eq(accountId));
 		verifyNoMoreInteractions(jwtService, accountRepository, adminEventService);
 	}
 
@@ -296,7 +296,7 @@ public class AdminEventControllerTest {
 		assertNotNull(response.getBody());
 
 		verify(jwtService).verify(eq(authToken));
-		verify(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		verify(accountRepository).findById(eq(accountId));
 		verifyNoMoreInteractions(jwtService, accountRepository, adminEventService);
 	}
 
@@ -318,7 +318,7 @@ public class AdminEventControllerTest {
 		assertNotNull(response.getBody());
 
 		verify(jwtService).verify(eq(authToken));
-		verify(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		verify(accountRepository).findById(eq(accountId));
 		verifyNoMoreInteractions(jwtService, accountRepository, adminEventService);
 	}
 
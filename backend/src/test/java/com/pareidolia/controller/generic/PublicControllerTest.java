@@ -1,9 +1,12 @@
 package com.pareidolia.controller.generic;
 
+import com.pareidolia.configuration.MapperConfiguration;
 import com.pareidolia.configuration.security.jwt.JWTService;
 import com.pareidolia.dto.EventDTO;
 import com.pareidolia.dto.PromoterDTO;
+import com.pareidolia.dto.ReviewStatsDTO;
 import com.pareidolia.repository.AccountRepository;
+import com.pareidolia.service.SerializedBody;
 import com.pareidolia.service.generic.PublicService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,6 +20,8 @@ import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -24,10 +29,13 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
@@ -55,7 +63,8 @@ public class PublicControllerTest {
 	public void getEvent() {
 		Long eventId = 1L;
 		EventDTO eventDTO = new EventDTO();
-		given(publicService.getEvent(anyLong())).willReturn(eventDTO);
+		SerializedBody body = SerializedBody.of(new MapperConfiguration().mapper(), eventDTO);
+		given(publicService.getEventJson(anyLong())).willReturn(body);
 
 		ResponseEntity<EventDTO> response = restTemplate.exchange(
 			"/generic/service/event/{id}",
@@ -64,7 +73,46 @@ public class PublicControllerTest {
 			EventDTO.class,
 			eventId);
 
-		verify(publicService).getEvent(anyLong());
+		verify(publicService).getEventJson(anyLong());
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(body.eTag(), response.getHeaders().getETag());
+		assertNotNull(response.getBody());
+
+		verifyNoMoreInteractions(jwtService, accountRepository, publicService);
+	}
+
+	@Test
+	public void getEventNotModified() {
+		SerializedBody body = SerializedBody.of(new MapperConfiguration().mapper(), new EventDTO());
+		given(publicService.getEventJson(anyLong())).willReturn(body);
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.setIfNoneMatch(body.eTag());
+		ResponseEntity<String> response = restTemplate.exchange(
+			"/generic/service/event/{id}",
+			HttpMethod.GET,
+			new HttpEntity<>(headers),
+			String.class,
+			1L);
+
+		assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+		assertNull(response.getBody());
+	}
+
+	@Test
+	public void getEventReviewStats() {
+		Long eventId = 1L;
+		ReviewStatsDTO reviewStatsDTO = new ReviewStatsDTO();
+		given(publicService.getEventReviewStats(anyLong())).willReturn(reviewStatsDTO);
+
+		ResponseEntity<ReviewStatsDTO> response = restTemplate.exchange(
+			"/generic/service/event/{id}/review-stats",
+			HttpMethod.GET,
+			null,
+			ReviewStatsDTO.class,
+			eventId);
+
+		verify(publicService).getEventReviewStats(anyLong());
 		assertEquals(HttpStatus.OK, response.getStatusCode());
 		assertNotNull(response.getBody());
 
@@ -85,6 +133,7 @@ public class PublicControllerTest {
 			null,
 			type);
 
+		verify(publicService).getEventsSnapshot(any(), any());
 		verify(publicService).getEvents(any(), any());
 		assertEquals(HttpStatus.OK, response.getStatusCode());
 		assertNotNull(response.getBody());
@@ -95,11 +144,44 @@ public class PublicControllerTest {
 		verifyNoMoreInteractions(jwtService, accountRepository, publicService);
 	}
 
+	@Test
+	public void getEventsFromSnapshot() {
+		String json = "{\"content\":[],\"totalElements\":0}";
+		SerializedBody body = new SerializedBody(json.getBytes(StandardCharsets.UTF_8), "\"snapshot\"");
+		given(publicService.getEventsSnapshot(any(), any())).willReturn(Optional.of(body));
+
+		ResponseEntity<String> response = restTemplate.exchange(
+			"/generic/service/event/list",
+			HttpMethod.GET,
+			null,
+			String.class);
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(json, response.getBody());
+		assertEquals(body.eTag(), response.getHeaders().getETag());
+		verify(publicService, never()).getEvents(any(), any());
+	}
+
+	@Test
+	public void countEvents() {
+		given(publicService.countEvents()).willReturn(42L);
+
+		ResponseEntity<Long> response = restTemplate.exchange(
+			"/generic/service/event/count",
+			HttpMethod.GET,
+			null,
+			Long.class);
+
+		verify(publicService).countEvents();
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(42L, response.getBody());
+	}
+
 	@Test
 	public void getPromoter() {
 		Long promoterId = 1L;
 		PromoterDTO promoterDTO = new PromoterDTO();
-		given(publicService.getPromoter(anyLong())).willReturn(promoterDTO);
+		given(publicService.getPromoterJson(anyLong())).willReturn(SerializedBody.of(new MapperConfiguration().mapper(), promoterDTO));
 
 		ResponseEntity<PromoterDTO> response = restTemplate.exchange(
 			"/generic/service/promoter/{id}",
@@ -108,7 +190,7 @@ public class PublicControllerTest {
 			PromoterDTO.class,
 			promoterId);
 
-		verify(publicService).getPromoter(anyLong());
+		verify(publicService).getPromoterJson(anyLong());
 		assertEquals(HttpStatus.OK, response.getStatusCode());
 		assertNotNull(response.getBody());
 
@@ -119,7 +201,8 @@ public class PublicControllerTest {
 	public void getPromoters() {
 		PromoterDTO promoterDTO = new PromoterDTO();
 		Page<PromoterDTO> promoterPage = new PageImpl<>(List.of(promoterDTO), PageRequest.of(0, 10), 1);
-		given(publicService.getPromoters(any(), any())).willReturn(promoterPage);
+		SerializedBody body = SerializedBody.of(new MapperConfiguration().mapper(), promoterPage);
+		given(publicService.getPromotersJson(any(), any())).willReturn(body);
 
 		ParameterizedTypeReference<Page<PromoterDTO>> type = new ParameterizedTypeReference<>() {
 		};
@@ -129,8 +212,9 @@ public class PublicControllerTest {
 			null,
 			type);
 
-		verify(publicService).getPromoters(any(), any());
+		verify(publicService).getPromotersJson(any(), any());
 		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(body.eTag(), response.getHeaders().getETag());
 		assertNotNull(response.getBody());
 		assertEquals(promoterPage.getTotalElements(), response.getBody().getTotalElements());
 		assertEquals(promoterPage.getContent(), response.getBody().getContent());
@@ -1,6 +1,7 @@
 package com.pareidolia.controller.promoter;
 
 import com.pareidolia.configuration.security.jwt.JWTService;
+import com.pareidolia.configuration.security.jwt.VerifiedToken;
 import com.pareidolia.dto.BookingDTO;
 import com.pareidolia.entity.Account;
 import com.pareidolia.repository.AccountRepository;
@@ -21,8 +22,11 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -42,6 +46,7 @@ public class PromoterBookingControllerTest {
 	private final HttpHeaders headers = new HttpHeaders();
 
 	private final Account.Type accountType = Account.Type.PROMOTER;
+	private final Long accountId = 1L;
 	private final String accountEmail = "account@mail.it";
 	private final String accountPassword = "TestPassword123#";
 	private final String authToken = "TEST_TOKEN";
@@ -61,19 +66,17 @@ public class PromoterBookingControllerTest {
 		headers.clear();
 		headers.setBearerAuth(authToken);
 
-		doReturn(Map.of(
-			"referenceType", accountType.name(),
-			"username", accountEmail,
-			"password", accountPassword
-		)).when(jwtService).verify(eq(authToken));
+		doReturn(new VerifiedToken(accountId, accountType, 0L, Instant.now().plusSeconds(3600)))
+			.when(jwtService).verify(eq(authToken));
 
 		doReturn(Optional.of(
 			Account.builder()
+				.id(accountId)
 				.email(accountEmail)
 				.password(accountPassword)
 				.referenceType(accountType)
 				.build()
-		)).when(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		)).when(accountRepository).findById(eq(accountId));
 	}
 
 	@Test
@@ -94,7 +97,7 @@ public class PromoterBookingControllerTest {
 		assertNotNull(response.getBody());
 
 		verify(jwtService).verify(eq(authToken));
-		verify(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		verify(accountRepository).findById(eq(accountId));
 		verifyNoMoreInteractions(jwtService, accountRepository, promoterBookingService);
 	}
 
@@ -122,7 +125,36 @@ public class PromoterBookingControllerTest {
 		assertEquals(bookingPage.getPageable(), response.getBody().getPageable());
 
 		verify(jwtService).verify(eq(authToken));
-		verify(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		verify(accountRepository).findById(eq(accountId));
+		verifyNoMoreInteractions(jwtService, accountRepository, promoterBookingService);
+	}
+
+	@Test
+	public void exportBookings() throws IOException {
+		Long eventId = 1L;
+		given(promoterBookingService.getBookingsExportFileName(anyLong())).willReturn("bookings-event-1.csv");
+		doAnswer(invocation -> {
+			invocation.<OutputStream>getArgument(1).write("booking_id\r\n1\r\n".getBytes(StandardCharsets.UTF_8));
+			return null;
+		}).when(promoterBookingService).exportBookings(anyLong(), any());
+
+		ResponseEntity<String> response = restTemplate.exchange(
+			"/promoter/booking/event/{id}/export.csv",
+			HttpMethod.GET,
+			new HttpEntity<>(null, headers),
+			String.class,
+			eventId);
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(new MediaType("text", "csv", StandardCharsets.UTF_8), response.getHeaders().getContentType());
+		assertEquals("attachment; filename=\"bookings-event-1.csv\"", response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+		assertEquals("booking_id\r\n1\r\n", response.getBody());
+
+		verify(promoterBookingService).getBookingsExportFileName(eq(eventId));
+		verify(promoterBookingService).exportBookings(eq(eventId), any());
+		// Il corpo viene scritto in modo asincrono: la richiesta può attraversare di nuovo i filtri di sicurezza
+		verify(jwtService, atLeastOnce()).verify(eq(authToken));
+		verify(accountRepository, atLeastOnce()).findById(eq(accountId));
 		verifyNoMoreInteractions(jwtService, accountRepository, promoterBookingService);
 	}
 
@@ -141,7 +173,7 @@ public class PromoterBookingControllerTest {
 		assertEquals(HttpStatus.OK, response.getStatusCode());
 
 		verify(jwtService).verify(eq(authToken));
-		verify(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		verify(accountRepository).findById(eq(accountId));
 		verifyNoMoreInteractions(jwtService, accountRepository, promoterBookingService);
 	}
 
@@ -1,6 +1,7 @@
 package com.pareidolia.controller.reviewer;
 
 import com.pareidolia.configuration.security.jwt.JWTService;
+import com.pareidolia.configuration.security.jwt.VerifiedToken;
 import com.pareidolia.dto.AccountLoginDTO;
 import com.pareidolia.dto.PasswordUpdateDTO;
 import com.pareidolia.dto.ReviewerDTO;
@@ -19,7 +20,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
-import java.util.Map;
+import java.time.Instant;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -39,6 +40,7 @@ class ReviewerControllerTest {
 
 	private final HttpHeaders headers = new HttpHeaders();
 	private final Account.Type accountType = Account.Type.REVIEWER;
+	private final Long accountId = 1L;
 	private final String accountEmail = "reviewer@mail.it";
 	private final String accountPassword = "TestPassword123#";
 	private final String authToken = "TEST_TOKEN";
@@ -60,19 +62,17 @@ class ReviewerControllerTest {
 		headers.clear();
 		headers.setBearerAuth(authToken);
 
-		doReturn(Map.of(
-			"referenceType", accountType.name(),
-			"username", accountEmail,
-			"password", accountPassword
-		)).when(jwtService).verify(eq(authToken));
+		doReturn(new VerifiedToken(accountId, accountType, 0L, Instant.now().plusSeconds(3600)))
+			.when(jwtService).verify(eq(authToken));
 
 		doReturn(Optional.of(
 			Account.builder()
+				.id(accountId)
 				.email(accountEmail)
 				.password(accountPassword)
 				.referenceType(accountType)
 				.build()
-		)).when(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		)).when(accountRepository).findById(eq(accountId));
 	}
 
 	@Test
@@ -98,7 +98,7 @@ class ReviewerControllerTest {
 		assertEquals(reviewerDTO.getName(), response.getBody().getName());
 
 		verify(jwtService).verify(eq(authToken));
-		verify(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		verify(accountRepository).findById(eq(accountId));
 		verifyNoMoreInteractions(jwtService, accountRepository, reviewerService);
 	}
 
@@ -129,7 +129,7 @@ class ReviewerControllerTest {
 		assertEquals(accountLoginDTO.authToken, response.getBody().authToken);
 
 		verify(jwtService).verify(eq(authToken));
-		verify(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		verify(accountRepository).findById(eq(accountId));
 		verifyNoMoreInteractions(jwtService, accountRepository, reviewerService);
 	}
 
@@ -159,7 +159,7 @@ class ReviewerControllerTest {
 		assertEquals(accountLoginDTO.authToken, response.getBody().authToken);
 
 		verify(jwtService).verify(eq(authToken));
-		verify(accountRepository).findByEmailAndPassword(eq(accountEmail), eq(accountPassword));
+		verify(accountRepository).findById(eq(accountId));
 		verifyNoMoreInteractions(jwtService, accountRepository, reviewerService);
 	}
 } 
\ No newline at end of file
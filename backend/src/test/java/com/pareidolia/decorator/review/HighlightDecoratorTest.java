@@ -2,30 +2,22 @@ package com.pareidolia.decorator.review;
 
 import com.pareidolia.dto.ReviewDTO;
 import com.pareidolia.entity.Account;
-import com.pareidolia.repository.AccountRepository;
+import com.pareidolia.entity.Review;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-import java.util.Optional;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 class HighlightDecoratorTest {
 
-	@Mock
-	private AccountRepository accountRepository;
-
 	@Mock
 	private ReviewComponent decoratedReview;
 
-	@Mock
-	private Account mockAccount;
-
-	private HighlightDecorator highlightDecorator;
 	private ReviewDTO baseReviewDTO;
 
 	@BeforeEach
@@ -35,17 +27,25 @@ class HighlightDecoratorTest {
 		baseReviewDTO.setIdConsumer(1L);
 		baseReviewDTO.setAccountName("John Doe");
 		when(decoratedReview.apply()).thenReturn(baseReviewDTO);
-		highlightDecorator = new HighlightDecorator(decoratedReview, accountRepository);
+	}
+
+	private static Review review(Long idConsumer, Account.Type type) {
+		Account account = new Account();
+		account.setId(idConsumer);
+		account.setReferenceType(type);
+		Review review = new Review();
+		review.setIdConsumer(idConsumer);
+		review.setAccount(account);
+		return review;
 	}
 
 	@Test
 	void testApply_WithPromoterAccount() {
 		// Setup
-		when(accountRepository.findById(1L)).thenReturn(Optional.of(mockAccount));
-		when(mockAccount.getReferenceType()).thenReturn(Account.Type.PROMOTER);
+		AccountTypeResolver resolver = AccountTypeResolver.forReviews(List.of(review(1L, Account.Type.PROMOTER)));
 
 		// Test
-		ReviewDTO result = highlightDecorator.apply();
+		ReviewDTO result = new HighlightDecorator(decoratedReview, resolver).apply();
 
 		// Verify
 		assertNotNull(result);
@@ -55,11 +55,10 @@ class HighlightDecoratorTest {
 	@Test
 	void testApply_WithNonPromoterAccount() {
 		// Setup
-		when(accountRepository.findById(1L)).thenReturn(Optional.of(mockAccount));
-		when(mockAccount.getReferenceType()).thenReturn(Account.Type.CONSUMER);
+		AccountTypeResolver resolver = AccountTypeResolver.forReviews(List.of(review(1L, Account.Type.CONSUMER)));
 
 		// Test
-		ReviewDTO result = highlightDecorator.apply();
+		ReviewDTO result = new HighlightDecorator(decoratedReview, resolver).apply();
 
 		// Verify
 		assertNotNull(result);
@@ -69,10 +68,10 @@ class HighlightDecoratorTest {
 	@Test
 	void testApply_WithAccountNotFound() {
 		// Setup
-		when(accountRepository.findById(any())).thenReturn(Optional.empty());
+		AccountTypeResolver resolver = AccountTypeResolver.forReviews(List.of(review(2L, Account.Type.PROMOTER)));
 
 		// Test
-		ReviewDTO result = highlightDecorator.apply();
+		ReviewDTO result = new HighlightDecorator(decoratedReview, resolver).apply();
 
 		// Verify
 		assertNotNull(result);
@@ -80,14 +79,32 @@ class HighlightDecoratorTest {
 	}
 
 	@Test
-	void testApply_WithException() {
+	void testApply_WithAnonymousReview() {
 		// Setup
-		when(accountRepository.findById(any())).thenThrow(new RuntimeException("Test exception"));
+		baseReviewDTO.setIdConsumer(null);
+		AccountTypeResolver resolver = AccountTypeResolver.forReviews(List.of(review(1L, Account.Type.PROMOTER)));
+
+		// Test
+		ReviewDTO result = new HighlightDecorator(decoratedReview, resolver).apply();
 
-		// Act & Assert
-		RuntimeException exception = assertThrows(RuntimeException.class, () ->
-			highlightDecorator.apply()
-		);
-		assertEquals("Test exception", exception.getMessage());
+		// Verify
+		assertNotNull(result);
+		assertEquals("John Doe", result.getAccountName());
+	}
+
+	@Test
+	void testResolverUsesTheAccountsOfThePage() {
+		// Setup
+		AccountTypeResolver resolver = AccountTypeResolver.forReviews(List.of(
+			review(1L, Account.Type.CONSUMER),
+			review(2L, Account.Type.PROMOTER),
+			review(3L, Account.Type.REVIEWER)
+		));
+
+		// Verify
+		assertEquals(Account.Type.CONSUMER, resolver.resolve(1L));
+		assertEquals(Account.Type.PROMOTER, resolver.resolve(2L));
+		assertEquals(Account.Type.REVIEWER, resolver.resolve(3L));
+		assertNull(resolver.resolve(4L));
 	}
-} 
\ No newline at end of file
+}
@@ -12,6 +12,7 @@ class AccountTest {
 	void testNoArgsConstructor() {
 		Account account = new Account();
 		assertNotNull(account);
+		assertEquals(0L, account.getTokenVersion());
 	}
 
 	@Test
@@ -26,6 +27,7 @@ class AccountTest {
 		assertEquals("password123", account.getPassword());
 		assertEquals("+1234567890", account.getPhone());
 		assertEquals(Account.Type.CONSUMER, account.getReferenceType());
+		assertEquals(0L, account.getTokenVersion());
 	}
 
 	@Test
@@ -33,7 +35,7 @@ class AccountTest {
 		LocalDateTime now = LocalDateTime.now();
 		Account account = new Account(1L, "john@example.com", "password123",
 			"John", "Doe", "+1234567890", Account.Type.CONSUMER,
-			now, now);
+			2L, now, now);
 
 		assertEquals(1L, account.getId());
 		assertEquals("john@example.com", account.getEmail());
@@ -42,6 +44,7 @@ class AccountTest {
 		assertEquals("Doe", account.getSurname());
 		assertEquals("+1234567890", account.getPhone());
 		assertEquals(Account.Type.CONSUMER, account.getReferenceType());
+		assertEquals(2L, account.getTokenVersion());
 		assertEquals(now, account.getCreationTime());
 		assertEquals(now, account.getLastUpdate());
 	}
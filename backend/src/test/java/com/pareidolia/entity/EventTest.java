@@ -10,6 +10,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,6 +22,7 @@ class EventTest {
 		assertNotNull(event);
 		assertNotNull(event.getState());
 		assertEquals(DraftState.name, event.getState().getStateName());
+		assertEquals(0L, event.getCurrentParticipants());
 	}
 
 	@Test
@@ -32,7 +34,7 @@ class EventTest {
 		PromoterInfo promoter = new PromoterInfo();
 
 		Event event = new Event(1L, "Concert", "Amazing concert", "image.jpg",
-			"Stadium", date, time, duration, 1000L, 4.5,
+			"Stadium", date, time, duration, 1000L, 4.5, 2L, 9L, ReviewScoreHistogram.builder().score4(1L).score5(1L).build(), 10L,
 			State.fromString(DraftState.name, null), now, now,
 			List.of(promoter));
 
@@ -46,6 +48,10 @@ class EventTest {
 		assertEquals(duration, event.getDuration());
 		assertEquals(1000L, event.getMaxNumberOfParticipants());
 		assertEquals(4.5, event.getAverageScore());
+		assertEquals(2L, event.getReviewCount());
+		assertEquals(9L, event.getScoreSum());
+		assertEquals(Map.of(1L, 0L, 2L, 0L, 3L, 0L, 4L, 1L, 5L, 1L), event.getScoreHistogram().toMap());
+		assertEquals(10L, event.getCurrentParticipants());
 		assertEquals(DraftState.name, event.getState().getStateName());
 		assertEquals(now, event.getCreationTime());
 		assertEquals(now, event.getLastUpdate());
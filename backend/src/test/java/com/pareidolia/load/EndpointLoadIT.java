@@ -0,0 +1,166 @@
+package com.pareidolia.load;
+
+import com.pareidolia.configuration.security.jwt.JWTService;
+import com.pareidolia.load.LoadTestDriver.Endpoint;
+import com.pareidolia.load.LoadTestDriver.EndpointReport;
+import com.pareidolia.repository.AccountRepository;
+import com.pareidolia.service.PublishedFeedSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace.NONE;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/**
+ * Test di carico end-to-end: genera un dataset sintetico nel MySQL dei test e misura gli endpoint pubblici,
+ * dei consumatori e dei promotori con un mix di traffico fisso. Si esegue solo con il profilo Maven {@code load-test};
+ * dimensioni e durata si configurano con le proprietà {@code load.*} (ad esempio {@code -Dload.accounts=1000000}).
+ * Il report con p50/p95/p99 e throughput per endpoint viene scritto in {@code target/load-test-report.json}.
+ */
+@AutoConfigureTestDatabase(replace = NONE)
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = {
+	// Le cache disattivate per gli altri test tornano ai valori di produzione
+	"app.event.detail-cache.ttl=60",
+	"app.event.feed-snapshot.enabled=true",
+	"app.promoter.detail-cache.ttl=60",
+	"app.promoter.directory-cache.ttl=60",
+	"app.security.principal-cache.ttl=300",
+	"spring.jpa.properties.hibernate.show_sql=false"
+})
+class EndpointLoadIT {
+	private static final int CONSUMER_TOKENS = 50;
+	private static final int PROMOTER_TOKENS = 10;
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private JWTService jwtService;
+	@Autowired
+	private AccountRepository accountRepository;
+	@Autowired
+	private PublishedFeedSnapshot publishedFeedSnapshot;
+
+	@Value("${load.accounts:100000}")
+	private long accounts;
+	@Value("${load.events:10000}")
+	private long events;
+	@Value("${load.bookings:1000000}")
+	private long bookings;
+	@Value("${load.reviews:500000}")
+	private long reviews;
+	@Value("${load.concurrency:16}")
+	private int concurrency;
+	@Value("${load.warmup:10}")
+	private long warmupSeconds;
+	@Value("${load.duration:60}")
+	private long durationSeconds;
+	@Value("${load.seed:42}")
+	private long seed;
+	@Value("${load.report:target/load-test-report.json}")
+	private String reportPath;
+
+	@Test
+	void endpointsUnderLoad() throws Exception {
+		LoadTestDataset.Seeded dataset = new LoadTestDataset(jdbcTemplate)
+			.seed(new LoadTestDataset.Size(accounts, events, bookings, reviews));
+		// Il feed è stato costruito all'avvio, prima del dataset
+		publishedFeedSnapshot.rebuild();
+
+		Random tokenRandom = new Random(seed);
+		List<Token> consumers = LongStream.range(0, Math.min(CONSUMER_TOKENS, dataset.size().consumers()))
+			.mapToObj(i -> token(dataset.randomConsumer(tokenRandom)))
+			.toList();
+		List<Token> promoters = LongStream.range(0, Math.min(PROMOTER_TOKENS, dataset.size().promoters()))
+			.mapToObj(i -> token(dataset.randomPromoter(tokenRandom)))
+			.toList();
+
+		LoadTestDriver driver = new LoadTestDriver(trafficMix(dataset, consumers, promoters));
+		List<EndpointReport> reports = driver.run(concurrency, Duration.ofSeconds(warmupSeconds), Duration.ofSeconds(durationSeconds), seed);
+		LoadTestDriver.write(reports, Path.of(reportPath));
+
+		// Anche le risposte 4xx sono errori: il mix usa solo richieste valide, quindi indicano un problema del dataset o dell'applicazione
+		assertEquals(0, reports.stream().mapToLong(EndpointReport::errors).sum());
+	}
+
+	private List<Endpoint> trafficMix(LoadTestDataset.Seeded dataset, List<Token> consumers, List<Token> promoters) {
+		List<Endpoint> mix = new ArrayList<>();
+
+		// Pubblico: la maggior parte del traffico, concentrata sulle prime pagine del feed e sul dettaglio degli eventi
+		mix.add(endpoint("GET /generic/service/event/list", 20, random -> get("/generic/service/event/list?page=" + random.nextInt(5))));
+		mix.add(endpoint("GET /generic/service/event/list (deep)", 3, random -> get("/generic/service/event/list?page=" + (5 + random.nextInt(95)))));
+		mix.add(endpoint("GET /generic/service/event/{id}", 20, random -> get("/generic/service/event/" + dataset.randomPublishedEvent(random))));
+		mix.add(endpoint("GET /generic/service/event/{id}/review-stats", 5, random -> get("/generic/service/event/" + dataset.randomPublishedEvent(random) + "/review-stats")));
+		mix.add(endpoint("GET /generic/service/event/slice", 5, random -> get("/generic/service/event/slice?page=" + random.nextInt(100))));
+		mix.add(endpoint("GET /generic/service/event/cursor", 5, random -> get("/generic/service/event/cursor")));
+		mix.add(endpoint("GET /generic/service/promoter/list", 5, random -> get("/generic/service/promoter/list?page=" + random.nextInt(10))));
+		mix.add(endpoint("GET /generic/service/promoter/{id}", 5, random -> get("/generic/service/promoter/" + dataset.randomPromoter(random))));
+		mix.add(endpoint("GET /generic/service/promoter/{id}/events", 5, random -> get("/generic/service/promoter/" + dataset.randomPromoter(random) + "/events")));
+
+		// Consumatori autenticati
+		mix.add(endpoint("GET /consumer/event/list", 8, random -> get("/consumer/event/list?page=" + random.nextInt(5), pick(random, consumers))));
+		mix.add(endpoint("GET /consumer/event/{id}", 8, random -> get("/consumer/event/" + dataset.randomPublishedEvent(random), pick(random, consumers))));
+		mix.add(endpoint("GET /consumer/booking/list", 5, random -> get("/consumer/booking/list", pick(random, consumers))));
+		mix.add(endpoint("GET /consumer/review/{idEvent}/list", 5, random -> get("/consumer/review/" + dataset.randomFinishedEvent(random) + "/list", pick(random, consumers))));
+
+		// Promotori autenticati, sui propri eventi
+		mix.add(endpoint("GET /promoter/event/list", 3, random -> get("/promoter/event/list", pick(random, promoters))));
+		mix.add(endpoint("GET /promoter/booking/{idEvent}/list", 2, random -> {
+			Token promoter = pick(random, promoters);
+			return get("/promoter/booking/" + dataset.randomEventOfPromoter(random, promoter.accountId()) + "/list", promoter);
+		}));
+		mix.add(endpoint("GET /promoter/review/{idEvent}/list", 2, random -> {
+			Token promoter = pick(random, promoters);
+			return get("/promoter/review/" + dataset.randomFinishedEventOfPromoter(random, promoter.accountId()) + "/list", promoter);
+		}));
+
+		return mix;
+	}
+
+	private Token token(long accountId) {
+		return new Token(accountId, jwtService.create(accountRepository.findById(accountId).orElseThrow()));
+	}
+
+	private static Endpoint endpoint(String name, int weight, Function<Random, HttpRequest> request) {
+		return new Endpoint(name, weight, request);
+	}
+
+	private static Token pick(Random random, List<Token> tokens) {
+		return tokens.get(random.nextInt(tokens.size()));
+	}
+
+	private HttpRequest get(String path) {
+		return request(path).GET().build();
+	}
+
+	private HttpRequest get(String path, Token token) {
+		return request(path).header("Authorization", "Bearer " + token.value()).GET().build();
+	}
+
+	private HttpRequest.Builder request(String path) {
+		return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+			.timeout(Duration.ofSeconds(30))
+			.header("Accept", "application/json");
+	}
+
+	private record Token(long accountId, String value) {
+	}
+}
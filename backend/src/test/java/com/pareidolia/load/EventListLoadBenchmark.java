@@ -0,0 +1,94 @@
+package com.pareidolia.load;
+
+import com.pareidolia.load.LoadTestDriver.Endpoint;
+import com.pareidolia.load.LoadTestDriver.EndpointReport;
+import com.pareidolia.service.PublishedFeedSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Misura il throughput degli endpoint che elencano gli eventi con un modello di thread della richiesta:
+ * le sottoclassi avviano l'applicazione con i thread della piattaforma o con i virtual thread,
+ * sullo stesso dataset, e scrivono ognuna il proprio report per il confronto.
+ * La concorrenza predefinita è più alta di quella di {@link EndpointLoadIT} e del pool di Tomcat,
+ * perché è lì che i due modelli si differenziano.
+ */
+abstract class EventListLoadBenchmark {
+	// Condiviso tra le sottoclassi, che usano lo stesso database: generarlo di nuovo ne raddoppierebbe le dimensioni
+	private static LoadTestDataset.Seeded dataset;
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private PublishedFeedSnapshot publishedFeedSnapshot;
+
+	@Value("${load.accounts:100000}")
+	private long accounts;
+	@Value("${load.events:10000}")
+	private long events;
+	@Value("${load.bookings:1000000}")
+	private long bookings;
+	@Value("${load.reviews:500000}")
+	private long reviews;
+	@Value("${load.threading.concurrency:400}")
+	private int concurrency;
+	@Value("${load.warmup:10}")
+	private long warmupSeconds;
+	@Value("${load.duration:60}")
+	private long durationSeconds;
+	@Value("${load.seed:42}")
+	private long seed;
+
+	/**
+	 * @return String Il modello di thread misurato, usato nel nome del report.
+	 */
+	protected abstract String mode();
+
+	@Test
+	void eventListsUnderLoad() throws Exception {
+		LoadTestDataset.Seeded seeded = seedOnce(new LoadTestDataset(jdbcTemplate), new LoadTestDataset.Size(accounts, events, bookings, reviews));
+		publishedFeedSnapshot.rebuild();
+
+		// Le pagine oltre la copia in memoria del feed, per misurare le richieste che arrivano al database
+		LoadTestDriver driver = new LoadTestDriver(List.of(
+			new Endpoint("GET /generic/service/event/list", 4, random -> get("/generic/service/event/list?page=" + (5 + random.nextInt(95)))),
+			new Endpoint("GET /generic/service/event/slice", 3, random -> get("/generic/service/event/slice?page=" + random.nextInt(100))),
+			new Endpoint("GET /generic/service/event/cursor", 2, random -> get("/generic/service/event/cursor")),
+			new Endpoint("GET /generic/service/promoter/{id}/events", 1, random -> get("/generic/service/promoter/" + seeded.randomPromoter(random) + "/events"))
+		));
+		List<EndpointReport> reports = driver.run(concurrency, Duration.ofSeconds(warmupSeconds), Duration.ofSeconds(durationSeconds), seed);
+		LoadTestDriver.write(reports, Path.of("target", "load-test-event-list-" + mode() + ".json"));
+
+		// Anche le risposte 4xx sono errori: il mix usa solo richieste valide, quindi indicano un problema del dataset o dell'applicazione
+		assertEquals(0, reports.stream().mapToLong(EndpointReport::errors).sum());
+	}
+
+	private static synchronized LoadTestDataset.Seeded seedOnce(LoadTestDataset generator, LoadTestDataset.Size size) {
+		if (dataset == null) {
+			dataset = generator.seed(size);
+		}
+		return dataset;
+	}
+
+	private HttpRequest get(String path) {
+		return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+			.timeout(Duration.ofSeconds(30))
+			.header("Accept", "application/json")
+			.GET()
+			.build();
+	}
+}
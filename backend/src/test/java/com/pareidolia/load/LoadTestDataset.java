@@ -0,0 +1,265 @@
+package com.pareidolia.load;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Random;
+import java.util.function.LongPredicate;
+
+/**
+ * Genera nel database dei test un dataset sintetico di grandi dimensioni per i test di carico.
+ * Le righe vengono calcolate in SQL a partire da una tabella di interi, senza passare dall'applicazione,
+ * e in modo deterministico: a parità di dimensioni ogni esecuzione produce gli stessi dati.
+ * Gli ID partono dopo quelli già presenti, così il dataset si può aggiungere a un container riusato.
+ */
+public class LoadTestDataset {
+	public static final String PASSWORD = "TestPassword123#";
+
+	private static final String SEQUENCE_TABLE = "Load_Test_Sequence";
+	// Eventi elaborati da ogni INSERT di prenotazioni e recensioni, per non generare transazioni enormi
+	private static final long EVENTS_PER_STATEMENT = 1000;
+
+	private final Logger log = LoggerFactory.getLogger(this.getClass());
+	private final JdbcTemplate jdbcTemplate;
+
+	public LoadTestDataset(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/**
+	 * Dimensioni del dataset. Un account su cento è un promotore, gli altri sono consumatori;
+	 * prenotazioni e recensioni sono distribuite in parti uguali tra tutti gli eventi.
+	 */
+	public record Size(long accounts, long events, long bookings, long reviews) {
+		public Size {
+			if (accounts < 2 || events < 1 || bookings < 0 || reviews < 0) {
+				throw new IllegalArgumentException("Invalid load test dataset size");
+			}
+		}
+
+		long promoters() {
+			return Math.max(1, accounts / 100);
+		}
+
+		long consumers() {
+			return accounts - promoters();
+		}
+
+		// Ogni consumatore prenota e recensisce al massimo una volta lo stesso evento
+		long bookingsPerEvent() {
+			return Math.min(consumers(), bookings / events);
+		}
+
+		long reviewsPerEvent() {
+			return Math.min(consumers(), reviews / events);
+		}
+	}
+
+	/**
+	 * Il dataset generato: gli ID sono contigui a partire dal primo di ogni tabella.
+	 */
+	public record Seeded(long firstAccountId, long firstEventId, Size size) {
+
+		public long promoterId(long index) {
+			return firstAccountId + index;
+		}
+
+		public long consumerId(long index) {
+			return firstAccountId + size.promoters() + index;
+		}
+
+		public long eventId(long index) {
+			return firstEventId + index;
+		}
+
+		/**
+		 * Gli eventi sono per il 10% bozze, per il 10% in revisione e per il resto pubblicati.
+		 */
+		public static boolean isPublished(long eventIndex) {
+			return eventIndex % 10 >= 2;
+		}
+
+		/**
+		 * Gli eventi di ogni promotore sono alternativamente futuri e conclusi: l'evento i-esimo è concluso
+		 * se i / promotori è dispari, così le recensioni di un promotore con almeno due eventi sono consultabili.
+		 */
+		public boolean isOver(long eventIndex) {
+			return (eventIndex / size.promoters()) % 2 == 1;
+		}
+
+		public long randomPromoter(Random random) {
+			return promoterId(random.nextLong(size.promoters()));
+		}
+
+		public long randomConsumer(Random random) {
+			return consumerId(random.nextLong(size.consumers()));
+		}
+
+		public long randomPublishedEvent(Random random) {
+			return eventId(randomEventIndex(random, Seeded::isPublished));
+		}
+
+		/**
+		 * Restituisce un evento del promotore indicato: l'evento i-esimo appartiene al promotore i % promotori.
+		 */
+		public long randomEventOfPromoter(Random random, long promoterId) {
+			long promoterIndex = promoterId - firstAccountId;
+			long eventsOfPromoter = Math.max(1, (size.events() - promoterIndex + size.promoters() - 1) / size.promoters());
+			return eventId(Math.min(size.events() - 1, promoterIndex + random.nextLong(eventsOfPromoter) * size.promoters()));
+		}
+
+		public long randomFinishedEvent(Random random) {
+			return eventId(randomEventIndex(random, index -> isPublished(index) && isOver(index)));
+		}
+
+		public long randomFinishedEventOfPromoter(Random random, long promoterId) {
+			long eventId = randomEventOfPromoter(random, promoterId);
+			for (int attempt = 0; attempt < 100 && !isOver(eventId - firstEventId); attempt++) {
+				eventId = randomEventOfPromoter(random, promoterId);
+			}
+			return eventId;
+		}
+
+		private long randomEventIndex(Random random, LongPredicate filter) {
+			for (int attempt = 0; attempt < 100; attempt++) {
+				long index = random.nextLong(size.events());
+				if (filter.test(index)) {
+					return index;
+				}
+			}
+			return random.nextLong(size.events());
+		}
+	}
+
+	/**
+	 * Inserisce il dataset e aggiorna i contatori denormalizzati degli eventi
+	 * (partecipanti, statistiche e tag delle recensioni) come farebbero i servizi.
+	 * @param size Le dimensioni del dataset.
+	 * @return Seeded Gli intervalli di ID generati.
+	 */
+	public Seeded seed(Size size) {
+		long start = System.nanoTime();
+		long firstAccountId = nextId("Account");
+		long firstEventId = nextId("Event");
+		long promoters = size.promoters();
+
+		createSequence(Math.max(size.accounts(), Math.max(size.events(), Math.max(size.bookingsPerEvent(), size.reviewsPerEvent()))));
+		try {
+			jdbcTemplate.update("""
+					INSERT INTO `Account` (`id`, `email`, `password`, `name`, `surname`, `phone`, `reference_type`)
+					SELECT ? + s.n, CONCAT('load-', ? + s.n, '@load.test'), ?, CONCAT('Name ', s.n), CONCAT('Surname ', s.n),
+						CONCAT('+39', LPAD(s.n, 10, '0')), IF(s.n < ?, 'PROMOTER', 'CONSUMER')
+					FROM `Load_Test_Sequence` s
+					WHERE s.n < ?
+				""", firstAccountId, firstAccountId, DigestUtils.sha3_256Hex(PASSWORD), promoters, size.accounts());
+			jdbcTemplate.update("""
+					INSERT INTO `PromoterInfo` (`id_promoter`, `presentation`)
+					SELECT ? + s.n, 'Lorem ipsum dolor sit amet.'
+					FROM `Load_Test_Sequence` s
+					WHERE s.n < ?
+				""", firstAccountId, promoters);
+			log.info("Load test dataset: {} accounts, {} promoters", size.accounts(), promoters);
+
+			jdbcTemplate.update("""
+					INSERT INTO `Event` (`id`, `title`, `description`, `place`, `date`, `time`, `duration`, `max_number_of_participants`, `state`)
+					SELECT ? + s.n, CONCAT('Load Event ', s.n),
+						'Lorem ipsum dolor sit amet, consectetur adipisicing elit, sed do eiusmod tempor incididunt ut labore et dolore magna aliqua.',
+						CONCAT('Via Test ', s.n),
+						IF(FLOOR(s.n / ?) % 2 = 1, DATE_SUB(CURDATE(), INTERVAL 1 + s.n % 365 DAY), DATE_ADD(CURDATE(), INTERVAL 1 + s.n % 365 DAY)),
+						MAKETIME(s.n % 24, 0, 0), 7200000000000, ?,
+						CASE s.n % 10 WHEN 0 THEN 'DRAFT' WHEN 1 THEN 'REVIEW' ELSE 'PUBLISHED' END
+					FROM `Load_Test_Sequence` s
+					WHERE s.n < ?
+				""", firstEventId, promoters, size.bookingsPerEvent() * 2 + 10, size.events());
+			jdbcTemplate.update("""
+					INSERT INTO `Event_Promoter_Association` (`id_event`, `id_promoter`)
+					SELECT ? + s.n, ? + s.n % ?
+					FROM `Load_Test_Sequence` s
+					WHERE s.n < ?
+				""", firstEventId, firstAccountId, promoters, size.events());
+			log.info("Load test dataset: {} events", size.events());
+
+			for (long from = 0; from < size.events(); from += EVENTS_PER_STATEMENT) {
+				long to = Math.min(size.events(), from + EVENTS_PER_STATEMENT);
+				// I moltiplicatori primi distribuiscono i consumatori tra gli eventi senza ripetizioni nello stesso evento
+				jdbcTemplate.update("""
+						INSERT INTO `Booking` (`id_event`, `id_account`)
+						SELECT ? + e.n, ? + MOD(e.n * 7919 + k.n, ?)
+						FROM `Load_Test_Sequence` e
+						INNER JOIN `Load_Test_Sequence` k ON k.n < ?
+						WHERE e.n >= ? AND e.n < ?
+					""", firstEventId, firstAccountId + promoters, size.consumers(), size.bookingsPerEvent(), from, to);
+				jdbcTemplate.update("""
+						INSERT INTO `Review` (`title`, `description`, `score`, `id_consumer`, `id_event`, `tag`, `is_anonymous`)
+						SELECT CONCAT('Review ', k.n), 'Lorem ipsum dolor sit amet.', 1 + MOD(e.n + k.n, 5),
+							? + MOD(e.n * 104729 + k.n, ?), ? + e.n, ELT(1 + MOD(k.n, 4), 'Organizzazione', 'Location', 'Musica', NULL), MOD(k.n, 7) = 0
+						FROM `Load_Test_Sequence` e
+						INNER JOIN `Load_Test_Sequence` k ON k.n < ?
+						WHERE e.n >= ? AND e.n < ?
+					""", firstAccountId + promoters, size.consumers(), firstEventId, size.reviewsPerEvent(), from, to);
+			}
+			log.info("Load test dataset: {} bookings, {} reviews", size.bookingsPerEvent() * size.events(), size.reviewsPerEvent() * size.events());
+
+			updateEventCounters(firstEventId);
+		} finally {
+			jdbcTemplate.execute("DROP TABLE IF EXISTS `" + SEQUENCE_TABLE + "`");
+		}
+
+		log.info("Load test dataset seeded in {}s", (System.nanoTime() - start) / 1_000_000_000);
+		return new Seeded(firstAccountId, firstEventId, size);
+	}
+
+	private long nextId(String table) {
+		Long maxId = jdbcTemplate.queryForObject("SELECT MAX(`id`) FROM `" + table + "`", Long.class);
+		return (maxId == null ? 0 : maxId) + 1;
+	}
+
+	/**
+	 * Crea la tabella degli interi da 0 a count - 1, raddoppiandola a ogni passo.
+	 */
+	private void createSequence(long count) {
+		jdbcTemplate.execute("DROP TABLE IF EXISTS `" + SEQUENCE_TABLE + "`");
+		jdbcTemplate.execute("CREATE TABLE `" + SEQUENCE_TABLE + "` (`n` BIGINT NOT NULL PRIMARY KEY)");
+		jdbcTemplate.update("INSERT INTO `" + SEQUENCE_TABLE + "` (`n`) VALUES (0)");
+		for (long size = 1; size < count; size *= 2) {
+			jdbcTemplate.update("INSERT INTO `" + SEQUENCE_TABLE + "` (`n`) SELECT `n` + ? FROM `" + SEQUENCE_TABLE + "` WHERE `n` + ? < ?",
+				size, size, count);
+		}
+	}
+
+	private void updateEventCounters(long firstEventId) {
+		jdbcTemplate.update("""
+				UPDATE `Event` e
+				INNER JOIN (
+					SELECT `id_event`, COUNT(*) AS participants
+					FROM `Booking`
+					WHERE `id_event` >= ?
+					GROUP BY `id_event`
+				) b ON b.`id_event` = e.`id`
+				SET e.`current_participants` = b.participants
+			""", firstEventId);
+		jdbcTemplate.update("""
+				UPDATE `Event` e
+				INNER JOIN (
+					SELECT `id_event`, COUNT(*) AS review_count, SUM(`score`) AS score_sum,
+						SUM(`score` = 1) AS score_1, SUM(`score` = 2) AS score_2, SUM(`score` = 3) AS score_3,
+						SUM(`score` = 4) AS score_4, SUM(`score` = 5) AS score_5
+					FROM `Review`
+					WHERE `id_event` >= ?
+					GROUP BY `id_event`
+				) r ON r.`id_event` = e.`id`
+				SET e.`review_count` = r.review_count, e.`score_sum` = r.score_sum, e.`average_score` = r.score_sum / r.review_count,
+					e.`review_score_1` = r.score_1, e.`review_score_2` = r.score_2, e.`review_score_3` = r.score_3,
+					e.`review_score_4` = r.score_4, e.`review_score_5` = r.score_5
+			""", firstEventId);
+		jdbcTemplate.update("""
+				INSERT INTO `Event_Review_Tag` (`id_event`, `tag`, `review_count`)
+				SELECT `id_event`, `tag`, COUNT(*)
+				FROM `Review`
+				WHERE `id_event` >= ? AND `tag` IS NOT NULL
+				GROUP BY `id_event`, `tag`
+			""", firstEventId);
+	}
+}
@@ -0,0 +1,187 @@
+package com.pareidolia.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Invia all'applicazione un traffico HTTP con un mix pesato di endpoint, da più thread in parallelo,
+ * e ne misura latenza e throughput per endpoint. Le richieste del periodo di riscaldamento non vengono registrate.
+ * Ogni thread usa un generatore casuale con seme fisso, così il mix di richieste è riproducibile.
+ */
+public class LoadTestDriver {
+
+	/**
+	 * Un endpoint del mix di traffico.
+	 * @param name Il nome con cui compare nel report, tipicamente metodo e percorso con i parametri.
+	 * @param weight Il peso relativo nel mix.
+	 * @param request Costruisce una richiesta, scegliendo i parametri con il generatore casuale ricevuto.
+	 */
+	public record Endpoint(String name, int weight, Function<Random, HttpRequest> request) {
+	}
+
+	/**
+	 * Le misure di un endpoint; le latenze sono in millisecondi e comprendono solo le risposte 2xx e 304,
+	 * così le risposte d'errore, spesso molto più rapide, non abbassano i percentili.
+	 * Il throughput conta solo le risposte riuscite.
+	 */
+	public record EndpointReport(String endpoint, long requests, long errors, long serverErrors, double throughput,
+	                             double p50, double p95, double p99, double mean, double max) {
+	}
+
+	private final Logger log = LoggerFactory.getLogger(this.getClass());
+	private final HttpClient httpClient;
+	private final List<Endpoint> endpoints;
+	private final int totalWeight;
+
+	public LoadTestDriver(List<Endpoint> endpoints) {
+		this.endpoints = List.copyOf(endpoints);
+		this.totalWeight = endpoints.stream().mapToInt(Endpoint::weight).sum();
+		if (totalWeight <= 0) {
+			throw new IllegalArgumentException("Invalid traffic mix");
+		}
+		this.httpClient = HttpClient.newBuilder()
+			.connectTimeout(Duration.ofSeconds(10))
+			.executor(Executors.newCachedThreadPool())
+			.build();
+	}
+
+	/**
+	 * Esegue il test di carico.
+	 * @param concurrency Il numero di client in parallelo, ognuno con una richiesta alla volta.
+	 * @param warmup La durata del riscaldamento, non misurato.
+	 * @param duration La durata della misura.
+	 * @param seed Il seme dei generatori casuali.
+	 * @return List<EndpointReport> Le misure per endpoint, nell'ordine del mix.
+	 */
+	public List<EndpointReport> run(int concurrency, Duration warmup, Duration duration, long seed) throws InterruptedException {
+		Map<String, Measures> measures = new LinkedHashMap<>();
+		endpoints.forEach(endpoint -> measures.put(endpoint.name(), new Measures()));
+
+		long measureFrom = System.nanoTime() + warmup.toNanos();
+		long measureUntil = measureFrom + duration.toNanos();
+
+		ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+		try {
+			for (int i = 0; i < concurrency; i++) {
+				Random random = new Random(seed + i);
+				workers.execute(() -> {
+					while (System.nanoTime() < measureUntil) {
+						Endpoint endpoint = pick(random);
+						long start = System.nanoTime();
+						int status = send(endpoint.request().apply(random));
+						long end = System.nanoTime();
+						if (start >= measureFrom && end <= measureUntil) {
+							measures.get(endpoint.name()).record(end - start, status);
+						}
+					}
+				});
+			}
+		} finally {
+			workers.shutdown();
+		}
+		if (!workers.awaitTermination(warmup.plus(duration).plusMinutes(1).toMillis(), TimeUnit.MILLISECONDS)) {
+			workers.shutdownNow();
+		}
+
+		double seconds = duration.toNanos() / 1e9;
+		List<EndpointReport> reports = measures.entrySet().stream()
+			.map(entry -> entry.getValue().report(entry.getKey(), seconds))
+			.toList();
+		log(reports);
+		return reports;
+	}
+
+	/**
+	 * Scrive il report in JSON.
+	 * @param reports Le misure restituite da {@link #run}.
+	 * @param path Il file di destinazione.
+	 */
+	public static void write(List<EndpointReport> reports, Path path) throws IOException {
+		Files.createDirectories(path.toAbsolutePath().getParent());
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), reports);
+	}
+
+	private Endpoint pick(Random random) {
+		int value = random.nextInt(totalWeight);
+		for (Endpoint endpoint : endpoints) {
+			value -= endpoint.weight();
+			if (value < 0) {
+				return endpoint;
+			}
+		}
+		return endpoints.get(endpoints.size() - 1);
+	}
+
+	/**
+	 * @return int Lo stato HTTP, o 0 se la richiesta non ha ricevuto risposta.
+	 */
+	private int send(HttpRequest request) {
+		try {
+			return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+		} catch (IOException e) {
+			return 0;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return 0;
+		}
+	}
+
+	private void log(List<EndpointReport> reports) {
+		StringBuilder table = new StringBuilder(String.format("%n%-50s %9s %7s %9s %9s %9s %9s%n",
+			"Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p95 ms", "p99 ms"));
+		for (EndpointReport report : reports) {
+			table.append(String.format("%-50s %9d %7d %9.1f %9.2f %9.2f %9.2f%n", report.endpoint(), report.requests(),
+				report.errors(), report.throughput(), report.p50(), report.p95(), report.p99()));
+		}
+		log.info("Load test report:{}", table);
+	}
+
+	private static class Measures {
+		private final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+		private final AtomicLong requests = new AtomicLong();
+		private final AtomicLong errors = new AtomicLong();
+		private final AtomicLong serverErrors = new AtomicLong();
+
+		void record(long nanos, int status) {
+			requests.incrementAndGet();
+			if ((status >= 200 && status < 300) || status == 304) {
+				latencies.add(nanos);
+				return;
+			}
+			errors.incrementAndGet();
+			if (status == 0 || status >= 500) {
+				serverErrors.incrementAndGet();
+			}
+		}
+
+		EndpointReport report(String endpoint, double seconds) {
+			long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+			double mean = sorted.length == 0 ? 0 : Arrays.stream(sorted).average().orElse(0) / 1e6;
+			double max = sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6;
+			return new EndpointReport(endpoint, requests.get(), errors.get(), serverErrors.get(), sorted.length / seconds,
+				percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99), mean, max);
+		}
+
+		private static double percentile(long[] sorted, double percentile) {
+			if (sorted.length == 0) {
+				return 0;
+			}
+			int index = (int) Math.ceil(percentile * sorted.length) - 1;
+			return sorted[Math.max(0, index)] / 1e6;
+		}
+	}
+}
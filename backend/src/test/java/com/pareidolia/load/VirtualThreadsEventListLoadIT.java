@@ -0,0 +1,21 @@
+package com.pareidolia.load;
+
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace.NONE;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+@AutoConfigureTestDatabase(replace = NONE)
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = {
+	"spring.threads.virtual.enabled=true",
+	"app.event.feed-snapshot.enabled=true",
+	"spring.jpa.properties.hibernate.show_sql=false"
+})
+class VirtualThreadsEventListLoadIT extends EventListLoadBenchmark {
+
+	@Override
+	protected String mode() {
+		return "virtual";
+	}
+}
@@ -0,0 +1,62 @@
+package com.pareidolia.mapper;
+
+import com.pareidolia.dto.CursorSliceDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorSliceMapperTest {
+
+	@Test
+	void testCursorRoundTrip() {
+		String cursor = CursorSliceMapper.encode(42L);
+
+		assertFalse(cursor.contains("42"));
+		assertEquals(42L, CursorSliceMapper.decode(cursor));
+	}
+
+	@Test
+	void testMissingCursorStartsFromTheFirstElement() {
+		assertEquals(Long.MAX_VALUE, CursorSliceMapper.decode(null));
+		assertEquals(Long.MAX_VALUE, CursorSliceMapper.decode(""));
+	}
+
+	@Test
+	void testInvalidCursor() {
+		assertThrows(IllegalArgumentException.class, () -> CursorSliceMapper.decode("not a cursor"));
+		assertThrows(IllegalArgumentException.class, () -> CursorSliceMapper.decode("MTIz"));
+		assertThrows(IllegalArgumentException.class, () -> CursorSliceMapper.decode(CursorSliceMapper.encode(null)));
+	}
+
+	@Test
+	void testPageableReadsOneExtraRowSortedByIdDesc() {
+		Pageable pageable = CursorSliceMapper.pageable(10);
+
+		assertEquals(0, pageable.getPageNumber());
+		assertEquals(11, pageable.getPageSize());
+		assertEquals(Sort.by(Sort.Order.desc("id")), pageable.getSort());
+	}
+
+	@Test
+	void testToDTOWithNextPage() {
+		CursorSliceDTO<String> slice = CursorSliceMapper.toDTO(List.of(9L, 7L, 4L), 2, Function.identity(), id -> "item-" + id);
+
+		assertEquals(List.of("item-9", "item-7"), slice.getContent());
+		assertTrue(slice.isHasNext());
+		assertEquals(7L, CursorSliceMapper.decode(slice.getNextCursor()));
+	}
+
+	@Test
+	void testToDTOOnLastPage() {
+		CursorSliceDTO<String> slice = CursorSliceMapper.toDTO(List.of(3L, 1L), 2, Function.identity(), id -> "item-" + id);
+
+		assertEquals(List.of("item-3", "item-1"), slice.getContent());
+		assertFalse(slice.isHasNext());
+		assertNull(slice.getNextCursor());
+	}
+}
@@ -0,0 +1,60 @@
+package com.pareidolia.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BatchedReconciliationTest {
+
+	private SimpleMeterRegistry meterRegistry;
+	private final List<Long> requestedAfter = new ArrayList<>();
+	private final List<List<Long>> reconciledBatches = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	private BatchedReconciliation reconciliation(Map<Long, List<Long>> batches, List<Long> drifted) {
+		// Blocchi da 2 eventi
+		return new BatchedReconciliation(LoggerFactory.getLogger(this.getClass()), meterRegistry, "test.counter", 2,
+			(afterId, limit) -> {
+				requestedAfter.add(afterId);
+				return batches.getOrDefault(afterId, List.of());
+			},
+			ids -> {
+				reconciledBatches.add(ids);
+				return ids.stream().filter(drifted::contains).toList();
+			},
+			"Counters of events {} drifted");
+	}
+
+	@Test
+	void testRunWalksAllEventsInBatchesAndCountsDrift() {
+		int reconciled = reconciliation(Map.of(0L, List.of(1L, 2L), 2L, List.of(5L)), List.of(2L, 5L)).run();
+
+		assertEquals(2, reconciled);
+		assertEquals(List.of(List.of(1L, 2L), List.of(5L)), reconciledBatches);
+		assertEquals(2, meterRegistry.get("test.counter.drift").counter().count());
+		assertEquals(1, meterRegistry.get("test.counter.reconciliation").timer().count());
+		// L'ultimo blocco è incompleto: non serve chiederne un altro
+		assertEquals(List.of(0L, 2L), requestedAfter);
+	}
+
+	@Test
+	void testRunStopsOnEmptyBatch() {
+		int reconciled = reconciliation(Map.of(0L, List.of(1L, 2L)), List.of()).run();
+
+		assertEquals(0, reconciled);
+		assertEquals(List.of(0L, 2L), requestedAfter);
+		assertEquals(1, reconciledBatches.size());
+		assertEquals(0, meterRegistry.get("test.counter.drift").counter().count());
+	}
+}
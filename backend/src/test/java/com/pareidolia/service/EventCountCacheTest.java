@@ -0,0 +1,135 @@
+package com.pareidolia.service;
+
+import com.pareidolia.repository.EventRepository;
+import com.pareidolia.repository.PromoterInfoRepository;
+import com.pareidolia.state.PublishedState;
+import com.pareidolia.state.State;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventCountCacheTest {
+
+	@Mock
+	private EventRepository eventRepository;
+
+	@Mock
+	private PromoterInfoRepository promoterInfoRepository;
+
+	private SimpleMeterRegistry meterRegistry;
+	private EventCountCache eventCountCache;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		eventCountCache = new EventCountCache(eventRepository, promoterInfoRepository, meterRegistry, 2, 600, 100);
+	}
+
+	private double requests(String result) {
+		return meterRegistry.get("pareidolia.event.count.cache.requests").tag("result", result).counter().count();
+	}
+
+	private static State published() {
+		return argThat(state -> state instanceof PublishedState);
+	}
+
+	@Test
+	void testGetCountsOnceAndThenServesCachedValue() {
+		when(eventRepository.countByState(published())).thenReturn(5L);
+
+		assertEquals(5L, eventCountCache.get(PublishedState.name, null));
+		assertEquals(5L, eventCountCache.get(PublishedState.name, null));
+
+		verify(eventRepository, times(1)).countByState(any());
+		assertEquals(1, requests("hit"));
+		assertEquals(1, requests("miss"));
+	}
+
+	@Test
+	void testPromoterCountsAreCachedSeparately() {
+		when(eventRepository.countByState(published())).thenReturn(5L);
+		when(eventRepository.countByStateAndPromoterId(published(), eq(7L))).thenReturn(2L);
+
+		assertEquals(5L, eventCountCache.get(PublishedState.name, null));
+		assertEquals(2L, eventCountCache.get(PublishedState.name, 7L));
+		assertEquals(2, eventCountCache.size());
+	}
+
+	@Test
+	void testRefreshRecomputesCachedCounts() {
+		when(eventRepository.countByState(published())).thenReturn(5L, 6L);
+		eventCountCache.get(PublishedState.name, null);
+
+		eventCountCache.refresh();
+
+		assertEquals(6L, eventCountCache.get(PublishedState.name, null));
+		verify(eventRepository, times(2)).countByState(any());
+	}
+
+	@Test
+	void testRefreshDropsIdleEntries() {
+		eventCountCache = new EventCountCache(eventRepository, promoterInfoRepository, new SimpleMeterRegistry(), 2, 0, 100);
+		when(eventRepository.countByState(published())).thenReturn(5L);
+		eventCountCache.get(PublishedState.name, null);
+
+		eventCountCache.refresh();
+
+		assertEquals(0, eventCountCache.size());
+		verify(eventRepository, times(1)).countByState(any());
+	}
+
+	@Test
+	void testLeastRecentlyUsedKeyIsEvicted() {
+		when(eventRepository.countByStateAndPromoterId(published(), anyLong())).thenReturn(1L);
+
+		eventCountCache.get(PublishedState.name, 1L);
+		eventCountCache.get(PublishedState.name, 2L);
+		eventCountCache.get(PublishedState.name, 1L);
+		eventCountCache.get(PublishedState.name, 3L);
+		eventCountCache.get(PublishedState.name, 3L);
+		eventCountCache.get(PublishedState.name, 1L);
+		eventCountCache.get(PublishedState.name, 2L);
+
+		// La chiave 2 è la meno usata di recente quando arriva la chiave 3, e viene contata di nuovo
+		assertEquals(2, eventCountCache.size());
+		verify(eventRepository, times(1)).countByStateAndPromoterId(any(), eq(1L));
+		verify(eventRepository, times(2)).countByStateAndPromoterId(any(), eq(2L));
+		verify(eventRepository, times(1)).countByStateAndPromoterId(any(), eq(3L));
+		assertEquals(2, meterRegistry.get("pareidolia.event.count.cache.evictions").counter().count());
+	}
+
+	@Test
+	void testUnknownPromotersAreNotCached() {
+		when(eventRepository.countByStateAndPromoterId(published(), eq(99L))).thenReturn(0L);
+		when(promoterInfoRepository.existsByIdPromoter(99L)).thenReturn(false);
+
+		assertEquals(0L, eventCountCache.get(PublishedState.name, 99L));
+
+		assertEquals(0, eventCountCache.size());
+	}
+
+	@Test
+	void testRefreshRecomputesAtMostBatchSizeStalestKeys() {
+		eventCountCache = new EventCountCache(eventRepository, promoterInfoRepository, new SimpleMeterRegistry(), 10, 600, 2);
+		when(eventRepository.countByStateAndPromoterId(published(), anyLong())).thenReturn(1L);
+		for (long idPromoter = 1; idPromoter <= 3; idPromoter++) {
+			eventCountCache.get(PublishedState.name, idPromoter);
+		}
+
+		eventCountCache.refresh();
+		eventCountCache.refresh();
+
+		// Il primo ricalcolo aggiorna le chiavi 1 e 2, il secondo la 3 (la meno aggiornata) e la 1
+		verify(eventRepository, times(3)).countByStateAndPromoterId(any(), eq(1L));
+		verify(eventRepository, times(2)).countByStateAndPromoterId(any(), eq(2L));
+		verify(eventRepository, times(2)).countByStateAndPromoterId(any(), eq(3L));
+	}
+}
@@ -0,0 +1,173 @@
+package com.pareidolia.service;
+
+import com.pareidolia.configuration.MapperConfiguration;
+import com.pareidolia.dto.EventDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventDetailCacheTest {
+
+	private SimpleMeterRegistry meterRegistry;
+	private EventDetailCache eventDetailCache;
+	private AtomicInteger loads;
+	private AtomicInteger participantLoads;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		eventDetailCache = new EventDetailCache(new MapperConfiguration().mapper(), meterRegistry, 2, 60);
+		loads = new AtomicInteger();
+		participantLoads = new AtomicInteger();
+	}
+
+	private final Function<Long, EventDTO> loader = id -> {
+		loads.incrementAndGet();
+		EventDTO event = new EventDTO();
+		event.setId(id);
+		event.setTitle("Event " + id);
+		event.setPromoters(List.of());
+		event.setCurrentParticipants(5L);
+		return event;
+	};
+
+	private final Function<Long, Long> participantsLoader = id -> {
+		participantLoads.incrementAndGet();
+		return 6L;
+	};
+
+	private double requests(String result) {
+		return meterRegistry.get("pareidolia.event.detail.cache.requests").tag("result", result).counter().count();
+	}
+
+	@Test
+	void testGetLoadsOnceAndReturnsCopies() {
+		EventDTO first = eventDetailCache.get(1L, loader, participantsLoader);
+		first.setTitle("changed");
+		EventDTO second = eventDetailCache.get(1L, loader, participantsLoader);
+
+		assertEquals(1, loads.get());
+		assertEquals("Event 1", second.getTitle());
+		assertNotSame(first, second);
+		assertEquals(1, requests("hit"));
+		assertEquals(1, requests("miss"));
+	}
+
+	@Test
+	void testInvalidateForcesReload() {
+		eventDetailCache.get(1L, loader, participantsLoader);
+
+		eventDetailCache.invalidateAfterCommit(1L);
+		eventDetailCache.get(1L, loader, participantsLoader);
+
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void testParticipantsInvalidationReloadsOnlyTheCount() {
+		eventDetailCache.get(1L, loader, participantsLoader);
+
+		eventDetailCache.invalidateParticipantsAfterCommit(1L);
+		EventDTO refreshed = eventDetailCache.get(1L, loader, participantsLoader);
+		EventDTO cached = eventDetailCache.get(1L, loader, participantsLoader);
+
+		assertEquals(1, loads.get());
+		assertEquals(1, participantLoads.get());
+		assertEquals(6L, refreshed.getCurrentParticipants());
+		assertEquals(6L, cached.getCurrentParticipants());
+	}
+
+	@Test
+	void testSerializedBodyFollowsParticipantsReload() {
+		SerializedBody before = eventDetailCache.getSerialized(1L, loader, participantsLoader);
+		assertSame(before, eventDetailCache.getSerialized(1L, loader, participantsLoader));
+
+		eventDetailCache.invalidateParticipantsAfterCommit(1L);
+		SerializedBody after = eventDetailCache.getSerialized(1L, loader, participantsLoader);
+
+		assertEquals(1, loads.get());
+		assertNotEquals(before.eTag(), after.eTag());
+		assertTrue(new String(after.bytes(), StandardCharsets.UTF_8).contains("\"currentParticipants\":6"));
+	}
+
+	@Test
+	void testLoadStartedBeforeInvalidationIsNotStored() {
+		eventDetailCache.get(1L, id -> {
+			EventDTO event = loader.apply(id);
+			// Una modifica concorrente invalida l'evento mentre il caricamento è in corso
+			eventDetailCache.invalidate(id);
+			return event;
+		}, participantsLoader);
+
+		assertEquals(0, eventDetailCache.size());
+	}
+
+	@Test
+	void testLoadIsStoredDespiteInvalidationOfAnotherEvent() {
+		eventDetailCache.get(1L, id -> {
+			EventDTO event = loader.apply(id);
+			// Una prenotazione concorrente su un altro evento non scarta il caricamento
+			eventDetailCache.invalidateParticipants(2L);
+			eventDetailCache.invalidate(3L);
+			return event;
+		}, participantsLoader);
+		eventDetailCache.get(1L, loader, participantsLoader);
+
+		assertEquals(1, eventDetailCache.size());
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void testParticipantsReloadStartedBeforeInvalidationIsNotStored() {
+		eventDetailCache.get(1L, loader, participantsLoader);
+		eventDetailCache.invalidateParticipants(1L);
+
+		eventDetailCache.get(1L, loader, id -> {
+			eventDetailCache.invalidateParticipants(id);
+			return participantsLoader.apply(id);
+		});
+		eventDetailCache.get(1L, loader, participantsLoader);
+
+		assertEquals(1, loads.get());
+		assertEquals(2, participantLoads.get());
+	}
+
+	@Test
+	void testLoaderExceptionsArePropagatedAndNotCached() {
+		assertThrows(IllegalArgumentException.class, () -> eventDetailCache.get(1L, id -> {
+			throw new IllegalArgumentException("Event not found");
+		}, participantsLoader));
+
+		assertEquals(0, eventDetailCache.size());
+	}
+
+	@Test
+	void testSizeEvictionDropsLeastRecentlyUsed() {
+		eventDetailCache.get(1L, loader, participantsLoader);
+		eventDetailCache.get(2L, loader, participantsLoader);
+		eventDetailCache.get(1L, loader, participantsLoader);
+		eventDetailCache.get(3L, loader, participantsLoader);
+
+		assertEquals(2, eventDetailCache.size());
+		assertEquals(1, meterRegistry.get("pareidolia.event.detail.cache.evictions").counter().count());
+		eventDetailCache.get(1L, loader, participantsLoader);
+		assertEquals(3, loads.get());
+	}
+
+	@Test
+	void testExpiredEntriesAreReloaded() {
+		eventDetailCache = new EventDetailCache(new MapperConfiguration().mapper(), new SimpleMeterRegistry(), 2, 0);
+
+		eventDetailCache.get(1L, loader, participantsLoader);
+		eventDetailCache.get(1L, loader, participantsLoader);
+
+		assertEquals(2, loads.get());
+	}
+}
@@ -0,0 +1,148 @@
+package com.pareidolia.service;
+
+import com.pareidolia.configuration.mail.CustomMailSender;
+import com.pareidolia.configuration.mail.PreparedMail;
+import com.pareidolia.entity.Account;
+import com.pareidolia.entity.Event;
+import com.pareidolia.entity.EventEmailOutbox;
+import com.pareidolia.repository.AccountRepository;
+import com.pareidolia.repository.EventRepository;
+import com.pareidolia.strategy.email.event.EmailEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.util.Pair;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventEmailDispatcherTest {
+
+	@Mock
+	private EventEmailOutboxService eventEmailOutboxService;
+	@Mock
+	private EventRepository eventRepository;
+	@Mock
+	private AccountRepository accountRepository;
+	@Mock
+	private CustomMailSender mailSender;
+	@Mock
+	private EventEmailTemplateCache eventEmailTemplateCache;
+
+	private SimpleMeterRegistry meterRegistry;
+	private EventEmailDispatcher dispatcher;
+	private EventEmailOutbox entry;
+	private final PreparedMail mail = new PreparedMail("Nuovo evento: Test Event", List.of(), new byte[0]);
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		// Blocchi da 2 destinatari, 2 blocchi per giro, 3 tentativi, ritardo iniziale di 10 secondi
+		dispatcher = new EventEmailDispatcher(eventEmailOutboxService, eventRepository, accountRepository, mailSender, eventEmailTemplateCache,
+			new TaskExecutorAdapter(Runnable::run), meterRegistry, 2, 2, 3, 10, 60);
+
+		entry = EventEmailOutbox.builder()
+			.id(7L)
+			.idEvent(1L)
+			.emailEventType(EmailEventType.CREATED)
+			.recipientType(Account.Type.CONSUMER)
+			.build();
+
+		Event event = new Event();
+		event.setId(1L);
+		event.setTitle("Test Event");
+		lenient().when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+		lenient().when(eventEmailTemplateCache.get(EmailEventType.CREATED, event, Account.Type.CONSUMER)).thenReturn(mail);
+	}
+
+	private void stubRecipients(long afterId, long... ids) {
+		List<Pair<Long, String>> page = Arrays.stream(ids)
+			.mapToObj(id -> Pair.of(id, "user" + id + "@example.com"))
+			.toList();
+		when(accountRepository.findEmailsByReferenceTypeAfter(eq(Account.Type.CONSUMER), eq(afterId), any(Pageable.class)))
+			.thenReturn(page);
+	}
+
+	@Test
+	void testDispatchSendsOneBatchPerPageAndCompletes() {
+		stubRecipients(0L, 1L, 2L);
+		stubRecipients(2L, 3L, 4L);
+		stubRecipients(4L, 5L);
+		when(eventEmailOutboxService.findDue(anyInt())).thenReturn(List.of(entry));
+		when(eventEmailOutboxService.claim(eq(7L), any(Duration.class))).thenReturn(true);
+		when(eventEmailOutboxService.countPending()).thenReturn(0L);
+
+		dispatcher.dispatch();
+
+		verify(mailSender).sendPreparedMails(List.of("user1@example.com", "user2@example.com"), mail, "sendEventInvitation");
+		verify(mailSender).sendPreparedMails(List.of("user3@example.com", "user4@example.com"), mail, "sendEventInvitation");
+		verify(mailSender).sendPreparedMails(List.of("user5@example.com"), mail, "sendEventInvitation");
+		verify(eventEmailTemplateCache, times(1)).get(any(), any(), any());
+		verify(eventEmailOutboxService).advance(eq(7L), eq(4L), any(Duration.class));
+		verify(eventEmailOutboxService).complete(7L, 5L);
+		assertEquals(5, meterRegistry.get("pareidolia.mail.outbox.sent").counter().count());
+		assertEquals(3, meterRegistry.get("pareidolia.mail.outbox.batch").tag("result", "success").timer().count());
+	}
+
+	@Test
+	void testDispatchSkipsEntriesClaimedByAnotherInstance() {
+		when(eventEmailOutboxService.findDue(anyInt())).thenReturn(List.of(entry));
+		when(eventEmailOutboxService.claim(eq(7L), any(Duration.class))).thenReturn(false);
+		when(eventEmailOutboxService.countPending()).thenReturn(3L);
+
+		dispatcher.dispatch();
+
+		verifyNoInteractions(accountRepository, mailSender, eventEmailTemplateCache);
+		assertEquals(3, meterRegistry.get("pareidolia.mail.outbox.pending").gauge().value());
+	}
+
+	@Test
+	void testFailedBatchKeepsProgressOfPreviousBatchesAndRetriesWithBackoff() {
+		entry.setAttempts(1);
+		stubRecipients(0L, 1L, 2L);
+		stubRecipients(2L, 3L, 4L);
+		doNothing().doThrow(new RuntimeException("Something went wrong with email"))
+			.when(mailSender).sendPreparedMails(anyList(), any(PreparedMail.class), anyString());
+
+		dispatcher.process(entry);
+
+		verify(eventEmailOutboxService).fail(7L, 2L, Duration.ofSeconds(20), "Something went wrong with email");
+		verify(eventEmailOutboxService, never()).complete(anyLong(), anyLong());
+		assertEquals(1, meterRegistry.get("pareidolia.mail.outbox.batch").tag("result", "failure").timer().count());
+	}
+
+	@Test
+	void testEntryIsAbandonedAfterMaxAttempts() {
+		entry.setAttempts(2);
+		stubRecipients(0L, 1L);
+		doThrow(new RuntimeException("Something went wrong with email"))
+			.when(mailSender).sendPreparedMails(anyList(), any(PreparedMail.class), anyString());
+
+		dispatcher.process(entry);
+
+		verify(eventEmailOutboxService).fail(7L, 0L, null, "Something went wrong with email");
+		assertEquals(1, meterRegistry.get("pareidolia.mail.outbox.abandoned").counter().count());
+	}
+
+	@Test
+	void testEntryOfDeletedEventIsCompletedWithoutSending() {
+		when(eventRepository.findById(1L)).thenReturn(Optional.empty());
+
+		dispatcher.process(entry);
+
+		verify(eventEmailOutboxService).complete(7L, 0L);
+		verifyNoInteractions(accountRepository, mailSender);
+	}
+}
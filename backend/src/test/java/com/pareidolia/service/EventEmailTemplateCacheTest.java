@@ -0,0 +1,83 @@
+package com.pareidolia.service;
+
+import com.pareidolia.configuration.mail.CustomMailSender;
+import com.pareidolia.configuration.mail.PreparedMail;
+import com.pareidolia.entity.Account;
+import com.pareidolia.entity.Event;
+import com.pareidolia.strategy.email.event.EmailEventType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventEmailTemplateCacheTest {
+
+	@Mock
+	private CustomMailSender mailSender;
+
+	private EventEmailTemplateCache eventEmailTemplateCache;
+	private Event event;
+
+	@BeforeEach
+	void setUp() {
+		eventEmailTemplateCache = new EventEmailTemplateCache(mailSender);
+
+		event = new Event();
+		event.setId(1L);
+		event.setTitle("Test Event");
+		event.setLastUpdate(LocalDateTime.of(2024, 3, 15, 10, 0));
+
+		lenient().when(mailSender.prepareMail(anyString(), anyString(), eq(false)))
+			.thenAnswer(invocation -> new PreparedMail(invocation.getArgument(0), List.of(), new byte[0]));
+	}
+
+	@Test
+	void testMailIsRenderedOncePerStrategyEventAndType() {
+		PreparedMail first = eventEmailTemplateCache.get(EmailEventType.CREATED, event, Account.Type.CONSUMER);
+		PreparedMail second = eventEmailTemplateCache.get(EmailEventType.CREATED, event, Account.Type.CONSUMER);
+
+		assertSame(first, second);
+		assertEquals("Nuovo evento: Test Event", first.subject());
+		verify(mailSender, times(1)).prepareMail(anyString(), anyString(), eq(false));
+	}
+
+	@Test
+	void testEachRecipientTypeAndEmailTypeHasItsOwnMail() {
+		PreparedMail consumer = eventEmailTemplateCache.get(EmailEventType.CREATED, event, Account.Type.CONSUMER);
+		PreparedMail reviewer = eventEmailTemplateCache.get(EmailEventType.CREATED, event, Account.Type.REVIEWER);
+		PreparedMail updated = eventEmailTemplateCache.get(EmailEventType.UPDATED, event, Account.Type.CONSUMER);
+
+		assertEquals("Nuovo evento da revisionare: Test Event", reviewer.subject());
+		assertEquals("Aggiornamento evento: Test Event", updated.subject());
+		assertNotEquals(consumer.subject(), reviewer.subject());
+		assertEquals(3, eventEmailTemplateCache.size());
+	}
+
+	@Test
+	void testUpdatedEventIsRenderedAgain() {
+		eventEmailTemplateCache.get(EmailEventType.UPDATED, event, Account.Type.CONSUMER);
+
+		event.setTitle("Renamed Event");
+		event.setLastUpdate(event.getLastUpdate().plusMinutes(1));
+		PreparedMail mail = eventEmailTemplateCache.get(EmailEventType.UPDATED, event, Account.Type.CONSUMER);
+
+		assertEquals("Aggiornamento evento: Renamed Event", mail.subject());
+		verify(mailSender, times(2)).prepareMail(anyString(), anyString(), eq(false));
+	}
+
+	@Test
+	void testAdminRecipientsAreRejected() {
+		assertThrows(IllegalArgumentException.class, () ->
+			eventEmailTemplateCache.get(EmailEventType.CREATED, event, Account.Type.ADMIN)
+		);
+	}
+}
@@ -0,0 +1,143 @@
+package com.pareidolia.service;
+
+import com.pareidolia.util.TestImageGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageServiceTest {
+
+	@TempDir
+	Path uploadDir;
+
+	private final List<Runnable> tasks = new ArrayList<>();
+	private SimpleMeterRegistry meterRegistry;
+	private ImageService imageService;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		imageService = new ImageService(tasks::add, meterRegistry, uploadDir.toString(), "TEST_URL", "thumbnail-", List.of(200, 400, 800));
+	}
+
+	private static byte[] image(int width, int height) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "jpg", outputStream);
+		return outputStream.toByteArray();
+	}
+
+	private double pending() {
+		return meterRegistry.get("pareidolia.image.renditions.pending").gauge().value();
+	}
+
+	@Test
+	void testSaveImageReturnsBeforeRenditionsAreCreated() throws IOException {
+		String url = imageService.saveImage(new MockMultipartFile("file", "photo.jpg", "image/jpeg", image(1600, 800)));
+
+		assertTrue(url.startsWith("TEST_URL/thumbnail-200-"));
+		String renditionName = url.substring("TEST_URL/".length());
+		String originalName = renditionName.substring("thumbnail-200-".length());
+		assertTrue(Files.exists(uploadDir.resolve(originalName)));
+		assertFalse(Files.exists(uploadDir.resolve(renditionName)));
+		assertEquals(Optional.of(originalName), imageService.findOriginalOfMissingRendition(renditionName));
+		assertEquals(1, pending());
+		// La richiesta della versione mancante non accoda una seconda elaborazione
+		assertEquals(1, tasks.size());
+	}
+
+	@Test
+	void testRenditionsAreCreatedWithConfiguredWidths() throws IOException {
+		String url = imageService.saveImage(new MockMultipartFile("file", "photo.jpg", "image/jpeg", image(1600, 800)));
+		String originalName = url.substring("TEST_URL/thumbnail-200-".length());
+
+		tasks.forEach(Runnable::run);
+
+		for (int width : List.of(200, 400, 800)) {
+			BufferedImage rendition = ImageIO.read(uploadDir.resolve("thumbnail-" + width + "-" + originalName).toFile());
+			assertEquals(width, rendition.getWidth());
+			assertEquals(width / 2, rendition.getHeight());
+		}
+		assertEquals(Optional.empty(), imageService.findOriginalOfMissingRendition("thumbnail-200-" + originalName));
+		assertEquals(0, pending());
+		assertEquals(1, meterRegistry.get("pareidolia.image.renditions.duration").tag("result", "success").timer().count());
+	}
+
+	@Test
+	void testSmallImagesAreNotUpscaled() throws IOException {
+		String url = imageService.saveImage(new MockMultipartFile("file", "photo.jpg", "image/jpeg", TestImageGenerator.generateTestImage()));
+		String originalName = url.substring("TEST_URL/thumbnail-200-".length());
+
+		tasks.forEach(Runnable::run);
+
+		assertEquals(100, ImageIO.read(uploadDir.resolve("thumbnail-800-" + originalName).toFile()).getWidth());
+	}
+
+	@Test
+	void testInvalidImageIsRecordedAsFailure() throws IOException {
+		String url = imageService.saveImage(new MockMultipartFile("file", "photo.jpg", "image/jpeg", new byte[]{1, 2, 3}));
+		String renditionName = url.substring("TEST_URL/".length());
+
+		tasks.forEach(Runnable::run);
+
+		// L'URL restituito serve l'originale invece di rispondere 404
+		assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(uploadDir.resolve(renditionName)));
+		assertEquals(Optional.empty(), imageService.findOriginalOfMissingRendition(renditionName));
+		assertEquals(1, meterRegistry.get("pareidolia.image.renditions.duration").tag("result", "failure").timer().count());
+	}
+
+	@Test
+	void testFullQueueServesOriginal() throws IOException {
+		SimpleMeterRegistry rejectingRegistry = new SimpleMeterRegistry();
+		ImageService rejectingService = new ImageService(task -> {
+			throw new TaskRejectedException("Queue full");
+		}, rejectingRegistry, uploadDir.toString(), "TEST_URL", "thumbnail-", List.of(200, 400, 800));
+
+		String url = rejectingService.saveImage(new MockMultipartFile("file", "photo.jpg", "image/jpeg", image(1600, 800)));
+
+		String originalName = url.substring("TEST_URL/".length());
+		assertFalse(originalName.startsWith("thumbnail-"));
+		assertTrue(Files.exists(uploadDir.resolve(originalName)));
+		assertEquals(1, rejectingRegistry.get("pareidolia.image.renditions.skipped").counter().count());
+		assertEquals(0, rejectingRegistry.get("pareidolia.image.renditions.pending").gauge().value());
+	}
+
+	@Test
+	void testMissingRenditionIsRegeneratedOnDemand() throws IOException {
+		// Setup: un originale le cui versioni sono andate perse, ad esempio per un riavvio durante l'elaborazione
+		Files.write(uploadDir.resolve("lost.jpg"), image(1600, 800));
+
+		// Act
+		Optional<String> original = imageService.findOriginalOfMissingRendition("thumbnail-400-lost.jpg");
+
+		// Assert
+		assertEquals(Optional.of("lost.jpg"), original);
+		assertEquals(1, tasks.size());
+		tasks.forEach(Runnable::run);
+		assertEquals(400, ImageIO.read(uploadDir.resolve("thumbnail-400-lost.jpg").toFile()).getWidth());
+		assertEquals(Optional.empty(), imageService.findOriginalOfMissingRendition("thumbnail-400-lost.jpg"));
+	}
+
+	@Test
+	void testUnknownRenditionIsNotRegenerated() throws IOException {
+		Files.write(uploadDir.resolve("photo.jpg"), image(1600, 800));
+
+		assertEquals(Optional.empty(), imageService.findOriginalOfMissingRendition("thumbnail-300-photo.jpg"));
+		assertEquals(Optional.empty(), imageService.findOriginalOfMissingRendition("thumbnail-200-missing.jpg"));
+		assertTrue(tasks.isEmpty());
+	}
+}
@@ -0,0 +1,43 @@
+package com.pareidolia.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ParticipantCountReconcilerTest {
+
+	@Mock
+	private ParticipantCountService participantCountService;
+
+	private SimpleMeterRegistry meterRegistry;
+	private ParticipantCountReconciler reconciler;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		// Blocchi da 2 eventi
+		reconciler = new ParticipantCountReconciler(participantCountService, meterRegistry, 2);
+	}
+
+	@Test
+	void testReconcileUsesTheServiceAndItsMetrics() {
+		when(participantCountService.findEventIdsAfter(0L, 2)).thenReturn(List.of(1L, 2L));
+		when(participantCountService.findEventIdsAfter(2L, 2)).thenReturn(List.of());
+		when(participantCountService.reconcile(List.of(1L, 2L))).thenReturn(List.of(2L));
+
+		int reconciled = reconciler.reconcile();
+
+		assertEquals(1, reconciled);
+		assertEquals(1, meterRegistry.get("pareidolia.event.participants.drift").counter().count());
+		assertEquals(1, meterRegistry.get("pareidolia.event.participants.reconciliation").timer().count());
+	}
+}
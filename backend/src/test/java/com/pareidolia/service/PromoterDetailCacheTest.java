@@ -0,0 +1,118 @@
+package com.pareidolia.service;
+
+import com.pareidolia.configuration.MapperConfiguration;
+import com.pareidolia.dto.PromoterDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PromoterDetailCacheTest {
+
+	private SimpleMeterRegistry meterRegistry;
+	private PromoterDetailCache promoterDetailCache;
+	private AtomicInteger loads;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		promoterDetailCache = new PromoterDetailCache(new MapperConfiguration().mapper(), meterRegistry, 2, 60);
+		loads = new AtomicInteger();
+	}
+
+	private final Function<Long, PromoterDTO> loader = id -> {
+		loads.incrementAndGet();
+		PromoterDTO promoter = new PromoterDTO();
+		promoter.setId(id);
+		promoter.setName("Promoter " + id);
+		return promoter;
+	};
+
+	private double requests(String result) {
+		return meterRegistry.get("pareidolia.promoter.detail.cache.requests").tag("result", result).counter().count();
+	}
+
+	@Test
+	void testGetSerializesOnceWithStableETag() {
+		SerializedBody first = promoterDetailCache.get(1L, loader);
+		SerializedBody second = promoterDetailCache.get(1L, loader);
+
+		assertEquals(1, loads.get());
+		assertSame(first, second);
+		assertTrue(new String(first.bytes(), StandardCharsets.UTF_8).contains("\"name\":\"Promoter 1\""));
+		assertEquals(first.eTag(), SerializedBody.of(new MapperConfiguration().mapper(), loader.apply(1L)).eTag());
+		assertEquals(1, requests("hit"));
+		assertEquals(1, requests("miss"));
+	}
+
+	@Test
+	void testInvalidateForcesReload() {
+		promoterDetailCache.get(1L, loader);
+
+		promoterDetailCache.invalidateAfterCommit(1L);
+		promoterDetailCache.get(1L, loader);
+
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void testLoadStartedBeforeInvalidationIsNotStored() {
+		promoterDetailCache.get(1L, id -> {
+			PromoterDTO promoter = loader.apply(id);
+			// Una modifica concorrente invalida il promotore mentre il caricamento è in corso
+			promoterDetailCache.invalidate(id);
+			return promoter;
+		});
+
+		assertEquals(0, promoterDetailCache.size());
+	}
+
+	@Test
+	void testLoadIsStoredDespiteInvalidationOfAnotherPromoter() {
+		promoterDetailCache.get(1L, id -> {
+			PromoterDTO promoter = loader.apply(id);
+			// La modifica concorrente di un altro promotore non scarta il caricamento
+			promoterDetailCache.invalidate(2L);
+			return promoter;
+		});
+		promoterDetailCache.get(1L, loader);
+
+		assertEquals(1, promoterDetailCache.size());
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void testLoaderExceptionsArePropagatedAndNotCached() {
+		assertThrows(IllegalArgumentException.class, () -> promoterDetailCache.get(1L, id -> {
+			throw new IllegalArgumentException("Promoter not found");
+		}));
+
+		assertEquals(0, promoterDetailCache.size());
+	}
+
+	@Test
+	void testSizeEvictionDropsLeastRecentlyUsed() {
+		promoterDetailCache.get(1L, loader);
+		promoterDetailCache.get(2L, loader);
+		promoterDetailCache.get(1L, loader);
+		promoterDetailCache.get(3L, loader);
+
+		assertEquals(2, promoterDetailCache.size());
+		assertEquals(1, meterRegistry.get("pareidolia.promoter.detail.cache.evictions").counter().count());
+	}
+
+	@Test
+	void testExpiredEntriesAreReloaded() {
+		promoterDetailCache = new PromoterDetailCache(new MapperConfiguration().mapper(), new SimpleMeterRegistry(), 2, 0);
+
+		promoterDetailCache.get(1L, loader);
+		promoterDetailCache.get(1L, loader);
+
+		assertEquals(2, loads.get());
+	}
+}
@@ -0,0 +1,100 @@
+package com.pareidolia.service;
+
+import com.pareidolia.configuration.MapperConfiguration;
+import com.pareidolia.dto.PromoterDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PromoterDirectoryCacheTest {
+
+	private SimpleMeterRegistry meterRegistry;
+	private PromoterDirectoryCache promoterDirectoryCache;
+	private AtomicInteger loads;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		promoterDirectoryCache = new PromoterDirectoryCache(new MapperConfiguration().mapper(), meterRegistry, 2, 60);
+		loads = new AtomicInteger();
+	}
+
+	private final Function<Pageable, Page<PromoterDTO>> loader = pageable -> {
+		loads.incrementAndGet();
+		PromoterDTO promoter = new PromoterDTO();
+		promoter.setId((long) pageable.getPageNumber() + 1);
+		return new PageImpl<>(List.of(promoter), pageable, 10);
+	};
+
+	private double requests(String result) {
+		return meterRegistry.get("pareidolia.promoter.directory.cache.requests").tag("result", result).counter().count();
+	}
+
+	@Test
+	void testPagesAreCachedPerPageable() {
+		SerializedBody first = promoterDirectoryCache.get(PageRequest.of(0, 10), loader);
+		SerializedBody second = promoterDirectoryCache.get(PageRequest.of(0, 10), loader);
+		SerializedBody other = promoterDirectoryCache.get(PageRequest.of(1, 10), loader);
+
+		assertSame(first, second);
+		assertNotEquals(first.eTag(), other.eTag());
+		assertEquals(2, loads.get());
+		assertEquals(1, requests("hit"));
+		assertEquals(2, requests("miss"));
+	}
+
+	@Test
+	void testInvalidateClearsAllPages() {
+		promoterDirectoryCache.get(PageRequest.of(0, 10), loader);
+		promoterDirectoryCache.get(PageRequest.of(1, 10), loader);
+
+		promoterDirectoryCache.invalidateAfterCommit();
+
+		assertEquals(0, promoterDirectoryCache.size());
+		promoterDirectoryCache.get(PageRequest.of(0, 10), loader);
+		assertEquals(3, loads.get());
+	}
+
+	@Test
+	void testLoadStartedBeforeInvalidationIsNotStored() {
+		promoterDirectoryCache.get(PageRequest.of(0, 10), pageable -> {
+			Page<PromoterDTO> page = loader.apply(pageable);
+			// Una modifica concorrente svuota l'elenco mentre il caricamento è in corso
+			promoterDirectoryCache.invalidate();
+			return page;
+		});
+
+		assertEquals(0, promoterDirectoryCache.size());
+	}
+
+	@Test
+	void testSizeEvictionDropsLeastRecentlyUsed() {
+		promoterDirectoryCache.get(PageRequest.of(0, 10), loader);
+		promoterDirectoryCache.get(PageRequest.of(1, 10), loader);
+		promoterDirectoryCache.get(PageRequest.of(0, 10), loader);
+		promoterDirectoryCache.get(PageRequest.of(2, 10), loader);
+
+		assertEquals(2, promoterDirectoryCache.size());
+		assertEquals(1, meterRegistry.get("pareidolia.promoter.directory.cache.evictions").counter().count());
+	}
+
+	@Test
+	void testExpiredPagesAreReloaded() {
+		promoterDirectoryCache = new PromoterDirectoryCache(new MapperConfiguration().mapper(), new SimpleMeterRegistry(), 2, 0);
+
+		promoterDirectoryCache.get(PageRequest.of(0, 10), loader);
+		promoterDirectoryCache.get(PageRequest.of(0, 10), loader);
+
+		assertEquals(2, loads.get());
+	}
+}
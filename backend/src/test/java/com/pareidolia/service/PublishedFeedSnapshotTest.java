@@ -0,0 +1,142 @@
+package com.pareidolia.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pareidolia.configuration.MapperConfiguration;
+import com.pareidolia.entity.Event;
+import com.pareidolia.repository.EventPromoterAssociationRepository;
+import com.pareidolia.repository.EventRepository;
+import com.pareidolia.state.DraftState;
+import com.pareidolia.state.PublishedState;
+import com.pareidolia.state.State;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PublishedFeedSnapshotTest {
+
+	@Mock
+	private EventRepository eventRepository;
+
+	@Mock
+	private EventPromoterAssociationRepository eventPromoterAssociationRepository;
+
+	private final ObjectMapper objectMapper = new MapperConfiguration().mapper();
+	private PublishedFeedSnapshot publishedFeedSnapshot;
+
+	@BeforeEach
+	void setUp() {
+		// 2 pagine da 2 eventi
+		publishedFeedSnapshot = new PublishedFeedSnapshot(objectMapper, eventRepository, eventPromoterAssociationRepository,
+			new SimpleMeterRegistry(), true, 2, 2);
+		lenient().when(eventPromoterAssociationRepository.findPromotersGroupedByIdEvent(any())).thenReturn(Map.of());
+		lenient().when(eventRepository.findAllByStateAndIdLessThan(any(), eq(Long.MAX_VALUE), any()))
+			.thenReturn(List.of(event(5L, PublishedState.name), event(4L, PublishedState.name), event(3L, PublishedState.name)));
+		lenient().when(eventRepository.countByState(any())).thenReturn(3L);
+	}
+
+	private static Event event(Long id, String state) {
+		Event event = Event.builder().id(id).title("Event " + id).build();
+		event.setState(State.fromString(state, event));
+		return event;
+	}
+
+	private List<Long> ids(byte[] page) throws IOException {
+		JsonNode content = objectMapper.readTree(page).get("content");
+		return StreamSupport.stream(content.spliterator(), false).map(node -> node.get("id").asLong()).toList();
+	}
+
+	@Test
+	void testNothingIsServedBeforeTheFirstBuild() {
+		assertTrue(publishedFeedSnapshot.get(null, null).isEmpty());
+	}
+
+	@Test
+	void testRebuildServesTheFirstPages() throws IOException {
+		publishedFeedSnapshot.rebuild();
+
+		byte[] first = publishedFeedSnapshot.get(null, null).orElseThrow().bytes();
+		assertEquals(List.of(5L, 4L), ids(first));
+		assertEquals(3, objectMapper.readTree(first).get("totalElements").asLong());
+		assertEquals(List.of(3L), ids(publishedFeedSnapshot.get(1, 2).orElseThrow().bytes()));
+		// Le dimensioni minori vengono portate al minimo dalla paginazione
+		assertTrue(publishedFeedSnapshot.get(0, 1).isPresent());
+	}
+
+	@Test
+	void testRequestsOutsideTheSnapshotAreNotServed() {
+		publishedFeedSnapshot.rebuild();
+
+		assertTrue(publishedFeedSnapshot.get(2, null).isEmpty());
+		assertTrue(publishedFeedSnapshot.get(0, 50).isEmpty());
+	}
+
+	@Test
+	void testRefreshInsertsNewlyPublishedEvent() throws IOException {
+		publishedFeedSnapshot.rebuild();
+		when(eventRepository.findById(6L)).thenReturn(Optional.of(event(6L, PublishedState.name)));
+
+		publishedFeedSnapshot.refresh(6L);
+
+		assertEquals(List.of(6L, 5L), ids(publishedFeedSnapshot.get(0, null).orElseThrow().bytes()));
+		assertEquals(List.of(4L, 3L), ids(publishedFeedSnapshot.get(1, null).orElseThrow().bytes()));
+	}
+
+	@Test
+	void testRefreshRemovesUnpublishedEventAndFillsTheGap() throws IOException {
+		publishedFeedSnapshot.rebuild();
+		when(eventRepository.findById(4L)).thenReturn(Optional.of(event(4L, DraftState.name)));
+		when(eventRepository.findAllByStateAndIdLessThan(any(), eq(3L), any())).thenReturn(List.of(event(2L, PublishedState.name)));
+
+		publishedFeedSnapshot.refresh(4L);
+
+		assertEquals(List.of(5L, 3L), ids(publishedFeedSnapshot.get(0, null).orElseThrow().bytes()));
+		assertEquals(List.of(2L), ids(publishedFeedSnapshot.get(1, null).orElseThrow().bytes()));
+	}
+
+	@Test
+	void testRefreshBeforeTheFirstBuildDoesNothing() {
+		publishedFeedSnapshot.refresh(6L);
+
+		verify(eventRepository, never()).findById(any());
+		assertTrue(publishedFeedSnapshot.get(null, null).isEmpty());
+	}
+
+	@Test
+	void testRebuildAfterCommitOnlyWhenSnapshotContainsTheEvents() {
+		publishedFeedSnapshot.rebuild();
+
+		// Senza transazione attiva la ricostruzione è immediata
+		publishedFeedSnapshot.rebuildAfterCommit(List.of(1L, 2L));
+		verify(eventRepository, times(1)).findAllByStateAndIdLessThan(any(), eq(Long.MAX_VALUE), any());
+
+		publishedFeedSnapshot.rebuildAfterCommit(List.of(1L, 4L));
+		verify(eventRepository, times(2)).findAllByStateAndIdLessThan(any(), eq(Long.MAX_VALUE), any());
+	}
+
+	@Test
+	void testDisabledSnapshotIsNeverBuilt() {
+		publishedFeedSnapshot = new PublishedFeedSnapshot(objectMapper, eventRepository, eventPromoterAssociationRepository,
+			new SimpleMeterRegistry(), false, 2, 2);
+
+		publishedFeedSnapshot.rebuild();
+
+		assertTrue(publishedFeedSnapshot.get(null, null).isEmpty());
+		verifyNoInteractions(eventRepository);
+	}
+}
@@ -0,0 +1,43 @@
+package com.pareidolia.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewStatsReconcilerTest {
+
+	@Mock
+	private ReviewStatsService reviewStatsService;
+
+	private SimpleMeterRegistry meterRegistry;
+	private ReviewStatsReconciler reconciler;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		// Blocchi da 2 eventi
+		reconciler = new ReviewStatsReconciler(reviewStatsService, meterRegistry, 2);
+	}
+
+	@Test
+	void testReconcileUsesTheServiceAndItsMetrics() {
+		when(reviewStatsService.findEventIdsAfter(0L, 2)).thenReturn(List.of(1L, 2L));
+		when(reviewStatsService.findEventIdsAfter(2L, 2)).thenReturn(List.of());
+		when(reviewStatsService.reconcile(List.of(1L, 2L))).thenReturn(List.of(2L));
+
+		int reconciled = reconciler.reconcile();
+
+		assertEquals(1, reconciled);
+		assertEquals(1, meterRegistry.get("pareidolia.review.stats.drift").counter().count());
+		assertEquals(1, meterRegistry.get("pareidolia.review.stats.reconciliation").timer().count());
+	}
+}
@@ -3,7 +3,13 @@ package com.pareidolia.service.admin;
 import com.github.dockerjava.zerodep.shaded.org.apache.commons.codec.digest.DigestUtils;
 import com.pareidolia.dto.ConsumerDTO;
 import com.pareidolia.entity.Account;
+import com.pareidolia.entity.Booking;
+import com.pareidolia.entity.Event;
 import com.pareidolia.repository.AccountRepository;
+import com.pareidolia.repository.BookingRepository;
+import com.pareidolia.repository.EventRepository;
+import com.pareidolia.state.DraftState;
+import com.pareidolia.state.State;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +23,10 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace.NONE;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
@@ -37,6 +47,10 @@ public class AdminConsumerServiceTest {
 	private AdminConsumerService adminConsumerService;
 	@Autowired
 	private AccountRepository accountRepository;
+	@Autowired
+	private EventRepository eventRepository;
+	@Autowired
+	private BookingRepository bookingRepository;
 	private Account adminAccount;
 	private Account consumerAccount;
 
@@ -134,6 +148,33 @@ public class AdminConsumerServiceTest {
 		assertFalse(accountRepository.findById(consumerAccount.getId()).isPresent());
 	}
 
+	@Test
+	@WithMockUser(username = adminEmail, authorities = {"ADMIN"})
+	void testDeleteReleasesBookedSeats() {
+		// Setup
+		Event event = eventRepository.save(Event.builder()
+			.title("Test Event")
+			.description("Test Description")
+			.place("Test Place")
+			.date(LocalDate.now().plusDays(7))
+			.time(LocalTime.of(20, 0))
+			.duration(Duration.ofHours(2))
+			.maxNumberOfParticipants(100L)
+			.state(State.fromString(DraftState.name, null))
+			.build());
+		bookingRepository.save(Booking.builder()
+			.idEvent(event.getId())
+			.idAccount(consumerAccount.getId())
+			.build());
+		eventRepository.incrementCurrentParticipants(event.getId());
+
+		// Act
+		adminConsumerService.delete(consumerAccount.getId());
+
+		// Assert
+		assertEquals(0L, eventRepository.findCurrentParticipantsById(event.getId()));
+	}
+
 	@Test
 	@WithMockUser(username = adminEmail, authorities = {"ADMIN"})
 	void testGetDataWithInvalidId() {
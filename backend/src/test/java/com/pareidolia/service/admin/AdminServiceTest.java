@@ -210,7 +210,7 @@ public class AdminServiceTest {
 		request.setCurrentPassword(adminPassword);
 		request.setNewPassword("TestPassword123!");
 
-		doReturn(authToken).when(jwtService).create(any(), any(), any());
+		doReturn(authToken).when(jwtService).create(any());
 
 		// Act
 		AccountLoginDTO updatedDTO = adminService.updatePassword(request);
@@ -224,7 +224,7 @@ public class AdminServiceTest {
 		assertEquals(adminAccount.getReferenceType().name(), updatedDTO.getReferenceType());
 		assertEquals(authToken, updatedDTO.getAuthToken());
 
-		verify(jwtService).create(eq(Account.Type.ADMIN), eq(adminAccount.getEmail()), eq(DigestUtils.sha3_256Hex(request.getNewPassword())));
+		verify(jwtService).create(argThat(account -> account.getEmail().equals(adminAccount.getEmail()) && account.getTokenVersion() == 1));
 		verifyNoMoreInteractions(jwtService);
 	}
 
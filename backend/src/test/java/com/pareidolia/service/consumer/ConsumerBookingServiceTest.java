@@ -2,7 +2,9 @@ package com.pareidolia.service.consumer;
 
 import com.github.dockerjava.zerodep.shaded.org.apache.commons.codec.digest.DigestUtils;
 import com.pareidolia.dto.BookingDTO;
+import com.pareidolia.dto.CursorSliceDTO;
 import com.pareidolia.entity.*;
+import com.pareidolia.mapper.CursorSliceMapper;
 import com.pareidolia.repository.*;
 import com.pareidolia.state.PublishedState;
 import com.pareidolia.state.State;
@@ -137,6 +139,22 @@ public class ConsumerBookingServiceTest {
 		assertEquals(testBooking.getId(), bookings.getContent().get(0).getId());
 	}
 
+	@Test
+	@WithMockUser(username = consumerEmail, authorities = {"CONSUMER"})
+	void testGetBookingsAfter() {
+		// Act
+		CursorSliceDTO<BookingDTO> first = consumerBookingService.getBookingsAfter(null, 20);
+		CursorSliceDTO<BookingDTO> after = consumerBookingService.getBookingsAfter(CursorSliceMapper.encode(testBooking.getId()), 20);
+
+		// Assert
+		assertEquals(1, first.getContent().size());
+		assertEquals(testBooking.getId(), first.getContent().get(0).getId());
+		assertEquals(testEvent.getId(), first.getContent().get(0).getEvent().getId());
+		assertFalse(first.isHasNext());
+		assertNull(first.getNextCursor());
+		assertTrue(after.getContent().isEmpty());
+	}
+
 	@Test
 	@WithMockUser(username = consumerEmail, authorities = {"CONSUMER"})
 	void testCreate() {
@@ -164,6 +182,69 @@ public class ConsumerBookingServiceTest {
 		assertEquals(newEvent.getId(), createdBookingDTO.getEvent().getId());
 	}
 
+	@Test
+	@WithMockUser(username = consumerEmail, authorities = {"CONSUMER"})
+	void testCreateIncrementsCurrentParticipants() {
+		// Arrange
+		Event newEvent = eventRepository.save(Event.builder()
+			.title("Counter Test Event")
+			.description("Counter Description")
+			.place("Counter Place")
+			.date(LocalDate.now().plusDays(14))
+			.time(LocalTime.of(21, 0))
+			.duration(Duration.ofHours(3))
+			.maxNumberOfParticipants(2L)
+			.state(State.fromString(PublishedState.name, null))
+			.build());
+
+		// Act
+		BookingDTO createdBookingDTO = consumerBookingService.create(newEvent.getId());
+
+		// Assert
+		assertEquals(1L, createdBookingDTO.getEvent().getCurrentParticipants());
+		assertEquals(1L, eventRepository.findCurrentParticipantsById(newEvent.getId()));
+	}
+
+	@Test
+	@WithMockUser(username = consumerEmail, authorities = {"CONSUMER"})
+	void testCreateFullyBookedByConcurrentReservation() {
+		// Arrange
+		Event newEvent = eventRepository.save(Event.builder()
+			.title("Last Seat Event")
+			.description("Last Seat Description")
+			.place("Last Seat Place")
+			.date(LocalDate.now().plusDays(14))
+			.time(LocalTime.of(21, 0))
+			.duration(Duration.ofHours(3))
+			.maxNumberOfParticipants(1L)
+			.state(State.fromString(PublishedState.name, null))
+			.build());
+		// Simula una prenotazione concorrente che occupa l'ultimo posto dopo la lettura dell'evento
+		assertEquals(1, eventRepository.incrementCurrentParticipants(newEvent.getId()));
+
+		// Act & Assert
+		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+			consumerBookingService.create(newEvent.getId())
+		);
+		assertEquals("Fully booked event", exception.getMessage());
+		assertEquals(1L, eventRepository.findCurrentParticipantsById(newEvent.getId()));
+	}
+
+	@Test
+	@WithMockUser(username = consumerEmail, authorities = {"CONSUMER"})
+	void testDeleteFromEventDecrementsCurrentParticipants() {
+		// Arrange
+		consumerBookingService.deleteFromEvent(testEvent.getId());
+		BookingDTO createdBookingDTO = consumerBookingService.create(testEvent.getId());
+		assertEquals(1L, createdBookingDTO.getEvent().getCurrentParticipants());
+
+		// Act
+		consumerBookingService.deleteFromEvent(testEvent.getId());
+
+		// Assert
+		assertEquals(0L, eventRepository.findCurrentParticipantsById(testEvent.getId()));
+	}
+
 	@Test
 	@WithMockUser(username = consumerEmail, authorities = {"CONSUMER"})
 	void testDelete() {
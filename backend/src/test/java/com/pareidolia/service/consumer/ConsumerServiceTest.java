@@ -86,7 +86,7 @@ public class ConsumerServiceTest {
 		updateDTO.setPhone("+39987654321");
 		updateDTO.setReferenceType(Account.Type.CONSUMER.name());
 
-		doReturn(authToken).when(jwtService).create(any(), any(), any());
+		doReturn(authToken).when(jwtService).create(any());
 
 		// Act
 		AccountLoginDTO updatedDTO = consumerService.update(updateDTO);
@@ -101,7 +101,7 @@ public class ConsumerServiceTest {
 		assertEquals(Account.Type.CONSUMER.name(), updatedDTO.getReferenceType());
 		assertEquals(authToken, updatedDTO.getAuthToken());
 
-		verify(jwtService).create(eq(Account.Type.CONSUMER), eq(updateDTO.getEmail()), eq(DigestUtils.sha3_256Hex(consumerPassword)));
+		verify(jwtService).create(argThat(account -> account.getReferenceType() == Account.Type.CONSUMER && account.getEmail().equals(updateDTO.getEmail())));
 		verifyNoMoreInteractions(jwtService);
 
 		// Verify database update
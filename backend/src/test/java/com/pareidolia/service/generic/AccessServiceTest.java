@@ -95,7 +95,7 @@ public class AccessServiceTest {
 		registrationDTO.setSurname(surname);
 		registrationDTO.setPhone(phone);
 
-		doReturn(authToken).when(jwtService).create(any(), any(), any());
+		doReturn(authToken).when(jwtService).create(any());
 
 		// Act
 		AccountLoginDTO result = accessService.register(registrationDTO);
@@ -110,7 +110,7 @@ public class AccessServiceTest {
 		assertEquals(Account.Type.CONSUMER.name(), result.getReferenceType());
 		assertEquals(authToken, result.getAuthToken());
 
-		verify(jwtService).create(any(), eq(registrationDTO.getEmail()), eq(DigestUtils.sha3_256Hex(registrationDTO.getPassword())));
+		verify(jwtService).create(argThat(account -> account.getEmail().equals(registrationDTO.getEmail())));
 		verifyNoMoreInteractions(jwtService);
 
 		assertEquals(4, accountRepository.count()); // 3 from setup + 1 new
@@ -138,7 +138,7 @@ public class AccessServiceTest {
 		loginDTO.setEmail(consumerEmail);
 		loginDTO.setPassword(password);
 
-		doReturn(authToken).when(jwtService).create(any(), any(), any());
+		doReturn(authToken).when(jwtService).create(any());
 
 		// Act
 		AccountLoginDTO result = accessService.login(loginDTO);
@@ -153,7 +153,7 @@ public class AccessServiceTest {
 		assertEquals(Account.Type.CONSUMER.name(), result.getReferenceType());
 		assertEquals(authToken, result.getAuthToken());
 
-		verify(jwtService).create(any(), eq(consumerEmail), eq(DigestUtils.sha3_256Hex(password)));
+		verify(jwtService).create(argThat(account -> account.getEmail().equals(consumerEmail)));
 		verifyNoMoreInteractions(jwtService);
 	}
 
@@ -164,7 +164,7 @@ public class AccessServiceTest {
 		loginDTO.setEmail(promoterEmail);
 		loginDTO.setPassword(password);
 
-		doReturn(authToken).when(jwtService).create(any(), any(), any());
+		doReturn(authToken).when(jwtService).create(any());
 
 		// Act
 		AccountLoginDTO result = accessService.login(loginDTO);
@@ -179,7 +179,7 @@ public class AccessServiceTest {
 		assertEquals(Account.Type.PROMOTER.name(), result.getReferenceType());
 		assertEquals(authToken, result.getAuthToken());
 
-		verify(jwtService).create(eq(Account.Type.PROMOTER), eq(promoterEmail), eq(DigestUtils.sha3_256Hex(password)));
+		verify(jwtService).create(argThat(account -> account.getReferenceType() == Account.Type.PROMOTER && account.getEmail().equals(promoterEmail)));
 		verifyNoMoreInteractions(jwtService);
 	}
 
@@ -190,7 +190,7 @@ public class AccessServiceTest {
 		loginDTO.setEmail(adminEmail);
 		loginDTO.setPassword(password);
 
-		doReturn(authToken).when(jwtService).create(any(), any(), any());
+		doReturn(authToken).when(jwtService).create(any());
 
 		// Act
 		AccountLoginDTO result = accessService.login(loginDTO);
@@ -205,7 +205,7 @@ public class AccessServiceTest {
 		assertEquals(Account.Type.ADMIN.name(), result.getReferenceType());
 		assertEquals(authToken, result.getAuthToken());
 
-		verify(jwtService).create(eq(Account.Type.ADMIN), eq(adminEmail), eq(DigestUtils.sha3_256Hex(password)));
+		verify(jwtService).create(argThat(account -> account.getReferenceType() == Account.Type.ADMIN && account.getEmail().equals(adminEmail)));
 		verifyNoMoreInteractions(jwtService);
 	}
 
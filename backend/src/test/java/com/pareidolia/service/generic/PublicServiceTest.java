@@ -1,37 +1,59 @@
 package com.pareidolia.service.generic;
 
 import com.github.dockerjava.zerodep.shaded.org.apache.commons.codec.digest.DigestUtils;
+import com.pareidolia.dto.CursorSliceDTO;
 import com.pareidolia.dto.EventDTO;
 import com.pareidolia.dto.PromoterDTO;
+import com.pareidolia.dto.ReviewStatsDTO;
 import com.pareidolia.entity.Account;
 import com.pareidolia.entity.Event;
 import com.pareidolia.entity.EventPromoterAssociation;
 import com.pareidolia.entity.PromoterInfo;
+import com.pareidolia.entity.Review;
 import com.pareidolia.repository.AccountRepository;
 import com.pareidolia.repository.EventPromoterAssociationRepository;
 import com.pareidolia.repository.EventRepository;
 import com.pareidolia.repository.PromoterInfoRepository;
+import com.pareidolia.repository.ReviewRepository;
+import com.pareidolia.service.ReviewStatsService;
 import com.pareidolia.state.DraftState;
 import com.pareidolia.state.PublishedState;
 import com.pareidolia.state.State;
+import com.pareidolia.util.QueryBudget;
+import com.pareidolia.util.TestImageGenerator;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.util.Pair;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace.NONE;
@@ -57,6 +79,12 @@ public class PublicServiceTest {
 	private EventRepository eventRepository;
 	@Autowired
 	private EventPromoterAssociationRepository eventPromoterAssociationRepository;
+	@Autowired
+	private ReviewRepository reviewRepository;
+	@Autowired
+	private ReviewStatsService reviewStatsService;
+	@Autowired
+	private EntityManager entityManager;
 	private Account promoterAccount;
 	private PromoterInfo promoterInfo;
 	private Event publishedEvent;
@@ -114,6 +142,63 @@ public class PublicServiceTest {
 		assertEquals(promoterAccount.getId(), eventDTO.getPromoters().get(0).getId());
 	}
 
+	@Test
+	void testGetEventsAfter() {
+		Event second = eventRepository.save(Event.builder()
+			.title("Second Event")
+			.place("Test Place")
+			.date(LocalDate.now().plusDays(8))
+			.time(LocalTime.of(20, 0))
+			.duration(Duration.ofHours(2))
+			.maxNumberOfParticipants(100L)
+			.state(State.fromString(PublishedState.name, null))
+			.build());
+
+		// Act
+		CursorSliceDTO<EventDTO> first = publicService.getEventsAfter(null, 1);
+		CursorSliceDTO<EventDTO> next = publicService.getEventsAfter(first.getNextCursor(), 1);
+
+		// Assert
+		assertEquals(List.of(second.getId()), first.getContent().stream().map(EventDTO::getId).toList());
+		assertTrue(first.isHasNext());
+		assertEquals(List.of(publishedEvent.getId()), next.getContent().stream().map(EventDTO::getId).toList());
+		assertEquals(1, next.getContent().get(0).getPromoters().size());
+	}
+
+	@Test
+	void testGetEventReviewStats() {
+		Account consumer = accountRepository.save(Account.builder()
+			.email("consumer@test.com")
+			.password(DigestUtils.sha3_256Hex(promoterPassword))
+			.name("Test")
+			.surname("Consumer")
+			.phone("+39123456789")
+			.referenceType(Account.Type.CONSUMER)
+			.build());
+		for (Review review : List.of(
+			Review.builder().title("Great").score(5L).tag("music").build(),
+			Review.builder().title("Good").score(4L).tag(" music ").build(),
+			Review.builder().title("Bad").score(1L).tag("noise").build(),
+			Review.builder().title("Fine").score(4L).build())) {
+			review.setIdConsumer(consumer.getId());
+			review.setIdEvent(publishedEvent.getId());
+			reviewStatsService.addReview(reviewRepository.save(review));
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		// Act
+		ReviewStatsDTO stats = publicService.getEventReviewStats(publishedEvent.getId());
+
+		// Assert
+		assertEquals(4L, stats.getReviewCount());
+		assertEquals(3.5, stats.getAverageScore());
+		assertEquals(Map.of(1L, 1L, 2L, 0L, 3L, 0L, 4L, 2L, 5L, 1L), stats.getScores());
+		assertEquals(List.of("music", "noise"), List.copyOf(stats.getTags().keySet()));
+		assertEquals(2L, stats.getTags().get("music"));
+		assertEquals(1L, stats.getTags().get("noise"));
+	}
+
 	@Test
 	void testGetEvents() {
 		// Act
@@ -126,6 +211,75 @@ public class PublicServiceTest {
 		assertEquals(publishedEvent.getId(), events.getContent().get(0).getId());
 	}
 
+	@Test
+	void testGetEventsStatementCountDoesNotGrowWithPageSize() {
+		Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+
+		// Act - pagina con un solo evento
+		entityManager.flush();
+		entityManager.clear();
+		statistics.clear();
+		Page<EventDTO> singleEventPage = publicService.getEvents(0, 10);
+		long singleEventStatements = statistics.getPrepareStatementCount();
+
+		// Arrange - altri eventi pubblicati con lo stesso promotore
+		for (int i = 0; i < 5; i++) {
+			Event event = eventRepository.save(Event.builder()
+				.title("Test Event " + i)
+				.description("Test Description")
+				.place("Test Place")
+				.date(LocalDate.now().plusDays(7))
+				.time(LocalTime.of(20, 0))
+				.duration(Duration.ofHours(2))
+				.maxNumberOfParticipants(100L)
+				.state(State.fromString(PublishedState.name, null))
+				.build());
+			EventPromoterAssociation association = new EventPromoterAssociation();
+			association.setIdEvent(event.getId());
+			association.setIdPromoter(promoterAccount.getId());
+			eventPromoterAssociationRepository.save(association);
+		}
+
+		// Act - pagina con sei eventi
+		entityManager.flush();
+		entityManager.clear();
+		statistics.clear();
+		Page<EventDTO> multipleEventsPage = publicService.getEvents(0, 10);
+		long multipleEventsStatements = statistics.getPrepareStatementCount();
+
+		// Assert
+		assertEquals(1, singleEventPage.getContent().size());
+		assertEquals(6, multipleEventsPage.getContent().size());
+		multipleEventsPage.getContent().forEach(event -> assertEquals(1, event.getPromoters().size()));
+		assertEquals(singleEventStatements, multipleEventsStatements);
+	}
+
+	@Test
+	void testGetEventsStatementBudget() {
+		entityManager.flush();
+		entityManager.clear();
+
+		// Act - pagina degli eventi, conteggio e promotori caricati in blocco
+		Page<EventDTO> events = QueryBudget.assertMaxStatements(3, () -> publicService.getEvents(0, 10));
+
+		// Assert
+		assertEquals(1, events.getContent().size());
+		assertEquals(1, events.getContent().get(0).getPromoters().size());
+	}
+
+	@Test
+	void testFindPromotersByEventIds() {
+		// Act
+		Map<Long, List<Pair<Account, PromoterInfo>>> promoters = publicService.findPromotersByEventIds(List.of(publishedEvent.getId(), 999L));
+
+		// Assert
+		assertEquals(1, promoters.size());
+		assertEquals(1, promoters.get(publishedEvent.getId()).size());
+		assertEquals(promoterAccount.getId(), promoters.get(publishedEvent.getId()).get(0).getFirst().getId());
+		assertTrue(publicService.findPromotersByEventIds(List.of()).isEmpty());
+	}
+
 	@Test
 	void testFindPromotersByEventId() {
 		// Act
@@ -251,4 +405,32 @@ public class PublicServiceTest {
 		);
 		assertEquals("Promoter not found", exception.getMessage());
 	}
-}
\ No newline at end of file
+
+	@Test
+	void testGetImageStreamsFileWithValidators(@TempDir Path downloadDir) throws IOException {
+		// Arrange
+		byte[] image = TestImageGenerator.generateTestImage();
+		Files.write(downloadDir.resolve("test-image.png"), image);
+		ReflectionTestUtils.setField(AopTestUtils.getTargetObject(publicService), "downloadDir", downloadDir.toString());
+
+		// Act
+		ResponseEntity<Resource> response = publicService.getImage("test-image.png");
+
+		// Assert
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(MediaType.IMAGE_PNG, response.getHeaders().getContentType());
+		assertNotNull(response.getHeaders().getETag());
+		assertTrue(response.getHeaders().getLastModified() > 0);
+		assertInstanceOf(FileSystemResource.class, response.getBody());
+		assertEquals(image.length, response.getBody().contentLength());
+		assertEquals(response.getHeaders().getETag(), publicService.getImage("test-image.png").getHeaders().getETag());
+	}
+
+	@Test
+	void testGetImageNotFound(@TempDir Path downloadDir) {
+		ReflectionTestUtils.setField(AopTestUtils.getTargetObject(publicService), "downloadDir", downloadDir.toString());
+
+		assertEquals(HttpStatus.NOT_FOUND, publicService.getImage("missing.png").getStatusCode());
+		assertEquals(HttpStatus.BAD_REQUEST, publicService.getImage("../missing.png").getStatusCode());
+	}
+}
@@ -19,6 +19,9 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -146,4 +149,42 @@ public class PromoterBookingServiceTest {
 		// Assert
 		assertTrue(bookingRepository.findById(testBooking.getId()).isEmpty());
 	}
-}
\ No newline at end of file
+
+	@Test
+	@WithMockUser(username = promoterEmail, authorities = {"PROMOTER"})
+	void testExportBookings() throws IOException {
+		// Arrange - un partecipante con virgole e una formula nei dati inseriti
+		Account otherConsumer = accountRepository.save(Account.builder()
+			.email("other@test.com")
+			.password(DigestUtils.sha3_256Hex(consumerPassword))
+			.name("=HYPERLINK(\"x\")")
+			.surname("Rossi, Jr")
+			.phone("+39111111111")
+			.referenceType(Account.Type.CONSUMER)
+			.build());
+		Booking otherBooking = bookingRepository.save(Booking.builder()
+			.idEvent(testEvent.getId())
+			.idAccount(otherConsumer.getId())
+			.build());
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		// Act
+		assertEquals("bookings-event-" + testEvent.getId() + ".csv", promoterBookingService.getBookingsExportFileName(testEvent.getId()));
+		promoterBookingService.exportBookings(testEvent.getId(), outputStream);
+
+		// Assert
+		String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\r\n");
+		assertEquals(3, lines.length);
+		assertEquals("\uFEFFbooking_id,account_id,name,surname,email,phone,booking_time", lines[0]);
+		assertTrue(lines[1].startsWith(testBooking.getId() + "," + consumerAccount.getId() + ",Test,Consumer,consumer@test.com,+39987654321,"));
+		assertTrue(lines[2].startsWith(otherBooking.getId() + "," + otherConsumer.getId() + ",\"'=HYPERLINK(\"\"x\"\")\",\"Rossi, Jr\",other@test.com,"));
+	}
+
+	@Test
+	@WithMockUser(username = consumerEmail, authorities = {"PROMOTER"})
+	void testExportBookingsOfAnotherPromoter() {
+		// Act & Assert
+		assertThrows(IllegalArgumentException.class, () -> promoterBookingService.getBookingsExportFileName(testEvent.getId()));
+		assertThrows(IllegalArgumentException.class, () -> promoterBookingService.exportBookings(testEvent.getId(), new ByteArrayOutputStream()));
+	}
+}
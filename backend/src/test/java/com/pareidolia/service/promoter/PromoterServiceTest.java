@@ -127,7 +127,7 @@ public class PromoterServiceTest {
 		updateDTO.setPresentation("Updated presentation");
 		updateDTO.setReferenceType(Account.Type.PROMOTER.name());
 
-		doReturn(authToken).when(jwtService).create(any(), any(), any());
+		doReturn(authToken).when(jwtService).create(any());
 
 		// Act
 		AccountLoginDTO updatedDTO = promoterService.update(updateDTO);
@@ -142,7 +142,7 @@ public class PromoterServiceTest {
 		assertEquals(Account.Type.PROMOTER.name(), updatedDTO.getReferenceType());
 		assertEquals(authToken, updatedDTO.getAuthToken());
 
-		verify(jwtService).create(any(), eq(updateDTO.getEmail()), eq(DigestUtils.sha3_256Hex(accountPassword)));
+		verify(jwtService).create(argThat(account -> account.getEmail().equals(updateDTO.getEmail())));
 		verifyNoMoreInteractions(jwtService);
 
 		// Verify database update
@@ -1,5 +1,6 @@
 package com.pareidolia.service.reviewer;
 
+import com.pareidolia.configuration.pagination.PaginationPolicy;
 import com.pareidolia.dto.BookingDTO;
 import com.pareidolia.entity.Account;
 import com.pareidolia.entity.Booking;
@@ -9,11 +10,13 @@ import com.pareidolia.repository.AccountRepository;
 import com.pareidolia.repository.BookingRepository;
 import com.pareidolia.repository.EventRepository;
 import com.pareidolia.service.generic.PublicService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -48,6 +51,9 @@ class ReviewerBookingServiceTest {
 	@Mock
 	private BookingRepository bookingRepository;
 
+	@Spy
+	private PaginationPolicy paginationPolicy = new PaginationPolicy(new SimpleMeterRegistry(), 10, 100, 20, 200, 100000);
+
 	@InjectMocks
 	private ReviewerBookingService reviewerBookingService;
 
@@ -94,7 +100,7 @@ class ReviewerBookingServiceTest {
 		when(bookingRepository.findById(testBooking.getId())).thenReturn(Optional.of(testBooking));
 		when(accountRepository.findById(testBooking.getIdAccount())).thenReturn(Optional.of(testAccount));
 		when(eventRepository.findById(testBooking.getIdEvent())).thenReturn(Optional.of(testEvent));
-		when(bookingRepository.countByIdEvent(testEvent.getId())).thenReturn(50L);
+		testEvent.setCurrentParticipants(50L);
 		when(publicService.findPromotersByEventId(testEvent.getId())).thenReturn(testPromoterPairs);
 
 		BookingDTO result = reviewerBookingService.getBooking(testBooking.getId());
@@ -138,7 +144,7 @@ class ReviewerBookingServiceTest {
 		Page<Booking> bookingPage = new PageImpl<>(bookings);
 
 		when(eventRepository.findById(testEvent.getId())).thenReturn(Optional.of(testEvent));
-		when(bookingRepository.countByIdEvent(testEvent.getId())).thenReturn(50L);
+		testEvent.setCurrentParticipants(50L);
 		when(bookingRepository.findByIdEvent(eq(testEvent.getId()), any(PageRequest.class)))
 			.thenReturn(bookingPage);
 		when(accountRepository.findById(testAccount.getId())).thenReturn(Optional.of(testAccount));
@@ -166,7 +172,7 @@ class ReviewerBookingServiceTest {
 		Page<Booking> bookingPage = new PageImpl<>(bookings);
 
 		when(eventRepository.findById(testEvent.getId())).thenReturn(Optional.of(testEvent));
-		when(bookingRepository.countByIdEvent(testEvent.getId())).thenReturn(50L);
+		testEvent.setCurrentParticipants(50L);
 		when(bookingRepository.findByIdEvent(eq(testEvent.getId()), any(PageRequest.class)))
 			.thenReturn(bookingPage);
 		when(accountRepository.findById(testAccount.getId())).thenReturn(Optional.of(testAccount));
@@ -184,7 +190,7 @@ class ReviewerBookingServiceTest {
 		Page<Booking> bookingPage = new PageImpl<>(bookings);
 
 		when(eventRepository.findById(testEvent.getId())).thenReturn(Optional.of(testEvent));
-		when(bookingRepository.countByIdEvent(testEvent.getId())).thenReturn(50L);
+		testEvent.setCurrentParticipants(50L);
 		when(bookingRepository.findByIdEvent(eq(testEvent.getId()), any(PageRequest.class)))
 			.thenReturn(bookingPage);
 		when(accountRepository.findById(testAccount.getId())).thenReturn(Optional.of(testAccount));
@@ -1,5 +1,6 @@
 package com.pareidolia.service.reviewer;
 
+import com.pareidolia.configuration.pagination.PaginationPolicy;
 import com.pareidolia.dto.EventDTO;
 import com.pareidolia.dto.ReviewerDTO;
 import com.pareidolia.entity.Account;
@@ -10,18 +11,22 @@ import com.pareidolia.repository.EventPromoterAssociationRepository;
 import com.pareidolia.repository.EventRepository;
 import com.pareidolia.repository.PromoterInfoRepository;
 import com.pareidolia.repository.model.EventWithInfoForAccount;
+import com.pareidolia.service.EventDetailCache;
 import com.pareidolia.service.ImageService;
+import com.pareidolia.service.PublishedFeedSnapshot;
 import com.pareidolia.state.DraftState;
 import com.pareidolia.state.ReviewState;
 import com.pareidolia.state.State;
 import com.pareidolia.validator.EventDraftValidator;
 import com.pareidolia.validator.EventValidator;
 import com.pareidolia.validator.ImageValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -35,6 +40,7 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -73,6 +79,15 @@ class ReviewerEventServiceTest {
 	@Mock
 	private EventPromoterAssociationRepository eventPromoterAssociationRepository;
 
+	@Mock
+	private EventDetailCache eventDetailCache;
+
+	@Mock
+	private PublishedFeedSnapshot publishedFeedSnapshot;
+
+	@Spy
+	private PaginationPolicy paginationPolicy = new PaginationPolicy(new SimpleMeterRegistry(), 10, 100, 20, 200, 100000);
+
 	@InjectMocks
 	private ReviewerEventService reviewerEventService;
 
@@ -119,7 +134,7 @@ class ReviewerEventServiceTest {
 	@Test
 	void testGetEventSuccess() {
 		when(eventRepository.findById(testEvent.getId())).thenReturn(Optional.of(testEvent));
-		when(bookingRepository.countByIdEvent(testEvent.getId())).thenReturn(50L);
+		testEvent.setCurrentParticipants(50L);
 		when(bookingRepository.findByIdEventAndIdAccount(testEvent.getId(), testReviewerDTO.id))
 			.thenReturn(Optional.empty());
 		when(eventPromoterAssociationRepository.findPromotersByIdEvent(testEvent.getId()))
@@ -150,8 +165,8 @@ class ReviewerEventServiceTest {
 		when(reviewerService.getData()).thenReturn(testReviewerDTO);
 		when(eventRepository.findAllByAccountIdWithCount(eq(testReviewerDTO.id), any(PageRequest.class)))
 			.thenReturn(eventPage);
-		when(eventPromoterAssociationRepository.findPromotersByIdEvent(testEvent.getId()))
-			.thenReturn(testPromoterPairs);
+		when(eventPromoterAssociationRepository.findPromotersGroupedByIdEvent(List.of(testEvent.getId())))
+			.thenReturn(Map.of(testEvent.getId(), testPromoterPairs));
 
 		Page<EventDTO> result = reviewerEventService.getEvents(0, 10, null);
 
@@ -159,6 +174,7 @@ class ReviewerEventServiceTest {
 		assertFalse(result.getContent().isEmpty());
 		assertEquals(1, result.getContent().size());
 		assertEquals(testEvent.getId(), result.getContent().get(0).id);
+		assertEquals(1, result.getContent().get(0).promoters.size());
 	}
 
 	@Test
@@ -169,8 +185,8 @@ class ReviewerEventServiceTest {
 		when(reviewerService.getData()).thenReturn(testReviewerDTO);
 		when(eventRepository.findAllByAccountIdAndState(eq(testReviewerDTO.id), eq("DRAFT"), any(PageRequest.class)))
 			.thenReturn(eventPage);
-		when(eventPromoterAssociationRepository.findPromotersByIdEvent(testEvent.getId()))
-			.thenReturn(testPromoterPairs);
+		when(eventPromoterAssociationRepository.findPromotersGroupedByIdEvent(List.of(testEvent.getId())))
+			.thenReturn(Map.of(testEvent.getId(), testPromoterPairs));
 
 		Page<EventDTO> result = reviewerEventService.getEvents(0, 10, "DRAFT");
 
@@ -178,6 +194,7 @@ class ReviewerEventServiceTest {
 		assertFalse(result.getContent().isEmpty());
 		assertEquals(1, result.getContent().size());
 		assertEquals(testEvent.getId(), result.getContent().get(0).id);
+		assertEquals(1, result.getContent().get(0).promoters.size());
 	}
 
 	@Test
@@ -188,8 +205,8 @@ class ReviewerEventServiceTest {
 		when(reviewerService.getData()).thenReturn(testReviewerDTO);
 		when(eventRepository.findAllByAccountIdAndPromoterId(eq(testReviewerDTO.id), eq(2L), any(PageRequest.class)))
 			.thenReturn(eventPage);
-		when(eventPromoterAssociationRepository.findPromotersByIdEvent(testEvent.getId()))
-			.thenReturn(testPromoterPairs);
+		when(eventPromoterAssociationRepository.findPromotersGroupedByIdEvent(List.of(testEvent.getId())))
+			.thenReturn(Map.of(testEvent.getId(), testPromoterPairs));
 
 		Page<EventDTO> result = reviewerEventService.getPromoterEvents(2L, 0, 10, null);
 
@@ -197,6 +214,7 @@ class ReviewerEventServiceTest {
 		assertFalse(result.getContent().isEmpty());
 		assertEquals(1, result.getContent().size());
 		assertEquals(testEvent.getId(), result.getContent().get(0).id);
+		assertEquals(1, result.getContent().get(0).promoters.size());
 	}
 
 	@Test
@@ -208,8 +226,8 @@ class ReviewerEventServiceTest {
 		when(eventRepository.findAllByAccountIdAndStateAndPromoterId(
 			eq(testReviewerDTO.id), eq("DRAFT"), eq(2L), any(PageRequest.class)))
 			.thenReturn(eventPage);
-		when(eventPromoterAssociationRepository.findPromotersByIdEvent(testEvent.getId()))
-			.thenReturn(testPromoterPairs);
+		when(eventPromoterAssociationRepository.findPromotersGroupedByIdEvent(List.of(testEvent.getId())))
+			.thenReturn(Map.of(testEvent.getId(), testPromoterPairs));
 
 		Page<EventDTO> result = reviewerEventService.getPromoterEvents(2L, 0, 10, "DRAFT");
 
@@ -217,6 +235,7 @@ class ReviewerEventServiceTest {
 		assertFalse(result.getContent().isEmpty());
 		assertEquals(1, result.getContent().size());
 		assertEquals(testEvent.getId(), result.getContent().get(0).id);
+		assertEquals(1, result.getContent().get(0).promoters.size());
 	}
 
 	@Test
@@ -228,7 +247,7 @@ class ReviewerEventServiceTest {
 			.thenReturn(testPromoterPairs);
 		when(bookingRepository.findByIdEventAndIdAccount(testEvent.getId(), testReviewerDTO.id))
 			.thenReturn(Optional.empty());
-		when(bookingRepository.countByIdEvent(testEvent.getId())).thenReturn(50L);
+		testEvent.setCurrentParticipants(50L);
 		when(reviewerService.getData()).thenReturn(testReviewerDTO);
 
 		EventDTO result = reviewerEventService.moveBackwards(testEvent.getId());
@@ -236,6 +255,8 @@ class ReviewerEventServiceTest {
 		assertNotNull(result);
 		assertEquals(testEvent.getId(), result.id);
 		verify(eventRepository).save(any(Event.class));
+		verify(eventDetailCache).invalidateAfterCommit(testEvent.getId());
+		verify(publishedFeedSnapshot).refreshAfterCommit(testEvent.getId());
 	}
 
 	@Test
@@ -246,7 +267,7 @@ class ReviewerEventServiceTest {
 			.thenReturn(testPromoterPairs);
 		when(bookingRepository.findByIdEventAndIdAccount(testEvent.getId(), testReviewerDTO.id))
 			.thenReturn(Optional.empty());
-		when(bookingRepository.countByIdEvent(testEvent.getId())).thenReturn(50L);
+		testEvent.setCurrentParticipants(50L);
 		when(reviewerService.getData()).thenReturn(testReviewerDTO);
 
 		EventDTO result = reviewerEventService.moveForward(testEvent.getId());
@@ -254,6 +275,8 @@ class ReviewerEventServiceTest {
 		assertNotNull(result);
 		assertEquals(testEvent.getId(), result.id);
 		verify(eventRepository).save(any(Event.class));
+		verify(eventDetailCache).invalidateAfterCommit(testEvent.getId());
+		verify(publishedFeedSnapshot).refreshAfterCommit(testEvent.getId());
 	}
 
 	@Test
@@ -268,7 +291,7 @@ class ReviewerEventServiceTest {
 			.thenReturn(testPromoterPairs);
 		when(bookingRepository.findByIdEventAndIdAccount(testEvent.getId(), testReviewerDTO.id))
 			.thenReturn(Optional.empty());
-		when(bookingRepository.countByIdEvent(testEvent.getId())).thenReturn(50L);
+		testEvent.setCurrentParticipants(50L);
 		when(reviewerService.getData()).thenReturn(testReviewerDTO);
 
 		EventDTO result = reviewerEventService.updateEventImage(testEvent.getId(), imageFile);
@@ -300,7 +323,7 @@ class ReviewerEventServiceTest {
 			.thenReturn(testPromoterPairs);
 		when(bookingRepository.findByIdEventAndIdAccount(testEvent.getId(), testReviewerDTO.id))
 			.thenReturn(Optional.empty());
-		when(bookingRepository.countByIdEvent(testEvent.getId())).thenReturn(50L);
+		testEvent.setCurrentParticipants(50L);
 		when(reviewerService.getData()).thenReturn(testReviewerDTO);
 
 		EventDTO result = reviewerEventService.deleteEventImage(testEvent.getId());
@@ -1,5 +1,6 @@
 package com.pareidolia.service.reviewer;
 
+import com.pareidolia.configuration.pagination.PaginationPolicy;
 import com.pareidolia.dto.MessageDTO;
 import com.pareidolia.dto.ReviewerDTO;
 import com.pareidolia.entity.Account;
@@ -8,11 +9,13 @@ import com.pareidolia.entity.Message;
 import com.pareidolia.repository.AccountRepository;
 import com.pareidolia.repository.EventRepository;
 import com.pareidolia.repository.MessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -43,6 +46,9 @@ class ReviewerMessageServiceTest {
 	@Mock
 	private EventRepository eventRepository;
 
+	@Spy
+	private PaginationPolicy paginationPolicy = new PaginationPolicy(new SimpleMeterRegistry(), 10, 100, 20, 200, 100000);
+
 	@InjectMocks
 	private ReviewerMessageService reviewerMessageService;
 
@@ -1,18 +1,20 @@
 package com.pareidolia.service.reviewer;
 
+import com.pareidolia.configuration.pagination.PaginationPolicy;
 import com.pareidolia.dto.ReviewDTO;
 import com.pareidolia.entity.Account;
 import com.pareidolia.entity.Event;
 import com.pareidolia.entity.Review;
-import com.pareidolia.repository.AccountRepository;
 import com.pareidolia.repository.EventRepository;
 import com.pareidolia.repository.ReviewRepository;
 import com.pareidolia.validator.ReviewValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -40,8 +42,8 @@ class ReviewerReviewServiceTest {
 	@Mock
 	private ReviewRepository reviewRepository;
 
-	@Mock
-	private AccountRepository accountRepository;
+	@Spy
+	private PaginationPolicy paginationPolicy = new PaginationPolicy(new SimpleMeterRegistry(), 10, 100, 20, 200, 100000);
 
 	@InjectMocks
 	private ReviewerReviewService reviewerReviewService;
@@ -82,7 +84,6 @@ class ReviewerReviewServiceTest {
 		doNothing().when(reviewValidator).validateEventIsOver(testEvent.getId());
 		when(reviewRepository.findAllByIdEvent(eq(testEvent.getId()), any(PageRequest.class)))
 			.thenReturn(reviewPage);
-		when(accountRepository.findById(testAccount.getId())).thenReturn(Optional.of(testAccount));
 
 		Page<ReviewDTO> result = reviewerReviewService.getEventReviews(testEvent.getId(), 0, 10);
 
@@ -128,7 +129,6 @@ class ReviewerReviewServiceTest {
 		doNothing().when(reviewValidator).validateEventIsOver(testEvent.getId());
 		when(reviewRepository.findAllByIdEvent(eq(testEvent.getId()), any(PageRequest.class)))
 			.thenReturn(reviewPage);
-		when(accountRepository.findById(testAccount.getId())).thenReturn(Optional.of(testAccount));
 
 		Page<ReviewDTO> result = reviewerReviewService.getEventReviews(testEvent.getId(), null, null);
 
@@ -146,7 +146,6 @@ class ReviewerReviewServiceTest {
 		doNothing().when(reviewValidator).validateEventIsOver(testEvent.getId());
 		when(reviewRepository.findAllByIdEvent(eq(testEvent.getId()), any(PageRequest.class)))
 			.thenReturn(reviewPage);
-		when(accountRepository.findById(testAccount.getId())).thenReturn(Optional.of(testAccount));
 
 		Page<ReviewDTO> result = reviewerReviewService.getEventReviews(testEvent.getId(), -1, -1);
 
@@ -1,6 +1,9 @@
 package com.pareidolia.service.reviewer;
 
+import com.pareidolia.configuration.security.AuthenticatedUser;
+import com.pareidolia.configuration.security.PrincipalCache;
 import com.pareidolia.configuration.security.jwt.JWTService;
+import com.pareidolia.configuration.security.jwt.TokenVersionRegistry;
 import com.pareidolia.dto.AccountLoginDTO;
 import com.pareidolia.dto.PasswordUpdateDTO;
 import com.pareidolia.dto.ReviewerDTO;
@@ -37,6 +40,10 @@ class ReviewerServiceTest {
 	@Mock
 	private JWTService jwtService;
 	@Mock
+	private PrincipalCache principalCache;
+	@Mock
+	private TokenVersionRegistry tokenVersionRegistry;
+	@Mock
 	private AccountValidator accountValidator;
 	@Mock
 	private AccountRepository accountRepository;
@@ -84,6 +91,17 @@ class ReviewerServiceTest {
 		verify(accountRepository).findByEmail(TEST_EMAIL);
 	}
 
+	@Test
+	void testGetDataWithAuthenticatedUserSkipsRepository() {
+		when(authentication.getPrincipal()).thenReturn(new AuthenticatedUser(testAccount));
+
+		ReviewerDTO result = reviewerService.getData();
+
+		assertNotNull(result);
+		assertEquals(TEST_EMAIL, result.getEmail());
+		verifyNoInteractions(accountRepository);
+	}
+
 	@Test
 	void testGetDataWithInvalidAuthority() {
 		User invalidUser = new User(TEST_EMAIL, TEST_PASSWORD,
@@ -125,14 +143,14 @@ class ReviewerServiceTest {
 		when(accountRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(testAccount));
 		when(accountValidator.getReviewerAndValidateUpdate(any())).thenReturn(testAccount);
 		when(accountRepository.save(any())).thenReturn(testAccount);
-		when(jwtService.create(any(), any(), any())).thenReturn(TEST_TOKEN);
+		when(jwtService.create(any())).thenReturn(TEST_TOKEN);
 
 		AccountLoginDTO result = reviewerService.update(testReviewerDTO);
 
 		assertNotNull(result);
 		assertNotNull(result.getAuthToken());
 		assertEquals(TEST_TOKEN, result.getAuthToken());
-		verify(jwtService).create(any(), any(), any());
+		verify(jwtService).create(any());
 	}
 
 	@Test
@@ -153,8 +171,9 @@ class ReviewerServiceTest {
 
 		when(authentication.getPrincipal()).thenReturn(userDetails);
 		when(accountRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(testAccount));
+		when(accountRepository.findById(testAccount.getId())).thenReturn(Optional.of(testAccount));
 		when(accountRepository.save(any())).thenReturn(testAccount);
-		when(jwtService.create(any(), any(), any())).thenReturn(TEST_TOKEN);
+		when(jwtService.create(any())).thenReturn(TEST_TOKEN);
 
 		AccountLoginDTO result = reviewerService.updatePassword(passwordUpdateDTO);
 
@@ -162,7 +181,9 @@ class ReviewerServiceTest {
 		assertNotNull(result.getAuthToken());
 		assertEquals(TEST_TOKEN, result.getAuthToken());
 		verify(accountRepository).save(any(Account.class));
-		verify(jwtService).create(any(), any(), any());
+		verify(jwtService).create(any());
+		verify(tokenVersionRegistry).revoke(testAccount);
+		verify(principalCache).invalidateAfterCommit(testAccount.getId());
 	}
 
 	@Test
@@ -173,6 +194,7 @@ class ReviewerServiceTest {
 
 		when(authentication.getPrincipal()).thenReturn(userDetails);
 		when(accountRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(testAccount));
+		when(accountRepository.findById(testAccount.getId())).thenReturn(Optional.of(testAccount));
 
 		assertThrows(IllegalArgumentException.class,
 			() -> reviewerService.updatePassword(passwordUpdateDTO));
@@ -185,6 +207,7 @@ class ReviewerServiceTest {
 
 		when(authentication.getPrincipal()).thenReturn(userDetails);
 		when(accountRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(testAccount));
+		when(accountRepository.findById(testAccount.getId())).thenReturn(Optional.of(testAccount));
 
 		assertThrows(IllegalArgumentException.class,
 			() -> reviewerService.updatePassword(passwordUpdateDTO));
@@ -197,6 +220,7 @@ class ReviewerServiceTest {
 
 		when(authentication.getPrincipal()).thenReturn(userDetails);
 		when(accountRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(testAccount));
+		when(accountRepository.findById(testAccount.getId())).thenReturn(Optional.of(testAccount));
 
 		assertThrows(IllegalArgumentException.class,
 			() -> reviewerService.updatePassword(passwordUpdateDTO));
@@ -210,6 +234,7 @@ class ReviewerServiceTest {
 
 		when(authentication.getPrincipal()).thenReturn(userDetails);
 		when(accountRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(testAccount));
+		when(accountRepository.findById(testAccount.getId())).thenReturn(Optional.of(testAccount));
 		doThrow(new IllegalArgumentException("Invalid password"))
 			.when(accountValidator).passwordValidation(anyString());
 
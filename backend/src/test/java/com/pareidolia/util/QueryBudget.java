@@ -0,0 +1,46 @@
+package com.pareidolia.util;
+
+import com.pareidolia.configuration.persistence.QueryStatistics;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica che una chiamata resti entro un numero massimo di istruzioni SQL, per bloccare nei test
+ * le regressioni N+1. Conta le istruzioni registrate da Hibernate, quindi funziona nei test con il contesto Spring
+ * e le statistiche attive: altrimenti fallisce, invece di promuovere qualsiasi chiamata con zero istruzioni.
+ * L'entity manager va svuotato prima, altrimenti le entità già caricate nascondono le query.
+ */
+public final class QueryBudget {
+
+	private QueryBudget() {
+	}
+
+	/**
+	 * @param maxStatements Il numero massimo di istruzioni che la chiamata può eseguire.
+	 * @param call La chiamata da misurare.
+	 * @return T Il risultato della chiamata.
+	 */
+	public static <T> T assertMaxStatements(long maxStatements, Supplier<T> call) {
+		assertTrue(QueryStatistics.isInstalled(), "SQL statements are not being measured: app.jdbc.statistics.enabled must be true");
+		try (QueryStatistics statistics = QueryStatistics.open()) {
+			T result = call.get();
+			assertTrue(statistics.getStatements() <= maxStatements, () -> "Expected at most " + maxStatements
+				+ " SQL statements but " + statistics.getStatements() + " were executed, most repeated: "
+				+ statistics.getMostRepeatedStatements(5));
+			return result;
+		}
+	}
+
+	/**
+	 * @param maxStatements Il numero massimo di istruzioni che la chiamata può eseguire.
+	 * @param call La chiamata da misurare.
+	 */
+	public static void assertMaxStatements(long maxStatements, Runnable call) {
+		assertMaxStatements(maxStatements, () -> {
+			call.run();
+			return null;
+		});
+	}
+}
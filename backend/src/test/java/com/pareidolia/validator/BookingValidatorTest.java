@@ -47,7 +47,7 @@ class BookingValidatorTest {
 	void testCreateBookingValidator_Success() {
 		// Setup
 		when(bookingRepository.findByIdEventAndIdAccount(any(), any())).thenReturn(Optional.empty());
-		when(bookingRepository.countByIdEvent(any())).thenReturn(5L);
+		when(mockEvent.getCurrentParticipants()).thenReturn(5L);
 
 		// Test - should not throw any exception
 		bookingValidator.createBookingValidator(mockAccount, mockEvent);
@@ -68,7 +68,7 @@ class BookingValidatorTest {
 	void testCreateBookingValidator_EventFullyBooked() {
 		// Setup
 		when(bookingRepository.findByIdEventAndIdAccount(any(), any())).thenReturn(Optional.empty());
-		when(bookingRepository.countByIdEvent(any())).thenReturn(10L); // Equal to max participants
+		when(mockEvent.getCurrentParticipants()).thenReturn(10L); // Equal to max participants
 
 		// Test
 		assertThrows(IllegalArgumentException.class,
@@ -80,7 +80,7 @@ class BookingValidatorTest {
 	void testCreateBookingValidator_EventOverBooked() {
 		// Setup
 		when(bookingRepository.findByIdEventAndIdAccount(any(), any())).thenReturn(Optional.empty());
-		when(bookingRepository.countByIdEvent(any())).thenReturn(11L); // More than max participants
+		when(mockEvent.getCurrentParticipants()).thenReturn(11L); // More than max participants
 
 		// Test
 		assertThrows(IllegalArgumentException.class,
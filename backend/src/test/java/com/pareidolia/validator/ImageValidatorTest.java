@@ -0,0 +1,62 @@
+package com.pareidolia.validator;
+
+import com.pareidolia.util.TestImageGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageValidatorTest {
+
+	private ImageValidator imageValidator;
+
+	@BeforeEach
+	void setUp() {
+		imageValidator = new ImageValidator();
+		ReflectionTestUtils.setField(imageValidator, "eventMaxSize", 10485760L);
+		ReflectionTestUtils.setField(imageValidator, "eventAllowedExtensions", "png,jpg,jpeg");
+	}
+
+	@Test
+	void testValidImage() {
+		assertDoesNotThrow(() ->
+			imageValidator.validateEventImage(new MockMultipartFile("file", "photo.jpg", "image/jpeg", TestImageGenerator.generateTestImage()))
+		);
+	}
+
+	@Test
+	void testOnlyHeaderIsRead() throws IOException {
+		// Setup: un PNG troncato subito dopo l'intestazione non è decodificabile, ma ne sono note le dimensioni
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		ImageIO.write(new BufferedImage(4000, 3000, BufferedImage.TYPE_INT_RGB), "png", outputStream);
+		byte[] header = Arrays.copyOf(outputStream.toByteArray(), 64);
+
+		// Act & Assert
+		assertDoesNotThrow(() ->
+			imageValidator.validateEventImage(new MockMultipartFile("file", "photo.png", "image/png", header))
+		);
+	}
+
+	@Test
+	void testInvalidImageContent() {
+		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+			imageValidator.validateEventImage(new MockMultipartFile("file", "photo.jpg", "image/jpeg", new byte[]{1, 2, 3}))
+		);
+		assertEquals("Invalid image file", exception.getMessage());
+	}
+
+	@Test
+	void testInvalidExtension() {
+		assertThrows(IllegalArgumentException.class, () ->
+			imageValidator.validateEventImage(new MockMultipartFile("file", "photo.gif", "image/gif", TestImageGenerator.generateTestImage()))
+		);
+	}
+}